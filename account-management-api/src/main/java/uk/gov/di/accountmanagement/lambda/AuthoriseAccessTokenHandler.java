@@ -16,7 +16,7 @@ import uk.gov.di.authentication.shared.entity.CustomScopeValue;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
 import uk.gov.di.authentication.shared.services.DynamoService;
-import uk.gov.di.authentication.shared.services.KmsConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.TokenValidationService;
 
 import java.time.LocalDateTime;
@@ -50,15 +50,14 @@ public class AuthoriseAccessTokenHandler
 
     public AuthoriseAccessTokenHandler() {
         configurationService = ConfigurationService.getInstance();
-        tokenValidationService =
-                new TokenValidationService(
-                        configurationService, new KmsConnectionService(configurationService));
-        dynamoService = new DynamoService(configurationService);
-        clientService =
-                new DynamoClientService(
-                        configurationService.getAwsRegion(),
-                        configurationService.getEnvironment(),
-                        configurationService.getDynamoEndpointUri());
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(
+                services::getTokenValidationService,
+                services::getDynamoService,
+                services::getDynamoClientService);
+        tokenValidationService = services.getTokenValidationService();
+        dynamoService = services.getDynamoService();
+        clientService = services.getDynamoClientService();
     }
 
     @Override
@@ -123,11 +122,14 @@ public class AuthoriseAccessTokenHandler
                     LOGGER.error("Access Token subject is missing");
                     throw new RuntimeException("Unauthorized");
                 }
-                try {
-                    dynamoService.getUserProfileFromPublicSubject(subject);
-                } catch (Exception e) {
-                    LOGGER.error("Unable to retrieve UserProfile from Dynamo with given SubjectID");
-                    throw new RuntimeException("Unauthorized");
+                if (dynamoService.getEmailFromPublicSubject(subject).isEmpty()) {
+                    try {
+                        dynamoService.getUserProfileFromPublicSubject(subject);
+                    } catch (Exception e) {
+                        LOGGER.error(
+                                "Unable to retrieve UserProfile from Dynamo with given SubjectID");
+                        throw new RuntimeException("Unauthorized");
+                    }
                 }
                 LOGGER.info("User found in Dynamo with given SubjectID");
                 String methodArn = input.getMethodArn();
@@ -5,7 +5,6 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.oauth2.sdk.id.Subject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,13 +16,14 @@ import uk.gov.di.accountmanagement.services.AwsSqsClient;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
 import uk.gov.di.authentication.shared.helpers.RequestBodyHelper;
 import uk.gov.di.authentication.shared.helpers.RequestHeaderHelper;
 import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.AuthenticationService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.DynamoService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 
 import java.util.Map;
 
@@ -32,6 +32,7 @@ import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.g
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateEmptySuccessApiGatewayResponse;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
+import static uk.gov.di.authentication.shared.services.AuditService.withAuditFlush;
 
 public class RemoveAccountHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -41,7 +42,6 @@ public class RemoveAccountHandler
     private final AuthenticationService authenticationService;
     private final AwsSqsClient sqsClient;
     private final AuditService auditService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
 
     public RemoveAccountHandler(
             AuthenticationService authenticationService,
@@ -54,22 +54,25 @@ public class RemoveAccountHandler
 
     public RemoveAccountHandler() {
         ConfigurationService configurationService = ConfigurationService.getInstance();
-        this.authenticationService =
-                new DynamoService(
-                        configurationService.getAwsRegion(),
-                        configurationService.getEnvironment(),
-                        configurationService.getDynamoEndpointUri());
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(services::getDynamoService, services::getAuditService);
+        this.authenticationService = services.getDynamoService();
         this.sqsClient =
                 new AwsSqsClient(
                         configurationService.getAwsRegion(),
                         configurationService.getEmailQueueUri(),
                         configurationService.getSqsEndpointUri());
-        this.auditService = new AuditService(configurationService);
+        this.auditService = services.getAuditService();
     }
 
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
+        return withAuditFlush(() -> processRequest(input, context));
+    }
+
+    private APIGatewayProxyResponseEvent processRequest(
+            APIGatewayProxyRequestEvent input, Context context) {
         return isWarming(input)
                 .orElseGet(
                         () -> {
@@ -80,7 +83,7 @@ public class RemoveAccountHandler
                                 attachSessionIdToLogs(sessionId);
                                 LOGGER.info("RemoveAccountHandler received request");
                                 RemoveAccountRequest removeAccountRequest =
-                                        objectMapper.readValue(
+                                        JsonRegistry.readValue(
                                                 input.getBody(), RemoveAccountRequest.class);
 
                                 String email = removeAccountRequest.getEmail();
@@ -98,7 +101,7 @@ public class RemoveAccountHandler
 
                                 NotifyRequest notifyRequest =
                                         new NotifyRequest(email, NotificationType.DELETE_ACCOUNT);
-                                sqsClient.send(objectMapper.writeValueAsString((notifyRequest)));
+                                sqsClient.send(JsonRegistry.writeValueAsString((notifyRequest)));
                                 LOGGER.info(
                                         "Remove account message successfully added to queue. Generating successful gateway response");
                                 auditService.submitAuditEvent(
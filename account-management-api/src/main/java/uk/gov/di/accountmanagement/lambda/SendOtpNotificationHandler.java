@@ -5,7 +5,6 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.core.exception.SdkClientException;
@@ -16,13 +15,15 @@ import uk.gov.di.accountmanagement.services.AwsSqsClient;
 import uk.gov.di.accountmanagement.services.CodeStorageService;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
 import uk.gov.di.authentication.shared.helpers.RequestHeaderHelper;
 import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.CodeGeneratorService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoService;
-import uk.gov.di.authentication.shared.services.RedisConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
+import uk.gov.di.authentication.shared.services.SqsBatchingProducer;
 import uk.gov.di.authentication.shared.services.ValidationService;
 
 import java.util.Optional;
@@ -36,6 +37,7 @@ import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.g
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
 import static uk.gov.di.authentication.shared.services.AuditService.MetadataPair.pair;
+import static uk.gov.di.authentication.shared.services.AuditService.withAuditFlush;
 
 public class SendOtpNotificationHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -48,7 +50,6 @@ public class SendOtpNotificationHandler
     private final CodeGeneratorService codeGeneratorService;
     private final CodeStorageService codeStorageService;
     private final DynamoService dynamoService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final AuditService auditService;
 
     public SendOtpNotificationHandler(
@@ -70,22 +71,36 @@ public class SendOtpNotificationHandler
 
     public SendOtpNotificationHandler() {
         this.configurationService = ConfigurationService.getInstance();
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(
+                services::getCodeStorageService,
+                services::getDynamoService,
+                services::getAuditService);
         this.sqsClient =
                 new AwsSqsClient(
                         configurationService.getAwsRegion(),
                         configurationService.getEmailQueueUri(),
-                        configurationService.getSqsEndpointUri());
+                        configurationService.getSqsEndpointUri(),
+                        configurationService.isSqsFireAndFlushEnabled());
         this.validationService = new ValidationService();
         this.codeGeneratorService = new CodeGeneratorService();
-        this.codeStorageService =
-                new CodeStorageService(new RedisConnectionService(configurationService));
-        this.dynamoService = new DynamoService(configurationService);
-        this.auditService = new AuditService(configurationService);
+        this.codeStorageService = services.getCodeStorageService();
+        this.dynamoService = services.getDynamoService();
+        this.auditService = services.getAuditService();
     }
 
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
+        try {
+            return withAuditFlush(() -> processRequest(input, context));
+        } finally {
+            SqsBatchingProducer.flushAll();
+        }
+    }
+
+    private APIGatewayProxyResponseEvent processRequest(
+            APIGatewayProxyRequestEvent input, Context context) {
         return isWarming(input)
                 .orElseGet(
                         () -> {
@@ -96,7 +111,7 @@ public class SendOtpNotificationHandler
                             LOGGER.info("Request received in SendOtp Lambda");
                             try {
                                 SendNotificationRequest sendNotificationRequest =
-                                        objectMapper.readValue(
+                                        JsonRegistry.readValue(
                                                 input.getBody(), SendNotificationRequest.class);
                                 switch (sendNotificationRequest.getNotificationType()) {
                                     case VERIFY_EMAIL:
@@ -190,6 +205,6 @@ public class SendOtpNotificationHandler
     }
 
     private String serialiseRequest(Object request) throws JsonProcessingException {
-        return objectMapper.writeValueAsString(request);
+        return JsonRegistry.writeValueAsString(request);
     }
 }
@@ -5,7 +5,6 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.oauth2.sdk.id.Subject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -18,13 +17,14 @@ import uk.gov.di.accountmanagement.services.CodeStorageService;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
 import uk.gov.di.authentication.shared.helpers.RequestBodyHelper;
 import uk.gov.di.authentication.shared.helpers.RequestHeaderHelper;
 import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoService;
-import uk.gov.di.authentication.shared.services.RedisConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.ValidationService;
 
 import java.util.Map;
@@ -35,11 +35,11 @@ import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.g
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateEmptySuccessApiGatewayResponse;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
+import static uk.gov.di.authentication.shared.services.AuditService.withAuditFlush;
 
 public class UpdateEmailHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final DynamoService dynamoService;
     private final AwsSqsClient sqsClient;
     private final ValidationService validationService;
@@ -65,21 +65,30 @@ public class UpdateEmailHandler
     }
 
     public UpdateEmailHandler(ConfigurationService configurationService) {
-        this.dynamoService = new DynamoService(configurationService);
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(
+                services::getDynamoService,
+                services::getCodeStorageService,
+                services::getAuditService);
+        this.dynamoService = services.getDynamoService();
         this.sqsClient =
                 new AwsSqsClient(
                         configurationService.getAwsRegion(),
                         configurationService.getEmailQueueUri(),
                         configurationService.getSqsEndpointUri());
         this.validationService = new ValidationService();
-        this.codeStorageService =
-                new CodeStorageService(new RedisConnectionService(configurationService));
-        this.auditService = new AuditService(configurationService);
+        this.codeStorageService = services.getCodeStorageService();
+        this.auditService = services.getAuditService();
     }
 
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
+        return withAuditFlush(() -> processRequest(input, context));
+    }
+
+    private APIGatewayProxyResponseEvent processRequest(
+            APIGatewayProxyRequestEvent input, Context context) {
         return isWarming(input)
                 .orElseGet(
                         () -> {
@@ -90,7 +99,7 @@ public class UpdateEmailHandler
                             LOGGER.info("UpdateEmailHandler received request");
                             try {
                                 UpdateEmailRequest updateInfoRequest =
-                                        objectMapper.readValue(
+                                        JsonRegistry.readValue(
                                                 input.getBody(), UpdateEmailRequest.class);
                                 boolean isValidOtpCode =
                                         codeStorageService.isValidOtpCode(
@@ -137,7 +146,7 @@ public class UpdateEmailHandler
                                         new NotifyRequest(
                                                 updateInfoRequest.getReplacementEmailAddress(),
                                                 NotificationType.EMAIL_UPDATED);
-                                sqsClient.send(objectMapper.writeValueAsString((notifyRequest)));
+                                sqsClient.send(JsonRegistry.writeValueAsString((notifyRequest)));
 
                                 auditService.submitAuditEvent(
                                         AccountManagementAuditableEvent.UPDATE_EMAIL,
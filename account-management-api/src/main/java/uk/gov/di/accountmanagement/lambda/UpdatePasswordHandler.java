@@ -5,7 +5,6 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.oauth2.sdk.id.Subject;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -18,12 +17,14 @@ import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.helpers.Argon2MatcherHelper;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
 import uk.gov.di.authentication.shared.helpers.RequestBodyHelper;
 import uk.gov.di.authentication.shared.helpers.RequestHeaderHelper;
 import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 
 import java.util.Map;
 
@@ -32,11 +33,11 @@ import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.g
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateEmptySuccessApiGatewayResponse;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
+import static uk.gov.di.authentication.shared.services.AuditService.withAuditFlush;
 
 public class UpdatePasswordHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final DynamoService dynamoService;
     private final AwsSqsClient sqsClient;
     private final AuditService auditService;
@@ -45,13 +46,15 @@ public class UpdatePasswordHandler
 
     public UpdatePasswordHandler() {
         ConfigurationService configurationService = ConfigurationService.getInstance();
-        this.dynamoService = new DynamoService(ConfigurationService.getInstance());
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(services::getDynamoService, services::getAuditService);
+        this.dynamoService = services.getDynamoService();
         this.sqsClient =
                 new AwsSqsClient(
                         configurationService.getAwsRegion(),
                         configurationService.getEmailQueueUri(),
                         configurationService.getSqsEndpointUri());
-        this.auditService = new AuditService(configurationService);
+        this.auditService = services.getAuditService();
     }
 
     public UpdatePasswordHandler(
@@ -64,6 +67,11 @@ public class UpdatePasswordHandler
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
+        return withAuditFlush(() -> processRequest(input, context));
+    }
+
+    private APIGatewayProxyResponseEvent processRequest(
+            APIGatewayProxyRequestEvent input, Context context) {
         return isWarming(input)
                 .orElseGet(
                         () -> {
@@ -75,7 +83,7 @@ public class UpdatePasswordHandler
                             context.getClientContext();
                             try {
                                 UpdatePasswordRequest updatePasswordRequest =
-                                        objectMapper.readValue(
+                                        JsonRegistry.readValue(
                                                 input.getBody(), UpdatePasswordRequest.class);
 
                                 UserProfile userProfile =
@@ -111,7 +119,7 @@ public class UpdatePasswordHandler
                                         new NotifyRequest(
                                                 updatePasswordRequest.getEmail(),
                                                 NotificationType.PASSWORD_UPDATED);
-                                sqsClient.send(objectMapper.writeValueAsString((notifyRequest)));
+                                sqsClient.send(JsonRegistry.writeValueAsString((notifyRequest)));
                                 LOGGER.info(
                                         "Message successfully added to queue. Generating successful gateway response");
 
@@ -1,39 +1,60 @@
 package uk.gov.di.accountmanagement.services;
 
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.exception.SdkClientException;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.SqsClientBuilder;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import uk.gov.di.authentication.shared.services.SqsBatchingProducer;
 
-import java.net.URI;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class AwsSqsClient {
 
-    private final SqsClient client;
-    private final String queueUrl;
+    private final SqsBatchingProducer producer;
+    private final boolean fireAndFlush;
 
     public AwsSqsClient(String region, String queueUrl, Optional<String> sqsEndpoint) {
-        SqsClientBuilder amazonSqsBuilder = SqsClient.builder().region(Region.of(region));
-
-        if (sqsEndpoint.isPresent()) {
-            amazonSqsBuilder
-                    .endpointOverride(URI.create(sqsEndpoint.get()))
-                    .credentialsProvider(
-                            StaticCredentialsProvider.create(
-                                    AwsBasicCredentials.create("FAKEACCESSKEY", "FAKESECRETKEY")));
-        }
-        this.client = amazonSqsBuilder.build();
-        this.queueUrl = queueUrl;
+        this(region, queueUrl, sqsEndpoint, false);
+    }
+
+    public AwsSqsClient(
+            String region, String queueUrl, Optional<String> sqsEndpoint, boolean fireAndFlush) {
+        this(
+                new SqsBatchingProducer(
+                        region,
+                        queueUrl,
+                        sqsEndpoint,
+                        fireAndFlush ? SqsBatchingProducer.BATCHING_LINGER : Duration.ZERO),
+                fireAndFlush);
+    }
+
+    public AwsSqsClient(SqsBatchingProducer producer, boolean fireAndFlush) {
+        this.producer = producer;
+        this.fireAndFlush = fireAndFlush;
     }
 
+    /**
+     * Sends the event and waits for SQS to accept it, without lingering for a batch to fill. In
+     * fire-and-flush mode this returns as soon as the event is queued, and events lingering for a
+     * batch are sent together; failures then only reach the producer's error callback, and the
+     * handler must call {@link SqsBatchingProducer#flushAll()} before returning.
+     */
     public void send(final String event) throws SdkClientException {
-        SendMessageRequest messageRequest =
-                SendMessageRequest.builder().queueUrl(queueUrl).messageBody(event).build();
+        var sent = sendAsync(event);
+        if (fireAndFlush) {
+            return;
+        }
+        try {
+            sent.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
 
-        client.sendMessage(messageRequest);
+    public CompletableFuture<Void> sendAsync(final String event) {
+        return producer.send(event);
     }
 }
@@ -24,6 +24,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -31,6 +32,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class AuthoriseAccessTokenHandlerTest {
@@ -78,6 +81,50 @@ class AuthoriseAccessTokenHandlerTest {
         assertNotNull(authPolicy.getPolicyDocument().get("Statement"));
     }
 
+    @Test
+    public void shouldNotQuerySubjectIndexWhenSubjectLookupExists() throws JOSEException {
+        BearerAccessToken signedAccessToken =
+                new BearerAccessToken(createSignedAccessToken(SCOPES).serialize());
+        TokenAuthorizerContext tokenAuthorizerContext =
+                new TokenAuthorizerContext(
+                        TOKEN_TYPE, signedAccessToken.toAuthorizationHeader(), METHOD_ARN);
+        when(tokenValidationServicen.validateAccessTokenSignature(signedAccessToken))
+                .thenReturn(true);
+        when(clientService.isValidClient(CLIENT_ID)).thenReturn(true);
+        when(dynamoService.getEmailFromPublicSubject(SUBJECT.getValue()))
+                .thenReturn(Optional.of("joe.bloggs@digital.cabinet-office.gov.uk"));
+        AuthPolicy authPolicy = handler.handleRequest(tokenAuthorizerContext, context);
+
+        assertThat(authPolicy.getPrincipalId(), equalTo(SUBJECT.getValue()));
+        verify(dynamoService, never()).getUserProfileFromPublicSubject(SUBJECT.getValue());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenSubjectIsAnInternalSubjectId() throws JOSEException {
+        BearerAccessToken signedAccessToken =
+                new BearerAccessToken(createSignedAccessToken(SCOPES).serialize());
+        TokenAuthorizerContext tokenAuthorizerContext =
+                new TokenAuthorizerContext(
+                        TOKEN_TYPE, signedAccessToken.toAuthorizationHeader(), METHOD_ARN);
+        when(tokenValidationServicen.validateAccessTokenSignature(signedAccessToken))
+                .thenReturn(true);
+        when(clientService.isValidClient(CLIENT_ID)).thenReturn(true);
+        when(dynamoService.getEmailFromSubject(SUBJECT.getValue()))
+                .thenReturn(Optional.of("joe.bloggs@digital.cabinet-office.gov.uk"));
+        when(dynamoService.getEmailFromPublicSubject(SUBJECT.getValue()))
+                .thenReturn(Optional.empty());
+        when(dynamoService.getUserProfileFromPublicSubject(SUBJECT.getValue()))
+                .thenThrow(RuntimeException.class);
+
+        RuntimeException exception =
+                assertThrows(
+                        RuntimeException.class,
+                        () -> handler.handleRequest(tokenAuthorizerContext, context),
+                        "Expected to throw exception");
+
+        assertEquals("Unauthorized", exception.getMessage());
+    }
+
     @Test
     public void shouldThrowExceptionWhenAccessTokenHasExpired() throws JOSEException {
         BearerAccessToken signedAccessToken =
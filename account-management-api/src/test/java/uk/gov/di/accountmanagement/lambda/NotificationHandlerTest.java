@@ -1,24 +1,32 @@
 package uk.gov.di.accountmanagement.lambda;
 
 import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.mockito.Mockito;
 import uk.gov.di.accountmanagement.entity.NotifyRequest;
 import uk.gov.di.accountmanagement.services.NotificationService;
+import uk.gov.di.authentication.shared.helpers.SQSBatchFailureCollector;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 import uk.gov.service.notify.NotificationClientException;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static java.util.Collections.singletonList;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,9 +36,14 @@ import static uk.gov.di.accountmanagement.entity.NotificationType.PASSWORD_UPDAT
 import static uk.gov.di.accountmanagement.entity.NotificationType.PHONE_NUMBER_UPDATED;
 import static uk.gov.di.accountmanagement.entity.NotificationType.VERIFY_EMAIL;
 import static uk.gov.di.accountmanagement.entity.NotificationType.VERIFY_PHONE_NUMBER;
+import static uk.gov.di.authentication.sharedtest.logging.LogEventMatcher.hasObjectMessageProperty;
 
 public class NotificationHandlerTest {
 
+    @RegisterExtension
+    public final CaptureLoggingExtension failureLogging =
+            new CaptureLoggingExtension(SQSBatchFailureCollector.class);
+
     private static final String TEST_EMAIL_ADDRESS = "joe.bloggs@digital.cabinet-office.gov.uk";
     private static final String TEST_PHONE_NUMBER = "01234567890";
     private static final String TEMPLATE_ID = "12345667";
@@ -38,6 +51,7 @@ public class NotificationHandlerTest {
     private static final String CUSTOMER_SUPPORT_LINK_URL =
             "https://localhost:8080/frontend/support";
     private static final String CUSTOMER_SUPPORT_LINK_ROUTE = "support";
+    private static final String MESSAGE_ID = "message-id";
     private final Context context = mock(Context.class);
     private final NotificationService notificationService = mock(NotificationService.class);
     private final ConfigurationService configService = mock(ConfigurationService.class);
@@ -166,21 +180,19 @@ public class NotificationHandlerTest {
     }
 
     @Test
-    public void shouldThrowExceptionIfUnableToProcessMessageFromQueue() {
+    public void shouldReportMessageThatCannotBeMappedToANotifyRequestAsPoison() {
         SQSEvent sqsEvent = generateSQSEvent("");
 
-        RuntimeException exception =
-                assertThrows(
-                        RuntimeException.class,
-                        () -> handler.handleRequest(sqsEvent, context),
-                        "Expected to throw exception");
+        SQSBatchResponse response = handler.handleRequest(sqsEvent, context);
 
-        assertEquals(
-                "Error when mapping message from queue to a NotifyRequest", exception.getMessage());
+        assertThat(failedMessageIds(response), contains(MESSAGE_ID));
+        assertThat(
+                failureLogging.events(),
+                hasItem(hasObjectMessageProperty("failure-type", "POISON")));
     }
 
     @Test
-    public void shouldThrowExceptionIfNotifyIsUnableToSendEmail()
+    public void shouldReportMessageAsFailedIfNotifyIsUnableToSendEmail()
             throws JsonProcessingException, NotificationClientException {
         when(notificationService.getNotificationTemplateId(VERIFY_EMAIL)).thenReturn(TEMPLATE_ID);
 
@@ -195,19 +207,13 @@ public class NotificationHandlerTest {
                 .when(notificationService)
                 .sendEmail(TEST_EMAIL_ADDRESS, personalisation, TEMPLATE_ID);
 
-        RuntimeException exception =
-                assertThrows(
-                        RuntimeException.class,
-                        () -> handler.handleRequest(sqsEvent, context),
-                        "Expected to throw exception");
+        SQSBatchResponse response = handler.handleRequest(sqsEvent, context);
 
-        assertEquals(
-                "Error sending with Notify using NotificationType: VERIFY_EMAIL",
-                exception.getMessage());
+        assertThat(failedMessageIds(response), contains(MESSAGE_ID));
     }
 
     @Test
-    public void shouldThrowExceptionIfNotifyIsUnableToSendText()
+    public void shouldReportMessageAsFailedIfNotifyIsUnableToSendText()
             throws JsonProcessingException, NotificationClientException {
         when(notificationService.getNotificationTemplateId(VERIFY_PHONE_NUMBER))
                 .thenReturn(TEMPLATE_ID);
@@ -223,19 +229,65 @@ public class NotificationHandlerTest {
                 .when(notificationService)
                 .sendText(TEST_PHONE_NUMBER, personalisation, TEMPLATE_ID);
 
-        RuntimeException exception =
-                assertThrows(
-                        RuntimeException.class,
-                        () -> handler.handleRequest(sqsEvent, context),
-                        "Expected to throw exception");
+        SQSBatchResponse response = handler.handleRequest(sqsEvent, context);
+
+        assertThat(failedMessageIds(response), contains(MESSAGE_ID));
+    }
+
+    @Test
+    public void shouldReportPoisonMessagesWhenProcessedConcurrently()
+            throws JsonProcessingException, NotificationClientException {
+        when(configService.getNotifyMaxConcurrency()).thenReturn(4);
+        when(notificationService.getNotificationTemplateId(VERIFY_EMAIL)).thenReturn(TEMPLATE_ID);
+        var concurrentHandler = new NotificationHandler(notificationService, configService);
+
+        List<SQSMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            SQSMessage message = new SQSMessage();
+            message.setMessageId("message-" + i);
+            message.setBody(
+                    objectMapper.writeValueAsString(
+                            new NotifyRequest(
+                                    i + "." + TEST_EMAIL_ADDRESS,
+                                    VERIFY_EMAIL,
+                                    String.valueOf(100000 + i))));
+            messages.add(message);
+        }
+        SQSMessage poisonMessage = new SQSMessage();
+        poisonMessage.setMessageId("poison-message-id");
+        poisonMessage.setBody("not-json");
+        messages.add(poisonMessage);
+        SQSEvent sqsEvent = new SQSEvent();
+        sqsEvent.setRecords(messages);
+
+        SQSBatchResponse response = concurrentHandler.handleRequest(sqsEvent, context);
+
+        assertThat(failedMessageIds(response), contains("poison-message-id"));
+        assertThat(
+                failureLogging.events(),
+                hasItem(hasObjectMessageProperty("sqs-message-id", "poison-message-id")));
+        for (int i = 0; i < 10; i++) {
+            verify(notificationService)
+                    .sendEmail(
+                            i + "." + TEST_EMAIL_ADDRESS,
+                            Map.of(
+                                    "validation-code",
+                                    String.valueOf(100000 + i),
+                                    "email-address",
+                                    i + "." + TEST_EMAIL_ADDRESS),
+                            TEMPLATE_ID);
+        }
+    }
 
-        assertEquals(
-                "Error sending with Notify using NotificationType: VERIFY_PHONE_NUMBER",
-                exception.getMessage());
+    private List<String> failedMessageIds(SQSBatchResponse response) {
+        return response.getBatchItemFailures().stream()
+                .map(SQSBatchResponse.BatchItemFailure::getItemIdentifier)
+                .collect(Collectors.toList());
     }
 
     private SQSEvent generateSQSEvent(String messageBody) {
         SQSMessage sqsMessage = new SQSMessage();
+        sqsMessage.setMessageId(MESSAGE_ID);
         sqsMessage.setBody(messageBody);
         SQSEvent sqsEvent = new SQSEvent();
         sqsEvent.setRecords(singletonList(sqsMessage));
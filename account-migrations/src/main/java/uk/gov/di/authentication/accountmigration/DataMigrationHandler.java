@@ -7,12 +7,11 @@ import com.amazonaws.services.lambda.runtime.events.models.s3.S3EventNotificatio
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.S3Object;
-import com.nimbusds.oauth2.sdk.id.Subject;
-import com.opencsv.bean.CsvToBean;
 import com.opencsv.bean.CsvToBeanBuilder;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.entity.BulkWriteResult;
 import uk.gov.di.authentication.shared.entity.TermsAndConditions;
 import uk.gov.di.authentication.shared.entity.UserCredentials;
 import uk.gov.di.authentication.shared.entity.UserProfile;
@@ -20,19 +19,31 @@ import uk.gov.di.authentication.shared.services.AuthenticationService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoService;
 
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+import static java.lang.String.format;
+
 public class DataMigrationHandler implements RequestHandler<S3Event, String> {
 
     private static final Logger LOG = LogManager.getLogger(DataMigrationHandler.class);
     private static final int BATCH_SIZE = 1000;
+    private static final int QUEUE_CAPACITY = 4;
 
     private final AuthenticationService authenticationService;
     private final ConfigurationService configurationService;
     private final AmazonS3 client;
+    private final MigrationCheckpointStore checkpointStore;
+    private final MigratedSubjectHelper subjectHelper;
 
     public DataMigrationHandler(
             AuthenticationService authenticationService,
@@ -41,6 +52,8 @@ public class DataMigrationHandler implements RequestHandler<S3Event, String> {
         this.authenticationService = authenticationService;
         this.configurationService = configurationService;
         this.client = client;
+        this.checkpointStore = new MigrationCheckpointStore(client);
+        this.subjectHelper = subjectHelper(configurationService);
     }
 
     public DataMigrationHandler() {
@@ -50,6 +63,16 @@ public class DataMigrationHandler implements RequestHandler<S3Event, String> {
                 AmazonS3ClientBuilder.standard()
                         .withRegion(configurationService.getAwsRegion())
                         .build();
+        this.checkpointStore = new MigrationCheckpointStore(client);
+        this.subjectHelper = subjectHelper(configurationService);
+    }
+
+    private static MigratedSubjectHelper subjectHelper(ConfigurationService configurationService) {
+        return configurationService
+                .getMigrationSubjectSalt()
+                .filter(salt -> salt.length > 0)
+                .map(MigratedSubjectHelper::new)
+                .orElseThrow(() -> new IllegalStateException("Migration subject salt is not set"));
     }
 
     @Override
@@ -58,44 +81,108 @@ public class DataMigrationHandler implements RequestHandler<S3Event, String> {
             String s3Key = record.getS3().getObject().getKey();
             String s3Bucket = record.getS3().getBucket().getName();
 
+            String eTag = record.getS3().getObject().getETag();
+
             LOG.info("New data transfer file {} detected", s3Key);
 
-            S3Object object = client.getObject(s3Bucket, s3Key);
-
-            InputStreamReader reader = new InputStreamReader(object.getObjectContent());
-            CsvToBean<ImportRecord> importRecords =
-                    new CsvToBeanBuilder<ImportRecord>(reader).withType(ImportRecord.class).build();
-            var records = importRecords.parse();
-
-            int skip = 0;
-            int count;
-            do {
-                var importBatch =
-                        records.stream().skip(skip).limit(BATCH_SIZE).collect(Collectors.toList());
-                count = importBatch.size();
-                skip = skip + count;
-                LOG.info("Read {} records starting at {}", count, skip);
-                var batch =
-                        buildImportBatch(
-                                importBatch, configurationService.getTermsAndConditionsVersion());
-
-                authenticationService.bulkAdd(
-                        batch.stream().map(p -> p.getLeft()).collect(Collectors.toList()),
-                        batch.stream().map(p -> p.getRight()).collect(Collectors.toList()));
-
-            } while (count == BATCH_SIZE);
-            LOG.info("Imported {} records", skip);
+            Optional<MigrationCheckpoint> checkpoint =
+                    checkpointStore
+                            .load(s3Bucket, s3Key)
+                            .filter(c -> Objects.equals(c.getETag(), eTag));
+            if (checkpoint.map(MigrationCheckpoint::isComplete).orElse(false)) {
+                LOG.info("Data transfer file {} has already been imported", s3Key);
+                continue;
+            }
+            boolean resuming = checkpoint.isPresent();
+            long resumeFrom = checkpoint.map(MigrationCheckpoint::getRowsCommitted).orElse(0L);
+            long firstBatchId = resumeFrom / BATCH_SIZE;
+            if (resuming) {
+                LOG.info("Resuming import of {} after {} committed rows", s3Key, resumeFrom);
+            } else {
+                checkpointStore.save(s3Bucket, s3Key, eTag, 0, -1, false);
+            }
+
+            AtomicReference<BulkWriteResult> result =
+                    new AtomicReference<>(BulkWriteResult.empty());
+            ImportPipeline<ImportRecord> pipeline =
+                    new ImportPipeline<>(
+                            BATCH_SIZE,
+                            configurationService.getBulkImportWriterCount(),
+                            QUEUE_CAPACITY,
+                            importBatch ->
+                                    result.accumulateAndGet(
+                                            write(importBatch, resuming), BulkWriteResult::add),
+                            (batchId, committed) ->
+                                    checkpointStore.save(
+                                            s3Bucket,
+                                            s3Key,
+                                            eTag,
+                                            resumeFrom + committed,
+                                            firstBatchId + batchId,
+                                            false));
+
+            long imported;
+            try (S3Object object = client.getObject(s3Bucket, s3Key);
+                    InputStreamReader reader =
+                            new InputStreamReader(
+                                    object.getObjectContent(), StandardCharsets.UTF_8)) {
+                Iterator<ImportRecord> importRecords =
+                        new CsvToBeanBuilder<ImportRecord>(reader)
+                                .withType(ImportRecord.class)
+                                .build()
+                                .iterator();
+                for (long i = 0; i < resumeFrom && importRecords.hasNext(); i++) {
+                    importRecords.next();
+                }
+                imported = pipeline.run(importRecords);
+            } catch (IOException e) {
+                LOG.error("Unable to read data transfer file {}", s3Key, e);
+                throw new UncheckedIOException(e);
+            }
+
+            checkpointStore.save(
+                    s3Bucket,
+                    s3Key,
+                    eTag,
+                    resumeFrom + imported,
+                    firstBatchId + (imported + BATCH_SIZE - 1) / BATCH_SIZE - 1,
+                    true);
+            LOG.info(
+                    "Imported {} records: {} items written, {} items already present",
+                    imported,
+                    result.get().getWritten(),
+                    result.get().getSkipped());
         }
 
         return "Complete";
     }
 
+    private BulkWriteResult write(List<ImportRecord> importBatch, boolean ifAbsent) {
+        var batch =
+                buildImportBatch(
+                        importBatch, configurationService.getTermsAndConditionsVersion());
+        var userCredentials = batch.stream().map(p -> p.getLeft()).collect(Collectors.toList());
+        var userProfiles = batch.stream().map(p -> p.getRight()).collect(Collectors.toList());
+        BulkWriteResult result =
+                ifAbsent
+                        ? authenticationService.bulkAddIfAbsent(userCredentials, userProfiles)
+                        : authenticationService.bulkAdd(userCredentials, userProfiles);
+        if (result.hasFailures()) {
+            throw new RuntimeException(
+                    format(
+                            "%d items in import batch could not be written",
+                            result.getFailed()));
+        }
+        return result;
+    }
+
     private List<Pair<UserCredentials, UserProfile>> buildImportBatch(
             List<ImportRecord> importRecords, String termsAndConditionsVersion) {
         return importRecords.stream()
                 .map(
                         i -> {
-                            Subject subject = new Subject();
+                            String subjectID =
+                                    subjectHelper.internalSubjectId(i.getSubjectIdentifier());
                             String now = LocalDateTime.now().toString();
                             UserCredentials userCredentials =
                                     new UserCredentials()
@@ -103,7 +190,7 @@ public class DataMigrationHandler implements RequestHandler<S3Event, String> {
                                             .setMigratedPassword(i.getEncryptedPassword())
                                             .setCreated(i.getCreatedAt().toString())
                                             .setUpdated(now)
-                                            .setSubjectID(subject.toString());
+                                            .setSubjectID(subjectID);
 
                             TermsAndConditions termsAndConditions = new TermsAndConditions();
                             termsAndConditions.setVersion(termsAndConditionsVersion);
@@ -114,11 +201,13 @@ public class DataMigrationHandler implements RequestHandler<S3Event, String> {
                                             .setEmailVerified(true)
                                             .setPhoneNumber(i.getPhone())
                                             .setPhoneNumberVerified(true)
-                                            .setSubjectID(subject.toString())
+                                            .setSubjectID(subjectID)
                                             .setEmailVerified(true)
                                             .setCreated(i.getCreatedAt().toString())
                                             .setUpdated(userCredentials.getUpdated())
-                                            .setPublicSubjectID((new Subject()).toString())
+                                            .setPublicSubjectID(
+                                                    subjectHelper.publicSubjectId(
+                                                            i.getSubjectIdentifier()))
                                             .setTermsAndConditions(termsAndConditions)
                                             .setLegacySubjectID(i.getSubjectIdentifier());
 
@@ -0,0 +1,265 @@
+package uk.gov.di.authentication.accountmigration;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Reads records from an iterator into fixed-size batches and hands them to a pool of writers
+ * through a bounded queue. The reader blocks when the queue is full, so at most {@code
+ * queueCapacity + writerCount} batches are held in memory regardless of the size of the source.
+ *
+ * <p>Batches are numbered in the order they are read. Because writers finish out of order, the
+ * {@link CommitListener} is only told about the highest batch for which every earlier batch has
+ * also been written, which makes it a safe point to resume from.
+ *
+ * <p>The listener runs on a single checkpoint thread rather than on the writers, so a slow
+ * checkpoint never holds up writing. Checkpoints are delivered in order; if the listener falls
+ * behind, only the latest is delivered, and the final one is delivered before {@link #run}
+ * returns.
+ */
+public class ImportPipeline<T> {
+
+    private static final Logger LOG = LogManager.getLogger(ImportPipeline.class);
+    private static final Batch<?> END_OF_INPUT = new Batch<>(-1, Collections.emptyList());
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final int batchSize;
+    private final int writerCount;
+    private final BlockingQueue<Batch<T>> queue;
+    private final Consumer<List<T>> writer;
+    private final CommitListener commitListener;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicInteger runningWriters = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicReference<Checkpoint> pendingCheckpoint = new AtomicReference<>();
+    private final Map<Long, Integer> completedBatches = new HashMap<>();
+    private long nextBatchToCommit = 0;
+    private long recordsCommitted = 0;
+    private ExecutorService checkpointFlusher;
+
+    public ImportPipeline(
+            int batchSize, int writerCount, int queueCapacity, Consumer<List<T>> writer) {
+        this(batchSize, writerCount, queueCapacity, writer, (batchId, records) -> {});
+    }
+
+    public ImportPipeline(
+            int batchSize,
+            int writerCount,
+            int queueCapacity,
+            Consumer<List<T>> writer,
+            CommitListener commitListener) {
+        this.batchSize = batchSize;
+        this.writerCount = Math.max(1, writerCount);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.writer = writer;
+        this.commitListener = commitListener;
+    }
+
+    public long run(Iterator<T> source) {
+        checkpointFlusher = Executors.newSingleThreadExecutor();
+        ExecutorService executor = Executors.newFixedThreadPool(writerCount);
+        runningWriters.set(writerCount);
+        for (int i = 0; i < writerCount; i++) {
+            executor.submit(this::drain);
+        }
+        long read = 0;
+        long batchId = 0;
+        try {
+            List<T> batch = new ArrayList<>(batchSize);
+            while (source.hasNext() && failure.get() == null) {
+                batch.add(source.next());
+                read++;
+                if (batch.size() == batchSize) {
+                    enqueue(new Batch<>(batchId++, batch));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                enqueue(new Batch<>(batchId, batch));
+            }
+        } finally {
+            for (int i = 0; i < writerCount; i++) {
+                enqueue(endOfInput());
+            }
+            executor.shutdown();
+            awaitTermination(executor);
+            checkpointFlusher.shutdown();
+            awaitTermination(checkpointFlusher);
+        }
+        rethrowFailure();
+        LOG.info("Read {} records, wrote {} records", read, written.get());
+        return read;
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Batch<T> batch = queue.take();
+                if (batch == END_OF_INPUT) {
+                    return;
+                }
+                if (failure.get() != null) {
+                    continue;
+                }
+                writer.accept(batch.records);
+                long total = written.addAndGet(batch.records.size());
+                LOG.info(
+                        "Wrote batch {} of {} records, {} records written so far",
+                        batch.id,
+                        batch.records.size(),
+                        total);
+                commit(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, new IllegalStateException("Import writer interrupted", e));
+        } catch (Throwable e) {
+            LOG.error("Import batch failed", e);
+            failure.compareAndSet(null, e);
+            drainRemaining();
+        } finally {
+            runningWriters.decrementAndGet();
+        }
+    }
+
+    private void drainRemaining() {
+        try {
+            while (queue.take() != END_OF_INPUT) {
+                // discard batches queued after a failure so the reader is not blocked
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commit(Batch<T> batch) {
+        if (advanceWatermark(batch)) {
+            checkpointFlusher.execute(this::flushCheckpoint);
+        }
+    }
+
+    /**
+     * Records the batch as written and, if that moves the watermark, makes the new watermark the
+     * pending checkpoint. Setting it under the lock means a later watermark is never overwritten
+     * by an earlier one.
+     */
+    private synchronized boolean advanceWatermark(Batch<T> batch) {
+        completedBatches.put(batch.id, batch.records.size());
+        boolean advanced = false;
+        while (completedBatches.containsKey(nextBatchToCommit)) {
+            recordsCommitted += completedBatches.remove(nextBatchToCommit);
+            nextBatchToCommit++;
+            advanced = true;
+        }
+        if (advanced) {
+            pendingCheckpoint.set(new Checkpoint(nextBatchToCommit - 1, recordsCommitted));
+        }
+        return advanced;
+    }
+
+    private void flushCheckpoint() {
+        Checkpoint checkpoint = pendingCheckpoint.getAndSet(null);
+        if (checkpoint == null) {
+            return;
+        }
+        try {
+            commitListener.committed(checkpoint.batchId, checkpoint.recordsCommitted);
+        } catch (Throwable e) {
+            LOG.error("Import checkpoint failed", e);
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Blocks until the batch is queued. Gives up on a data batch once a writer has failed, and on
+     * any batch once no writer is left to take it, so that the reader never waits on a queue
+     * nobody is draining.
+     */
+    private void enqueue(Batch<T> batch) {
+        try {
+            while (!queue.offer(batch, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (runningWriters.get() == 0) {
+                    failure.compareAndSet(
+                            null, new IllegalStateException("Import writers stopped early"));
+                    return;
+                }
+                if (batch != END_OF_INPUT && failure.get() != null) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing import batch", e);
+        }
+    }
+
+    private void awaitTermination(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOG.info("Waiting for import writers and checkpoints to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void rethrowFailure() {
+        Throwable e = failure.get();
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        if (e != null) {
+            throw new RuntimeException("Import batch failed", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Batch<T> endOfInput() {
+        return (Batch<T>) END_OF_INPUT;
+    }
+
+    @FunctionalInterface
+    public interface CommitListener {
+        void committed(long batchId, long recordsCommitted);
+    }
+
+    private static class Checkpoint {
+        private final long batchId;
+        private final long recordsCommitted;
+
+        private Checkpoint(long batchId, long recordsCommitted) {
+            this.batchId = batchId;
+            this.recordsCommitted = recordsCommitted;
+        }
+    }
+
+    private static class Batch<T> {
+        private final long id;
+        private final List<T> records;
+
+        private Batch(long id, List<T> records) {
+            this.id = id;
+            this.records = records;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package uk.gov.di.authentication.accountmigration;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Derives internal and public subject ids from the legacy subject identifier so that importing
+ * the same record twice produces the same keys. The salt is a secret held for the migration alone,
+ * so it must not change between imports of the same data.
+ */
+public class MigratedSubjectHelper {
+
+    private static final String INTERNAL_PURPOSE = "internal";
+    private static final String PUBLIC_PURPOSE = "public";
+
+    private final byte[] salt;
+
+    public MigratedSubjectHelper(byte[] salt) {
+        this.salt = salt;
+    }
+
+    public String internalSubjectId(String legacySubjectId) {
+        return derive(INTERNAL_PURPOSE, legacySubjectId);
+    }
+
+    public String publicSubjectId(String legacySubjectId) {
+        return derive(PUBLIC_PURPOSE, legacySubjectId);
+    }
+
+    private String derive(String purpose, String legacySubjectId) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(salt);
+            md.update(purpose.getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            byte[] bytes = md.digest(legacySubjectId.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package uk.gov.di.authentication.accountmigration;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class MigrationCheckpoint {
+
+    @JsonProperty("file_key")
+    private final String fileKey;
+
+    @JsonProperty("etag")
+    private final String eTag;
+
+    @JsonProperty("rows_committed")
+    private final long rowsCommitted;
+
+    @JsonProperty("batch_id")
+    private final long batchId;
+
+    @JsonProperty("complete")
+    private final boolean complete;
+
+    @JsonProperty("updated")
+    private final String updated;
+
+    @JsonCreator
+    public MigrationCheckpoint(
+            @JsonProperty("file_key") String fileKey,
+            @JsonProperty("etag") String eTag,
+            @JsonProperty("rows_committed") long rowsCommitted,
+            @JsonProperty("batch_id") long batchId,
+            @JsonProperty("complete") boolean complete,
+            @JsonProperty("updated") String updated) {
+        this.fileKey = fileKey;
+        this.eTag = eTag;
+        this.rowsCommitted = rowsCommitted;
+        this.batchId = batchId;
+        this.complete = complete;
+        this.updated = updated;
+    }
+
+    public String getFileKey() {
+        return fileKey;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public long getRowsCommitted() {
+        return rowsCommitted;
+    }
+
+    public long getBatchId() {
+        return batchId;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public String getUpdated() {
+        return updated;
+    }
+}
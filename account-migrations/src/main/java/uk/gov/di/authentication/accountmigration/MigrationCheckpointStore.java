@@ -0,0 +1,76 @@
+package uk.gov.di.authentication.accountmigration;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.helpers.ObjectMapperFactory;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Stores migration progress next to the data transfer file, under a prefix that does not match
+ * the bucket notification filter, so a re-delivered event can resume where the last run stopped.
+ */
+public class MigrationCheckpointStore {
+
+    private static final Logger LOG = LogManager.getLogger(MigrationCheckpointStore.class);
+    private static final String CHECKPOINT_PREFIX = "checkpoints/";
+
+    private final AmazonS3 client;
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getInstance();
+
+    public MigrationCheckpointStore(AmazonS3 client) {
+        this.client = client;
+    }
+
+    public Optional<MigrationCheckpoint> load(String bucket, String fileKey) {
+        String key = checkpointKey(fileKey);
+        if (!client.doesObjectExist(bucket, key)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(
+                    objectMapper.readValue(
+                            client.getObjectAsString(bucket, key), MigrationCheckpoint.class));
+        } catch (JsonProcessingException e) {
+            LOG.warn("Ignoring unreadable checkpoint for {}", fileKey, e);
+            return Optional.empty();
+        }
+    }
+
+    public void save(
+            String bucket,
+            String fileKey,
+            String eTag,
+            long rowsCommitted,
+            long batchId,
+            boolean complete) {
+        MigrationCheckpoint checkpoint =
+                new MigrationCheckpoint(
+                        fileKey,
+                        eTag,
+                        rowsCommitted,
+                        batchId,
+                        complete,
+                        LocalDateTime.now().toString());
+        try {
+            client.putObject(
+                    bucket, checkpointKey(fileKey), objectMapper.writeValueAsString(checkpoint));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+        LOG.info(
+                "Checkpointed {} at {} rows (batch {}, complete: {})",
+                fileKey,
+                rowsCommitted,
+                batchId,
+                complete);
+    }
+
+    private static String checkpointKey(String fileKey) {
+        return CHECKPOINT_PREFIX + fileKey + ".json";
+    }
+}
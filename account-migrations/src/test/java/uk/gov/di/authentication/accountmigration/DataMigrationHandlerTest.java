@@ -10,38 +10,52 @@ import com.amazonaws.util.StringInputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import uk.gov.di.authentication.shared.entity.BulkWriteResult;
 import uk.gov.di.authentication.shared.entity.UserCredentials;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.services.AuthenticationService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 import static java.lang.String.format;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DataMigrationHandlerTest {
 
+    private static final String ETAG = "d41d8cd98f00b204e9800998ecf8427e";
+    private static final String CHECKPOINT_KEY = "checkpoints/test-file.csv.json";
+
     private final ConfigurationService configurationService = mock(ConfigurationService.class);
     private final AuthenticationService authenticationService = mock(AuthenticationService.class);
     private final AmazonS3Client s3Client = mock(AmazonS3Client.class);
     private final Context context = mock(Context.class);
 
-    private final DataMigrationHandler handler =
-            new DataMigrationHandler(authenticationService, configurationService, s3Client);
+    private DataMigrationHandler handler;
 
     @BeforeEach
     public void setup() {
         when(configurationService.getTermsAndConditionsVersion()).thenReturn("1.0");
+        when(configurationService.getMigrationSubjectSalt()).thenReturn(Optional.of(salt("salt")));
+        when(authenticationService.bulkAdd(any(), any())).thenReturn(BulkWriteResult.empty());
+        when(authenticationService.bulkAddIfAbsent(any(), any()))
+                .thenReturn(BulkWriteResult.empty());
+        handler = new DataMigrationHandler(authenticationService, configurationService, s3Client);
     }
 
     @Test
@@ -80,6 +94,99 @@ class DataMigrationHandlerTest {
         assertThat(profiles.getAllValues().get(60).size(), equalTo(150));
     }
 
+    @Test
+    public void shouldDeriveTheSameSubjectIdsWhenARecordIsImportedAgain() throws IOException {
+        mockCsvData(buildValidCsv(1));
+        handler.handleRequest(mockS3Event(), context);
+        mockCsvData(buildValidCsv(1));
+        handler.handleRequest(mockS3Event(), context);
+
+        ArgumentCaptor<List<UserProfile>> profiles = ArgumentCaptor.forClass(List.class);
+        verify(authenticationService, times(2)).bulkAdd(any(), profiles.capture());
+
+        UserProfile first = profiles.getAllValues().get(0).get(0);
+        UserProfile second = profiles.getAllValues().get(1).get(0);
+        assertThat(first.getSubjectID(), equalTo(second.getSubjectID()));
+        assertThat(first.getPublicSubjectID(), equalTo(second.getPublicSubjectID()));
+        assertThat(first.getSubjectID().equals(first.getPublicSubjectID()), equalTo(false));
+    }
+
+    @Test
+    public void shouldDeriveSubjectIdsFromTheMigrationSalt() throws IOException {
+        mockCsvData(buildValidCsv(1));
+        handler.handleRequest(mockS3Event(), context);
+        when(configurationService.getMigrationSubjectSalt())
+                .thenReturn(Optional.of(salt("another-salt")));
+        mockCsvData(buildValidCsv(1));
+        new DataMigrationHandler(authenticationService, configurationService, s3Client)
+                .handleRequest(mockS3Event(), context);
+
+        ArgumentCaptor<List<UserProfile>> profiles = ArgumentCaptor.forClass(List.class);
+        verify(authenticationService, times(2)).bulkAdd(any(), profiles.capture());
+
+        UserProfile first = profiles.getAllValues().get(0).get(0);
+        UserProfile second = profiles.getAllValues().get(1).get(0);
+        assertThat(first.getSubjectID().equals(second.getSubjectID()), equalTo(false));
+        assertThat(first.getPublicSubjectID().equals(second.getPublicSubjectID()), equalTo(false));
+    }
+
+    @Test
+    public void shouldFailToStartWithoutAMigrationSalt() {
+        when(configurationService.getMigrationSubjectSalt()).thenReturn(Optional.empty());
+
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        new DataMigrationHandler(
+                                authenticationService, configurationService, s3Client));
+    }
+
+    @Test
+    public void shouldResumeFromCheckpointUsingConditionalWrites() throws IOException {
+        mockCsvData(buildValidCsv(2500));
+        mockCheckpoint(2000, false);
+
+        handler.handleRequest(mockS3Event(), context);
+
+        ArgumentCaptor<List<UserCredentials>> credentials = ArgumentCaptor.forClass(List.class);
+        verify(authenticationService, never()).bulkAdd(any(), any());
+        verify(authenticationService, times(1)).bulkAddIfAbsent(credentials.capture(), any());
+
+        assertThat(credentials.getValue().size(), equalTo(500));
+        assertThat(credentials.getValue().get(0).getEmail(), equalTo("hello+2000@gov.uk"));
+        verify(s3Client)
+                .putObject(
+                        eq("test-bucket"),
+                        eq(CHECKPOINT_KEY),
+                        argThat((String body) -> body.contains("\"complete\":true")));
+    }
+
+    @Test
+    public void shouldSkipFileWhenCheckpointIsComplete() throws IOException {
+        mockCsvData(buildValidCsv(10));
+        mockCheckpoint(10, true);
+
+        handler.handleRequest(mockS3Event(), context);
+
+        verify(authenticationService, never()).bulkAdd(any(), any());
+        verify(authenticationService, never()).bulkAddIfAbsent(any(), any());
+    }
+
+    private static byte[] salt(String salt) {
+        return salt.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void mockCheckpoint(long rowsCommitted, boolean complete) {
+        when(s3Client.doesObjectExist("test-bucket", CHECKPOINT_KEY)).thenReturn(true);
+        when(s3Client.getObjectAsString("test-bucket", CHECKPOINT_KEY))
+                .thenReturn(
+                        format(
+                                "{\"file_key\":\"test-file.csv\",\"etag\":\"%s\","
+                                        + "\"rows_committed\":%d,\"batch_id\":%d,"
+                                        + "\"complete\":%b,\"updated\":\"2021-10-11T14:54:28\"}",
+                                ETAG, rowsCommitted, rowsCommitted / 1000 - 1, complete));
+    }
+
     private StringBuilder buildValidCsv(int rows) {
         StringBuilder csvDataBuilder = new StringBuilder();
         csvDataBuilder.append("email,encrypted_password,phone,subject_identifier,created_at\n");
@@ -120,6 +227,7 @@ class DataMigrationHandlerTest {
         when(entity.getObject()).thenReturn(file);
         when(bucket.getName()).thenReturn("test-bucket");
         when(file.getKey()).thenReturn("test-file.csv");
+        when(file.getETag()).thenReturn(ETAG);
 
         return event;
     }
@@ -0,0 +1,173 @@
+package uk.gov.di.authentication.accountmigration;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ImportPipelineTest {
+
+    @Test
+    void shouldWriteEveryRecordInFixedSizeBatches() {
+        ConcurrentLinkedQueue<List<Integer>> written = new ConcurrentLinkedQueue<>();
+        ImportPipeline<Integer> pipeline = new ImportPipeline<>(10, 4, 2, written::add);
+
+        long read = pipeline.run(IntStream.range(0, 95).boxed().iterator());
+
+        assertThat(read, equalTo(95L));
+        assertThat(
+                written.stream().map(List::size).collect(Collectors.toList()),
+                containsInAnyOrder(10, 10, 10, 10, 10, 10, 10, 10, 10, 5));
+        assertThat(
+                written.stream().flatMap(List::stream).collect(Collectors.toList()),
+                containsInAnyOrder(IntStream.range(0, 95).boxed().toArray()));
+    }
+
+    @Test
+    void shouldBoundTheNumberOfBatchesInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ImportPipeline<Integer> pipeline =
+                new ImportPipeline<>(
+                        5,
+                        2,
+                        1,
+                        batch -> {
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            try {
+                                Thread.sleep(5);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            inFlight.decrementAndGet();
+                        });
+
+        pipeline.run(IntStream.range(0, 100).boxed().iterator());
+
+        assertThat(maxInFlight.get(), lessThanOrEqualTo(2));
+    }
+
+    @Test
+    void shouldOnlyReportContiguousCommittedBatches() {
+        List<Long> committed = new ArrayList<>();
+        List<Long> expected = new ArrayList<>();
+        ImportPipeline<Integer> pipeline =
+                new ImportPipeline<>(
+                        10,
+                        4,
+                        4,
+                        batch -> {
+                            try {
+                                Thread.sleep(batch.get(0) == 0 ? 20 : 1);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        },
+                        (batchId, records) -> {
+                            committed.add(records);
+                            expected.add(Math.min((batchId + 1) * 10, 95));
+                        });
+
+        pipeline.run(IntStream.range(0, 95).boxed().iterator());
+
+        assertThat(committed, equalTo(expected));
+        assertThat(committed, equalTo(committed.stream().sorted().collect(Collectors.toList())));
+        assertThat(committed.get(committed.size() - 1), equalTo(95L));
+    }
+
+    @Test
+    void shouldKeepWritingWhileACheckpointIsBeingSaved() {
+        CountDownLatch batchesWritten = new CountDownLatch(10);
+        AtomicBoolean wroteDuringCheckpoint = new AtomicBoolean();
+        List<Long> committed = new ArrayList<>();
+        ImportPipeline<Integer> pipeline =
+                new ImportPipeline<>(
+                        10,
+                        4,
+                        4,
+                        batch -> batchesWritten.countDown(),
+                        (batchId, records) -> {
+                            if (committed.isEmpty()) {
+                                try {
+                                    wroteDuringCheckpoint.set(
+                                            batchesWritten.await(5, TimeUnit.SECONDS));
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            }
+                            committed.add(records);
+                        });
+
+        pipeline.run(IntStream.range(0, 95).boxed().iterator());
+
+        assertThat(wroteDuringCheckpoint.get(), equalTo(true));
+        assertThat(committed.get(committed.size() - 1), equalTo(95L));
+    }
+
+    @Test
+    void shouldPropagateCheckpointFailure() {
+        ImportPipeline<Integer> pipeline =
+                new ImportPipeline<>(
+                        10,
+                        2,
+                        1,
+                        batch -> {},
+                        (batchId, records) -> {
+                            throw new IllegalStateException("checkpoint failed");
+                        });
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> pipeline.run(IntStream.range(0, 1000).boxed().iterator()));
+    }
+
+    @Test
+    void shouldPropagateWriterFailure() {
+        ImportPipeline<Integer> pipeline =
+                new ImportPipeline<>(
+                        10,
+                        2,
+                        1,
+                        batch -> {
+                            throw new IllegalStateException("write failed");
+                        });
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> pipeline.run(IntStream.range(0, 1000).boxed().iterator()));
+    }
+
+    @Test
+    void shouldPropagateAnErrorThrownByAWriterWithoutHanging() {
+        ImportPipeline<Integer> pipeline =
+                new ImportPipeline<>(
+                        10,
+                        2,
+                        1,
+                        batch -> {
+                            throw new AssertionError("write failed");
+                        });
+
+        assertTimeoutPreemptively(
+                Duration.ofSeconds(5),
+                () ->
+                        assertThrows(
+                                AssertionError.class,
+                                () -> pipeline.run(IntStream.range(0, 1000).boxed().iterator())));
+    }
+}
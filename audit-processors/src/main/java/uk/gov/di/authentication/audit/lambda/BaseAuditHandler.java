@@ -10,55 +10,103 @@ import org.apache.logging.log4j.Logger;
 import uk.gov.di.audit.AuditPayload.AuditEvent;
 import uk.gov.di.audit.AuditPayload.SignedAuditEvent;
 import uk.gov.di.authentication.audit.helper.AuditEventHelper;
+import uk.gov.di.authentication.audit.services.AuditEventDeduplicator;
+import uk.gov.di.authentication.audit.services.AuditSignatureValidator;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.KmsConnectionService;
+import uk.gov.di.authentication.shared.services.WarmUpOrchestrator;
 
 import java.util.Base64;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public abstract class BaseAuditHandler implements RequestHandler<SNSEvent, Object> {
 
     protected final Logger LOG = LogManager.getLogger(getClass());
-    private final KmsConnectionService kmsConnectionService;
+    private final AuditSignatureValidator signatureValidator;
+    private final Optional<AuditEventDeduplicator> deduplicator;
     protected final ConfigurationService service;
 
     BaseAuditHandler(KmsConnectionService kmsConnectionService, ConfigurationService service) {
-        this.kmsConnectionService = kmsConnectionService;
+        this(kmsConnectionService, service, Optional.empty());
+    }
+
+    BaseAuditHandler(
+            KmsConnectionService kmsConnectionService,
+            ConfigurationService service,
+            Optional<AuditEventDeduplicator> deduplicator) {
         this.service = service;
+        this.signatureValidator = new AuditSignatureValidator(kmsConnectionService, service);
+        this.deduplicator = deduplicator;
     }
 
-    BaseAuditHandler() {
+    BaseAuditHandler(String deduplicationConsumer) {
         this.service = ConfigurationService.getInstance();
-        this.kmsConnectionService = new KmsConnectionService(service);
+        var kmsConnectionService = new KmsConnectionService(service);
+        new WarmUpOrchestrator().add("kms", kmsConnectionService::warmUp).run();
+        this.signatureValidator = new AuditSignatureValidator(kmsConnectionService, service);
+        this.deduplicator =
+                AuditEventDeduplicator.fromConfiguration(service, deduplicationConsumer);
     }
 
     @Override
     public Object handleRequest(SNSEvent input, Context context) {
-        input.getRecords().stream()
-                .map(SNSRecord::getSNS)
-                .map(SNS::getMessage)
-                .map(Base64.getDecoder()::decode)
-                .map(AuditEventHelper::parseToSignedAuditEvent)
+        var signedEvents =
+                input.getRecords().stream()
+                        .map(SNSRecord::getSNS)
+                        .map(SNS::getMessage)
+                        .map(Base64.getDecoder()::decode)
+                        .map(AuditEventHelper::parseToSignedAuditEvent)
+                        .collect(Collectors.toList());
+
+        signedEvents.parallelStream()
                 .filter(this::validateSignature)
+                .collect(Collectors.toList())
+                .stream()
                 .map(AuditEventHelper::extractPayload)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .peek(event -> LOG.info("Consuming audit message with id: {}", event.getEventId()))
-                .forEach(this::handleAuditEvent);
+                .forEach(this::handleIfNotDuplicate);
+
+        deduplicator.ifPresent(AuditEventDeduplicator::reportMetrics);
 
         return null;
     }
 
     abstract void handleAuditEvent(AuditEvent auditEvent);
 
+    private void handleIfNotDuplicate(AuditEvent auditEvent) {
+        if (deduplicator.isEmpty()) {
+            handleAuditEvent(auditEvent);
+            return;
+        }
+
+        switch (deduplicator.get().claim(auditEvent.getEventId())) {
+            case DUPLICATE:
+                LOG.info("Skipping duplicate audit message with id: {}", auditEvent.getEventId());
+                return;
+            case IN_PROGRESS:
+                throw new IllegalStateException(
+                        "Audit message is already being handled, id: " + auditEvent.getEventId());
+            default:
+                break;
+        }
+
+        try {
+            handleAuditEvent(auditEvent);
+        } catch (RuntimeException e) {
+            deduplicator.get().release(auditEvent.getEventId());
+            throw e;
+        }
+        deduplicator.get().complete(auditEvent.getEventId());
+    }
+
     private boolean validateSignature(Optional<SignedAuditEvent> event) {
         if (event.isEmpty()) {
             return false;
         }
 
-        return kmsConnectionService.validateSignature(
-                event.get().getSignature().asReadOnlyByteBuffer(),
-                event.get().getPayload().asReadOnlyByteBuffer(),
-                service.getAuditSigningKeyAlias());
+        return signatureValidator.isValid(event.get());
     }
 }
@@ -3,23 +3,34 @@ package uk.gov.di.authentication.audit.lambda;
 import org.apache.logging.log4j.message.ObjectMessage;
 import uk.gov.di.audit.AuditPayload.AuditEvent;
 import uk.gov.di.audit.AuditPayload.AuditEvent.User;
+import uk.gov.di.authentication.audit.services.AuditEventDeduplicator;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.KmsConnectionService;
 
 import java.util.HashMap;
+import java.util.Optional;
 
 import static org.apache.commons.codec.binary.Hex.encodeHexString;
-import static uk.gov.di.authentication.audit.helper.HmacSha256Helper.hmacSha256;
+import static uk.gov.di.authentication.shared.helpers.HmacHelper.hmacSha256;
 
 public class CounterFraudAuditLambda extends BaseAuditHandler {
 
+    static final String DEDUPLICATION_CONSUMER = "counter-fraud";
+
     public CounterFraudAuditLambda(
             KmsConnectionService kmsConnectionService, ConfigurationService service) {
         super(kmsConnectionService, service);
     }
 
+    public CounterFraudAuditLambda(
+            KmsConnectionService kmsConnectionService,
+            ConfigurationService service,
+            Optional<AuditEventDeduplicator> deduplicator) {
+        super(kmsConnectionService, service, deduplicator);
+    }
+
     public CounterFraudAuditLambda() {
-        super();
+        super(DEDUPLICATION_CONSUMER);
     }
 
     @Override
@@ -2,6 +2,7 @@ package uk.gov.di.authentication.audit.lambda;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
 import com.google.gson.JsonParser;
@@ -12,69 +13,177 @@ import org.apache.logging.log4j.Logger;
 import uk.gov.di.audit.AuditPayload.AuditEvent;
 import uk.gov.di.audit.AuditPayload.SignedAuditEvent;
 import uk.gov.di.authentication.audit.helper.AuditEventHelper;
+import uk.gov.di.authentication.audit.services.AuditEventDeduplicator;
+import uk.gov.di.authentication.audit.services.AuditSignatureValidator;
 import uk.gov.di.authentication.audit.services.S3Service;
+import uk.gov.di.authentication.shared.helpers.SQSBatchFailureCollector;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.KmsConnectionService;
+import uk.gov.di.authentication.shared.services.WarmUpOrchestrator;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
-public class StorageSQSAuditHandler implements RequestHandler<SQSEvent, Object> {
+public class StorageSQSAuditHandler implements RequestHandler<SQSEvent, SQSBatchResponse> {
+
+    static final String DEDUPLICATION_CONSUMER = "storage";
 
     protected final Logger LOG = LogManager.getLogger(getClass());
-    private final KmsConnectionService kmsConnectionService;
+    private final AuditSignatureValidator signatureValidator;
     private final ConfigurationService service;
     private final S3Service s3service;
+    private final Optional<AuditEventDeduplicator> deduplicator;
 
     public StorageSQSAuditHandler(
             KmsConnectionService kmsConnectionService,
             ConfigurationService service,
             S3Service s3Service) {
-        this.kmsConnectionService = kmsConnectionService;
+        this(kmsConnectionService, service, s3Service, Optional.empty());
+    }
+
+    public StorageSQSAuditHandler(
+            KmsConnectionService kmsConnectionService,
+            ConfigurationService service,
+            S3Service s3Service,
+            Optional<AuditEventDeduplicator> deduplicator) {
         this.service = service;
+        this.signatureValidator = new AuditSignatureValidator(kmsConnectionService, service);
         this.s3service = s3Service;
+        this.deduplicator = deduplicator;
     }
 
     public StorageSQSAuditHandler() {
         this.service = ConfigurationService.getInstance();
-        this.kmsConnectionService = new KmsConnectionService(service);
+        var kmsConnectionService = new KmsConnectionService(service);
+        new WarmUpOrchestrator().add("kms", kmsConnectionService::warmUp).run();
+        this.signatureValidator = new AuditSignatureValidator(kmsConnectionService, service);
         this.s3service = new S3Service(service);
+        this.deduplicator =
+                AuditEventDeduplicator.fromConfiguration(service, DEDUPLICATION_CONSUMER);
     }
 
     @Override
-    public Object handleRequest(SQSEvent input, Context context) {
+    public SQSBatchResponse handleRequest(SQSEvent input, Context context) {
         LOG.info("Processing {} events from queue", input.getRecords().size());
-        var auditMessages =
-                input.getRecords().stream()
-                        .peek(record -> LOG.info("Processing record {}", record.getMessageId()))
-                        .map(SQSMessage::getBody)
-                        .map(this::readAsJson)
-                        .map(Base64.getDecoder()::decode)
-                        .peek(payload -> LOG.info("Extracted payload: length {}", payload.length))
-                        .map(AuditEventHelper::parseToSignedAuditEvent)
-                        .filter(this::validateSignature)
-                        .map(AuditEventHelper::extractPayload)
-                        .filter(Optional::isPresent)
-                        .map(Optional::get)
+        var failures = new SQSBatchFailureCollector();
+        var records = input.getRecords();
+        var extracted =
+                records.parallelStream()
+                        .map(record -> readFirstDelivery(record, failures))
                         .collect(Collectors.toList());
 
-        LOG.info("Consuming {} audit messages", auditMessages.size());
+        var recordsByPartition = new LinkedHashMap<String, List<SQSMessage>>();
+        var eventsByPartition = new LinkedHashMap<String, List<AuditEvent>>();
+        for (int i = 0; i < records.size(); i++) {
+            if (extracted.get(i).isPresent()) {
+                var auditEvent = extracted.get(i).get();
+                var partition = partitionKey(auditEvent);
+                recordsByPartition
+                        .computeIfAbsent(partition, key -> new ArrayList<>())
+                        .add(records.get(i));
+                eventsByPartition
+                        .computeIfAbsent(partition, key -> new ArrayList<>())
+                        .add(auditEvent);
+            }
+        }
+
+        LOG.info(
+                "Consuming {} audit messages across {} partitions",
+                eventsByPartition.values().stream().mapToInt(List::size).sum(),
+                eventsByPartition.size());
+
+        eventsByPartition.forEach(
+                (partition, auditEvents) -> {
+                    try {
+                        this.handleAuditEvent(auditEvents);
+                    } catch (RuntimeException e) {
+                        LOG.error("Unable to store {} audit messages", auditEvents.size(), e);
+                        auditEvents.forEach(this::releaseClaim);
+                        failures.retryable(
+                                recordsByPartition.get(partition),
+                                "Unable to store audit messages");
+                        return;
+                    }
+                    auditEvents.forEach(this::completeClaim);
+                });
+
+        deduplicator.ifPresent(AuditEventDeduplicator::reportMetrics);
+
+        return failures.toBatchResponse();
+    }
+
+    private void releaseClaim(AuditEvent auditEvent) {
+        deduplicator.ifPresent(claims -> claims.release(auditEvent.getEventId()));
+    }
+
+    private void completeClaim(AuditEvent auditEvent) {
+        deduplicator.ifPresent(claims -> claims.complete(auditEvent.getEventId()));
+    }
+
+    private Optional<AuditEvent> readFirstDelivery(
+            SQSMessage record, SQSBatchFailureCollector failures) {
+        return readAuditEvent(record, failures)
+                .filter(auditEvent -> isFirstDelivery(record, auditEvent, failures));
+    }
+
+    private boolean isFirstDelivery(
+            SQSMessage record, AuditEvent auditEvent, SQSBatchFailureCollector failures) {
+        if (deduplicator.isEmpty()) {
+            return true;
+        }
+        switch (deduplicator.get().claim(auditEvent.getEventId())) {
+            case DUPLICATE:
+                LOG.info("Skipping duplicate audit message with id: {}", auditEvent.getEventId());
+                return false;
+            case IN_PROGRESS:
+                failures.retryable(record, "Audit message is already being stored");
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    private Optional<AuditEvent> readAuditEvent(
+            SQSMessage record, SQSBatchFailureCollector failures) {
+        LOG.info("Processing record {}", record.getMessageId());
+        Optional<SignedAuditEvent> signedEvent;
+        try {
+            var payload = Base64.getDecoder().decode(readAsJson(record.getBody()));
+            LOG.info("Extracted payload: length {}", payload.length);
+            signedEvent = AuditEventHelper.parseToSignedAuditEvent(payload);
+        } catch (RuntimeException e) {
+            failures.poison(record, "Unable to read message body");
+            return Optional.empty();
+        }
 
-        this.handleAuditEvent(auditMessages);
+        if (!validateSignature(signedEvent)) {
+            failures.poison(record, "Audit event signature is missing or invalid");
+            return Optional.empty();
+        }
 
-        return null;
+        var auditEvent = AuditEventHelper.extractPayload(signedEvent);
+        if (auditEvent.isEmpty()) {
+            failures.poison(record, "Unable to parse audit event payload");
+        }
+        return auditEvent;
     }
 
     private String readAsJson(String snsMessage) {
         return JsonParser.parseString(snsMessage).getAsJsonObject().get("Message").getAsString();
     }
 
-    void handleAuditEvent(List<AuditEvent> auditEvent) {
+    /** Stores a batch of audit events that all share the same partition. */
+    void handleAuditEvent(List<AuditEvent> auditEvents) {
         var content =
-                auditEvent.stream()
+                auditEvents.stream()
                         .map(
                                 event -> {
                                     try {
@@ -88,7 +197,22 @@ public class StorageSQSAuditHandler implements RequestHandler<SQSEvent, Object>
                         .filter(Objects::nonNull)
                         .collect(Collectors.joining("\n"));
 
-        s3service.storeRecords(content);
+        var first = auditEvents.get(0);
+        s3service.storeRecords(first.getEventName(), eventTime(first), content);
+    }
+
+    private static String partitionKey(AuditEvent auditEvent) {
+        return auditEvent.getEventName()
+                + "/"
+                + eventTime(auditEvent).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static Instant eventTime(AuditEvent auditEvent) {
+        try {
+            return Instant.parse(auditEvent.getTimestamp());
+        } catch (DateTimeParseException e) {
+            return Instant.now();
+        }
     }
 
     private boolean validateSignature(Optional<SignedAuditEvent> event) {
@@ -99,9 +223,6 @@ public class StorageSQSAuditHandler implements RequestHandler<SQSEvent, Object>
 
         LOG.info("Validating signature");
 
-        return kmsConnectionService.validateSignature(
-                event.get().getSignature().asReadOnlyByteBuffer(),
-                event.get().getPayload().asReadOnlyByteBuffer(),
-                service.getAuditSigningKeyAlias());
+        return signatureValidator.isValid(event.get());
     }
 }
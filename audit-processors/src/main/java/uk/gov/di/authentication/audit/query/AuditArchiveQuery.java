@@ -0,0 +1,117 @@
+package uk.gov.di.authentication.audit.query;
+
+import uk.gov.di.audit.AuditPayload.AuditEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The filters for a scan of the audit store. Event name and time are pushed down to the object
+ * keys so that objects outside the query are never fetched; the remaining filters are applied to
+ * each decoded event.
+ */
+public class AuditArchiveQuery {
+
+    private static final Pattern PARTITIONED_KEY =
+            Pattern.compile(
+                    "^event_name=([^/]+)/date=(\\d{4}-\\d{2}-\\d{2})/hour=(\\d{2})/[^/]+$");
+    private static final Pattern LEGACY_KEY =
+            Pattern.compile("^(\\d{4})/(\\d{2})/(\\d{2})/audit-[^/]+$");
+
+    private final Instant from;
+    private final Instant to;
+    private final Set<String> eventNames;
+    private final Optional<String> clientId;
+    private final Optional<String> sessionId;
+
+    public AuditArchiveQuery(
+            Instant from,
+            Instant to,
+            Set<String> eventNames,
+            Optional<String> clientId,
+            Optional<String> sessionId) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Query start must be before its end");
+        }
+        this.from = from;
+        this.to = to;
+        this.eventNames = Set.copyOf(eventNames);
+        this.clientId = clientId;
+        this.sessionId = sessionId;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public Set<String> getEventNames() {
+        return eventNames;
+    }
+
+    public boolean matchesEventName(String eventName) {
+        return eventNames.isEmpty() || eventNames.contains(eventName);
+    }
+
+    /**
+     * Whether an object could hold events matching this query, judged from its key alone.
+     * Partitioned keys are pruned by event name and hour. Legacy keys only carry the date they
+     * were written, and an object is written at or after the events in it, so an object dated D
+     * may hold events from D or the day before it.
+     */
+    public boolean mayContain(String key) {
+        Matcher partitioned = PARTITIONED_KEY.matcher(key);
+        if (partitioned.matches()) {
+            var hourStart =
+                    LocalDate.parse(partitioned.group(2))
+                            .atTime(Integer.parseInt(partitioned.group(3)), 0)
+                            .toInstant(ZoneOffset.UTC);
+            return matchesEventName(partitioned.group(1))
+                    && overlaps(hourStart, hourStart.plus(Duration.ofHours(1)));
+        }
+        Matcher legacy = LEGACY_KEY.matcher(key);
+        if (legacy.matches()) {
+            var dayStart =
+                    LocalDate.of(
+                                    Integer.parseInt(legacy.group(1)),
+                                    Integer.parseInt(legacy.group(2)),
+                                    Integer.parseInt(legacy.group(3)))
+                            .atStartOfDay()
+                            .toInstant(ZoneOffset.UTC);
+            return overlaps(dayStart.minus(Duration.ofDays(1)), dayStart.plus(Duration.ofDays(1)));
+        }
+        return false;
+    }
+
+    public boolean matches(AuditEvent event) {
+        if (!matchesEventName(event.getEventName())) {
+            return false;
+        }
+        if (clientId.isPresent() && !clientId.get().equals(event.getClientId())) {
+            return false;
+        }
+        if (sessionId.isPresent() && !sessionId.get().equals(event.getSessionId())) {
+            return false;
+        }
+        try {
+            var timestamp = Instant.parse(event.getTimestamp());
+            return !timestamp.isBefore(from) && timestamp.isBefore(to);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private boolean overlaps(Instant start, Instant end) {
+        return start.isBefore(to) && end.isAfter(from);
+    }
+}
@@ -0,0 +1,218 @@
+package uk.gov.di.authentication.audit.query;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.audit.AuditPayload.AuditEvent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams the objects in the audit store that may match a query, decoding them in parallel.
+ *
+ * <p>Objects are read line by line and never held in memory whole, and at most {@code
+ * parallelism} objects are open at once, so memory use is bounded regardless of how much data the
+ * query covers. Matching events are handed to the sink from the worker threads, so the sink must
+ * be thread safe.
+ */
+public class AuditArchiveScanner {
+
+    private static final Logger LOG = LogManager.getLogger(AuditArchiveScanner.class);
+    private static final String EVENT_NAME_PREFIX = "event_name=";
+    private static final DateTimeFormatter LEGACY_DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy/MM/dd");
+
+    private final AmazonS3 s3Client;
+    private final String bucket;
+    private final int parallelism;
+    private final JsonFormat.Parser parser = JsonFormat.parser().ignoringUnknownFields();
+
+    public AuditArchiveScanner(AmazonS3 s3Client, String bucket, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.parallelism = parallelism;
+    }
+
+    public ScanSummary scan(AuditArchiveQuery query, BiConsumer<AuditEvent, String> sink) {
+        var summary = new ScanSummary();
+        var permits = new Semaphore(parallelism);
+        var futures = new ArrayList<CompletableFuture<Void>>();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            for (String prefix : prefixes(query)) {
+                list(
+                        prefix,
+                        object -> {
+                            if (!query.mayContain(object.getKey())) {
+                                return;
+                            }
+                            acquire(permits);
+                            Runnable task = () -> read(object.getKey(), query, sink, summary);
+                            futures.add(
+                                    CompletableFuture.runAsync(task, executor)
+                                            .whenComplete((result, error) -> permits.release()));
+                        });
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdownNow();
+        }
+        LOG.info(
+                "Scanned {} objects and {} events, {} matched, {} malformed",
+                summary.getObjects(),
+                summary.getEvents(),
+                summary.getMatched(),
+                summary.getMalformed());
+        return summary;
+    }
+
+    private List<String> prefixes(AuditArchiveQuery query) {
+        var firstDay = LocalDate.ofInstant(query.getFrom(), ZoneOffset.UTC);
+        var lastDay = LocalDate.ofInstant(query.getTo().minusNanos(1), ZoneOffset.UTC);
+
+        var eventNames = new TreeSet<>(query.getEventNames());
+        if (eventNames.isEmpty()) {
+            eventNames.addAll(listEventNames());
+        }
+
+        var prefixes = new ArrayList<String>();
+        for (String eventName : eventNames) {
+            for (var day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+                prefixes.add(EVENT_NAME_PREFIX + eventName + "/date=" + day + "/");
+            }
+        }
+        // Legacy objects are dated when they were written, so events late on the last day of the
+        // query can sit under the next day's prefix
+        for (var day = firstDay; !day.isAfter(lastDay.plusDays(1)); day = day.plusDays(1)) {
+            prefixes.add(LEGACY_DATE_FORMATTER.format(day) + "/");
+        }
+        return prefixes;
+    }
+
+    private List<String> listEventNames() {
+        var eventNames = new ArrayList<String>();
+        var request =
+                new ListObjectsV2Request()
+                        .withBucketName(bucket)
+                        .withPrefix(EVENT_NAME_PREFIX)
+                        .withDelimiter("/");
+        ListObjectsV2Result result;
+        do {
+            result = s3Client.listObjectsV2(request);
+            result.getCommonPrefixes().stream()
+                    .map(
+                            prefix ->
+                                    prefix.substring(
+                                            EVENT_NAME_PREFIX.length(), prefix.length() - 1))
+                    .forEach(eventNames::add);
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+        return eventNames;
+    }
+
+    private void list(String prefix, Consumer<S3ObjectSummary> consumer) {
+        var request = new ListObjectsV2Request().withBucketName(bucket).withPrefix(prefix);
+        ListObjectsV2Result result;
+        do {
+            result = s3Client.listObjectsV2(request);
+            result.getObjectSummaries().forEach(consumer);
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+    }
+
+    private void read(
+            String key,
+            AuditArchiveQuery query,
+            BiConsumer<AuditEvent, String> sink,
+            ScanSummary summary) {
+        try (var object = s3Client.getObject(bucket, key);
+                var reader = open(key, object.getObjectContent())) {
+            summary.objects.incrementAndGet();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                summary.events.incrementAndGet();
+                var event = AuditEvent.newBuilder();
+                try {
+                    parser.merge(line, event);
+                } catch (InvalidProtocolBufferException e) {
+                    summary.malformed.incrementAndGet();
+                    continue;
+                }
+                var auditEvent = event.build();
+                if (query.matches(auditEvent)) {
+                    summary.matched.incrementAndGet();
+                    sink.accept(auditEvent, line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read audit object " + key, e);
+        }
+    }
+
+    private static BufferedReader open(String key, InputStream content) throws IOException {
+        var stream = key.endsWith(".gz") ? new GZIPInputStream(content) : content;
+        return new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+    }
+
+    private static void acquire(Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while scanning audit store", e);
+        }
+    }
+
+    public static class ScanSummary {
+        private final AtomicLong objects = new AtomicLong();
+        private final AtomicLong events = new AtomicLong();
+        private final AtomicLong matched = new AtomicLong();
+        private final AtomicLong malformed = new AtomicLong();
+
+        public long getObjects() {
+            return objects.get();
+        }
+
+        public long getEvents() {
+            return events.get();
+        }
+
+        public long getMatched() {
+            return matched.get();
+        }
+
+        public long getMalformed() {
+            return malformed.get();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package uk.gov.di.authentication.audit.query;
+
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import uk.gov.di.audit.AuditPayload.AuditEvent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Command line query tool for the audit store.
+ *
+ * <pre>
+ * ./gradlew :audit-processors:auditQuery --args="--bucket=my-audit-bucket
+ *     --from=2021-12-01T00:00:00Z --to=2021-12-02T00:00:00Z
+ *     --event-name=INVALID_CREDENTIALS --output=count --group-by=event_name,hour"
+ * </pre>
+ *
+ * <p>{@code --output=jsonl} (the default) writes each matching event as stored; {@code
+ * --output=count} writes tab separated counts grouped by any of {@code event_name}, {@code hour},
+ * {@code date}, {@code client_id} and {@code session_id}. {@code --client-id} and {@code
+ * --session-id} filter on those fields and {@code --parallelism} sets how many objects are read at
+ * once (default 16).
+ *
+ * <p>The store only holds event payloads, not their signatures, so stored events cannot be
+ * re-verified here; they were verified by the storage lambda before being written.
+ */
+public class AuditQueryCli {
+
+    private static final int DEFAULT_PARALLELISM = 16;
+    private static final Map<String, Function<AuditEvent, String>> GROUPINGS =
+            Map.of(
+                    "event_name", AuditEvent::getEventName,
+                    "client_id", AuditEvent::getClientId,
+                    "session_id", AuditEvent::getSessionId,
+                    "date", event -> truncate(event, ChronoUnit.DAYS),
+                    "hour", event -> truncate(event, ChronoUnit.HOURS));
+
+    public static void main(String[] args) throws IOException {
+        var options = parse(args);
+        var query =
+                new AuditArchiveQuery(
+                        Instant.parse(required(options, "from")),
+                        Instant.parse(required(options, "to")),
+                        Optional.ofNullable(options.get("event-name"))
+                                .map(names -> Set.of(names.split(",")))
+                                .orElse(Set.of()),
+                        Optional.ofNullable(options.get("client-id")),
+                        Optional.ofNullable(options.get("session-id")));
+        var parallelism =
+                Integer.parseInt(
+                        options.getOrDefault("parallelism", String.valueOf(DEFAULT_PARALLELISM)));
+        var scanner =
+                new AuditArchiveScanner(
+                        AmazonS3ClientBuilder.defaultClient(),
+                        required(options, "bucket"),
+                        parallelism);
+
+        try (var out =
+                new PrintWriter(
+                        new BufferedWriter(
+                                new OutputStreamWriter(System.out, StandardCharsets.UTF_8)))) {
+            switch (options.getOrDefault("output", "jsonl")) {
+                case "jsonl":
+                    scanner.scan(
+                            query,
+                            (event, line) -> {
+                                synchronized (out) {
+                                    out.println(line);
+                                }
+                            });
+                    break;
+                case "count":
+                    var groupBy =
+                            groupings(options.getOrDefault("group-by", "event_name,hour"));
+                    var counts = new ConcurrentHashMap<String, LongAdder>();
+                    scanner.scan(
+                            query,
+                            (event, line) ->
+                                    counts.computeIfAbsent(
+                                                    groupKey(groupBy, event),
+                                                    key -> new LongAdder())
+                                            .increment());
+                    new TreeMap<>(counts)
+                            .forEach((key, count) -> out.println(key + "\t" + count.sum()));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Output must be either jsonl or count");
+            }
+        }
+    }
+
+    private static List<Function<AuditEvent, String>> groupings(String groupBy) {
+        return Arrays.stream(groupBy.split(","))
+                .map(
+                        name ->
+                                Optional.ofNullable(GROUPINGS.get(name))
+                                        .orElseThrow(
+                                                () ->
+                                                        new IllegalArgumentException(
+                                                                "Unknown group-by field: "
+                                                                        + name)))
+                .collect(Collectors.toList());
+    }
+
+    private static String groupKey(List<Function<AuditEvent, String>> groupBy, AuditEvent event) {
+        return groupBy.stream()
+                .map(grouping -> grouping.apply(event))
+                .collect(Collectors.joining("\t"));
+    }
+
+    private static String truncate(AuditEvent event, ChronoUnit unit) {
+        return Instant.parse(event.getTimestamp()).truncatedTo(unit).toString();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        var options = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            var separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        return Optional.ofNullable(options.get(name))
+                .orElseThrow(() -> new IllegalArgumentException("--" + name + " is required"));
+    }
+}
@@ -0,0 +1,270 @@
+package uk.gov.di.authentication.audit.services;
+
+import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ObjectMessage;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drops audit events that a consumer has already processed, keyed by the consumer and the event
+ * id, so that SNS and SQS redeliveries are not passed downstream twice.
+ *
+ * <p>Every consumer of the event stream receives every event, so claims are made as {@code
+ * <consumer>#<eventId>} and one consumer's claim never causes another to drop the event.
+ *
+ * <p>Claims are two-phase, with DynamoDB as the source of truth across containers. {@link #claim}
+ * writes an {@code IN_PROGRESS} item holding a lease that must outlast the function timeout, and
+ * {@link #complete} marks it {@code COMPLETE} for the configured TTL once the event has been
+ * handled. An in-progress claim whose lease has expired can be taken over, so an event whose
+ * consumer timed out or crashed before completing is processed on redelivery rather than dropped.
+ * While the lease is held, a redelivery is reported as {@link Claim#IN_PROGRESS} and should be
+ * retried later. A claim should be released if the event fails to process.
+ *
+ * <p>Completed ids are also held in a {@link RecentEventIdFilter}, so redeliveries landing on the
+ * same container are dropped without a round trip.
+ *
+ * <p>If DynamoDB is unavailable events are let through: a duplicate audit event is preferable to a
+ * lost one.
+ */
+public class AuditEventDeduplicator {
+
+    private static final Logger LOG = LogManager.getLogger(AuditEventDeduplicator.class);
+    private static final String TABLE_NAME = "audit-event-ids";
+    private static final String EVENT_ID_FIELD = "EventId";
+    private static final String STATUS_FIELD = "Status";
+    private static final String LEASE_EXPIRY_FIELD = "LeaseExpiry";
+    private static final String TIME_TO_LIVE_FIELD = "TimeToLive";
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String COMPLETE = "COMPLETE";
+    private static final int LOCAL_CAPACITY = 100_000;
+
+    private final AmazonDynamoDB dynamoDB;
+    private final String tableName;
+    private final String consumer;
+    private final Duration lease;
+    private final Duration ttl;
+    private final Clock clock;
+    private final RecentEventIdFilter recentEventIds;
+
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder localDuplicates = new LongAdder();
+    private final LongAdder inProgress = new LongAdder();
+    private final LongAdder unavailable = new LongAdder();
+
+    public AuditEventDeduplicator(ConfigurationService configurationService, String consumer) {
+        this(
+                configurationService
+                        .getDynamoEndpointUri()
+                        .map(
+                                endpoint ->
+                                        new EndpointConfiguration(
+                                                endpoint, configurationService.getAwsRegion()))
+                        .map(AmazonDynamoDBClientBuilder.standard()::withEndpointConfiguration)
+                        .orElse(
+                                AmazonDynamoDBClientBuilder.standard()
+                                        .withRegion(configurationService.getAwsRegion()))
+                        .build(),
+                configurationService.getEnvironment() + "-" + TABLE_NAME,
+                consumer,
+                Duration.ofSeconds(configurationService.getAuditDeduplicationLease()),
+                Duration.ofSeconds(configurationService.getAuditDeduplicationTtl()),
+                Clock.systemUTC());
+    }
+
+    public AuditEventDeduplicator(
+            AmazonDynamoDB dynamoDB,
+            String tableName,
+            String consumer,
+            Duration lease,
+            Duration ttl,
+            Clock clock) {
+        this.dynamoDB = dynamoDB;
+        this.tableName = tableName;
+        this.consumer = consumer;
+        this.lease = lease;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.recentEventIds = new RecentEventIdFilter(LOCAL_CAPACITY, ttl.dividedBy(2), clock);
+    }
+
+    public static Optional<AuditEventDeduplicator> fromConfiguration(
+            ConfigurationService configurationService, String consumer) {
+        if (!configurationService.isAuditDeduplicationEnabled()) {
+            return Optional.empty();
+        }
+        return Optional.of(new AuditEventDeduplicator(configurationService, consumer));
+    }
+
+    public enum Claim {
+        /** The event is this consumer's to process; {@link #complete} it once handled. */
+        CLAIMED,
+        /** This consumer has already processed the event. */
+        DUPLICATE,
+        /** Another invocation holds an unexpired lease on the event; retry it later. */
+        IN_PROGRESS
+    }
+
+    /** Claims an event id for processing by this consumer, leasing it until it is completed. */
+    public Claim claim(String eventId) {
+        if (eventId == null || eventId.isBlank()) {
+            return Claim.CLAIMED;
+        }
+        checked.increment();
+
+        var key = claimKey(eventId);
+        if (recentEventIds.mightContain(key)) {
+            duplicates.increment();
+            localDuplicates.increment();
+            return Claim.DUPLICATE;
+        }
+
+        var now = clock.instant();
+        var request =
+                new PutItemRequest()
+                        .withTableName(tableName)
+                        .addItemEntry(EVENT_ID_FIELD, new AttributeValue(key))
+                        .addItemEntry(STATUS_FIELD, new AttributeValue(IN_PROGRESS))
+                        .addItemEntry(LEASE_EXPIRY_FIELD, epochSeconds(now.plus(lease)))
+                        .addItemEntry(TIME_TO_LIVE_FIELD, epochSeconds(now.plus(ttl)))
+                        .withConditionExpression(
+                                "attribute_not_exists(#id)"
+                                        + " OR (#status = :inProgress AND #lease < :now)")
+                        .withExpressionAttributeNames(
+                                Map.of(
+                                        "#id", EVENT_ID_FIELD,
+                                        "#status", STATUS_FIELD,
+                                        "#lease", LEASE_EXPIRY_FIELD))
+                        .withExpressionAttributeValues(
+                                Map.of(
+                                        ":inProgress", new AttributeValue(IN_PROGRESS),
+                                        ":now", epochSeconds(now)));
+        try {
+            dynamoDB.putItem(request);
+            return Claim.CLAIMED;
+        } catch (ConditionalCheckFailedException e) {
+            return existingClaim(eventId, key);
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to check audit event {} for duplicates", eventId, e);
+            unavailable.increment();
+            return Claim.CLAIMED;
+        }
+    }
+
+    private Claim existingClaim(String eventId, String key) {
+        Map<String, AttributeValue> item;
+        try {
+            item =
+                    dynamoDB.getItem(
+                                    new GetItemRequest()
+                                            .withTableName(tableName)
+                                            .withKey(
+                                                    Map.of(
+                                                            EVENT_ID_FIELD,
+                                                            new AttributeValue(key)))
+                                            .withConsistentRead(true))
+                            .getItem();
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to read the claim on audit event {}", eventId, e);
+            inProgress.increment();
+            return Claim.IN_PROGRESS;
+        }
+        var status = Optional.ofNullable(item).map(i -> i.get(STATUS_FIELD));
+        if (status.map(AttributeValue::getS).filter(IN_PROGRESS::equals).isPresent()) {
+            inProgress.increment();
+            return Claim.IN_PROGRESS;
+        }
+        recentEventIds.add(key);
+        duplicates.increment();
+        return Claim.DUPLICATE;
+    }
+
+    /**
+     * Marks a claimed event as processed, so that redeliveries are dropped for the full TTL. If
+     * this fails the lease still expires, and a later redelivery is processed again rather than
+     * lost.
+     */
+    public void complete(String eventId) {
+        if (eventId == null || eventId.isBlank()) {
+            return;
+        }
+        var key = claimKey(eventId);
+        try {
+            dynamoDB.updateItem(
+                    new UpdateItemRequest()
+                            .withTableName(tableName)
+                            .withKey(Map.of(EVENT_ID_FIELD, new AttributeValue(key)))
+                            .withUpdateExpression(
+                                    "SET #status = :complete, #ttl = :ttl REMOVE #lease")
+                            .withExpressionAttributeNames(
+                                    Map.of(
+                                            "#status", STATUS_FIELD,
+                                            "#ttl", TIME_TO_LIVE_FIELD,
+                                            "#lease", LEASE_EXPIRY_FIELD))
+                            .withExpressionAttributeValues(
+                                    Map.of(
+                                            ":complete", new AttributeValue(COMPLETE),
+                                            ":ttl", epochSeconds(clock.instant().plus(ttl)))));
+            recentEventIds.add(key);
+        } catch (RuntimeException e) {
+            LOG.error("Unable to complete claim on audit event {}", eventId, e);
+        }
+    }
+
+    /** Releases the claim on an event id so that a redelivery of the event will be processed. */
+    public void release(String eventId) {
+        if (eventId == null || eventId.isBlank()) {
+            return;
+        }
+        var key = claimKey(eventId);
+        recentEventIds.remove(key);
+        try {
+            dynamoDB.deleteItem(
+                    new DeleteItemRequest()
+                            .withTableName(tableName)
+                            .withKey(Map.of(EVENT_ID_FIELD, new AttributeValue(key))));
+        } catch (RuntimeException e) {
+            LOG.error("Unable to release claim on audit event {}", eventId, e);
+        }
+    }
+
+    private String claimKey(String eventId) {
+        return consumer + "#" + eventId;
+    }
+
+    private static AttributeValue epochSeconds(Instant instant) {
+        return new AttributeValue().withN(String.valueOf(instant.getEpochSecond()));
+    }
+
+    /**
+     * Logs the deduplication counts since the last report, for the log metric filters to pick up,
+     * and resets them.
+     */
+    public void reportMetrics() {
+        var metrics = new LinkedHashMap<String, Object>();
+        metrics.put("metric", "audit-deduplication");
+        metrics.put("checked", checked.sumThenReset());
+        metrics.put("duplicates", duplicates.sumThenReset());
+        metrics.put("local-duplicates", localDuplicates.sumThenReset());
+        metrics.put("in-progress", inProgress.sumThenReset());
+        metrics.put("unavailable", unavailable.sumThenReset());
+        LOG.info(new ObjectMessage(metrics));
+    }
+}
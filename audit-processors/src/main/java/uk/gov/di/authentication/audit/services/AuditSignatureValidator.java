@@ -0,0 +1,117 @@
+package uk.gov.di.authentication.audit.services;
+
+import com.amazonaws.services.kms.model.GetPublicKeyRequest;
+import com.amazonaws.services.kms.model.GetPublicKeyResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.audit.AuditPayload.SignedAuditEvent;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.KmsConnectionService;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Validates the signature over an audit event's payload.
+ *
+ * <p>Signatures are verified locally against the signing key's public key, which is fetched from
+ * KMS and cached for {@link #PUBLIC_KEY_TTL}. If the public key cannot be fetched the validator
+ * falls back to KMS Verify and retries the fetch after {@link #PUBLIC_KEY_RETRY_INTERVAL}.
+ */
+public class AuditSignatureValidator {
+
+    private static final Logger LOG = LogManager.getLogger(AuditSignatureValidator.class);
+    private static final String SIGNATURE_ALGORITHM = "SHA256withECDSA";
+    static final Duration PUBLIC_KEY_TTL = Duration.ofMinutes(15);
+    static final Duration PUBLIC_KEY_RETRY_INTERVAL = Duration.ofMinutes(1);
+
+    private final KmsConnectionService kmsConnectionService;
+    private final ConfigurationService configurationService;
+    private final Clock clock;
+
+    private final Object publicKeyLock = new Object();
+    private volatile Optional<PublicKey> publicKey = Optional.empty();
+    private volatile Instant publicKeyExpiry = Instant.MIN;
+
+    public AuditSignatureValidator(
+            KmsConnectionService kmsConnectionService, ConfigurationService configurationService) {
+        this(kmsConnectionService, configurationService, Clock.systemUTC());
+    }
+
+    public AuditSignatureValidator(
+            KmsConnectionService kmsConnectionService,
+            ConfigurationService configurationService,
+            Clock clock) {
+        this.kmsConnectionService = kmsConnectionService;
+        this.configurationService = configurationService;
+        this.clock = clock;
+    }
+
+    public boolean isValid(SignedAuditEvent event) {
+        return verify(event.getSignature().toByteArray(), event.getPayload().toByteArray());
+    }
+
+    private boolean verify(byte[] signature, byte[] content) {
+        Optional<PublicKey> key = getPublicKey();
+        if (key.isEmpty()) {
+            return kmsConnectionService.validateSignature(
+                    ByteBuffer.wrap(signature),
+                    ByteBuffer.wrap(content),
+                    configurationService.getAuditSigningKeyAlias());
+        }
+        try {
+            Signature verifier = Signature.getInstance(SIGNATURE_ALGORITHM);
+            verifier.initVerify(key.get());
+            verifier.update(content);
+            return verifier.verify(signature);
+        } catch (SignatureException e) {
+            LOG.error("Audit event signature is malformed");
+            return false;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Optional<PublicKey> getPublicKey() {
+        if (clock.instant().isBefore(publicKeyExpiry)) {
+            return publicKey;
+        }
+        synchronized (publicKeyLock) {
+            Instant now = clock.instant();
+            if (now.isBefore(publicKeyExpiry)) {
+                return publicKey;
+            }
+            try {
+                publicKey = Optional.of(fetchPublicKey());
+                publicKeyExpiry = now.plus(PUBLIC_KEY_TTL);
+            } catch (RuntimeException | GeneralSecurityException e) {
+                LOG.warn("Unable to fetch audit signing public key, falling back to KMS Verify");
+                publicKey = Optional.empty();
+                publicKeyExpiry = now.plus(PUBLIC_KEY_RETRY_INTERVAL);
+            }
+            return publicKey;
+        }
+    }
+
+    private PublicKey fetchPublicKey() throws GeneralSecurityException {
+        GetPublicKeyResult result =
+                kmsConnectionService.getPublicKey(
+                        new GetPublicKeyRequest()
+                                .withKeyId(configurationService.getAuditSigningKeyAlias()));
+        if (result == null || result.getPublicKey() == null) {
+            throw new IllegalStateException("KMS returned no public key");
+        }
+        byte[] encoded = new byte[result.getPublicKey().remaining()];
+        result.getPublicKey().duplicate().get(encoded);
+        return KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(encoded));
+    }
+}
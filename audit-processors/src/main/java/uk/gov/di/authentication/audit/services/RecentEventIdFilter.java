@@ -0,0 +1,157 @@
+package uk.gov.di.authentication.audit.services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Remembers the event ids this container has recently claimed, as 64-bit fingerprints in two
+ * generations of open-addressed tables. A generation is retired once it is full or older than the
+ * window, so an id is remembered for at least one window and at most two, and memory stays fixed
+ * at no more than 64 bytes per id of capacity.
+ *
+ * <p>Fingerprint collisions make this a probabilistic filter, but with 64 bits the chance of a
+ * false positive is around {@code capacity / 2^63} per lookup, which is negligible next to a Bloom
+ * filter of the same size whose false positives would silently drop real audit events.
+ */
+class RecentEventIdFilter {
+
+    private static final long EMPTY = 0L;
+    private static final long REMOVED = 1L;
+
+    private final int capacity;
+    private final Duration window;
+    private final Clock clock;
+
+    private Generation current;
+    private Generation previous;
+
+    RecentEventIdFilter(int capacity, Duration window, Clock clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.window = window;
+        this.clock = clock;
+        this.current = new Generation(capacity, clock.instant());
+        this.previous = new Generation(capacity, clock.instant());
+    }
+
+    synchronized boolean mightContain(String eventId) {
+        rotateIfDue();
+        var fingerprint = fingerprint(eventId);
+        return current.contains(fingerprint) || previous.contains(fingerprint);
+    }
+
+    synchronized void add(String eventId) {
+        rotateIfDue();
+        if (current.size >= capacity) {
+            rotate();
+        }
+        current.add(fingerprint(eventId));
+    }
+
+    synchronized void remove(String eventId) {
+        var fingerprint = fingerprint(eventId);
+        current.remove(fingerprint);
+        previous.remove(fingerprint);
+    }
+
+    private void rotateIfDue() {
+        var now = clock.instant();
+        if (!now.isBefore(current.createdAt.plus(window.multipliedBy(2)))) {
+            previous = new Generation(capacity, now);
+            current = new Generation(capacity, now);
+        } else if (!now.isBefore(current.createdAt.plus(window))) {
+            rotate();
+        }
+    }
+
+    private void rotate() {
+        previous = current;
+        current = new Generation(capacity, clock.instant());
+    }
+
+    /** FNV-1a over the id's characters followed by a 64-bit finalizer to spread the bits. */
+    static long fingerprint(String eventId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < eventId.length(); i++) {
+            hash ^= eventId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == EMPTY || hash == REMOVED ? 2L : hash;
+    }
+
+    private static class Generation {
+        private final long[] slots;
+        private final int mask;
+        private final Instant createdAt;
+        private int size;
+        private int used;
+
+        private Generation(int capacity, Instant createdAt) {
+            this.slots = new long[Integer.highestOneBit(capacity * 2 - 1) << 1];
+            this.mask = slots.length - 1;
+            this.createdAt = createdAt;
+        }
+
+        private boolean contains(long fingerprint) {
+            for (int i = (int) fingerprint & mask; slots[i] != EMPTY; i = (i + 1) & mask) {
+                if (slots[i] == fingerprint) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void add(long fingerprint) {
+            if (contains(fingerprint)) {
+                return;
+            }
+            if (used >= slots.length / 2) {
+                compact();
+            }
+            int i = (int) fingerprint & mask;
+            while (slots[i] != EMPTY && slots[i] != REMOVED) {
+                i = (i + 1) & mask;
+            }
+            if (slots[i] == EMPTY) {
+                used++;
+            }
+            slots[i] = fingerprint;
+            size++;
+        }
+
+        private void remove(long fingerprint) {
+            for (int i = (int) fingerprint & mask; slots[i] != EMPTY; i = (i + 1) & mask) {
+                if (slots[i] == fingerprint) {
+                    slots[i] = REMOVED;
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        /** Drops the tombstones left by removals so that probe sequences stay short. */
+        private void compact() {
+            var live = new long[size];
+            int count = 0;
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] != EMPTY && slots[i] != REMOVED) {
+                    live[count++] = slots[i];
+                }
+                slots[i] = EMPTY;
+            }
+            used = 0;
+            size = 0;
+            for (long fingerprint : live) {
+                add(fingerprint);
+            }
+        }
+    }
+}
@@ -2,22 +2,54 @@ package uk.gov.di.authentication.audit.services;
 
 import com.amazonaws.client.builder.AwsClientBuilder.EndpointConfiguration;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
 
 import static com.amazonaws.services.s3.AmazonS3ClientBuilder.standard;
 import static uk.gov.di.authentication.shared.helpers.HashHelper.hashSha256String;
 
+/**
+ * Stores batches of audit records as JSON Lines objects under Hive-style partitions, {@code
+ * event_name=<name>/date=<yyyy-MM-dd>/hour=<HH>/}, so that query engines can prune by event and
+ * time instead of listing the whole bucket.
+ */
 public class S3Service {
-    private static final DateTimeFormatter FORMATTER =
-            DateTimeFormatter.ofPattern("yyyy/MM/dd/'audit'-HHmmss").withZone(ZoneId.of("UTC"));
+    private static final ZoneId UTC = ZoneId.of("UTC");
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(UTC);
+    private static final DateTimeFormatter HOUR_FORMATTER =
+            DateTimeFormatter.ofPattern("HH").withZone(UTC);
+    private static final DateTimeFormatter FILE_FORMATTER =
+            DateTimeFormatter.ofPattern("'audit'-HHmmss").withZone(UTC);
+
+    public enum OutputFormat {
+        JSON_LINES(".json", "application/x-ndjson"),
+        JSON_LINES_GZIP(".json.gz", "application/gzip");
+
+        private final String extension;
+        private final String contentType;
+
+        OutputFormat(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+    }
 
     private final String bucket;
     private final AmazonS3 s3Client;
     private final Clock clock;
+    private final OutputFormat outputFormat;
 
     public S3Service(ConfigurationService configService) {
         this.bucket = configService.getAuditStorageS3Bucket();
@@ -32,17 +64,52 @@ public class S3Service {
                         .build();
 
         this.clock = Clock.systemUTC();
+        this.outputFormat = OutputFormat.valueOf(configService.getAuditStorageOutputFormat());
     }
 
-    protected S3Service(AmazonS3 s3Client, String bucket, Clock clock) {
+    protected S3Service(
+            AmazonS3 s3Client, String bucket, Clock clock, OutputFormat outputFormat) {
         this.s3Client = s3Client;
         this.bucket = bucket;
         this.clock = clock;
+        this.outputFormat = outputFormat;
     }
 
-    public void storeRecords(String payloads) {
-        var key = FORMATTER.format(clock.instant()) + "-" + hashSha256String(payloads) + ".json";
+    public void storeRecords(String eventName, Instant eventTime, String payloads) {
+        var key =
+                String.format(
+                        "event_name=%s/date=%s/hour=%s/%s-%s%s",
+                        partitionValue(eventName),
+                        DATE_FORMATTER.format(eventTime),
+                        HOUR_FORMATTER.format(eventTime),
+                        FILE_FORMATTER.format(clock.instant()),
+                        hashSha256String(payloads),
+                        outputFormat.extension);
+        var content = encode(payloads);
+
+        var metadata = new ObjectMetadata();
+        metadata.setContentLength(content.length);
+        metadata.setContentType(outputFormat.contentType);
+
+        this.s3Client.putObject(this.bucket, key, new ByteArrayInputStream(content), metadata);
+    }
+
+    private byte[] encode(String payloads) {
+        var bytes = payloads.getBytes(StandardCharsets.UTF_8);
+        if (outputFormat != OutputFormat.JSON_LINES_GZIP) {
+            return bytes;
+        }
+        var compressed = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
 
-        this.s3Client.putObject(this.bucket, key, payloads);
+    private static String partitionValue(String value) {
+        var sanitised = value.replaceAll("[^A-Za-z0-9_-]", "_");
+        return sanitised.isEmpty() ? "unknown" : sanitised;
     }
 }
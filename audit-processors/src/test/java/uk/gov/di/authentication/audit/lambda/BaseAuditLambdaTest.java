@@ -8,19 +8,25 @@ import com.google.protobuf.ByteString;
 import org.junit.jupiter.api.Test;
 import uk.gov.di.audit.AuditPayload.AuditEvent;
 import uk.gov.di.audit.AuditPayload.SignedAuditEvent;
+import uk.gov.di.authentication.audit.services.AuditEventDeduplicator;
+import uk.gov.di.authentication.audit.services.AuditEventDeduplicator.Claim;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.KmsConnectionService;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class BaseAuditLambdaTest {
@@ -52,6 +58,102 @@ public class BaseAuditLambdaTest {
         baseHandler.handleRequest(inputEvent(payload), null);
     }
 
+    @Test
+    void skipsDuplicateEvents() {
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(true);
+        var deduplicator = mock(AuditEventDeduplicator.class);
+        when(deduplicator.claim("foo")).thenReturn(Claim.DUPLICATE);
+
+        var baseHandler =
+                new BaseAuditHandler(kms, config, Optional.of(deduplicator)) {
+                    @Override
+                    void handleAuditEvent(AuditEvent auditEvent) {
+                        throw new AssertionError("Duplicate event should not be handled");
+                    }
+                };
+
+        baseHandler.handleRequest(inputEvent(payloadWithEventId("foo")), null);
+
+        verify(deduplicator).reportMetrics();
+    }
+
+    @Test
+    void releasesClaimWhenEventCannotBeHandled() {
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(true);
+        var deduplicator = mock(AuditEventDeduplicator.class);
+        when(deduplicator.claim("foo")).thenReturn(Claim.CLAIMED);
+
+        var baseHandler =
+                new BaseAuditHandler(kms, config, Optional.of(deduplicator)) {
+                    @Override
+                    void handleAuditEvent(AuditEvent auditEvent) {
+                        throw new RuntimeException("Unable to handle event");
+                    }
+                };
+
+        assertThrows(
+                RuntimeException.class,
+                () -> baseHandler.handleRequest(inputEvent(payloadWithEventId("foo")), null));
+        verify(deduplicator).release("foo");
+        verify(deduplicator, never()).complete("foo");
+    }
+
+    @Test
+    void completesClaimOnceEventIsHandled() {
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(true);
+        var deduplicator = mock(AuditEventDeduplicator.class);
+        when(deduplicator.claim("foo")).thenReturn(Claim.CLAIMED);
+        var handled = new ArrayList<String>();
+
+        var baseHandler =
+                new BaseAuditHandler(kms, config, Optional.of(deduplicator)) {
+                    @Override
+                    void handleAuditEvent(AuditEvent auditEvent) {
+                        handled.add(auditEvent.getEventId());
+                    }
+                };
+
+        baseHandler.handleRequest(inputEvent(payloadWithEventId("foo")), null);
+
+        assertThat(handled, is(List.of("foo")));
+        verify(deduplicator).complete("foo");
+    }
+
+    @Test
+    void failsSoThatEventsBeingHandledElsewhereAreRetried() {
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(true);
+        var deduplicator = mock(AuditEventDeduplicator.class);
+        when(deduplicator.claim("foo")).thenReturn(Claim.IN_PROGRESS);
+
+        var baseHandler =
+                new BaseAuditHandler(kms, config, Optional.of(deduplicator)) {
+                    @Override
+                    void handleAuditEvent(AuditEvent auditEvent) {
+                        throw new AssertionError("Leased event should not be handled");
+                    }
+                };
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> baseHandler.handleRequest(inputEvent(payloadWithEventId("foo")), null));
+        verify(deduplicator, never()).release("foo");
+    }
+
+    private SignedAuditEvent payloadWithEventId(String eventId) {
+        return SignedAuditEvent.newBuilder()
+                .setSignature(ByteString.copyFrom("signature".getBytes()))
+                .setPayload(AuditEvent.newBuilder().setEventId(eventId).build().toByteString())
+                .build();
+    }
+
     private SNSEvent inputEvent(SignedAuditEvent payload) {
         return Optional.of(payload)
                 .map(AbstractMessageLite::toByteArray)
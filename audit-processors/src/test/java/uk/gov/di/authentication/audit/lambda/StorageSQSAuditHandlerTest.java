@@ -1,34 +1,63 @@
 package uk.gov.di.authentication.audit.lambda;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.lambda.runtime.events.SNSEvent;
+import com.amazonaws.services.lambda.runtime.events.SNSEvent.SNS;
+import com.amazonaws.services.lambda.runtime.events.SNSEvent.SNSRecord;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse.BatchItemFailure;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
 import com.google.gson.Gson;
-import com.google.protobuf.AbstractMessageLite;
 import com.google.protobuf.ByteString;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import uk.gov.di.audit.AuditPayload.AuditEvent;
 import uk.gov.di.audit.AuditPayload.SignedAuditEvent;
+import uk.gov.di.authentication.audit.services.AuditEventDeduplicator;
+import uk.gov.di.authentication.audit.services.AuditEventDeduplicator.Claim;
 import uk.gov.di.authentication.audit.services.S3Service;
+import uk.gov.di.authentication.shared.helpers.SQSBatchFailureCollector;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.KmsConnectionService;
+import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
 import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.di.authentication.sharedtest.logging.LogEventMatcher.hasObjectMessageProperty;
 
 public class StorageSQSAuditHandlerTest {
 
+    @RegisterExtension
+    public final CaptureLoggingExtension failureLogging =
+            new CaptureLoggingExtension(SQSBatchFailureCollector.class);
+
     private final KmsConnectionService kms = mock(KmsConnectionService.class);
     private final ConfigurationService config = mock(ConfigurationService.class);
     private final S3Service s3Service = mock(S3Service.class);
@@ -64,7 +93,248 @@ public class StorageSQSAuditHandlerTest {
 
         handler.handleRequest(inputEvent(payloads), null);
 
-        verify(s3Service).storeRecords("{\"eventId\":\"foo\"}\n{\"eventId\":\"bar\"}");
+        verify(s3Service)
+                .storeRecords(
+                        eq(""),
+                        any(Instant.class),
+                        eq("{\"eventId\":\"foo\"}\n{\"eventId\":\"bar\"}"));
+    }
+
+    @Test
+    void reportsMessagesThatCannotBeReadAsPoison() {
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(true);
+
+        var handler = new StorageSQSAuditHandler(kms, config, s3Service);
+
+        var event = inputEvent(List.of(payloadWithEventId("foo"), payloadWithEventId("bar")));
+        var poison = new SQSMessage();
+        poison.setMessageId("poison-message");
+        poison.setBody("not-json");
+        event.setRecords(List.of(event.getRecords().get(0), poison, event.getRecords().get(1)));
+
+        var response = handler.handleRequest(event, null);
+
+        verify(s3Service)
+                .storeRecords(
+                        eq(""),
+                        any(Instant.class),
+                        eq("{\"eventId\":\"foo\"}\n{\"eventId\":\"bar\"}"));
+        assertThat(
+                response.getBatchItemFailures().stream()
+                        .map(BatchItemFailure::getItemIdentifier)
+                        .collect(Collectors.toList()),
+                is(List.of("poison-message")));
+        assertThat(
+                failureLogging.events(),
+                hasItem(
+                        allOf(
+                                hasObjectMessageProperty("sqs-message-id", "poison-message"),
+                                hasObjectMessageProperty("failure-type", "POISON"),
+                                hasObjectMessageProperty(
+                                        "reason", "Unable to read message body"))));
+    }
+
+    @Test
+    void reportsMessagesWithAnInvalidSignatureAsPoison() {
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(false);
+
+        var handler = new StorageSQSAuditHandler(kms, config, s3Service);
+
+        var response = handler.handleRequest(inputEvent(List.of(payloadWithEventId("foo"))), null);
+
+        verify(s3Service, never()).storeRecords(anyString(), any(Instant.class), anyString());
+        assertThat(
+                response.getBatchItemFailures().stream()
+                        .map(BatchItemFailure::getItemIdentifier)
+                        .collect(Collectors.toList()),
+                is(List.of("message-0")));
+        assertThat(
+                failureLogging.events(),
+                hasItem(
+                        allOf(
+                                hasObjectMessageProperty("failure-type", "POISON"),
+                                hasObjectMessageProperty(
+                                        "reason", "Audit event signature is missing or invalid"))));
+    }
+
+    @Test
+    void reportsEveryConsumedMessageAsFailedWhenRecordsCannotBeStored() {
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(true);
+        doThrow(new RuntimeException("S3 unavailable"))
+                .when(s3Service)
+                .storeRecords(anyString(), any(Instant.class), anyString());
+
+        var handler = new StorageSQSAuditHandler(kms, config, s3Service);
+
+        var response =
+                handler.handleRequest(
+                        inputEvent(List.of(payloadWithEventId("foo"), payloadWithEventId("bar"))),
+                        null);
+
+        assertThat(
+                response.getBatchItemFailures().stream()
+                        .map(BatchItemFailure::getItemIdentifier)
+                        .collect(Collectors.toList()),
+                is(List.of("message-0", "message-1")));
+    }
+
+    @Test
+    void writesOneObjectPerEventNameAndHourPartition() {
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(true);
+        doThrow(new RuntimeException("S3 unavailable"))
+                .when(s3Service)
+                .storeRecords(eq("EVENT_B"), any(Instant.class), anyString());
+
+        var handler = new StorageSQSAuditHandler(kms, config, s3Service);
+
+        var response =
+                handler.handleRequest(
+                        inputEvent(
+                                List.of(
+                                        payload("foo", "EVENT_A", "2021-12-01T10:15:00Z"),
+                                        payload("bar", "EVENT_B", "2021-12-01T10:20:00Z"),
+                                        payload("baz", "EVENT_A", "2021-12-01T10:59:59Z"),
+                                        payload("qux", "EVENT_A", "2021-12-01T11:00:00Z"))),
+                        null);
+
+        verify(s3Service)
+                .storeRecords(
+                        "EVENT_A",
+                        Instant.parse("2021-12-01T10:15:00Z"),
+                        "{\"eventId\":\"foo\",\"timestamp\":\"2021-12-01T10:15:00Z\",\"eventName\":\"EVENT_A\"}\n"
+                                + "{\"eventId\":\"baz\",\"timestamp\":\"2021-12-01T10:59:59Z\",\"eventName\":\"EVENT_A\"}");
+        verify(s3Service)
+                .storeRecords(
+                        "EVENT_A",
+                        Instant.parse("2021-12-01T11:00:00Z"),
+                        "{\"eventId\":\"qux\",\"timestamp\":\"2021-12-01T11:00:00Z\",\"eventName\":\"EVENT_A\"}");
+        assertThat(
+                response.getBatchItemFailures().stream()
+                        .map(BatchItemFailure::getItemIdentifier)
+                        .collect(Collectors.toList()),
+                is(List.of("message-1")));
+    }
+
+    @Test
+    void dropsDuplicateDeliveriesOfAnEvent() {
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(true);
+        var deduplicator = mock(AuditEventDeduplicator.class);
+        when(deduplicator.claim("foo")).thenReturn(Claim.CLAIMED);
+        when(deduplicator.claim("bar")).thenReturn(Claim.DUPLICATE);
+
+        var handler =
+                new StorageSQSAuditHandler(kms, config, s3Service, Optional.of(deduplicator));
+
+        var response =
+                handler.handleRequest(
+                        inputEvent(List.of(payloadWithEventId("foo"), payloadWithEventId("bar"))),
+                        null);
+
+        verify(s3Service).storeRecords(eq(""), any(Instant.class), eq("{\"eventId\":\"foo\"}"));
+        verify(deduplicator).complete("foo");
+        verify(deduplicator).reportMetrics();
+        assertThat(response.getBatchItemFailures().size(), is(0));
+    }
+
+    @Test
+    void retriesEventsThatAreBeingStoredElsewhere() {
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(true);
+        var deduplicator = mock(AuditEventDeduplicator.class);
+        when(deduplicator.claim("foo")).thenReturn(Claim.IN_PROGRESS);
+
+        var handler =
+                new StorageSQSAuditHandler(kms, config, s3Service, Optional.of(deduplicator));
+
+        var response = handler.handleRequest(inputEvent(payloadWithEventId("foo")), null);
+
+        verify(s3Service, never()).storeRecords(anyString(), any(Instant.class), anyString());
+        verify(deduplicator, never()).complete("foo");
+        assertThat(response.getBatchItemFailures().size(), is(1));
+    }
+
+    @Test
+    void storesEventsAlsoConsumedByTheCounterFraudLambda() {
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(true);
+        var claimsTable = claimsTable();
+        var counterFraudEvents = new ArrayList<String>();
+
+        var counterFraudHandler =
+                new CounterFraudAuditLambda(
+                        kms,
+                        config,
+                        Optional.of(
+                                deduplicator(
+                                        claimsTable,
+                                        CounterFraudAuditLambda.DEDUPLICATION_CONSUMER))) {
+                    @Override
+                    void handleAuditEvent(AuditEvent auditEvent) {
+                        counterFraudEvents.add(auditEvent.getEventId());
+                    }
+                };
+        var storageHandler =
+                new StorageSQSAuditHandler(
+                        kms,
+                        config,
+                        s3Service,
+                        Optional.of(
+                                deduplicator(
+                                        claimsTable,
+                                        StorageSQSAuditHandler.DEDUPLICATION_CONSUMER)));
+
+        counterFraudHandler.handleRequest(snsEvent(payloadWithEventId("foo")), null);
+        var response = storageHandler.handleRequest(inputEvent(payloadWithEventId("foo")), null);
+
+        assertThat(counterFraudEvents, is(List.of("foo")));
+        verify(s3Service).storeRecords(eq(""), any(Instant.class), eq("{\"eventId\":\"foo\"}"));
+        assertThat(response.getBatchItemFailures().size(), is(0));
+    }
+
+    @Test
+    void releasesClaimsOnEventsThatCannotBeStored() {
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(true);
+        doThrow(new RuntimeException("S3 unavailable"))
+                .when(s3Service)
+                .storeRecords(anyString(), any(Instant.class), anyString());
+        var deduplicator = mock(AuditEventDeduplicator.class);
+        when(deduplicator.claim(anyString())).thenReturn(Claim.CLAIMED);
+
+        var handler =
+                new StorageSQSAuditHandler(kms, config, s3Service, Optional.of(deduplicator));
+
+        var response = handler.handleRequest(inputEvent(payloadWithEventId("foo")), null);
+
+        verify(deduplicator).release("foo");
+        verify(deduplicator, never()).complete("foo");
+        assertThat(response.getBatchItemFailures().size(), is(1));
+    }
+
+    private SignedAuditEvent payload(String eventId, String eventName, String timestamp) {
+        return SignedAuditEvent.newBuilder()
+                .setSignature(ByteString.copyFrom("signature".getBytes()))
+                .setPayload(
+                        AuditEvent.newBuilder()
+                                .setEventId(eventId)
+                                .setEventName(eventName)
+                                .setTimestamp(timestamp)
+                                .build()
+                                .toByteString())
+                .build();
     }
 
     private SignedAuditEvent payloadWithEventId(String eventId) {
@@ -74,20 +344,52 @@ public class StorageSQSAuditHandlerTest {
                 .build();
     }
 
+    private static AmazonDynamoDB claimsTable() {
+        var claimed = ConcurrentHashMap.<String>newKeySet();
+        var dynamoDB = mock(AmazonDynamoDB.class);
+        when(dynamoDB.putItem(any(PutItemRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            PutItemRequest request = invocation.getArgument(0);
+                            if (!claimed.add(request.getItem().get("EventId").getS())) {
+                                throw new ConditionalCheckFailedException("already claimed");
+                            }
+                            return new PutItemResult();
+                        });
+        return dynamoDB;
+    }
+
+    private static AuditEventDeduplicator deduplicator(AmazonDynamoDB dynamoDB, String consumer) {
+        return new AuditEventDeduplicator(
+                dynamoDB,
+                "test-audit-event-ids",
+                consumer,
+                Duration.ofMinutes(1),
+                Duration.ofHours(1),
+                Clock.systemUTC());
+    }
+
+    private SNSEvent snsEvent(SignedAuditEvent payload) {
+        var sns = new SNS().withMessage(Base64.getEncoder().encodeToString(payload.toByteArray()));
+        return new SNSEvent().withRecords(List.of(new SNSRecord().withSns(sns)));
+    }
+
     private SQSEvent inputEvent(SignedAuditEvent payload) {
         return inputEvent(Collections.singletonList(payload));
     }
 
     private SQSEvent inputEvent(List<SignedAuditEvent> payload) {
         var messages =
-                payload.stream()
-                        .map(AbstractMessageLite::toByteArray)
-                        .map(Base64.getEncoder()::encodeToString)
-                        .map(encodedPayload -> new Gson().toJson(Map.of("Message", encodedPayload)))
-                        .map(
-                                body -> {
+                IntStream.range(0, payload.size())
+                        .mapToObj(
+                                i -> {
+                                    var encodedPayload =
+                                            Base64.getEncoder()
+                                                    .encodeToString(payload.get(i).toByteArray());
                                     var message = new SQSMessage();
-                                    message.setBody(body);
+                                    message.setMessageId("message-" + i);
+                                    message.setBody(
+                                            new Gson().toJson(Map.of("Message", encodedPayload)));
 
                                     return message;
                                 })
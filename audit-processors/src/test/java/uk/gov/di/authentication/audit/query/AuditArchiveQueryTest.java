@@ -0,0 +1,107 @@
+package uk.gov.di.authentication.audit.query;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.di.audit.AuditPayload.AuditEvent;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AuditArchiveQueryTest {
+
+    private static final Instant FROM = Instant.parse("2021-12-01T10:00:00Z");
+    private static final Instant TO = Instant.parse("2021-12-01T12:00:00Z");
+
+    private final AuditArchiveQuery query =
+            new AuditArchiveQuery(
+                    FROM,
+                    TO,
+                    Set.of("SOME_EVENT"),
+                    Optional.of("client-id"),
+                    Optional.empty());
+
+    @Test
+    void shouldKeepPartitionedKeysWithinQuery() {
+        assertThat(
+                query.mayContain(
+                        "event_name=SOME_EVENT/date=2021-12-01/hour=10/audit-101500-abc.json.gz"),
+                equalTo(true));
+        assertThat(
+                query.mayContain(
+                        "event_name=SOME_EVENT/date=2021-12-01/hour=11/audit-115900-abc.json"),
+                equalTo(true));
+    }
+
+    @Test
+    void shouldPrunePartitionedKeysOutsideQuery() {
+        assertThat(
+                query.mayContain(
+                        "event_name=SOME_EVENT/date=2021-12-01/hour=09/audit-095900-abc.json"),
+                equalTo(false));
+        assertThat(
+                query.mayContain(
+                        "event_name=SOME_EVENT/date=2021-12-01/hour=12/audit-120000-abc.json"),
+                equalTo(false));
+        assertThat(
+                query.mayContain(
+                        "event_name=OTHER_EVENT/date=2021-12-01/hour=10/audit-101500-abc.json"),
+                equalTo(false));
+    }
+
+    @Test
+    void shouldKeepLegacyKeysWrittenOnTheQueryDayAndTheDayAfter() {
+        assertThat(query.mayContain("2021/12/01/audit-101500"), equalTo(true));
+        assertThat(query.mayContain("2021/12/02/audit-000000"), equalTo(true));
+        assertThat(query.mayContain("2021/11/30/audit-235959"), equalTo(false));
+        assertThat(query.mayContain("2021/12/03/audit-000000"), equalTo(false));
+    }
+
+    @Test
+    void shouldIgnoreUnrecognisedKeys() {
+        assertThat(query.mayContain("some-other-object"), equalTo(false));
+    }
+
+    @Test
+    void shouldMatchEventsOnAllFilters() {
+        assertThat(query.matches(event("SOME_EVENT", "client-id", FROM)), equalTo(true));
+        assertThat(query.matches(event("OTHER_EVENT", "client-id", FROM)), equalTo(false));
+        assertThat(query.matches(event("SOME_EVENT", "other-client", FROM)), equalTo(false));
+        assertThat(
+                query.matches(event("SOME_EVENT", "client-id", FROM.minusSeconds(1))),
+                equalTo(false));
+        assertThat(query.matches(event("SOME_EVENT", "client-id", TO)), equalTo(false));
+    }
+
+    @Test
+    void shouldNotMatchEventsWithUnparseableTimestamp() {
+        var event =
+                AuditEvent.newBuilder()
+                        .setEventName("SOME_EVENT")
+                        .setClientId("client-id")
+                        .setTimestamp("not-a-timestamp")
+                        .build();
+
+        assertThat(query.matches(event), equalTo(false));
+    }
+
+    @Test
+    void shouldRejectEmptyTimeRange() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        new AuditArchiveQuery(
+                                TO, FROM, Set.of(), Optional.empty(), Optional.empty()));
+    }
+
+    private static AuditEvent event(String eventName, String clientId, Instant timestamp) {
+        return AuditEvent.newBuilder()
+                .setEventName(eventName)
+                .setClientId(clientId)
+                .setTimestamp(timestamp.toString())
+                .build();
+    }
+}
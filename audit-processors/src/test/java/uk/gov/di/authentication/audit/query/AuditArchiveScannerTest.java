@@ -0,0 +1,162 @@
+package uk.gov.di.authentication.audit.query;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import uk.gov.di.audit.AuditPayload.AuditEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditArchiveScannerTest {
+
+    private static final String BUCKET = "audit-bucket";
+    private static final String PARTITION_PREFIX = "event_name=SOME_EVENT/date=2021-12-01/";
+    private static final String PLAIN_KEY =
+            "event_name=SOME_EVENT/date=2021-12-01/hour=10/audit-101500-abc.json";
+    private static final String GZIP_KEY =
+            "event_name=SOME_EVENT/date=2021-12-01/hour=11/audit-111500-def.json.gz";
+    private static final String PRUNED_KEY =
+            "event_name=SOME_EVENT/date=2021-12-01/hour=13/audit-131500-ghi.json";
+
+    private final AmazonS3 s3Client = mock(AmazonS3.class);
+    private final AuditArchiveScanner scanner = new AuditArchiveScanner(s3Client, BUCKET, 2);
+
+    @BeforeEach
+    void setUp() {
+        var objects = new ListObjectsV2Result();
+        objects.getObjectSummaries()
+                .addAll(List.of(summary(PLAIN_KEY), summary(GZIP_KEY), summary(PRUNED_KEY)));
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenAnswer(
+                        invocation -> {
+                            ListObjectsV2Request request = invocation.getArgument(0);
+                            return request.getPrefix().equals(PARTITION_PREFIX)
+                                    ? objects
+                                    : new ListObjectsV2Result();
+                        });
+
+        var plain =
+                String.join(
+                        "\n",
+                        line(event("SOME_EVENT", "client-1", "2021-12-01T10:15:00Z")),
+                        line(event("SOME_EVENT", "client-2", "2021-12-01T10:16:00Z")),
+                        "not-json");
+        var compressed = line(event("SOME_EVENT", "client-1", "2021-12-01T11:15:00Z"));
+        when(s3Client.getObject(BUCKET, PLAIN_KEY))
+                .thenAnswer(invocation -> object(plain.getBytes(StandardCharsets.UTF_8)));
+        when(s3Client.getObject(BUCKET, GZIP_KEY))
+                .thenAnswer(invocation -> object(gzip(compressed)));
+    }
+
+    @Test
+    void shouldStreamMatchingEventsFromPlainAndCompressedObjects() {
+        var matched = ConcurrentHashMap.<String>newKeySet();
+
+        var summary =
+                scanner.scan(query(Optional.of("client-1")), (event, line) -> matched.add(line));
+
+        assertThat(
+                matched,
+                containsInAnyOrder(
+                        line(event("SOME_EVENT", "client-1", "2021-12-01T10:15:00Z")),
+                        line(event("SOME_EVENT", "client-1", "2021-12-01T11:15:00Z"))));
+        assertThat(summary.getObjects(), equalTo(2L));
+        assertThat(summary.getEvents(), equalTo(4L));
+        assertThat(summary.getMatched(), equalTo(2L));
+        assertThat(summary.getMalformed(), equalTo(1L));
+    }
+
+    @Test
+    void shouldNotFetchObjectsOutsideQuery() {
+        scanner.scan(query(Optional.empty()), (event, line) -> {});
+
+        verify(s3Client, never()).getObject(anyString(), eq(PRUNED_KEY));
+    }
+
+    @Test
+    void shouldListLegacyObjectsWrittenOnTheQueryDayAndTheDayAfter() {
+        scanner.scan(query(Optional.empty()), (event, line) -> {});
+
+        verify(s3Client).listObjectsV2(argThat(hasPrefix("2021/12/01/")));
+        verify(s3Client).listObjectsV2(argThat(hasPrefix("2021/12/02/")));
+        verify(s3Client, never()).listObjectsV2(argThat(hasPrefix("2021/11/30/")));
+    }
+
+    private static ArgumentMatcher<ListObjectsV2Request> hasPrefix(String prefix) {
+        return request -> request != null && prefix.equals(request.getPrefix());
+    }
+
+    private static AuditArchiveQuery query(Optional<String> clientId) {
+        return new AuditArchiveQuery(
+                Instant.parse("2021-12-01T10:00:00Z"),
+                Instant.parse("2021-12-01T12:00:00Z"),
+                Set.of("SOME_EVENT"),
+                clientId,
+                Optional.empty());
+    }
+
+    private static S3ObjectSummary summary(String key) {
+        var summary = new S3ObjectSummary();
+        summary.setBucketName(BUCKET);
+        summary.setKey(key);
+        return summary;
+    }
+
+    private static S3Object object(byte[] content) {
+        var object = new S3Object();
+        object.setObjectContent(new ByteArrayInputStream(content));
+        return object;
+    }
+
+    private static AuditEvent event(String eventName, String clientId, String timestamp) {
+        return AuditEvent.newBuilder()
+                .setEventName(eventName)
+                .setClientId(clientId)
+                .setTimestamp(timestamp)
+                .build();
+    }
+
+    private static String line(AuditEvent event) {
+        try {
+            return JsonFormat.printer().omittingInsignificantWhitespace().print(event);
+        } catch (InvalidProtocolBufferException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        var compressed = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed.toByteArray();
+    }
+}
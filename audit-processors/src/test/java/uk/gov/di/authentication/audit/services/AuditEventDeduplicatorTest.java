@@ -0,0 +1,271 @@
+package uk.gov.di.authentication.audit.services;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.message.ObjectMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import uk.gov.di.authentication.audit.services.AuditEventDeduplicator.Claim;
+import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditEventDeduplicatorTest {
+
+    @RegisterExtension
+    public final CaptureLoggingExtension logging =
+            new CaptureLoggingExtension(AuditEventDeduplicator.class);
+
+    private static final Instant NOW = Instant.parse("2021-12-01T10:00:00Z");
+    private static final Duration LEASE = Duration.ofSeconds(60);
+    private static final Duration TTL = Duration.ofHours(24);
+
+    private final AmazonDynamoDB dynamoDB = mock(AmazonDynamoDB.class);
+    private final Clock clock = mock(Clock.class);
+    private AuditEventDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenReturn(NOW);
+        deduplicator = deduplicator("storage");
+    }
+
+    @Test
+    void shouldClaimNewEventIdWithAConditionalLease() {
+        assertThat(deduplicator.claim("event-id"), equalTo(Claim.CLAIMED));
+
+        var request = ArgumentCaptor.forClass(PutItemRequest.class);
+        verify(dynamoDB).putItem(request.capture());
+        var item = request.getValue().getItem();
+        assertThat(request.getValue().getTableName(), equalTo("test-audit-event-ids"));
+        assertThat(item.get("EventId").getS(), equalTo("storage#event-id"));
+        assertThat(item.get("Status").getS(), equalTo("IN_PROGRESS"));
+        assertThat(
+                item.get("LeaseExpiry").getN(),
+                equalTo(String.valueOf(NOW.plus(LEASE).getEpochSecond())));
+        assertThat(
+                item.get("TimeToLive").getN(),
+                equalTo(String.valueOf(NOW.plus(TTL).getEpochSecond())));
+        assertThat(
+                request.getValue().getConditionExpression(),
+                equalTo("attribute_not_exists(#id) OR (#status = :inProgress AND #lease < :now)"));
+    }
+
+    @Test
+    void shouldMarkACompletedClaimForTheFullTtl() {
+        when(clock.instant()).thenReturn(NOW.plusSeconds(10));
+
+        deduplicator.complete("event-id");
+
+        var request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDB).updateItem(request.capture());
+        assertThat(
+                request.getValue().getKey().get("EventId").getS(), equalTo("storage#event-id"));
+        assertThat(
+                request.getValue().getExpressionAttributeValues().get(":complete").getS(),
+                equalTo("COMPLETE"));
+        assertThat(
+                request.getValue().getExpressionAttributeValues().get(":ttl").getN(),
+                equalTo(String.valueOf(NOW.plusSeconds(10).plus(TTL).getEpochSecond())));
+    }
+
+    @Test
+    void shouldRejectEventIdCompletedElsewhere() {
+        when(dynamoDB.putItem(any(PutItemRequest.class)))
+                .thenThrow(new ConditionalCheckFailedException("already claimed"));
+        when(dynamoDB.getItem(any(GetItemRequest.class)))
+                .thenReturn(
+                        new GetItemResult()
+                                .withItem(Map.of("Status", new AttributeValue("COMPLETE"))));
+
+        assertThat(deduplicator.claim("event-id"), equalTo(Claim.DUPLICATE));
+    }
+
+    @Test
+    void shouldReportAnEventLeasedElsewhereAsInProgress() {
+        var claims = claimsTable();
+        claims.claim("event-id");
+
+        assertThat(deduplicator("storage").claim("event-id"), equalTo(Claim.IN_PROGRESS));
+    }
+
+    @Test
+    void shouldProcessARedeliveryOfAnEventWhoseClaimWasNeverCompleted() {
+        var crashed = claimsTable();
+        assertThat(crashed.claim("event-id"), equalTo(Claim.CLAIMED));
+
+        when(clock.instant()).thenReturn(NOW.plus(LEASE).plusSeconds(1));
+        var redelivery = deduplicator("storage");
+
+        assertThat(redelivery.claim("event-id"), equalTo(Claim.CLAIMED));
+        redelivery.complete("event-id");
+        assertThat(deduplicator("storage").claim("event-id"), equalTo(Claim.DUPLICATE));
+    }
+
+    @Test
+    void shouldLetAnotherConsumerClaimTheSameEventId() {
+        claimsTable();
+        var counterFraud = deduplicator("counter-fraud");
+
+        assertThat(counterFraud.claim("event-id"), equalTo(Claim.CLAIMED));
+        counterFraud.complete("event-id");
+        assertThat(deduplicator.claim("event-id"), equalTo(Claim.CLAIMED));
+        assertThat(deduplicator("counter-fraud").claim("event-id"), equalTo(Claim.DUPLICATE));
+    }
+
+    @Test
+    void shouldRejectRepeatedCompletedEventIdWithoutRoundTrip() {
+        deduplicator.claim("event-id");
+        deduplicator.complete("event-id");
+
+        assertThat(deduplicator.claim("event-id"), equalTo(Claim.DUPLICATE));
+        verify(dynamoDB, times(1)).putItem(any(PutItemRequest.class));
+    }
+
+    @Test
+    void shouldNotRememberAClaimLocallyUntilItIsCompleted() {
+        deduplicator.claim("event-id");
+
+        deduplicator.claim("event-id");
+
+        verify(dynamoDB, times(2)).putItem(any(PutItemRequest.class));
+    }
+
+    @Test
+    void shouldForgetLocallyCompletedEventIdsAfterTheWindow() {
+        deduplicator.claim("event-id");
+        deduplicator.complete("event-id");
+        when(clock.instant()).thenReturn(NOW.plus(TTL));
+
+        deduplicator.claim("event-id");
+
+        verify(dynamoDB, times(2)).putItem(any(PutItemRequest.class));
+    }
+
+    @Test
+    void shouldLetEventThroughWhenDynamoIsUnavailable() {
+        when(dynamoDB.putItem(any(PutItemRequest.class)))
+                .thenThrow(new AmazonDynamoDBException("unavailable"));
+
+        assertThat(deduplicator.claim("event-id"), equalTo(Claim.CLAIMED));
+        assertThat(deduplicator.claim("event-id"), equalTo(Claim.CLAIMED));
+    }
+
+    @Test
+    void shouldNotDeduplicateEventsWithoutAnId() {
+        assertThat(deduplicator.claim(""), equalTo(Claim.CLAIMED));
+        assertThat(deduplicator.claim(""), equalTo(Claim.CLAIMED));
+    }
+
+    @Test
+    void shouldAllowReleasedEventIdToBeClaimedAgain() {
+        deduplicator.claim("event-id");
+
+        deduplicator.release("event-id");
+
+        verify(dynamoDB)
+                .deleteItem(
+                        new DeleteItemRequest()
+                                .withTableName("test-audit-event-ids")
+                                .withKey(
+                                        Map.of(
+                                                "EventId",
+                                                new AttributeValue("storage#event-id"))));
+        assertThat(deduplicator.claim("event-id"), equalTo(Claim.CLAIMED));
+    }
+
+    @Test
+    void shouldReportAndResetDeduplicationCounts() {
+        deduplicator.claim("event-id");
+        deduplicator.complete("event-id");
+        deduplicator.claim("event-id");
+
+        deduplicator.reportMetrics();
+        deduplicator.reportMetrics();
+
+        var first = logging.events().get(0);
+        assertThat(property(first, "metric"), equalTo("audit-deduplication"));
+        assertThat(property(first, "checked"), equalTo("2"));
+        assertThat(property(first, "duplicates"), equalTo("1"));
+        assertThat(property(first, "local-duplicates"), equalTo("1"));
+        assertThat(property(first, "in-progress"), equalTo("0"));
+        assertThat(property(first, "unavailable"), equalTo("0"));
+        assertThat(property(logging.events().get(1), "checked"), equalTo("0"));
+    }
+
+    private AuditEventDeduplicator deduplicator(String consumer) {
+        return new AuditEventDeduplicator(
+                dynamoDB, "test-audit-event-ids", consumer, LEASE, TTL, clock);
+    }
+
+    /**
+     * Backs the mock DynamoDB client with an in-memory table that applies the claim condition, and
+     * returns a deduplicator on it standing in for another container.
+     */
+    private AuditEventDeduplicator claimsTable() {
+        var items = new ConcurrentHashMap<String, Map<String, AttributeValue>>();
+        when(dynamoDB.putItem(any(PutItemRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            PutItemRequest request = invocation.getArgument(0);
+                            var key = request.getItem().get("EventId").getS();
+                            var existing = items.get(key);
+                            var now = request.getExpressionAttributeValues().get(":now").getN();
+                            if (existing != null
+                                    && !(existing.get("Status").getS().equals("IN_PROGRESS")
+                                            && Long.parseLong(existing.get("LeaseExpiry").getN())
+                                                    < Long.parseLong(now))) {
+                                throw new ConditionalCheckFailedException("already claimed");
+                            }
+                            items.put(key, new HashMap<>(request.getItem()));
+                            return new PutItemResult();
+                        });
+        when(dynamoDB.updateItem(any(UpdateItemRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            UpdateItemRequest request = invocation.getArgument(0);
+                            var item = items.get(request.getKey().get("EventId").getS());
+                            item.put("Status", new AttributeValue("COMPLETE"));
+                            item.remove("LeaseExpiry");
+                            return new UpdateItemResult();
+                        });
+        when(dynamoDB.getItem(any(GetItemRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            GetItemRequest request = invocation.getArgument(0);
+                            return new GetItemResult()
+                                    .withItem(items.get(request.getKey().get("EventId").getS()));
+                        });
+        return deduplicator("storage");
+    }
+
+    private static String property(LogEvent logEvent, String key) {
+        var properties = (Map<?, ?>) ((ObjectMessage) logEvent.getMessage()).getParameter();
+        return String.valueOf(properties.get(key));
+    }
+}
@@ -0,0 +1,136 @@
+package uk.gov.di.authentication.audit.services;
+
+import com.amazonaws.services.kms.model.GetPublicKeyRequest;
+import com.amazonaws.services.kms.model.GetPublicKeyResult;
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.di.audit.AuditPayload.AuditEvent;
+import uk.gov.di.audit.AuditPayload.SignedAuditEvent;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.KmsConnectionService;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Clock;
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditSignatureValidatorTest {
+
+    private static final Instant NOW = Instant.parse("2021-12-01T10:00:00Z");
+
+    private final KmsConnectionService kms = mock(KmsConnectionService.class);
+    private final ConfigurationService config = mock(ConfigurationService.class);
+    private final Clock clock = mock(Clock.class);
+    private KeyPair keyPair;
+
+    @BeforeEach
+    void setUp() throws GeneralSecurityException {
+        keyPair = generateKeyPair();
+        when(config.getAuditSigningKeyAlias()).thenReturn("key_alias");
+        when(clock.instant()).thenReturn(NOW);
+        when(kms.getPublicKey(any(GetPublicKeyRequest.class)))
+                .thenReturn(
+                        new GetPublicKeyResult()
+                                .withPublicKey(
+                                        ByteBuffer.wrap(keyPair.getPublic().getEncoded())));
+    }
+
+    @Test
+    void shouldVerifySignaturesLocallyWithACachedPublicKey() throws GeneralSecurityException {
+        var validator = new AuditSignatureValidator(kms, config, clock);
+
+        assertThat(validator.isValid(signedEvent("foo", keyPair.getPrivate())), is(true));
+        assertThat(validator.isValid(signedEvent("bar", keyPair.getPrivate())), is(true));
+
+        verify(kms, times(1)).getPublicKey(any(GetPublicKeyRequest.class));
+        verify(kms, never()).validateSignature(any(), any(), anyString());
+    }
+
+    @Test
+    void shouldRejectASignatureFromAnotherKey() throws GeneralSecurityException {
+        var validator = new AuditSignatureValidator(kms, config, clock);
+
+        var event = signedEvent("foo", generateKeyPair().getPrivate());
+
+        assertThat(validator.isValid(event), is(false));
+    }
+
+    @Test
+    void shouldRejectAMalformedSignature() {
+        var validator = new AuditSignatureValidator(kms, config, clock);
+
+        var event =
+                SignedAuditEvent.newBuilder()
+                        .setSignature(ByteString.copyFrom("signature".getBytes()))
+                        .setPayload(payload("foo"))
+                        .build();
+
+        assertThat(validator.isValid(event), is(false));
+    }
+
+    @Test
+    void shouldRefetchThePublicKeyOnceItExpires() throws GeneralSecurityException {
+        var validator = new AuditSignatureValidator(kms, config, clock);
+
+        validator.isValid(signedEvent("foo", keyPair.getPrivate()));
+        when(clock.instant()).thenReturn(NOW.plus(AuditSignatureValidator.PUBLIC_KEY_TTL));
+        validator.isValid(signedEvent("bar", keyPair.getPrivate()));
+
+        verify(kms, times(2)).getPublicKey(any(GetPublicKeyRequest.class));
+    }
+
+    @Test
+    void shouldFallBackToKmsWhenThePublicKeyIsUnavailable() throws GeneralSecurityException {
+        when(kms.getPublicKey(any(GetPublicKeyRequest.class)))
+                .thenThrow(new RuntimeException("KMS unavailable"));
+        when(kms.validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString()))
+                .thenReturn(true);
+        var validator = new AuditSignatureValidator(kms, config, clock);
+
+        assertThat(validator.isValid(signedEvent("foo", keyPair.getPrivate())), is(true));
+        assertThat(validator.isValid(signedEvent("bar", keyPair.getPrivate())), is(true));
+
+        verify(kms, times(1)).getPublicKey(any(GetPublicKeyRequest.class));
+        verify(kms, times(2))
+                .validateSignature(any(ByteBuffer.class), any(ByteBuffer.class), anyString());
+    }
+
+    private static SignedAuditEvent signedEvent(String eventId, PrivateKey privateKey)
+            throws GeneralSecurityException {
+        var payload = payload(eventId);
+        var signer = Signature.getInstance("SHA256withECDSA");
+        signer.initSign(privateKey);
+        signer.update(payload.toByteArray());
+
+        return SignedAuditEvent.newBuilder()
+                .setSignature(ByteString.copyFrom(signer.sign()))
+                .setPayload(payload)
+                .build();
+    }
+
+    private static ByteString payload(String eventId) {
+        return AuditEvent.newBuilder().setEventId(eventId).build().toByteString();
+    }
+
+    private static KeyPair generateKeyPair() throws GeneralSecurityException {
+        var generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        return generator.generateKeyPair();
+    }
+}
@@ -0,0 +1,62 @@
+package uk.gov.di.authentication.audit.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class RecentEventIdFilterTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2021-12-01T10:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void shouldRememberAddedIdsUntilRemoved() {
+        var filter = new RecentEventIdFilter(16, Duration.ofHours(1), clock);
+
+        filter.add("event-id");
+
+        assertThat(filter.mightContain("event-id"), equalTo(true));
+        assertThat(filter.mightContain("other-event-id"), equalTo(false));
+
+        filter.remove("event-id");
+
+        assertThat(filter.mightContain("event-id"), equalTo(false));
+    }
+
+    @Test
+    void shouldKeepPreviousGenerationWhenFull() {
+        var filter = new RecentEventIdFilter(4, Duration.ofHours(1), clock);
+
+        IntStream.range(0, 8).forEach(i -> filter.add("event-" + i));
+
+        IntStream.range(0, 8)
+                .forEach(i -> assertThat(filter.mightContain("event-" + i), equalTo(true)));
+
+        filter.add("event-8");
+
+        assertThat(filter.mightContain("event-0"), equalTo(false));
+        assertThat(filter.mightContain("event-8"), equalTo(true));
+    }
+
+    @Test
+    void shouldStayUsableAfterManyAddsAndRemoves() {
+        var filter = new RecentEventIdFilter(8, Duration.ofHours(1), clock);
+
+        IntStream.range(0, 1000)
+                .forEach(
+                        i -> {
+                            filter.add("event-" + i);
+                            filter.remove("event-" + i);
+                        });
+        filter.add("event-id");
+
+        assertThat(filter.mightContain("event-id"), equalTo(true));
+        assertThat(filter.mightContain("event-999"), equalTo(false));
+    }
+}
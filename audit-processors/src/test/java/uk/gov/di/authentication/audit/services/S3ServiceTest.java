@@ -1,34 +1,98 @@
 package uk.gov.di.authentication.audit.services;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import uk.gov.di.authentication.audit.services.S3Service.OutputFormat;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 class S3ServiceTest {
 
-    @Test
-    void shouldPushContentToBucket() {
-        var s3Client = mock(AmazonS3.class);
+    private static final Instant EVENT_TIME = Instant.parse("2021-12-01T10:15:00Z");
+
+    private final AmazonS3 s3Client = mock(AmazonS3.class);
 
-        var service =
-                new S3Service(
-                        s3Client,
-                        "some-bucket",
-                        Clock.fixed(Instant.ofEpochSecond(0), ZoneId.of("UTC")));
+    @Test
+    void shouldPushContentToPartitionedKey() throws IOException {
+        var service = createService(OutputFormat.JSON_LINES);
 
-        service.storeRecords("some-content");
+        service.storeRecords("SOME_EVENT", EVENT_TIME, "some-content");
 
         var expectedKey =
-                "1970/01/01/audit-000000-"
+                "event_name=SOME_EVENT/date=2021-12-01/hour=10/audit-000000-"
                         + "0a8cac771ca188eacc57e2c96c31f5611925c5ecedccb16b8c236d6c0d325112" // content hash
                         + ".json";
 
-        verify(s3Client).putObject("some-bucket", expectedKey, "some-content");
+        assertThat(
+                new String(storedContent(expectedKey), StandardCharsets.UTF_8),
+                equalTo("some-content"));
+    }
+
+    @Test
+    void shouldCompressContentWhenConfiguredForGzip() throws IOException {
+        var service = createService(OutputFormat.JSON_LINES_GZIP);
+
+        service.storeRecords("SOME_EVENT", EVENT_TIME, "some-content");
+
+        var expectedKey =
+                "event_name=SOME_EVENT/date=2021-12-01/hour=10/audit-000000-"
+                        + "0a8cac771ca188eacc57e2c96c31f5611925c5ecedccb16b8c236d6c0d325112" // content hash
+                        + ".json.gz";
+
+        var compressed = storedContent(expectedKey);
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(
+                    new String(gzip.readAllBytes(), StandardCharsets.UTF_8),
+                    equalTo("some-content"));
+        }
+    }
+
+    @Test
+    void shouldSanitiseEventNameInPartition() throws IOException {
+        var service = createService(OutputFormat.JSON_LINES);
+
+        service.storeRecords("", EVENT_TIME, "some-content");
+
+        storedContent(
+                "event_name=unknown/date=2021-12-01/hour=10/audit-000000-"
+                        + "0a8cac771ca188eacc57e2c96c31f5611925c5ecedccb16b8c236d6c0d325112"
+                        + ".json");
+    }
+
+    private S3Service createService(OutputFormat outputFormat) {
+        return new S3Service(
+                s3Client,
+                "some-bucket",
+                Clock.fixed(Instant.ofEpochSecond(0), ZoneId.of("UTC")),
+                outputFormat);
+    }
+
+    private byte[] storedContent(String expectedKey) throws IOException {
+        var content = ArgumentCaptor.forClass(InputStream.class);
+        var metadata = ArgumentCaptor.forClass(ObjectMetadata.class);
+        verify(s3Client)
+                .putObject(
+                        eq("some-bucket"),
+                        eq(expectedKey),
+                        content.capture(),
+                        metadata.capture());
+        var bytes = content.getValue().readAllBytes();
+        assertThat(metadata.getValue().getContentLength(), equalTo((long) bytes.length));
+        return bytes;
     }
 }
@@ -7,13 +7,14 @@ module "send_otp_notification" {
   environment     = var.environment
 
   handler_environment_variables = {
-    ENVIRONMENT             = var.environment
-    EMAIL_QUEUE_URL         = aws_sqs_queue.email_queue.id
-    DYNAMO_ENDPOINT         = var.use_localstack ? var.lambda_dynamo_endpoint : null
-    LOCALSTACK_ENDPOINT     = var.use_localstack ? var.localstack_endpoint : null
-    REDIS_KEY               = local.redis_key
-    EVENTS_SNS_TOPIC_ARN    = data.aws_sns_topic.events.arn
-    AUDIT_SIGNING_KEY_ALIAS = local.audit_signing_key_alias_name
+    ENVIRONMENT                = var.environment
+    EMAIL_QUEUE_URL            = aws_sqs_queue.email_queue.id
+    SQS_FIRE_AND_FLUSH_ENABLED = var.sqs_fire_and_flush_enabled
+    DYNAMO_ENDPOINT            = var.use_localstack ? var.lambda_dynamo_endpoint : null
+    LOCALSTACK_ENDPOINT        = var.use_localstack ? var.localstack_endpoint : null
+    REDIS_KEY                  = local.redis_key
+    EVENTS_SNS_TOPIC_ARN       = data.aws_sns_topic.events.arn
+    AUDIT_SIGNING_KEY_ALIAS    = local.audit_signing_key_alias_name
   }
   handler_function_name = "uk.gov.di.accountmanagement.lambda.SendOtpNotificationHandler::handleRequest"
 
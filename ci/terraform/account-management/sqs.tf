@@ -140,8 +140,9 @@ resource "aws_sqs_queue_policy" "email_queue_policy" {
 }
 
 resource "aws_lambda_event_source_mapping" "lambda_sqs_mapping" {
-  event_source_arn = aws_sqs_queue.email_queue.arn
-  function_name    = aws_lambda_function.email_sqs_lambda.arn
+  event_source_arn        = aws_sqs_queue.email_queue.arn
+  function_name           = aws_lambda_function.email_sqs_lambda.arn
+  function_response_types = ["ReportBatchItemFailures"]
 
   depends_on = [
     aws_sqs_queue.email_queue,
@@ -172,6 +173,7 @@ resource "aws_lambda_function" "email_sqs_lambda" {
       CUSTOMER_SUPPORT_LINK_ROUTE = var.customer_support_link_route
       NOTIFY_API_KEY              = var.notify_api_key
       NOTIFY_URL                  = var.notify_url
+      NOTIFY_MAX_CONCURRENCY      = var.notify_max_concurrency
     })
   }
   kms_key_arn = data.terraform_remote_state.shared.outputs.lambda_env_vars_encryption_kms_key_arn
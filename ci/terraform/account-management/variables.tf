@@ -14,6 +14,18 @@ variable "notify_url" {
   default = null
 }
 
+variable "notify_max_concurrency" {
+  type        = number
+  default     = 8
+  description = "Maximum number of notifications each notification lambda sends to Notify at once"
+}
+
+variable "sqs_fire_and_flush_enabled" {
+  type        = bool
+  default     = false
+  description = "Queue OTP notifications without waiting for SQS, flushing them at the end of each invocation instead"
+}
+
 variable "notify_template_map" {
   type = map(string)
   default = {
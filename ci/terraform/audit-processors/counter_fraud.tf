@@ -6,7 +6,8 @@ module "fraud_realtime_logging_role" {
   vpc_arn     = local.authentication_vpc_arn
 
   policies_to_attach = [
-    aws_iam_policy.fraud_realtime_logging_audit_payload_kms_verification.arn
+    aws_iam_policy.fraud_realtime_logging_audit_payload_kms_verification.arn,
+    aws_iam_policy.audit_event_ids_table_access.arn
   ]
 }
 
@@ -63,9 +64,14 @@ resource "aws_lambda_function" "fraud_realtime_logging_lambda" {
   }
   environment {
     variables = {
-      AUDIT_SIGNING_KEY_ALIAS = local.audit_signing_key_alias_name
-      LOCALSTACK_ENDPOINT     = var.use_localstack ? var.localstack_endpoint : null
-      AUDIT_HMAC_SECRET       = random_password.hmac_key.result
+      AUDIT_SIGNING_KEY_ALIAS     = local.audit_signing_key_alias_name
+      LOCALSTACK_ENDPOINT         = var.use_localstack ? var.localstack_endpoint : null
+      AUDIT_HMAC_SECRET           = random_password.hmac_key.result
+      AUDIT_DEDUPLICATION_ENABLED = var.audit_deduplication_enabled
+      AUDIT_DEDUPLICATION_TTL     = var.audit_deduplication_ttl_seconds
+      AUDIT_DEDUPLICATION_LEASE   = var.audit_deduplication_lease_seconds
+      DYNAMO_ENDPOINT             = var.use_localstack ? var.lambda_dynamo_endpoint : null
+      ENVIRONMENT                 = var.environment
     }
   }
   kms_key_arn = local.lambda_env_vars_encryption_kms_key_arn
@@ -0,0 +1,97 @@
+resource "aws_dynamodb_table" "audit_event_ids_table" {
+  name         = "${var.environment}-audit-event-ids"
+  billing_mode = "PAY_PER_REQUEST"
+  hash_key     = "EventId"
+
+  attribute {
+    name = "EventId"
+    type = "S"
+  }
+
+  ttl {
+    attribute_name = "TimeToLive"
+    enabled        = true
+  }
+
+  server_side_encryption {
+    enabled = !var.use_localstack
+  }
+
+  tags = local.default_tags
+}
+
+resource "aws_iam_policy" "audit_event_ids_table_access" {
+  name_prefix = "audit-event-ids-access-"
+  path        = "/${var.environment}/audit-deduplication/"
+  description = "IAM policy for a lambda claiming audit event ids to drop duplicate deliveries"
+
+  policy = jsonencode({
+    Version = "2012-10-17"
+
+    Statement = [{
+      Effect = "Allow"
+      Action = [
+        "dynamodb:PutItem",
+        "dynamodb:GetItem",
+        "dynamodb:UpdateItem",
+        "dynamodb:DeleteItem"
+      ]
+
+      Resource = [
+        aws_dynamodb_table.audit_event_ids_table.arn,
+      ]
+    }]
+  })
+}
+
+resource "aws_cloudwatch_log_metric_filter" "audit_storage_duplicates" {
+  count          = var.use_localstack ? 0 : 1
+  name           = "${var.environment}-audit-storage-duplicates"
+  pattern        = "{$.message.metric = \"audit-deduplication\"}"
+  log_group_name = aws_cloudwatch_log_group.lambda_log_group[0].name
+
+  metric_transformation {
+    name      = "${var.environment}-audit-storage-duplicate-count"
+    namespace = "AuditDeduplicationNamespace"
+    value     = "$.message.duplicates"
+  }
+}
+
+resource "aws_cloudwatch_log_metric_filter" "audit_storage_checked" {
+  count          = var.use_localstack ? 0 : 1
+  name           = "${var.environment}-audit-storage-checked"
+  pattern        = "{$.message.metric = \"audit-deduplication\"}"
+  log_group_name = aws_cloudwatch_log_group.lambda_log_group[0].name
+
+  metric_transformation {
+    name      = "${var.environment}-audit-storage-checked-count"
+    namespace = "AuditDeduplicationNamespace"
+    value     = "$.message.checked"
+  }
+}
+
+resource "aws_cloudwatch_log_metric_filter" "fraud_realtime_logging_duplicates" {
+  count          = var.use_localstack ? 0 : 1
+  name           = "${var.environment}-fraud-realtime-logging-duplicates"
+  pattern        = "{$.message.metric = \"audit-deduplication\"}"
+  log_group_name = aws_cloudwatch_log_group.fraud_realtime_logging_lambda_log_group[0].name
+
+  metric_transformation {
+    name      = "${var.environment}-fraud-realtime-logging-duplicate-count"
+    namespace = "AuditDeduplicationNamespace"
+    value     = "$.message.duplicates"
+  }
+}
+
+resource "aws_cloudwatch_log_metric_filter" "fraud_realtime_logging_checked" {
+  count          = var.use_localstack ? 0 : 1
+  name           = "${var.environment}-fraud-realtime-logging-checked"
+  pattern        = "{$.message.metric = \"audit-deduplication\"}"
+  log_group_name = aws_cloudwatch_log_group.fraud_realtime_logging_lambda_log_group[0].name
+
+  metric_transformation {
+    name      = "${var.environment}-fraud-realtime-logging-checked-count"
+    namespace = "AuditDeduplicationNamespace"
+    value     = "$.message.checked"
+  }
+}
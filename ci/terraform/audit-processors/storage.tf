@@ -14,7 +14,8 @@ module "audit_storage_lambda_role" {
 
   policies_to_attach = concat([
     aws_iam_policy.read_from_queue_policy.arn,
-    aws_iam_policy.audit_payload_kms_verification.arn
+    aws_iam_policy.audit_payload_kms_verification.arn,
+    aws_iam_policy.audit_event_ids_table_access.arn
   ], local.extra_policies)
 }
 
@@ -61,10 +62,16 @@ resource "aws_lambda_function" "audit_processor_lambda" {
   }
   environment {
     variables = {
-      AUDIT_SIGNING_KEY_ALIAS = local.audit_signing_key_alias_name
-      LOCALSTACK_ENDPOINT     = var.use_localstack ? var.localstack_endpoint : null
-      TOKEN_SIGNING_KEY_ALIAS = local.audit_signing_key_alias_name,
-      AUDIT_STORAGE_S3_BUCKET = var.use_localstack ? null : aws_s3_bucket.audit_storage_bucket[0].bucket
+      AUDIT_SIGNING_KEY_ALIAS     = local.audit_signing_key_alias_name
+      LOCALSTACK_ENDPOINT         = var.use_localstack ? var.localstack_endpoint : null
+      TOKEN_SIGNING_KEY_ALIAS     = local.audit_signing_key_alias_name,
+      AUDIT_STORAGE_S3_BUCKET     = var.use_localstack ? null : aws_s3_bucket.audit_storage_bucket[0].bucket
+      AUDIT_STORAGE_OUTPUT_FORMAT = var.audit_storage_output_format
+      AUDIT_DEDUPLICATION_ENABLED = var.audit_deduplication_enabled
+      AUDIT_DEDUPLICATION_TTL     = var.audit_deduplication_ttl_seconds
+      AUDIT_DEDUPLICATION_LEASE   = var.audit_deduplication_lease_seconds
+      DYNAMO_ENDPOINT             = var.use_localstack ? var.lambda_dynamo_endpoint : null
+      ENVIRONMENT                 = var.environment
     }
   }
   kms_key_arn = local.lambda_env_vars_encryption_kms_key_arn
@@ -133,8 +140,9 @@ resource "aws_iam_role_policy_attachment" "read_from_queue_attachment" {
 }
 
 resource "aws_sqs_queue" "storage_batch" {
-  name                      = "${var.environment}-audit-storage-batch-queue"
-  message_retention_seconds = 1209600
+  name                       = "${var.environment}-audit-storage-batch-queue"
+  message_retention_seconds  = 1209600
+  visibility_timeout_seconds = 6 * aws_lambda_function.audit_processor_lambda.timeout + var.audit_storage_batching_window_seconds
 
   kms_master_key_id                 = var.use_localstack ? null : local.events_topic_encryption_key_arn
   kms_data_key_reuse_period_seconds = var.use_localstack ? null : 300
@@ -165,8 +173,12 @@ resource "aws_sns_topic_subscription" "event_stream_subscription" {
 }
 
 resource "aws_lambda_event_source_mapping" "audit_storage_batch_queue_subscription" {
-  event_source_arn = aws_sqs_queue.storage_batch.arn
-  function_name    = aws_lambda_function.audit_processor_lambda.arn
+  event_source_arn        = aws_sqs_queue.storage_batch.arn
+  function_name           = aws_lambda_function.audit_processor_lambda.arn
+  function_response_types = ["ReportBatchItemFailures"]
+
+  batch_size                         = var.audit_storage_batch_size
+  maximum_batching_window_in_seconds = var.audit_storage_batching_window_seconds
 }
 
 resource "aws_lambda_permission" "sqs_can_execute_subscriber_lambda" {
@@ -54,3 +54,45 @@ variable "audit_storage_expiry_days" {
   description = "How long before files in the audit store are expired (default: 7 years)"
   default     = 7 * 365
 }
+
+variable "audit_storage_output_format" {
+  type        = string
+  description = "Format of the objects written to the audit store, either JSON_LINES or JSON_LINES_GZIP"
+  default     = "JSON_LINES_GZIP"
+}
+
+variable "audit_storage_batch_size" {
+  type        = number
+  description = "Maximum number of audit events aggregated into each invocation of the storage lambda"
+  default     = 1000
+}
+
+variable "audit_storage_batching_window_seconds" {
+  type        = number
+  description = "How long to wait to fill an audit storage batch; must be at least 1 when the batch size is over 10"
+  default     = 60
+}
+
+variable "audit_deduplication_enabled" {
+  type        = bool
+  description = "Whether the audit lambdas drop redelivered events by claiming their event ids in DynamoDB"
+  default     = true
+}
+
+variable "audit_deduplication_ttl_seconds" {
+  type        = number
+  description = "How long an audit event id is remembered for deduplication"
+  default     = 24 * 60 * 60
+}
+
+variable "audit_deduplication_lease_seconds" {
+  type        = number
+  description = "How long an unfinished claim on an audit event id blocks redeliveries. Must be longer than the audit lambda timeouts"
+  default     = 60
+}
+
+variable "lambda_dynamo_endpoint" {
+  type        = string
+  default     = "http://dynamodb:8000"
+  description = "The endpoint that the Lambda must use to connect to DynamoDB API"
+}
@@ -25,6 +25,19 @@ resource "aws_cloudwatch_metric_alarm" "lambda_error_cloudwatch_alarm" {
   alarm_actions       = [data.aws_sns_topic.slack_events.arn]
 }
 
+resource "aws_cloudwatch_log_metric_filter" "unpublished_audit_events_metric_filter" {
+  count          = var.use_localstack ? 0 : 1
+  name           = replace("${var.environment}-${var.endpoint_name}-unpublished-audit-events", ".", "")
+  pattern        = "{$.message.metric = \"audit-events-unpublished\"}"
+  log_group_name = aws_cloudwatch_log_group.lambda_log_group[0].name
+
+  metric_transformation {
+    name      = replace("${var.environment}-${var.endpoint_name}-unpublished-audit-event-count", ".", "")
+    namespace = "AuditPublishingNamespace"
+    value     = "$.message.count"
+  }
+}
+
 data "aws_sns_topic" "slack_events" {
   name = "${var.environment}-slack-events"
 }
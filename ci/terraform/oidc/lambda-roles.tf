@@ -103,6 +103,10 @@ data "aws_dynamodb_table" "client_registry_table" {
   name = "${var.environment}-client-registry"
 }
 
+data "aws_dynamodb_table" "subject_lookup_table" {
+  name = "${var.environment}-subject-lookup"
+}
+
 data "aws_iam_policy_document" "dynamo_access_policy_document" {
   count = var.use_localstack ? 0 : 1
   statement {
@@ -127,6 +131,7 @@ data "aws_iam_policy_document" "dynamo_access_policy_document" {
       "${data.aws_dynamodb_table.user_profile_table.arn}/index/*",
       "${data.aws_dynamodb_table.user_credentials_table.arn}/index/*",
       data.aws_dynamodb_table.client_registry_table.arn,
+      data.aws_dynamodb_table.subject_lookup_table.arn,
     ]
   }
 }
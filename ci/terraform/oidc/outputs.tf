@@ -32,6 +32,10 @@ output "email_queue" {
   value = aws_sqs_queue.email_queue.id
 }
 
+output "priority_email_queue" {
+  value = aws_sqs_queue.priority_email_queue.id
+}
+
 output "analytics_cookie_domain" {
   value = module.dns.service_domain_name
 }
@@ -7,17 +7,19 @@ module "reset-password-request" {
   environment     = var.environment
 
   handler_environment_variables = {
-    ENVIRONMENT             = var.environment
-    BASE_URL                = local.frontend_api_base_url
-    FRONTEND_BASE_URL       = module.dns.frontend_url
-    RESET_PASSWORD_ROUTE    = var.reset_password_route
-    SQS_ENDPOINT            = var.use_localstack ? "http://localhost:45678/" : null
-    EMAIL_QUEUE_URL         = aws_sqs_queue.email_queue.id
-    EVENTS_SNS_TOPIC_ARN    = aws_sns_topic.events.arn
-    AUDIT_SIGNING_KEY_ALIAS = local.audit_signing_key_alias_name
-    LOCALSTACK_ENDPOINT     = var.use_localstack ? var.localstack_endpoint : null
-    REDIS_KEY               = local.redis_key
-    DYNAMO_ENDPOINT         = var.use_localstack ? var.lambda_dynamo_endpoint : null
+    ENVIRONMENT                = var.environment
+    BASE_URL                   = local.frontend_api_base_url
+    FRONTEND_BASE_URL          = module.dns.frontend_url
+    RESET_PASSWORD_ROUTE       = var.reset_password_route
+    SQS_ENDPOINT               = var.use_localstack ? "http://localhost:45678/" : null
+    EMAIL_QUEUE_URL            = aws_sqs_queue.email_queue.id
+    PRIORITY_EMAIL_QUEUE_URL   = aws_sqs_queue.priority_email_queue.id
+    SQS_FIRE_AND_FLUSH_ENABLED = var.sqs_fire_and_flush_enabled
+    EVENTS_SNS_TOPIC_ARN       = aws_sns_topic.events.arn
+    AUDIT_SIGNING_KEY_ALIAS    = local.audit_signing_key_alias_name
+    LOCALSTACK_ENDPOINT        = var.use_localstack ? var.localstack_endpoint : null
+    REDIS_KEY                  = local.redis_key
+    DYNAMO_ENDPOINT            = var.use_localstack ? var.lambda_dynamo_endpoint : null
   }
   handler_function_name = "uk.gov.di.authentication.frontendapi.lambda.ResetPasswordRequestHandler::handleRequest"
 
@@ -51,5 +53,6 @@ module "reset-password-request" {
     aws_api_gateway_resource.connect_resource,
     aws_api_gateway_resource.wellknown_resource,
     aws_sqs_queue.email_queue,
+    aws_sqs_queue.priority_email_queue,
   ]
 }
@@ -7,13 +7,15 @@ module "send_notification" {
   environment     = var.environment
 
   handler_environment_variables = {
-    ENVIRONMENT             = var.environment
-    EMAIL_QUEUE_URL         = aws_sqs_queue.email_queue.id
-    EVENTS_SNS_TOPIC_ARN    = aws_sns_topic.events.arn
-    AUDIT_SIGNING_KEY_ALIAS = local.audit_signing_key_alias_name
-    LOCALSTACK_ENDPOINT     = var.use_localstack ? var.localstack_endpoint : null
-    REDIS_KEY               = local.redis_key
-    TEST_CLIENTS_ENABLED    = var.test_clients_enabled
+    ENVIRONMENT                = var.environment
+    EMAIL_QUEUE_URL            = aws_sqs_queue.email_queue.id
+    PRIORITY_EMAIL_QUEUE_URL   = aws_sqs_queue.priority_email_queue.id
+    SQS_FIRE_AND_FLUSH_ENABLED = var.sqs_fire_and_flush_enabled
+    EVENTS_SNS_TOPIC_ARN       = aws_sns_topic.events.arn
+    AUDIT_SIGNING_KEY_ALIAS    = local.audit_signing_key_alias_name
+    LOCALSTACK_ENDPOINT        = var.use_localstack ? var.localstack_endpoint : null
+    REDIS_KEY                  = local.redis_key
+    TEST_CLIENTS_ENABLED       = var.test_clients_enabled
   }
   handler_function_name = "uk.gov.di.authentication.frontendapi.lambda.SendNotificationHandler::handleRequest"
 
@@ -47,5 +49,6 @@ module "send_notification" {
     aws_api_gateway_resource.connect_resource,
     aws_api_gateway_resource.wellknown_resource,
     aws_sqs_queue.email_queue,
+    aws_sqs_queue.priority_email_queue,
   ]
 }
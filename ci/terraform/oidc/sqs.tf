@@ -38,7 +38,7 @@ resource "aws_sqs_queue" "email_dead_letter_queue" {
 }
 
 resource "time_sleep" "wait_60_seconds" {
-  depends_on = [aws_sqs_queue.email_queue]
+  depends_on = [aws_sqs_queue.email_queue, aws_sqs_queue.priority_email_queue]
   count      = var.use_localstack ? 0 : 1
 
   create_duration = "60s"
@@ -138,8 +138,9 @@ resource "aws_sqs_queue_policy" "email_dlq_queue_policy" {
 }
 
 resource "aws_lambda_event_source_mapping" "lambda_sqs_mapping" {
-  event_source_arn = aws_sqs_queue.email_queue.arn
-  function_name    = aws_lambda_function.email_sqs_lambda.arn
+  event_source_arn        = aws_sqs_queue.email_queue.arn
+  function_name           = aws_lambda_function.email_sqs_lambda.arn
+  function_response_types = ["ReportBatchItemFailures"]
 
   depends_on = [
     aws_sqs_queue.email_queue,
@@ -172,6 +173,8 @@ resource "aws_lambda_function" "email_sqs_lambda" {
       NOTIFY_API_KEY              = var.notify_api_key
       NOTIFY_URL                  = var.notify_url
       NOTIFY_TEST_PHONE_NUMBER    = var.notify_test_phone_number
+      NOTIFY_MAX_CONCURRENCY      = var.notify_max_concurrency
+      NOTIFICATION_LANE           = "standard"
       SMOKETEST_SMS_BUCKET_NAME   = local.sms_bucket_name
     })
   }
@@ -209,6 +212,188 @@ resource "aws_lambda_alias" "sqs_lambda_active" {
   function_version = aws_lambda_function.email_sqs_lambda.version
 }
 
+### Priority lane
+#
+# Codes and reset links are sent on their own queue, with their own consumer, so that they never
+# wait behind confirmation emails.
+
+resource "aws_sqs_queue" "priority_email_queue" {
+  name                      = "${var.environment}-priority-email-notification-queue"
+  max_message_size          = 2048
+  message_retention_seconds = 1209600
+  receive_wait_time_seconds = 10
+  redrive_policy = jsonencode({
+    deadLetterTargetArn = aws_sqs_queue.email_dead_letter_queue.arn
+    maxReceiveCount     = 3
+  })
+
+  kms_master_key_id                 = var.use_localstack ? null : "alias/aws/sqs"
+  kms_data_key_reuse_period_seconds = var.use_localstack ? null : 300
+
+  tags = local.default_tags
+}
+
+data "aws_iam_policy_document" "priority_email_queue_policy_document" {
+  statement {
+    sid    = "SendSQS"
+    effect = "Allow"
+
+    principals {
+      type        = "AWS"
+      identifiers = [module.oidc_sqs_role.arn, module.oidc_dynamo_sqs_role.arn]
+    }
+
+    actions = [
+      "sqs:SendMessage",
+      "sqs:ChangeMessageVisibility",
+      "sqs:GetQueueAttributes",
+    ]
+
+    resources = [
+      aws_sqs_queue.priority_email_queue.arn
+    ]
+  }
+
+  statement {
+    sid    = "ReceiveSQS"
+    effect = "Allow"
+
+    principals {
+      type        = "AWS"
+      identifiers = [module.oidc_email_role.arn]
+    }
+
+    actions = [
+      "sqs:ReceiveMessage",
+      "sqs:DeleteMessage",
+      "sqs:GetQueueAttributes",
+    ]
+
+    resources = [
+      aws_sqs_queue.priority_email_queue.arn
+    ]
+  }
+
+  depends_on = [
+    time_sleep.wait_60_seconds
+  ]
+}
+
+resource "aws_sqs_queue_policy" "priority_email_queue_policy" {
+  depends_on = [
+    time_sleep.wait_60_seconds,
+    data.aws_iam_policy_document.priority_email_queue_policy_document,
+  ]
+
+  queue_url = aws_sqs_queue.priority_email_queue.id
+  policy    = data.aws_iam_policy_document.priority_email_queue_policy_document.json
+}
+
+resource "aws_lambda_event_source_mapping" "priority_lambda_sqs_mapping" {
+  event_source_arn                   = aws_sqs_queue.priority_email_queue.arn
+  function_name                      = aws_lambda_function.priority_email_sqs_lambda.arn
+  function_response_types            = ["ReportBatchItemFailures"]
+  batch_size                         = 10
+  maximum_batching_window_in_seconds = 0
+
+  depends_on = [
+    aws_sqs_queue.priority_email_queue,
+    aws_sqs_queue_policy.priority_email_queue_policy,
+    aws_lambda_function.priority_email_sqs_lambda
+  ]
+}
+
+resource "aws_lambda_function" "priority_email_sqs_lambda" {
+  filename      = var.frontend_api_lambda_zip_file
+  function_name = "${var.environment}-priority-email-notification-sqs-lambda"
+  role          = module.oidc_email_role.arn
+  handler       = "uk.gov.di.authentication.frontendapi.lambda.NotificationHandler::handleRequest"
+  timeout       = 30
+  memory_size   = 512
+  runtime       = "java11"
+  publish       = true
+
+  source_code_hash = filebase64sha256(var.frontend_api_lambda_zip_file)
+  vpc_config {
+    security_group_ids = [local.authentication_security_group_id]
+    subnet_ids         = local.authentication_subnet_ids
+  }
+  environment {
+    variables = merge(var.notify_template_map, {
+      FRONTEND_BASE_URL           = module.dns.frontend_url
+      ACCOUNT_MANAGEMENT_URI      = module.dns.account_management_url
+      RESET_PASSWORD_ROUTE        = var.reset_password_route
+      CUSTOMER_SUPPORT_LINK_ROUTE = var.customer_support_link_route
+      NOTIFY_API_KEY              = var.notify_api_key
+      NOTIFY_URL                  = var.notify_url
+      NOTIFY_TEST_PHONE_NUMBER    = var.notify_test_phone_number
+      NOTIFY_MAX_CONCURRENCY      = var.priority_notify_max_concurrency
+      NOTIFICATION_LANE           = "priority"
+      SMOKETEST_SMS_BUCKET_NAME   = local.sms_bucket_name
+    })
+  }
+  kms_key_arn = local.lambda_env_vars_encryption_kms_key_arn
+
+  tags = local.default_tags
+}
+
+resource "aws_cloudwatch_log_group" "priority_sqs_lambda_log_group" {
+  count = var.use_localstack ? 0 : 1
+
+  name              = "/aws/lambda/${aws_lambda_function.priority_email_sqs_lambda.function_name}"
+  kms_key_id        = data.terraform_remote_state.shared.outputs.cloudwatch_encryption_key_arn
+  retention_in_days = var.cloudwatch_log_retention
+
+  tags = local.default_tags
+
+  depends_on = [
+    aws_lambda_function.priority_email_sqs_lambda
+  ]
+}
+
+resource "aws_cloudwatch_log_subscription_filter" "priority_sqs_lambda_log_subscription" {
+  count           = var.logging_endpoint_enabled ? 1 : 0
+  name            = "${aws_lambda_function.priority_email_sqs_lambda.function_name}-log-subscription"
+  log_group_name  = aws_cloudwatch_log_group.priority_sqs_lambda_log_group[0].name
+  filter_pattern  = ""
+  destination_arn = var.logging_endpoint_arn
+}
+
+resource "aws_lambda_alias" "priority_sqs_lambda_active" {
+  name             = "${aws_lambda_function.priority_email_sqs_lambda.function_name}-active"
+  description      = "Alias pointing at active version of Lambda"
+  function_name    = aws_lambda_function.priority_email_sqs_lambda.arn
+  function_version = aws_lambda_function.priority_email_sqs_lambda.version
+}
+
+### Notification latency
+
+resource "aws_cloudwatch_log_metric_filter" "priority_notification_latency" {
+  count          = var.use_localstack ? 0 : 1
+  name           = "${var.environment}-priority-notification-latency"
+  pattern        = "{($.message.metric = \"notification-delivery\") && ($.message.lane = \"priority\")}"
+  log_group_name = aws_cloudwatch_log_group.priority_sqs_lambda_log_group[0].name
+
+  metric_transformation {
+    name      = "${var.environment}-priority-notification-latency"
+    namespace = "NotificationDeliveryNamespace"
+    value     = "$.message.latency"
+  }
+}
+
+resource "aws_cloudwatch_log_metric_filter" "standard_notification_latency" {
+  count          = var.use_localstack ? 0 : 1
+  name           = "${var.environment}-standard-notification-latency"
+  pattern        = "{($.message.metric = \"notification-delivery\") && ($.message.lane = \"standard\")}"
+  log_group_name = aws_cloudwatch_log_group.sqs_lambda_log_group[0].name
+
+  metric_transformation {
+    name      = "${var.environment}-standard-notification-latency"
+    namespace = "NotificationDeliveryNamespace"
+    value     = "$.message.latency"
+  }
+}
+
 ### Smoketest codes S3
 
 data "aws_s3_bucket" "smoketest_sms_bucket" {
@@ -44,6 +44,24 @@ variable "notify_url" {
   default = null
 }
 
+variable "notify_max_concurrency" {
+  type        = number
+  default     = 8
+  description = "Maximum number of notifications each notification lambda sends to Notify at once"
+}
+
+variable "sqs_fire_and_flush_enabled" {
+  type        = bool
+  default     = false
+  description = "Queue OTP notifications without waiting for SQS, flushing them at the end of each invocation instead"
+}
+
+variable "priority_notify_max_concurrency" {
+  type        = number
+  default     = 16
+  description = "Maximum number of codes and reset links each priority notification lambda sends to Notify at once"
+}
+
 variable "notify_test_phone_number" {
   type    = string
   default = null
@@ -41,10 +41,33 @@ data "aws_iam_policy_document" "data_transfer_lambda_s3_policy" {
     effect = "Allow"
   }
 
+  statement {
+    sid = "AllowDataTransferLambdaToWriteCheckpoints"
+    actions = [
+      "s3:PutObject"
+    ]
+    resources = [
+      "${aws_s3_bucket.data_transfer_bucket[0].arn}/checkpoints/*"
+    ]
+    effect = "Allow"
+  }
+
+  statement {
+    sid = "AllowDataTransferLambdaToListBucket"
+    actions = [
+      "s3:ListBucket"
+    ]
+    resources = [
+      aws_s3_bucket.data_transfer_bucket[0].arn
+    ]
+    effect = "Allow"
+  }
+
   statement {
     sid = "AllowDataTransferLambdaToDecrypt"
     actions = [
-      "kms:Decrypt"
+      "kms:Decrypt",
+      "kms:GenerateDataKey"
     ]
     resources = [
       aws_kms_key.data_transfer_key[0].arn
@@ -97,6 +120,61 @@ resource "aws_iam_role_policy_attachment" "data_transfer_dynamo" {
   policy_arn = aws_iam_policy.lambda_dynamo_policy[0].arn
 }
 
+resource "aws_ssm_parameter" "migration_subject_salt" {
+  count = var.use_localstack ? 0 : 1
+
+  name   = "${var.environment}-migration-subject-salt"
+  type   = "SecureString"
+  key_id = aws_kms_alias.parameter_store_key_alias.id
+  value  = var.migration_subject_salt
+}
+
+data "aws_iam_policy_document" "migration_subject_salt_parameter_policy" {
+  count = var.use_localstack ? 0 : 1
+
+  statement {
+    sid    = "AllowGetParameters"
+    effect = "Allow"
+
+    actions = [
+      "ssm:GetParameter",
+      "ssm:GetParameters",
+    ]
+
+    resources = [
+      aws_ssm_parameter.migration_subject_salt[0].arn
+    ]
+  }
+  statement {
+    sid    = "AllowDecryptOfParameters"
+    effect = "Allow"
+
+    actions = [
+      "kms:Decrypt",
+    ]
+
+    resources = [
+      aws_kms_alias.parameter_store_key_alias.arn,
+      aws_kms_key.parameter_store_key.arn
+    ]
+  }
+}
+
+resource "aws_iam_policy" "migration_subject_salt_parameter_policy" {
+  count = var.use_localstack ? 0 : 1
+
+  policy      = data.aws_iam_policy_document.migration_subject_salt_parameter_policy[0].json
+  path        = "/${var.environment}/lambda-parameters/"
+  name_prefix = "migration-salt-parameter-store-policy"
+}
+
+resource "aws_iam_role_policy_attachment" "data_transfer_migration_subject_salt" {
+  count = var.use_localstack ? 0 : 1
+
+  role       = aws_iam_role.data_transfer_lambda_role[0].name
+  policy_arn = aws_iam_policy.migration_subject_salt_parameter_policy[0].arn
+}
+
 resource "aws_lambda_function" "data_transfer_lambda" {
   count = var.use_localstack ? 0 : 1
 
@@ -120,6 +198,8 @@ resource "aws_lambda_function" "data_transfer_lambda" {
     variables = {
       ENVIRONMENT              = var.environment
       TERMS_CONDITIONS_VERSION = var.terms_and_conditions
+      BULK_IMPORT_PARALLELISM  = var.bulk_import_parallelism
+      BULK_IMPORT_WRITER_COUNT = var.bulk_import_writer_count
     }
   }
   kms_key_arn = aws_kms_key.lambda_env_vars_encryption_key.arn
@@ -93,6 +93,34 @@ resource "aws_dynamodb_table" "user_profile_table" {
   tags = local.default_tags
 }
 
+resource "aws_dynamodb_table" "subject_lookup_table" {
+  name         = "${var.environment}-subject-lookup"
+  billing_mode = var.provision_dynamo ? "PROVISIONED" : "PAY_PER_REQUEST"
+  hash_key     = "SubjectID"
+
+  read_capacity  = var.provision_dynamo ? var.dynamo_default_read_capacity : null
+  write_capacity = var.provision_dynamo ? var.dynamo_default_write_capacity : null
+
+  attribute {
+    name = "SubjectID"
+    type = "S"
+  }
+
+  server_side_encryption {
+    enabled = !var.use_localstack
+  }
+
+  point_in_time_recovery {
+    enabled = !var.use_localstack
+  }
+
+  lifecycle {
+    prevent_destroy = true
+  }
+
+  tags = local.default_tags
+}
+
 resource "aws_dynamodb_table" "client_registry_table" {
   name         = "${var.environment}-client-registry"
   billing_mode = var.provision_dynamo ? "PROVISIONED" : "PAY_PER_REQUEST"
@@ -158,6 +186,7 @@ data "aws_iam_policy_document" "dynamo_policy_document" {
       "${aws_dynamodb_table.user_profile_table.arn}/index/*",
       "${aws_dynamodb_table.user_credentials_table.arn}/index/*",
       aws_dynamodb_table.client_registry_table.arn,
+      aws_dynamodb_table.subject_lookup_table.arn,
     ]
   }
 }
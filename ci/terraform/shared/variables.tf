@@ -39,6 +39,16 @@ variable "terms_and_conditions" {
   default = "1.1"
 }
 
+variable "bulk_import_parallelism" {
+  type    = number
+  default = 8
+}
+
+variable "bulk_import_writer_count" {
+  type    = number
+  default = 2
+}
+
 variable "external_redis_port" {
   type    = number
   default = 6379
@@ -132,3 +142,9 @@ variable "password_pepper" {
   default     = null
 }
 
+variable "migration_subject_salt" {
+  description = "Secret salt the account transfer lambda derives migrated subject ids with. Must not change between imports"
+  type        = string
+  default     = null
+}
+
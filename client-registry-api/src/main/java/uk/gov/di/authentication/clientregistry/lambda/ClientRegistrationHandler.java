@@ -5,7 +5,6 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.oauth2.sdk.ErrorObject;
 import com.nimbusds.oauth2.sdk.OAuth2Error;
 import org.apache.commons.validator.routines.UrlValidator;
@@ -15,23 +14,25 @@ import uk.gov.di.authentication.clientregistry.entity.ClientRegistrationRequest;
 import uk.gov.di.authentication.clientregistry.entity.ClientRegistrationResponse;
 import uk.gov.di.authentication.clientregistry.services.ClientConfigValidationService;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.DynamoClientService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 
 import java.util.Optional;
 
 import static uk.gov.di.authentication.clientregistry.domain.ClientRegistryAuditableEvent.REGISTER_CLIENT_REQUEST_ERROR;
 import static uk.gov.di.authentication.clientregistry.domain.ClientRegistryAuditableEvent.REGISTER_CLIENT_REQUEST_RECEIVED;
+import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
+import static uk.gov.di.authentication.shared.services.AuditService.withAuditFlush;
 
 public class ClientRegistrationHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
     private final ClientService clientService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final ClientConfigValidationService validationService;
     private final AuditService auditService;
     private static final Logger LOGGER = LogManager.getLogger(ClientRegistrationHandler.class);
@@ -46,13 +47,11 @@ public class ClientRegistrationHandler
     }
 
     public ClientRegistrationHandler(ConfigurationService configurationService) {
-        this.clientService =
-                new DynamoClientService(
-                        configurationService.getAwsRegion(),
-                        configurationService.getEnvironment(),
-                        configurationService.getDynamoEndpointUri());
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(services::getDynamoClientService, services::getAuditService);
+        this.clientService = services.getDynamoClientService();
         this.validationService = new ClientConfigValidationService();
-        this.auditService = new AuditService(configurationService);
+        this.auditService = services.getAuditService();
     }
 
     public ClientRegistrationHandler() {
@@ -62,6 +61,11 @@ public class ClientRegistrationHandler
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
+        return withAuditFlush(() -> processRequest(input, context));
+    }
+
+    private APIGatewayProxyResponseEvent processRequest(
+            APIGatewayProxyRequestEvent input, Context context) {
         return isWarming(input)
                 .orElseGet(
                         () -> {
@@ -80,7 +84,7 @@ public class ClientRegistrationHandler
                             try {
                                 LOGGER.info("Client registration request received");
                                 ClientRegistrationRequest clientRegistrationRequest =
-                                        objectMapper.readValue(
+                                        JsonRegistry.readValue(
                                                 input.getBody(), ClientRegistrationRequest.class);
                                 Optional<ErrorObject> errorResponse =
                                         validationService.validateClientRegistrationConfig(
@@ -101,8 +105,8 @@ public class ClientRegistrationHandler
                                             AuditService.UNKNOWN,
                                             AuditService.UNKNOWN);
 
-                                    return generateApiGatewayProxyResponse(
-                                            400, errorResponse.get().toJSONObject().toJSONString());
+                                    return generateApiGatewayProxyErrorResponse(
+                                            400, errorResponse.get());
                                 }
 
                                 String clientID = clientService.generateClientID().toString();
@@ -147,9 +151,8 @@ public class ClientRegistrationHandler
                                         AuditService.UNKNOWN,
                                         AuditService.UNKNOWN);
 
-                                return generateApiGatewayProxyResponse(
-                                        400,
-                                        OAuth2Error.INVALID_REQUEST.toJSONObject().toJSONString());
+                                return generateApiGatewayProxyErrorResponse(
+                                        400, OAuth2Error.INVALID_REQUEST);
                             }
                         });
     }
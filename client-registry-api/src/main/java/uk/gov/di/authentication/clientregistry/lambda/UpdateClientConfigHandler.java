@@ -5,7 +5,6 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.oauth2.sdk.ErrorObject;
 import com.nimbusds.oauth2.sdk.OAuth2Error;
 import org.apache.logging.log4j.LogManager;
@@ -15,17 +14,20 @@ import uk.gov.di.authentication.clientregistry.services.ClientConfigValidationSe
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.entity.UpdateClientConfigRequest;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.DynamoClientService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 
 import java.util.Optional;
 
 import static uk.gov.di.authentication.clientregistry.domain.ClientRegistryAuditableEvent.UPDATE_CLIENT_REQUEST_ERROR;
 import static uk.gov.di.authentication.clientregistry.domain.ClientRegistryAuditableEvent.UPDATE_CLIENT_REQUEST_RECEIVED;
+import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
+import static uk.gov.di.authentication.shared.services.AuditService.withAuditFlush;
 
 public class UpdateClientConfigHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -33,7 +35,6 @@ public class UpdateClientConfigHandler
     private final ClientService clientService;
     private final ClientConfigValidationService validationService;
     private final AuditService auditService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private static final Logger LOGGER = LogManager.getLogger(UpdateClientConfigHandler.class);
 
     public UpdateClientConfigHandler(
@@ -50,18 +51,21 @@ public class UpdateClientConfigHandler
     }
 
     public UpdateClientConfigHandler(ConfigurationService configurationService) {
-        this.clientService =
-                new DynamoClientService(
-                        configurationService.getAwsRegion(),
-                        configurationService.getEnvironment(),
-                        configurationService.getDynamoEndpointUri());
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(services::getDynamoClientService, services::getAuditService);
+        this.clientService = services.getDynamoClientService();
         this.validationService = new ClientConfigValidationService();
-        this.auditService = new AuditService(configurationService);
+        this.auditService = services.getAuditService();
     }
 
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
+        return withAuditFlush(() -> processRequest(input, context));
+    }
+
+    private APIGatewayProxyResponseEvent processRequest(
+            APIGatewayProxyRequestEvent input, Context context) {
         return isWarming(input)
                 .orElseGet(
                         () -> {
@@ -83,7 +87,7 @@ public class UpdateClientConfigHandler
                                         clientId);
 
                                 UpdateClientConfigRequest updateClientConfigRequest =
-                                        objectMapper.readValue(
+                                        JsonRegistry.readValue(
                                                 input.getBody(), UpdateClientConfigRequest.class);
                                 if (!clientService.isValidClient(clientId)) {
                                     auditService.submitAuditEvent(
@@ -99,11 +103,8 @@ public class UpdateClientConfigHandler
                                     LOGGER.error(
                                             "Invalid update Client config request. Invalid CliendId: {}",
                                             clientId);
-                                    return generateApiGatewayProxyResponse(
-                                            400,
-                                            OAuth2Error.INVALID_CLIENT
-                                                    .toJSONObject()
-                                                    .toJSONString());
+                                    return generateApiGatewayProxyErrorResponse(
+                                            400, OAuth2Error.INVALID_CLIENT);
                                 }
                                 Optional<ErrorObject> errorResponse =
                                         validationService.validateClientUpdateConfig(
@@ -123,8 +124,8 @@ public class UpdateClientConfigHandler
                                             ipAddress,
                                             AuditService.UNKNOWN,
                                             AuditService.UNKNOWN);
-                                    return generateApiGatewayProxyResponse(
-                                            400, errorResponse.get().toJSONObject().toJSONString());
+                                    return generateApiGatewayProxyErrorResponse(
+                                            400, errorResponse.get());
                                 }
                                 ClientRegistry clientRegistry =
                                         clientService.updateClient(
@@ -155,9 +156,8 @@ public class UpdateClientConfigHandler
                                         AuditService.UNKNOWN);
                                 LOGGER.error(
                                         "Invalid Client registration request. Missing parameters from request");
-                                return generateApiGatewayProxyResponse(
-                                        400,
-                                        OAuth2Error.INVALID_REQUEST.toJSONObject().toJSONString());
+                                return generateApiGatewayProxyErrorResponse(
+                                        400, OAuth2Error.INVALID_REQUEST);
                             }
                         });
     }
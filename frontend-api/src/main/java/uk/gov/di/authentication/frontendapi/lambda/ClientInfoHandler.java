@@ -21,7 +21,7 @@ import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.DynamoClientService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
 
 import java.util.List;
@@ -32,6 +32,7 @@ import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.g
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
+import static uk.gov.di.authentication.shared.services.AuditService.withAuditFlush;
 
 public class ClientInfoHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -58,14 +59,16 @@ public class ClientInfoHandler
 
     public ClientInfoHandler(ConfigurationService configurationService) {
         this.configurationService = configurationService;
-        this.clientSessionService = new ClientSessionService(configurationService);
-        this.clientService =
-                new DynamoClientService(
-                        configurationService.getAwsRegion(),
-                        configurationService.getEnvironment(),
-                        configurationService.getDynamoEndpointUri());
-        this.sessionService = new SessionService(configurationService);
-        this.auditService = new AuditService(configurationService);
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(
+                services::getClientSessionService,
+                services::getDynamoClientService,
+                services::getSessionService,
+                services::getAuditService);
+        this.clientSessionService = services.getClientSessionService();
+        this.clientService = services.getDynamoClientService();
+        this.sessionService = services.getSessionService();
+        this.auditService = services.getAuditService();
     }
 
     public ClientInfoHandler() {
@@ -75,6 +78,11 @@ public class ClientInfoHandler
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
+        return withAuditFlush(() -> processRequest(input, context));
+    }
+
+    private APIGatewayProxyResponseEvent processRequest(
+            APIGatewayProxyRequestEvent input, Context context) {
         return isWarming(input)
                 .orElseGet(
                         () -> {
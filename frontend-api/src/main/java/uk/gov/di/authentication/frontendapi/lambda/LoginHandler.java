@@ -28,8 +28,7 @@ import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.CodeStorageService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.DynamoService;
-import uk.gov.di.authentication.shared.services.RedisConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.state.StateMachine;
 import uk.gov.di.authentication.shared.state.UserContext;
@@ -78,12 +77,15 @@ public class LoginHandler extends BaseFrontendHandler<LoginRequest>
 
     public LoginHandler(ConfigurationService configurationService) {
         super(LoginRequest.class, configurationService);
-        this.codeStorageService =
-                new CodeStorageService(new RedisConnectionService(configurationService));
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(
+                services::getCodeStorageService,
+                services::getDynamoService,
+                services::getAuditService);
+        this.codeStorageService = services.getCodeStorageService();
         this.userMigrationService =
-                new UserMigrationService(
-                        new DynamoService(configurationService), configurationService);
-        this.auditService = new AuditService(configurationService);
+                new UserMigrationService(services.getDynamoService(), configurationService);
+        this.auditService = services.getAuditService();
     }
 
     public LoginHandler() {
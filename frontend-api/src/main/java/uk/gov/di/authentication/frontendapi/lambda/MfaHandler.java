@@ -9,7 +9,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.frontendapi.domain.FrontendAuditableEvent;
 import uk.gov.di.authentication.frontendapi.entity.MfaRequest;
-import uk.gov.di.authentication.frontendapi.services.AwsSqsClient;
+import uk.gov.di.authentication.frontendapi.services.NotificationSqsClient;
 import uk.gov.di.authentication.shared.entity.BaseAPIResponse;
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
@@ -20,6 +20,7 @@ import uk.gov.di.authentication.shared.entity.SessionAction;
 import uk.gov.di.authentication.shared.entity.SessionState;
 import uk.gov.di.authentication.shared.exceptions.ClientNotFoundException;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
 import uk.gov.di.authentication.shared.lambda.BaseFrontendHandler;
 import uk.gov.di.authentication.shared.services.AuditService;
@@ -29,7 +30,7 @@ import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.CodeGeneratorService;
 import uk.gov.di.authentication.shared.services.CodeStorageService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.RedisConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.state.StateMachine;
 import uk.gov.di.authentication.shared.state.UserContext;
@@ -59,7 +60,7 @@ public class MfaHandler extends BaseFrontendHandler<MfaRequest>
     private final CodeGeneratorService codeGeneratorService;
     private final CodeStorageService codeStorageService;
     private final AuditService auditService;
-    private final AwsSqsClient sqsClient;
+    private final NotificationSqsClient sqsClient;
     private final StateMachine<SessionState, SessionAction, UserContext> stateMachine =
             userJourneyStateMachine();
 
@@ -72,7 +73,7 @@ public class MfaHandler extends BaseFrontendHandler<MfaRequest>
             ClientService clientService,
             AuthenticationService authenticationService,
             AuditService auditService,
-            AwsSqsClient sqsClient) {
+            NotificationSqsClient sqsClient) {
         super(
                 MfaRequest.class,
                 configurationService,
@@ -88,15 +89,12 @@ public class MfaHandler extends BaseFrontendHandler<MfaRequest>
 
     public MfaHandler() {
         super(MfaRequest.class, ConfigurationService.getInstance());
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(services::getCodeStorageService, services::getAuditService);
         this.codeGeneratorService = new CodeGeneratorService();
-        this.codeStorageService =
-                new CodeStorageService(new RedisConnectionService(configurationService));
-        this.auditService = new AuditService(configurationService);
-        this.sqsClient =
-                new AwsSqsClient(
-                        configurationService.getAwsRegion(),
-                        configurationService.getEmailQueueUri(),
-                        configurationService.getSqsEndpointUri());
+        this.codeStorageService = services.getCodeStorageService();
+        this.auditService = services.getAuditService();
+        this.sqsClient = new NotificationSqsClient(configurationService);
     }
 
     @Override
@@ -190,7 +188,7 @@ public class MfaHandler extends BaseFrontendHandler<MfaRequest>
                     userContext.getSession().setState(nextState).incrementCodeRequestCount());
             NotifyRequest notifyRequest = new NotifyRequest(phoneNumber, MFA_SMS, code);
             if (!isTestClientAndAllowedEmail(userContext, MFA_SMS)) {
-                sqsClient.send(objectMapper.writeValueAsString(notifyRequest));
+                sqsClient.send(MFA_SMS, JsonRegistry.writeValueAsString(notifyRequest));
 
                 auditService.submitAuditEvent(
                         FrontendAuditableEvent.MFA_CODE_SENT,
@@ -2,22 +2,29 @@ package uk.gov.di.authentication.frontendapi.lambda;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ObjectMessage;
+import uk.gov.di.authentication.shared.entity.NotificationType;
 import uk.gov.di.authentication.shared.entity.NotifyRequest;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
+import uk.gov.di.authentication.shared.helpers.SQSBatchDispatcher;
+import uk.gov.di.authentication.shared.helpers.SQSBatchFailureCollector;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.NotificationService;
 import uk.gov.service.notify.NotificationClient;
 import uk.gov.service.notify.NotificationClientException;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static uk.gov.di.authentication.shared.entity.NotificationType.ACCOUNT_CREATED_CONFIRMATION;
 import static uk.gov.di.authentication.shared.entity.NotificationType.MFA_SMS;
@@ -27,14 +34,16 @@ import static uk.gov.di.authentication.shared.entity.NotificationType.VERIFY_EMA
 import static uk.gov.di.authentication.shared.entity.NotificationType.VERIFY_PHONE_NUMBER;
 import static uk.gov.di.authentication.shared.helpers.ConstructUriHelper.buildURI;
 
-public class NotificationHandler implements RequestHandler<SQSEvent, Void> {
+public class NotificationHandler implements RequestHandler<SQSEvent, SQSBatchResponse> {
 
     private static final Logger LOG = LogManager.getLogger(NotificationHandler.class);
+    private static final int NOTIFY_BAD_REQUEST = 400;
+    private static final String SENT_TIMESTAMP = "SentTimestamp";
 
     private final NotificationService notificationService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final AmazonS3 s3Client;
     private final ConfigurationService configurationService;
+    private final SQSBatchDispatcher dispatcher;
 
     public NotificationHandler(
             NotificationService notificationService,
@@ -43,6 +52,7 @@ public class NotificationHandler implements RequestHandler<SQSEvent, Void> {
         this.notificationService = notificationService;
         this.configurationService = configurationService;
         this.s3Client = s3Client;
+        this.dispatcher = new SQSBatchDispatcher(configurationService.getNotifyMaxConcurrency());
     }
 
     public NotificationHandler() {
@@ -62,97 +72,126 @@ public class NotificationHandler implements RequestHandler<SQSEvent, Void> {
         this.notificationService = new NotificationService(client);
         this.s3Client =
                 AmazonS3Client.builder().withRegion(configurationService.getAwsRegion()).build();
+        this.dispatcher = new SQSBatchDispatcher(configurationService.getNotifyMaxConcurrency());
     }
 
     @Override
-    public Void handleRequest(SQSEvent event, Context context) {
+    public SQSBatchResponse handleRequest(SQSEvent event, Context context) {
+        return dispatcher.dispatch(event.getRecords(), this::handleMessage);
+    }
+
+    private void handleMessage(SQSMessage msg, SQSBatchFailureCollector failures) {
+        NotifyRequest notifyRequest;
+        try {
+            notifyRequest = JsonRegistry.readValue(msg.getBody(), NotifyRequest.class);
+        } catch (JsonProcessingException e) {
+            LOG.error("Error when mapping message from queue to a NotifyRequest");
+            failures.poison(msg, "Unable to map message to a NotifyRequest");
+            return;
+        }
+        try {
+            sendNotification(notifyRequest);
+            reportDeliveryLatency(msg, notifyRequest.getNotificationType());
+            writeTestClientOtpToS3(notifyRequest.getCode(), notifyRequest.getDestination());
+        } catch (NotificationClientException e) {
+            LOG.error(
+                    "Error sending with Notify using NotificationType: {}",
+                    notifyRequest.getNotificationType());
+            String reason =
+                    String.format(
+                            "Notify returned %d for NotificationType: %s",
+                            e.getHttpResult(), notifyRequest.getNotificationType());
+            if (e.getHttpResult() == NOTIFY_BAD_REQUEST) {
+                failures.poison(msg, reason);
+            } else {
+                failures.retryable(msg, reason);
+            }
+        } catch (RuntimeException e) {
+            LOG.error(
+                    "Unexpected error sending NotificationType: {}",
+                    notifyRequest.getNotificationType());
+            failures.retryable(msg, e.getClass().getSimpleName());
+        }
+    }
 
+    private void sendNotification(NotifyRequest notifyRequest) throws NotificationClientException {
         Map<String, Object> notifyPersonalisation = new HashMap<>();
 
-        for (SQSMessage msg : event.getRecords()) {
-            try {
-                NotifyRequest notifyRequest =
-                        objectMapper.readValue(msg.getBody(), NotifyRequest.class);
-                try {
-                    switch (notifyRequest.getNotificationType()) {
-                        case ACCOUNT_CREATED_CONFIRMATION:
-                            notifyPersonalisation.put(
-                                    "sign-in-page-url",
-                                    buildURI(configurationService.getAccountManagementURI())
-                                            .toString());
-                            notificationService.sendEmail(
-                                    notifyRequest.getDestination(),
-                                    notifyPersonalisation,
-                                    notificationService.getNotificationTemplateId(
-                                            ACCOUNT_CREATED_CONFIRMATION));
-                            break;
-                        case VERIFY_EMAIL:
-                            notifyPersonalisation.put("validation-code", notifyRequest.getCode());
-                            notifyPersonalisation.put(
-                                    "email-address", notifyRequest.getDestination());
-                            notificationService.sendEmail(
-                                    notifyRequest.getDestination(),
-                                    notifyPersonalisation,
-                                    notificationService.getNotificationTemplateId(VERIFY_EMAIL));
-                            break;
-                        case VERIFY_PHONE_NUMBER:
-                            notifyPersonalisation.put("validation-code", notifyRequest.getCode());
-                            notificationService.sendText(
-                                    notifyRequest.getDestination(),
-                                    notifyPersonalisation,
-                                    notificationService.getNotificationTemplateId(
-                                            VERIFY_PHONE_NUMBER));
-                            break;
-                        case MFA_SMS:
-                            notifyPersonalisation.put("validation-code", notifyRequest.getCode());
-                            notificationService.sendText(
-                                    notifyRequest.getDestination(),
-                                    notifyPersonalisation,
-                                    notificationService.getNotificationTemplateId(MFA_SMS));
-                            break;
-                        case RESET_PASSWORD:
-                            notifyPersonalisation.put(
-                                    "reset-password-link", notifyRequest.getCode());
-                            notificationService.sendEmail(
-                                    notifyRequest.getDestination(),
-                                    notifyPersonalisation,
-                                    notificationService.getNotificationTemplateId(RESET_PASSWORD));
-                            break;
-                        case PASSWORD_RESET_CONFIRMATION:
-                            Map<String, Object> passwordResetConfirmationPersonalisation =
-                                    new HashMap<>();
-                            passwordResetConfirmationPersonalisation.put(
-                                    "customer-support-link",
-                                    buildURI(
-                                                    configurationService.getFrontendBaseUrl(),
-                                                    configurationService
-                                                            .getCustomerSupportLinkRoute())
-                                            .toString());
-                            notificationService.sendEmail(
-                                    notifyRequest.getDestination(),
-                                    passwordResetConfirmationPersonalisation,
-                                    notificationService.getNotificationTemplateId(
-                                            PASSWORD_RESET_CONFIRMATION));
-                            break;
-                    }
-                    writeTestClientOtpToS3(notifyRequest.getCode(), notifyRequest.getDestination());
-                } catch (NotificationClientException e) {
-                    LOG.error(
-                            "Error sending with Notify using NotificationType: {}",
-                            notifyRequest.getNotificationType());
-                    throw new RuntimeException(
-                            String.format(
-                                    "Error sending with Notify using NotificationType: %s",
-                                    notifyRequest.getNotificationType()),
-                            e);
-                }
-            } catch (JsonProcessingException e) {
-                LOG.error("Error when mapping message from queue to a NotifyRequest");
-                throw new RuntimeException(
-                        "Error when mapping message from queue to a NotifyRequest");
-            }
+        switch (notifyRequest.getNotificationType()) {
+            case ACCOUNT_CREATED_CONFIRMATION:
+                notifyPersonalisation.put(
+                        "sign-in-page-url",
+                        buildURI(configurationService.getAccountManagementURI()).toString());
+                notificationService.sendEmail(
+                        notifyRequest.getDestination(),
+                        notifyPersonalisation,
+                        notificationService.getNotificationTemplateId(
+                                ACCOUNT_CREATED_CONFIRMATION));
+                break;
+            case VERIFY_EMAIL:
+                notifyPersonalisation.put("validation-code", notifyRequest.getCode());
+                notifyPersonalisation.put("email-address", notifyRequest.getDestination());
+                notificationService.sendEmail(
+                        notifyRequest.getDestination(),
+                        notifyPersonalisation,
+                        notificationService.getNotificationTemplateId(VERIFY_EMAIL));
+                break;
+            case VERIFY_PHONE_NUMBER:
+                notifyPersonalisation.put("validation-code", notifyRequest.getCode());
+                notificationService.sendText(
+                        notifyRequest.getDestination(),
+                        notifyPersonalisation,
+                        notificationService.getNotificationTemplateId(VERIFY_PHONE_NUMBER));
+                break;
+            case MFA_SMS:
+                notifyPersonalisation.put("validation-code", notifyRequest.getCode());
+                notificationService.sendText(
+                        notifyRequest.getDestination(),
+                        notifyPersonalisation,
+                        notificationService.getNotificationTemplateId(MFA_SMS));
+                break;
+            case RESET_PASSWORD:
+                notifyPersonalisation.put("reset-password-link", notifyRequest.getCode());
+                notificationService.sendEmail(
+                        notifyRequest.getDestination(),
+                        notifyPersonalisation,
+                        notificationService.getNotificationTemplateId(RESET_PASSWORD));
+                break;
+            case PASSWORD_RESET_CONFIRMATION:
+                Map<String, Object> passwordResetConfirmationPersonalisation = new HashMap<>();
+                passwordResetConfirmationPersonalisation.put(
+                        "customer-support-link",
+                        buildURI(
+                                        configurationService.getFrontendBaseUrl(),
+                                        configurationService.getCustomerSupportLinkRoute())
+                                .toString());
+                notificationService.sendEmail(
+                        notifyRequest.getDestination(),
+                        passwordResetConfirmationPersonalisation,
+                        notificationService.getNotificationTemplateId(PASSWORD_RESET_CONFIRMATION));
+                break;
         }
-        return null;
+    }
+
+    /**
+     * Logs how long the notification spent on its queue before being handed to Notify, labelled
+     * with the lane this function consumes, for the log metric filters of that lane to pick up.
+     */
+    private void reportDeliveryLatency(SQSMessage msg, NotificationType notificationType) {
+        Optional.ofNullable(msg.getAttributes())
+                .map(attributes -> attributes.get(SENT_TIMESTAMP))
+                .map(Long::parseLong)
+                .ifPresent(
+                        sentTimestamp -> {
+                            var metrics = new LinkedHashMap<String, Object>();
+                            metrics.put("metric", "notification-delivery");
+                            metrics.put("lane", configurationService.getNotificationLane());
+                            metrics.put("notification-type", notificationType.name());
+                            metrics.put(
+                                    "latency",
+                                    Math.max(0, System.currentTimeMillis() - sentTimestamp));
+                            LOG.info(new ObjectMessage(metrics));
+                        });
     }
 
     private void writeTestClientOtpToS3(String otp, String destination) {
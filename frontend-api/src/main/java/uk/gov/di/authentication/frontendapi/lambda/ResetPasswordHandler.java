@@ -5,7 +5,6 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.ConstraintViolationException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -19,7 +18,7 @@ import uk.gov.di.authentication.shared.entity.NotifyRequest;
 import uk.gov.di.authentication.shared.entity.UserCredentials;
 import uk.gov.di.authentication.shared.helpers.Argon2MatcherHelper;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
-import uk.gov.di.authentication.shared.helpers.ObjectMapperFactory;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
 import uk.gov.di.authentication.shared.lambda.BaseFrontendHandler;
 import uk.gov.di.authentication.shared.services.AuditService;
@@ -28,8 +27,7 @@ import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.CodeStorageService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.DynamoService;
-import uk.gov.di.authentication.shared.services.RedisConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.services.ValidationService;
 import uk.gov.di.authentication.shared.state.UserContext;
@@ -47,7 +45,6 @@ public class ResetPasswordHandler extends BaseFrontendHandler<ResetPasswordWithC
     private final CodeStorageService codeStorageService;
     private final ValidationService validationService;
     private final AuditService auditService;
-    private final ObjectMapper objectMapper = ObjectMapperFactory.getInstance();
 
     private static final Logger LOGGER = LogManager.getLogger(ResetPasswordHandler.class);
 
@@ -81,16 +78,20 @@ public class ResetPasswordHandler extends BaseFrontendHandler<ResetPasswordWithC
 
     public ResetPasswordHandler(ConfigurationService configurationService) {
         super(ResetPasswordWithCodeRequest.class, configurationService);
-        this.authenticationService = new DynamoService(configurationService);
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(
+                services::getDynamoService,
+                services::getCodeStorageService,
+                services::getAuditService);
+        this.authenticationService = services.getDynamoService();
         this.sqsClient =
                 new AwsSqsClient(
                         configurationService.getAwsRegion(),
                         configurationService.getEmailQueueUri(),
                         configurationService.getSqsEndpointUri());
-        this.codeStorageService =
-                new CodeStorageService(new RedisConnectionService(configurationService));
+        this.codeStorageService = services.getCodeStorageService();
         this.validationService = new ValidationService();
-        this.auditService = new AuditService(configurationService);
+        this.auditService = services.getAuditService();
     }
 
     @Override
@@ -162,7 +163,7 @@ public class ResetPasswordHandler extends BaseFrontendHandler<ResetPasswordWithC
     }
 
     private String serialiseRequest(Object request) throws JsonProcessingException {
-        return objectMapper.writeValueAsString(request);
+        return JsonRegistry.writeValueAsString(request);
     }
 
     private static boolean verifyPassword(String hashedPassword, String password) {
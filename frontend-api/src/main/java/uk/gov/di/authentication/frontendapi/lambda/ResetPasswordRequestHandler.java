@@ -10,7 +10,7 @@ import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import uk.gov.di.authentication.frontendapi.domain.FrontendAuditableEvent;
 import uk.gov.di.authentication.frontendapi.entity.ResetPasswordRequest;
-import uk.gov.di.authentication.frontendapi.services.AwsSqsClient;
+import uk.gov.di.authentication.frontendapi.services.NotificationSqsClient;
 import uk.gov.di.authentication.frontendapi.services.ResetPasswordService;
 import uk.gov.di.authentication.shared.entity.BaseAPIResponse;
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
@@ -20,6 +20,7 @@ import uk.gov.di.authentication.shared.entity.NotifyRequest;
 import uk.gov.di.authentication.shared.entity.SessionAction;
 import uk.gov.di.authentication.shared.entity.SessionState;
 import uk.gov.di.authentication.shared.helpers.IpAddressHelper;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.helpers.PersistentIdHelper;
 import uk.gov.di.authentication.shared.lambda.BaseFrontendHandler;
 import uk.gov.di.authentication.shared.services.AuditService;
@@ -29,7 +30,7 @@ import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.CodeGeneratorService;
 import uk.gov.di.authentication.shared.services.CodeStorageService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.RedisConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.services.ValidationService;
 import uk.gov.di.authentication.shared.state.StateMachine;
@@ -52,7 +53,7 @@ public class ResetPasswordRequestHandler extends BaseFrontendHandler<ResetPasswo
     private static final Logger LOGGER = LogManager.getLogger(ResetPasswordRequestHandler.class);
 
     private final ValidationService validationService;
-    private final AwsSqsClient sqsClient;
+    private final NotificationSqsClient sqsClient;
     private final CodeGeneratorService codeGeneratorService;
     private final CodeStorageService codeStorageService;
     private final AuditService auditService;
@@ -67,7 +68,7 @@ public class ResetPasswordRequestHandler extends BaseFrontendHandler<ResetPasswo
             ClientService clientService,
             AuthenticationService authenticationService,
             ValidationService validationService,
-            AwsSqsClient sqsClient,
+            NotificationSqsClient sqsClient,
             CodeGeneratorService codeGeneratorService,
             CodeStorageService codeStorageService,
             AuditService auditService,
@@ -93,16 +94,13 @@ public class ResetPasswordRequestHandler extends BaseFrontendHandler<ResetPasswo
 
     public ResetPasswordRequestHandler(ConfigurationService configurationService) {
         super(ResetPasswordRequest.class, configurationService);
-        this.sqsClient =
-                new AwsSqsClient(
-                        configurationService.getAwsRegion(),
-                        configurationService.getEmailQueueUri(),
-                        configurationService.getSqsEndpointUri());
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(services::getCodeStorageService, services::getAuditService);
+        this.sqsClient = new NotificationSqsClient(configurationService);
         this.validationService = new ValidationService();
         this.codeGeneratorService = new CodeGeneratorService();
-        this.codeStorageService =
-                new CodeStorageService(new RedisConnectionService(configurationService));
-        this.auditService = new AuditService(configurationService);
+        this.codeStorageService = services.getCodeStorageService();
+        this.auditService = services.getAuditService();
         this.resetPasswordService = new ResetPasswordService(configurationService);
     }
 
@@ -197,7 +195,7 @@ public class ResetPasswordRequestHandler extends BaseFrontendHandler<ResetPasswo
                 NotificationType.RESET_PASSWORD);
         sessionService.save(
                 userContext.getSession().setState(nextState).incrementPasswordResetCount());
-        sqsClient.send(serialiseRequest(notifyRequest));
+        sqsClient.send(notificationType, serialiseRequest(notifyRequest));
         LOGGER.info(
                 "ResetPasswordRequestHandler successfully processed request for session: {}",
                 userContext.getSession().getSessionId());
@@ -234,6 +232,6 @@ public class ResetPasswordRequestHandler extends BaseFrontendHandler<ResetPasswo
     }
 
     private String serialiseRequest(Object request) throws JsonProcessingException {
-        return objectMapper.writeValueAsString(request);
+        return JsonRegistry.writeValueAsString(request);
     }
 }
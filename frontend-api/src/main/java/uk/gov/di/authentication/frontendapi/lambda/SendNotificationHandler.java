@@ -9,7 +9,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import uk.gov.di.authentication.frontendapi.entity.SendNotificationRequest;
-import uk.gov.di.authentication.frontendapi.services.AwsSqsClient;
+import uk.gov.di.authentication.frontendapi.services.NotificationSqsClient;
 import uk.gov.di.authentication.shared.entity.BaseAPIResponse;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.entity.NotificationType;
@@ -18,6 +18,7 @@ import uk.gov.di.authentication.shared.entity.Session;
 import uk.gov.di.authentication.shared.entity.SessionAction;
 import uk.gov.di.authentication.shared.entity.SessionState;
 import uk.gov.di.authentication.shared.exceptions.ClientNotFoundException;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.lambda.BaseFrontendHandler;
 import uk.gov.di.authentication.shared.services.AuthenticationService;
 import uk.gov.di.authentication.shared.services.ClientService;
@@ -25,7 +26,7 @@ import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.CodeGeneratorService;
 import uk.gov.di.authentication.shared.services.CodeStorageService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.RedisConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.services.ValidationService;
 import uk.gov.di.authentication.shared.state.StateMachine;
@@ -59,7 +60,7 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
     private static final Logger LOGGER = LogManager.getLogger(SendNotificationHandler.class);
 
     private final ValidationService validationService;
-    private final AwsSqsClient sqsClient;
+    private final NotificationSqsClient sqsClient;
     private final CodeGeneratorService codeGeneratorService;
     private final CodeStorageService codeStorageService;
     private final StateMachine<SessionState, SessionAction, UserContext> stateMachine =
@@ -72,7 +73,7 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
             ClientService clientService,
             AuthenticationService authenticationService,
             ValidationService validationService,
-            AwsSqsClient sqsClient,
+            NotificationSqsClient sqsClient,
             CodeGeneratorService codeGeneratorService,
             CodeStorageService codeStorageService) {
         super(
@@ -90,15 +91,11 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
 
     public SendNotificationHandler() {
         super(SendNotificationRequest.class, ConfigurationService.getInstance());
-        this.sqsClient =
-                new AwsSqsClient(
-                        configurationService.getAwsRegion(),
-                        configurationService.getEmailQueueUri(),
-                        configurationService.getSqsEndpointUri());
+        this.sqsClient = new NotificationSqsClient(configurationService);
         this.validationService = new ValidationService();
         this.codeGeneratorService = new CodeGeneratorService();
         this.codeStorageService =
-                new CodeStorageService(new RedisConnectionService(configurationService));
+                ServiceRegistry.forConfiguration(configurationService).getCodeStorageService();
     }
 
     @Override
@@ -119,7 +116,9 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
                 NotifyRequest notifyRequest =
                         new NotifyRequest(request.getEmail(), ACCOUNT_CREATED_CONFIRMATION);
                 if (!isTestClientAndAllowedEmail(userContext, ACCOUNT_CREATED_CONFIRMATION)) {
-                    sqsClient.send(objectMapper.writeValueAsString((notifyRequest)));
+                    sqsClient.send(
+                            ACCOUNT_CREATED_CONFIRMATION,
+                            JsonRegistry.writeValueAsString((notifyRequest)));
                     LOGGER.info(
                             "AccountCreatedConfirmation email placed on queue for session: {}",
                             userContext.getSession().getSessionId());
@@ -227,7 +226,7 @@ public class SendNotificationHandler extends BaseFrontendHandler<SendNotificatio
                 notificationType);
         sessionService.save(session.setState(nextState).incrementCodeRequestCount());
         if (!isTestClientAndAllowedEmail(userContext, notificationType)) {
-            sqsClient.send(objectMapper.writeValueAsString((notifyRequest)));
+            sqsClient.send(notificationType, JsonRegistry.writeValueAsString((notifyRequest)));
             LOGGER.info(
                     "SendNotificationHandler successfully processed request for session {}",
                     session.getSessionId());
@@ -24,6 +24,7 @@ import uk.gov.di.authentication.shared.services.AuthenticationService;
 import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.services.ValidationService;
 import uk.gov.di.authentication.shared.state.StateMachine;
@@ -74,7 +75,9 @@ public class SignUpHandler extends BaseFrontendHandler<SignupRequest>
     public SignUpHandler(ConfigurationService configurationService) {
         super(SignupRequest.class, configurationService);
         this.validationService = new ValidationService();
-        this.auditService = new AuditService(configurationService);
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        this.auditService = services.getAuditService();
+        services.warmUp();
     }
 
     @Override
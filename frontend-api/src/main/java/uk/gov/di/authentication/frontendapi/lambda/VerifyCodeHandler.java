@@ -5,7 +5,6 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.frontendapi.domain.FrontendAuditableEvent;
@@ -31,7 +30,7 @@ import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.CodeStorageService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.RedisConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.services.ValidationService;
 import uk.gov.di.authentication.shared.state.StateMachine;
@@ -71,7 +70,6 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
 
     private static final Logger LOG = LogManager.getLogger(VerifyCodeHandler.class);
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final CodeStorageService codeStorageService;
     private final ValidationService validationService;
     private final StateMachine<SessionState, SessionAction, UserContext> stateMachine;
@@ -106,11 +104,12 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
 
     public VerifyCodeHandler(ConfigurationService configurationService) {
         super(VerifyCodeRequest.class, configurationService);
-        this.codeStorageService =
-                new CodeStorageService(new RedisConnectionService(configurationService));
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(services::getCodeStorageService, services::getAuditService);
+        this.codeStorageService = services.getCodeStorageService();
         this.validationService = new ValidationService();
         this.stateMachine = userJourneyStateMachine();
-        this.auditService = new AuditService(configurationService);
+        this.auditService = services.getAuditService();
     }
 
     @Override
@@ -124,9 +123,6 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
                     "VerifyCodeHandler processing request for session: {}",
                     userContext.getSession().getSessionId());
 
-            VerifyCodeRequest codeRequest =
-                    objectMapper.readValue(input.getBody(), VerifyCodeRequest.class);
-
             var session = userContext.getSession();
 
             if (isCodeBlockedForSession(session)) {
@@ -134,22 +130,22 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
                         session.setState(
                                 stateMachine.transition(
                                         session.getState(),
-                                        blockedCodeBehaviour(codeRequest),
+                                        blockedCodeBehaviour(request),
                                         userContext)));
                 return generateResponse(session);
             }
 
             var code =
                     configurationService.isTestClientsEnabled()
-                            ? getOtpCode(userContext, codeRequest.getNotificationType())
+                            ? getOtpCode(userContext, request.getNotificationType())
                             : codeStorageService.getOtpCode(
-                                    session.getEmailAddress(), codeRequest.getNotificationType());
+                                    session.getEmailAddress(), request.getNotificationType());
 
             var validationAction =
                     validationService.validateVerificationCode(
-                            codeRequest.getNotificationType(),
+                            request.getNotificationType(),
                             code,
-                            codeRequest.getCode(),
+                            request.getCode(),
                             session,
                             configurationService.getCodeMaxRetries());
 
@@ -166,7 +162,7 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
                                     session.getState(), validationAction, userContext)));
             processCodeSessionState(
                     session,
-                    codeRequest.getNotificationType(),
+                    request.getNotificationType(),
                     getHeaderValueFromHeaders(
                             input.getHeaders(),
                             RequestHeaders.CLIENT_SESSION_ID_HEADER,
@@ -205,7 +201,7 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
         return badRequestActions.contains(sessionAction);
     }
 
-    private SessionAction blockedCodeBehaviour(VerifyCodeRequest codeRequest) {
+    private SessionAction blockedCodeBehaviour(VerifyCodeRequest request) {
         return Map.ofEntries(
                         entry(
                                 VERIFY_EMAIL,
@@ -214,7 +210,7 @@ public class VerifyCodeHandler extends BaseFrontendHandler<VerifyCodeRequest>
                                 VERIFY_PHONE_NUMBER,
                                 USER_ENTERED_INVALID_PHONE_VERIFICATION_CODE_TOO_MANY_TIMES),
                         entry(MFA_SMS, USER_ENTERED_INVALID_MFA_CODE_TOO_MANY_TIMES))
-                .get(codeRequest.getNotificationType());
+                .get(request.getNotificationType());
     }
 
     private boolean isCodeBlockedForSession(Session session) {
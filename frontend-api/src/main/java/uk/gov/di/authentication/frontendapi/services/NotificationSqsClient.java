@@ -0,0 +1,44 @@
+package uk.gov.di.authentication.frontendapi.services;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import uk.gov.di.authentication.shared.entity.NotificationType;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+
+/**
+ * Puts notify requests on the email queues. Notifications the user is waiting on (see {@link
+ * NotificationType#isTimeCritical()}) go on the priority queue so that they never wait behind
+ * confirmation emails; everything else goes on the standard queue.
+ */
+public class NotificationSqsClient {
+
+    private final AwsSqsClient standardSqsClient;
+    private final AwsSqsClient prioritySqsClient;
+
+    public NotificationSqsClient(ConfigurationService configurationService) {
+        this(
+                new AwsSqsClient(
+                        configurationService.getAwsRegion(),
+                        configurationService.getEmailQueueUri(),
+                        configurationService.getSqsEndpointUri(),
+                        configurationService.isSqsFireAndFlushEnabled()),
+                new AwsSqsClient(
+                        configurationService.getAwsRegion(),
+                        configurationService.getPriorityEmailQueueUri(),
+                        configurationService.getSqsEndpointUri(),
+                        configurationService.isSqsFireAndFlushEnabled()));
+    }
+
+    public NotificationSqsClient(AwsSqsClient standardSqsClient, AwsSqsClient prioritySqsClient) {
+        this.standardSqsClient = standardSqsClient;
+        this.prioritySqsClient = prioritySqsClient;
+    }
+
+    public void send(NotificationType notificationType, String notifyRequest)
+            throws SdkClientException {
+        if (notificationType.isTimeCritical()) {
+            prioritySqsClient.send(notifyRequest);
+        } else {
+            standardSqsClient.send(notifyRequest);
+        }
+    }
+}
@@ -1,26 +1,39 @@
 package uk.gov.di.authentication.frontendapi.lambda;
 
 import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
 import com.amazonaws.services.s3.AmazonS3;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.message.ObjectMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.mockito.Mockito;
 import uk.gov.di.authentication.shared.entity.NotifyRequest;
+import uk.gov.di.authentication.shared.helpers.SQSBatchFailureCollector;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.NotificationService;
+import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 import uk.gov.service.notify.NotificationClientException;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.singletonList;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,13 +43,23 @@ import static uk.gov.di.authentication.shared.entity.NotificationType.PASSWORD_R
 import static uk.gov.di.authentication.shared.entity.NotificationType.RESET_PASSWORD;
 import static uk.gov.di.authentication.shared.entity.NotificationType.VERIFY_EMAIL;
 import static uk.gov.di.authentication.shared.entity.NotificationType.VERIFY_PHONE_NUMBER;
+import static uk.gov.di.authentication.sharedtest.logging.LogEventMatcher.hasObjectMessageProperty;
 
 public class NotificationHandlerTest {
 
+    @RegisterExtension
+    public final CaptureLoggingExtension logging =
+            new CaptureLoggingExtension(NotificationHandler.class);
+
+    @RegisterExtension
+    public final CaptureLoggingExtension failureLogging =
+            new CaptureLoggingExtension(SQSBatchFailureCollector.class);
+
     private static final String TEST_EMAIL_ADDRESS = "joe.bloggs@digital.cabinet-office.gov.uk";
     private static final String TEST_PHONE_NUMBER = "01234567891";
     private static final String NOTIFY_PHONE_NUMBER = "01234567899";
     private static final String TEMPLATE_ID = "fdsfdssd";
+    private static final String MESSAGE_ID = "message-id";
     private static final String BUCKET_NAME = "test-s3-bucket";
     private static final String TEST_RESET_PASSWORD_LINK =
             "https://localhost:8080/frontend?reset-password?code=123456.54353464565";
@@ -158,21 +181,59 @@ public class NotificationHandlerTest {
     }
 
     @Test
-    void shouldThrowExceptionIfUnableToProcessMessageFromQueue() {
+    void shouldReportQueueLatencyOnTheLaneTheFunctionConsumes()
+            throws JsonProcessingException, NotificationClientException {
+        when(configService.getNotificationLane()).thenReturn("priority");
+        when(notificationService.getNotificationTemplateId(MFA_SMS)).thenReturn(TEMPLATE_ID);
+        when(notificationService.getNotificationTemplateId(ACCOUNT_CREATED_CONFIRMATION))
+                .thenReturn(TEMPLATE_ID);
+        when(configService.getAccountManagementURI()).thenReturn("https://localhost:8081");
+        var sentTimestamp = String.valueOf(System.currentTimeMillis() - 5000);
+
+        handler.handleRequest(
+                generateSQSEvent(
+                        objectMapper.writeValueAsString(
+                                new NotifyRequest(TEST_PHONE_NUMBER, MFA_SMS, "654321")),
+                        sentTimestamp),
+                context);
+        handler.handleRequest(
+                generateSQSEvent(
+                        objectMapper.writeValueAsString(
+                                new NotifyRequest(
+                                        TEST_EMAIL_ADDRESS, ACCOUNT_CREATED_CONFIRMATION)),
+                        sentTimestamp),
+                context);
+
+        var metrics =
+                logging.events().stream()
+                        .filter(event -> event.getMessage() instanceof ObjectMessage)
+                        .collect(Collectors.toList());
+        assertThat(property(metrics.get(0), "metric"), equalTo("notification-delivery"));
+        assertThat(property(metrics.get(0), "lane"), equalTo("priority"));
+        assertThat(property(metrics.get(0), "notification-type"), equalTo("MFA_SMS"));
+        assertThat(
+                Long.parseLong(property(metrics.get(0), "latency")),
+                greaterThanOrEqualTo(5000L));
+        assertThat(property(metrics.get(1), "lane"), equalTo("priority"));
+        assertThat(
+                property(metrics.get(1), "notification-type"),
+                equalTo("ACCOUNT_CREATED_CONFIRMATION"));
+    }
+
+    @Test
+    void shouldReportMessageThatCannotBeMappedToANotifyRequestAsPoison() {
         SQSEvent sqsEvent = generateSQSEvent("");
 
-        RuntimeException exception =
-                assertThrows(
-                        RuntimeException.class,
-                        () -> handler.handleRequest(sqsEvent, context),
-                        "Expected to throw exception");
+        SQSBatchResponse response = handler.handleRequest(sqsEvent, context);
 
-        assertEquals(
-                "Error when mapping message from queue to a NotifyRequest", exception.getMessage());
+        assertThat(failedMessageIds(response), contains(MESSAGE_ID));
+        assertThat(
+                failureLogging.events(),
+                hasItem(hasObjectMessageProperty("failure-type", "POISON")));
     }
 
     @Test
-    void shouldThrowExceptionIfNotifyIsUnableToSendEmail()
+    void shouldReportMessageAsFailedIfNotifyIsUnableToSendEmail()
             throws JsonProcessingException, NotificationClientException {
         when(notificationService.getNotificationTemplateId(VERIFY_EMAIL)).thenReturn(TEMPLATE_ID);
 
@@ -187,19 +248,13 @@ public class NotificationHandlerTest {
                 .when(notificationService)
                 .sendEmail(TEST_EMAIL_ADDRESS, personalisation, TEMPLATE_ID);
 
-        RuntimeException exception =
-                assertThrows(
-                        RuntimeException.class,
-                        () -> handler.handleRequest(sqsEvent, context),
-                        "Expected to throw exception");
+        SQSBatchResponse response = handler.handleRequest(sqsEvent, context);
 
-        assertEquals(
-                "Error sending with Notify using NotificationType: VERIFY_EMAIL",
-                exception.getMessage());
+        assertThat(failedMessageIds(response), contains(MESSAGE_ID));
     }
 
     @Test
-    void shouldThrowExceptionIfNotifyIsUnableToSendText()
+    void shouldReportMessageAsFailedIfNotifyIsUnableToSendText()
             throws JsonProcessingException, NotificationClientException {
         when(notificationService.getNotificationTemplateId(VERIFY_PHONE_NUMBER))
                 .thenReturn(TEMPLATE_ID);
@@ -215,15 +270,81 @@ public class NotificationHandlerTest {
                 .when(notificationService)
                 .sendText(TEST_PHONE_NUMBER, personalisation, TEMPLATE_ID);
 
-        RuntimeException exception =
-                assertThrows(
-                        RuntimeException.class,
-                        () -> handler.handleRequest(sqsEvent, context),
-                        "Expected to throw exception");
+        SQSBatchResponse response = handler.handleRequest(sqsEvent, context);
 
-        assertEquals(
-                "Error sending with Notify using NotificationType: VERIFY_PHONE_NUMBER",
-                exception.getMessage());
+        assertThat(failedMessageIds(response), contains(MESSAGE_ID));
+    }
+
+    @Test
+    void shouldReportPoisonMessagesAndContinueProcessingTheBatch()
+            throws JsonProcessingException, NotificationClientException {
+        when(notificationService.getNotificationTemplateId(VERIFY_EMAIL)).thenReturn(TEMPLATE_ID);
+
+        SQSMessage poisonMessage = new SQSMessage();
+        poisonMessage.setMessageId("poison-message-id");
+        poisonMessage.setBody("not-json");
+        SQSMessage validMessage = new SQSMessage();
+        validMessage.setMessageId(MESSAGE_ID);
+        validMessage.setBody(
+                objectMapper.writeValueAsString(
+                        new NotifyRequest(TEST_EMAIL_ADDRESS, VERIFY_EMAIL, "654321")));
+        SQSEvent sqsEvent = new SQSEvent();
+        sqsEvent.setRecords(List.of(poisonMessage, validMessage));
+
+        SQSBatchResponse response = handler.handleRequest(sqsEvent, context);
+
+        Map<String, Object> personalisation = new HashMap<>();
+        personalisation.put("validation-code", "654321");
+        personalisation.put("email-address", TEST_EMAIL_ADDRESS);
+
+        assertThat(failedMessageIds(response), contains("poison-message-id"));
+        assertThat(
+                failureLogging.events(),
+                hasItem(hasObjectMessageProperty("sqs-message-id", "poison-message-id")));
+        verify(notificationService).sendEmail(TEST_EMAIL_ADDRESS, personalisation, TEMPLATE_ID);
+    }
+
+    @Test
+    void shouldSendEachMessageWithItsOwnPersonalisationWhenProcessedConcurrently()
+            throws NotificationClientException {
+        when(configService.getNotifyMaxConcurrency()).thenReturn(4);
+        when(notificationService.getNotificationTemplateId(VERIFY_PHONE_NUMBER))
+                .thenReturn(TEMPLATE_ID);
+        var concurrentHandler =
+                new NotificationHandler(notificationService, configService, s3Client);
+
+        List<SQSMessage> messages =
+                IntStream.range(0, 20)
+                        .mapToObj(
+                                i -> {
+                                    SQSMessage message = new SQSMessage();
+                                    message.setMessageId("message-" + i);
+                                    try {
+                                        message.setBody(
+                                                objectMapper.writeValueAsString(
+                                                        new NotifyRequest(
+                                                                TEST_PHONE_NUMBER,
+                                                                VERIFY_PHONE_NUMBER,
+                                                                String.valueOf(100000 + i))));
+                                    } catch (JsonProcessingException e) {
+                                        throw new RuntimeException(e);
+                                    }
+                                    return message;
+                                })
+                        .collect(Collectors.toList());
+        SQSEvent sqsEvent = new SQSEvent();
+        sqsEvent.setRecords(messages);
+
+        SQSBatchResponse response = concurrentHandler.handleRequest(sqsEvent, context);
+
+        assertThat(failedMessageIds(response), empty());
+        for (int i = 0; i < 20; i++) {
+            verify(notificationService)
+                    .sendText(
+                            TEST_PHONE_NUMBER,
+                            Map.of("validation-code", String.valueOf(100000 + i)),
+                            TEMPLATE_ID);
+        }
     }
 
     @Test
@@ -284,11 +405,29 @@ public class NotificationHandlerTest {
         verify(s3Client).putObject(BUCKET_NAME, NOTIFY_PHONE_NUMBER, "654321");
     }
 
+    private List<String> failedMessageIds(SQSBatchResponse response) {
+        return response.getBatchItemFailures().stream()
+                .map(SQSBatchResponse.BatchItemFailure::getItemIdentifier)
+                .collect(Collectors.toList());
+    }
+
     private SQSEvent generateSQSEvent(String messageBody) {
         SQSMessage sqsMessage = new SQSMessage();
+        sqsMessage.setMessageId(MESSAGE_ID);
         sqsMessage.setBody(messageBody);
         SQSEvent sqsEvent = new SQSEvent();
         sqsEvent.setRecords(singletonList(sqsMessage));
         return sqsEvent;
     }
+
+    private SQSEvent generateSQSEvent(String messageBody, String sentTimestamp) {
+        SQSEvent sqsEvent = generateSQSEvent(messageBody);
+        sqsEvent.getRecords().get(0).setAttributes(Map.of("SentTimestamp", sentTimestamp));
+        return sqsEvent;
+    }
+
+    private static String property(LogEvent logEvent, String key) {
+        var properties = (Map<?, ?>) ((ObjectMessage) logEvent.getMessage()).getParameter();
+        return String.valueOf(properties.get(key));
+    }
 }
@@ -12,6 +12,7 @@ import org.mockito.Mockito;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import uk.gov.di.authentication.frontendapi.domain.FrontendAuditableEvent;
 import uk.gov.di.authentication.frontendapi.services.AwsSqsClient;
+import uk.gov.di.authentication.frontendapi.services.NotificationSqsClient;
 import uk.gov.di.authentication.frontendapi.services.ResetPasswordService;
 import uk.gov.di.authentication.shared.entity.BaseAPIResponse;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
@@ -91,7 +92,7 @@ class ResetPasswordRequestHandlerTest {
                     clientService,
                     authenticationService,
                     validationService,
-                    awsSqsClient,
+                    new NotificationSqsClient(mock(AwsSqsClient.class), awsSqsClient),
                     codeGeneratorService,
                     codeStorageService,
                     auditService,
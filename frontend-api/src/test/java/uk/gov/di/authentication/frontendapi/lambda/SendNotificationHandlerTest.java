@@ -17,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import uk.gov.di.authentication.frontendapi.services.AwsSqsClient;
+import uk.gov.di.authentication.frontendapi.services.NotificationSqsClient;
 import uk.gov.di.authentication.shared.entity.BaseAPIResponse;
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.entity.ClientSession;
@@ -79,6 +80,7 @@ class SendNotificationHandlerTest {
     private final ValidationService validationService = mock(ValidationService.class);
     private final ConfigurationService configurationService = mock(ConfigurationService.class);
     private final AwsSqsClient awsSqsClient = mock(AwsSqsClient.class);
+    private final AwsSqsClient prioritySqsClient = mock(AwsSqsClient.class);
     private final SessionService sessionService = mock(SessionService.class);
     private final CodeGeneratorService codeGeneratorService = mock(CodeGeneratorService.class);
     private final CodeStorageService codeStorageService = mock(CodeStorageService.class);
@@ -113,7 +115,7 @@ class SendNotificationHandlerTest {
                     clientService,
                     authenticationService,
                     validationService,
-                    awsSqsClient,
+                    new NotificationSqsClient(awsSqsClient, prioritySqsClient),
                     codeGeneratorService,
                     codeStorageService);
 
@@ -150,7 +152,8 @@ class SendNotificationHandlerTest {
         BaseAPIResponse response = objectMapper.readValue(result.getBody(), BaseAPIResponse.class);
         assertThat(VERIFY_EMAIL_CODE_SENT, equalTo(response.getSessionState()));
 
-        verify(awsSqsClient).send(serialisedRequest);
+        verify(prioritySqsClient).send(serialisedRequest);
+        verify(awsSqsClient, never()).send(anyString());
         verify(codeStorageService)
                 .saveOtpCode(
                         TEST_EMAIL_ADDRESS, TEST_SIX_DIGIT_CODE, CODE_EXPIRY_TIME, VERIFY_EMAIL);
@@ -183,7 +186,7 @@ class SendNotificationHandlerTest {
                 new ObjectMapper().readValue(result.getBody(), BaseAPIResponse.class);
         assertThat(VERIFY_EMAIL_CODE_SENT, equalTo(response.getSessionState()));
 
-        verify(awsSqsClient, never()).send(serialisedRequest);
+        verify(prioritySqsClient, never()).send(serialisedRequest);
         verify(codeStorageService)
                 .saveOtpCode(
                         TEST_EMAIL_ADDRESS, TEST_SIX_DIGIT_CODE, CODE_EXPIRY_TIME, VERIFY_EMAIL);
@@ -204,7 +207,7 @@ class SendNotificationHandlerTest {
 
         assertEquals(400, result.getStatusCode());
 
-        verify(awsSqsClient, never()).send(anyString());
+        verify(prioritySqsClient, never()).send(anyString());
         verify(codeStorageService, never())
                 .saveOtpCode(anyString(), anyString(), anyLong(), any(NotificationType.class));
         verify(sessionService, never()).save(argThat(this::isSessionWithEmailSent));
@@ -251,7 +254,9 @@ class SendNotificationHandlerTest {
         NotifyRequest notifyRequest =
                 new NotifyRequest(TEST_EMAIL_ADDRESS, VERIFY_EMAIL, TEST_SIX_DIGIT_CODE);
         String serialisedRequest = objectMapper.writeValueAsString(notifyRequest);
-        Mockito.doThrow(SdkClientException.class).when(awsSqsClient).send(eq(serialisedRequest));
+        Mockito.doThrow(SdkClientException.class)
+                .when(prioritySqsClient)
+                .send(eq(serialisedRequest));
 
         usingValidSession();
         usingValidClientSession(CLIENT_ID);
@@ -284,7 +289,7 @@ class SendNotificationHandlerTest {
         assertEquals(400, result.getStatusCode());
         assertThat(result, hasJsonBody(ErrorResponse.ERROR_1001));
 
-        verify(awsSqsClient, never()).send(anyString());
+        verify(prioritySqsClient, never()).send(anyString());
         verify(codeStorageService, never())
                 .saveOtpCode(anyString(), anyString(), anyLong(), any(NotificationType.class));
     }
@@ -535,6 +540,7 @@ class SendNotificationHandlerTest {
         NotifyRequest notifyRequest =
                 new NotifyRequest(TEST_EMAIL_ADDRESS, ACCOUNT_CREATED_CONFIRMATION);
         verify(awsSqsClient).send(objectMapper.writeValueAsString(notifyRequest));
+        verify(prioritySqsClient, never()).send(anyString());
 
         assertEquals(204, result.getStatusCode());
     }
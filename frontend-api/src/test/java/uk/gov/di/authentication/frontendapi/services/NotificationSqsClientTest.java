@@ -0,0 +1,39 @@
+package uk.gov.di.authentication.frontendapi.services;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.entity.NotificationType;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class NotificationSqsClientTest {
+
+    private final AwsSqsClient standardSqsClient = mock(AwsSqsClient.class);
+    private final AwsSqsClient prioritySqsClient = mock(AwsSqsClient.class);
+    private final NotificationSqsClient sqsClient =
+            new NotificationSqsClient(standardSqsClient, prioritySqsClient);
+
+    @Test
+    void shouldSendTimeCriticalNotificationsOnThePriorityQueue() {
+        for (NotificationType notificationType : NotificationType.values()) {
+            if (notificationType.isTimeCritical()) {
+                sqsClient.send(notificationType, notificationType.name());
+
+                verify(prioritySqsClient).send(notificationType.name());
+            }
+        }
+        verify(standardSqsClient, never()).send(anyString());
+    }
+
+    @Test
+    void shouldSendConfirmationsOnTheStandardQueue() {
+        sqsClient.send(NotificationType.ACCOUNT_CREATED_CONFIRMATION, "account-created");
+        sqsClient.send(NotificationType.PASSWORD_RESET_CONFIRMATION, "password-reset");
+
+        verify(standardSqsClient).send("account-created");
+        verify(standardSqsClient).send("password-reset");
+        verify(prioritySqsClient, never()).send(anyString());
+    }
+}
@@ -50,9 +50,10 @@ public class ResetPasswordRequestIntegrationTest extends ApiGatewayHandlerIntegr
 
         assertThat(response, hasStatus(200));
 
-        List<NotifyRequest> requests = notificationsQueue.getMessages(NotifyRequest.class);
+        List<NotifyRequest> requests = priorityNotificationsQueue.getMessages(NotifyRequest.class);
 
         assertThat(requests, hasSize(1));
+        assertThat(notificationsQueue.getMessages(NotifyRequest.class), hasSize(0));
         assertThat(requests.get(0).getDestination(), equalTo(email));
         assertThat(requests.get(0).getNotificationType(), equalTo(RESET_PASSWORD));
         assertTrue(
@@ -87,7 +88,7 @@ public class ResetPasswordRequestIntegrationTest extends ApiGatewayHandlerIntegr
                         Map.of());
 
         assertThat(response, hasStatus(400));
-        List<NotifyRequest> requests = notificationsQueue.getMessages(NotifyRequest.class);
+        List<NotifyRequest> requests = priorityNotificationsQueue.getMessages(NotifyRequest.class);
 
         assertThat(requests, hasSize(0));
     }
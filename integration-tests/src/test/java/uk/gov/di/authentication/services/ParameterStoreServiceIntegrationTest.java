@@ -0,0 +1,62 @@
+package uk.gov.di.authentication.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import uk.gov.di.authentication.shared.services.ParameterStoreService;
+import uk.gov.di.authentication.sharedtest.extensions.ParameterStoreExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ParameterStoreServiceIntegrationTest {
+
+    @RegisterExtension
+    protected static final ParameterStoreExtension parameterStore =
+            new ParameterStoreExtension(
+                    Map.of(
+                            "integration-parameter-host", "localhost",
+                            "integration-parameter-port", "6379",
+                            "integration-parameter-secret", "before-rotation"));
+
+    @Test
+    void shouldLoadEveryDeclaredParameterTogether() {
+        var parameters =
+                new ParameterStoreService(
+                        parameterStore.getClient(),
+                        List.of(
+                                "integration-parameter-host",
+                                "integration-parameter-port",
+                                "integration-parameter-missing"),
+                        Duration.ofMinutes(5));
+
+        assertThat(parameters.getString("integration-parameter-host"), equalTo("localhost"));
+        assertThat(parameters.getInt("integration-parameter-port"), equalTo(6379));
+        assertThat(parameters.get("integration-parameter-missing"), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void shouldPickUpRotatedValueOnceTtlHasPassed() {
+        var parameters =
+                new ParameterStoreService(
+                        parameterStore.getClient(),
+                        List.of("integration-parameter-secret"),
+                        Duration.ZERO);
+
+        assertThat(
+                parameters.getString("integration-parameter-secret"),
+                equalTo("before-rotation"));
+
+        parameterStore.createOrOverwriteParameter("integration-parameter-secret", "rotated");
+
+        await().atMost(Duration.ofSeconds(10))
+                .until(
+                        () -> parameters.getString("integration-parameter-secret"),
+                        equalTo("rotated"));
+    }
+}
@@ -30,7 +30,7 @@ import uk.gov.di.authentication.shared.services.AuthenticationService;
 import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.RedisConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.state.StateMachine;
 import uk.gov.di.authentication.shared.state.UserContext;
@@ -77,10 +77,12 @@ public class IPVAuthorisationHandler extends BaseFrontendHandler<IPVAuthorisatio
 
     public IPVAuthorisationHandler(ConfigurationService configurationService) {
         super(IPVAuthorisationRequest.class, configurationService);
-        this.auditService = new AuditService(configurationService);
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(services::getAuditService, services::getRedisConnectionService);
+        this.auditService = services.getAuditService();
         this.authorisationService =
                 new IPVAuthorisationService(
-                        configurationService, new RedisConnectionService(configurationService));
+                        configurationService, services.getRedisConnectionService());
     }
 
     @Override
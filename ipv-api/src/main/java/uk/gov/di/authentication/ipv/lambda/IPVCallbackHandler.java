@@ -15,7 +15,7 @@ import uk.gov.di.authentication.ipv.services.IPVTokenService;
 import uk.gov.di.authentication.shared.entity.ResponseHeaders;
 import uk.gov.di.authentication.shared.helpers.CookieHelper;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.RedisConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 
 import java.net.URISyntaxException;
 import java.util.Map;
@@ -47,12 +47,13 @@ public class IPVCallbackHandler
 
     public IPVCallbackHandler(ConfigurationService configurationService) {
         this.configurationService = configurationService;
+        var services = ServiceRegistry.forConfiguration(configurationService);
         this.ipvAuthorisationService =
                 new IPVAuthorisationService(
-                        configurationService, new RedisConnectionService(configurationService));
+                        configurationService, services.getRedisConnectionService());
         this.ipvTokenService =
-                new IPVTokenService(
-                        configurationService, new RedisConnectionService(configurationService));
+                new IPVTokenService(configurationService, services.getRedisConnectionService());
+        services.warmUp();
     }
 
     @Override
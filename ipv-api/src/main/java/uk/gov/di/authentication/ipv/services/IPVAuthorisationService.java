@@ -1,12 +1,12 @@
 package uk.gov.di.authentication.ipv.services;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.oauth2.sdk.ErrorObject;
 import com.nimbusds.oauth2.sdk.OAuth2Error;
 import com.nimbusds.oauth2.sdk.id.State;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.RedisConnectionService;
 
@@ -67,7 +67,7 @@ public class IPVAuthorisationService {
             LOG.info("Saving state to Redis: {}", state);
             redisConnectionService.saveWithExpiry(
                     STATE_STORAGE_PREFIX + sessionId,
-                    new ObjectMapper().writeValueAsString(state),
+                    JsonRegistry.writeValueAsString(state),
                     configurationService.getSessionExpiry());
         } catch (JsonProcessingException e) {
             LOG.error("Unable to save state to Redis");
@@ -85,7 +85,7 @@ public class IPVAuthorisationService {
         }
         State storedState;
         try {
-            storedState = new ObjectMapper().readValue(value.get(), State.class);
+            storedState = JsonRegistry.readValue(value.get(), State.class);
         } catch (JsonProcessingException e) {
             LOG.info("Error when deserializing state from redis");
             return false;
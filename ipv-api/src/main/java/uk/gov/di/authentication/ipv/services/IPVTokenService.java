@@ -1,7 +1,6 @@
 package uk.gov.di.authentication.ipv.services;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.oauth2.sdk.AuthorizationCode;
@@ -16,6 +15,7 @@ import com.nimbusds.oauth2.sdk.id.ClientID;
 import com.nimbusds.oauth2.sdk.token.AccessToken;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.RedisConnectionService;
 
@@ -84,7 +84,7 @@ public class IPVTokenService {
         try {
             redisConnectionService.saveWithExpiry(
                     IPV_ACCESS_TOKEN_PREFIX + sessionId,
-                    new ObjectMapper().writeValueAsString(accessToken),
+                    JsonRegistry.writeValueAsString(accessToken),
                     configurationService.getAccessTokenExpiry());
         } catch (JsonProcessingException e) {
             LOG.error("Unable to save access token to Redis");
@@ -31,6 +31,7 @@ import uk.gov.di.authentication.shared.services.AuthorisationCodeService;
 import uk.gov.di.authentication.shared.services.AuthorizationService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.state.StateMachine;
 import uk.gov.di.authentication.shared.state.UserContext;
@@ -49,6 +50,7 @@ import static uk.gov.di.authentication.shared.entity.SessionAction.SYSTEM_HAS_IS
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
+import static uk.gov.di.authentication.shared.services.AuditService.withAuditFlush;
 import static uk.gov.di.authentication.shared.services.AuthorizationService.COOKIE_CONSENT_NOT_ENGAGED;
 import static uk.gov.di.authentication.shared.state.StateMachine.userJourneyStateMachine;
 
@@ -79,11 +81,18 @@ public class AuthCodeHandler
     }
 
     public AuthCodeHandler(ConfigurationService configurationService) {
-        sessionService = new SessionService(configurationService);
-        authorisationCodeService = new AuthorisationCodeService(configurationService);
-        authorizationService = new AuthorizationService(configurationService);
-        clientSessionService = new ClientSessionService(configurationService);
-        auditService = new AuditService(configurationService);
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(
+                services::getSessionService,
+                services::getAuthorisationCodeService,
+                services::getAuthorizationService,
+                services::getClientSessionService,
+                services::getAuditService);
+        sessionService = services.getSessionService();
+        authorisationCodeService = services.getAuthorisationCodeService();
+        authorizationService = services.getAuthorizationService();
+        clientSessionService = services.getClientSessionService();
+        auditService = services.getAuditService();
     }
 
     public AuthCodeHandler() {
@@ -93,6 +102,11 @@ public class AuthCodeHandler
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
+        return withAuditFlush(() -> processRequest(input, context));
+    }
+
+    private APIGatewayProxyResponseEvent processRequest(
+            APIGatewayProxyRequestEvent input, Context context) {
         return isWarming(input)
                 .orElseGet(
                         () -> {
@@ -29,6 +29,7 @@ import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.AuthorizationService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.state.StateMachine;
 import uk.gov.di.authentication.shared.state.UserContext;
@@ -49,6 +50,7 @@ import static uk.gov.di.authentication.shared.entity.SessionState.INTERRUPT_STAT
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
 import static uk.gov.di.authentication.shared.services.AuditService.MetadataPair.pair;
+import static uk.gov.di.authentication.shared.services.AuditService.withAuditFlush;
 import static uk.gov.di.authentication.shared.state.StateMachine.userJourneyStateMachine;
 
 public class AuthorisationHandler
@@ -80,10 +82,16 @@ public class AuthorisationHandler
 
     public AuthorisationHandler(ConfigurationService configurationService) {
         this.configurationService = configurationService;
-        this.sessionService = new SessionService(configurationService);
-        this.clientSessionService = new ClientSessionService(configurationService);
-        this.authorizationService = new AuthorizationService(configurationService);
-        this.auditService = new AuditService(configurationService);
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(
+                services::getSessionService,
+                services::getClientSessionService,
+                services::getAuthorizationService,
+                services::getAuditService);
+        this.sessionService = services.getSessionService();
+        this.clientSessionService = services.getClientSessionService();
+        this.authorizationService = services.getAuthorizationService();
+        this.auditService = services.getAuditService();
         this.stateMachine = userJourneyStateMachine();
     }
 
@@ -94,6 +102,11 @@ public class AuthorisationHandler
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
+        return withAuditFlush(() -> processRequest(input, context));
+    }
+
+    private APIGatewayProxyResponseEvent processRequest(
+            APIGatewayProxyRequestEvent input, Context context) {
         return isWarming(input)
                 .orElseGet(
                         () -> {
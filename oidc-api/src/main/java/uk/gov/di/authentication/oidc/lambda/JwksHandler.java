@@ -8,7 +8,7 @@ import com.nimbusds.jose.jwk.JWKSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.KmsConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.TokenValidationService;
 
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
@@ -30,9 +30,9 @@ public class JwksHandler
 
     public JwksHandler(ConfigurationService configurationService) {
         this.configurationService = configurationService;
-        this.tokenValidationService =
-                new TokenValidationService(
-                        configurationService, new KmsConnectionService(configurationService));
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        this.tokenValidationService = services.getTokenValidationService();
+        services.warmUp();
     }
 
     public JwksHandler() {
@@ -21,7 +21,7 @@ import uk.gov.di.authentication.shared.services.AuditService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
-import uk.gov.di.authentication.shared.services.KmsConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
 import uk.gov.di.authentication.shared.services.TokenValidationService;
 
@@ -34,6 +34,7 @@ import java.util.Optional;
 
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
+import static uk.gov.di.authentication.shared.services.AuditService.withAuditFlush;
 
 public class LogoutHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -53,17 +54,18 @@ public class LogoutHandler
 
     public LogoutHandler(ConfigurationService configurationService) {
         this.configurationService = configurationService;
-        this.sessionService = new SessionService(configurationService);
-        this.dynamoClientService =
-                new DynamoClientService(
-                        configurationService.getAwsRegion(),
-                        configurationService.getEnvironment(),
-                        configurationService.getDynamoEndpointUri());
-        this.clientSessionService = new ClientSessionService(configurationService);
-        this.tokenValidationService =
-                new TokenValidationService(
-                        configurationService, new KmsConnectionService(configurationService));
-        this.auditService = new AuditService(configurationService);
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(
+                services::getSessionService,
+                services::getDynamoClientService,
+                services::getClientSessionService,
+                services::getTokenValidationService,
+                services::getAuditService);
+        this.sessionService = services.getSessionService();
+        this.dynamoClientService = services.getDynamoClientService();
+        this.clientSessionService = services.getClientSessionService();
+        this.tokenValidationService = services.getTokenValidationService();
+        this.auditService = services.getAuditService();
     }
 
     public LogoutHandler(
@@ -84,6 +86,11 @@ public class LogoutHandler
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
+        return withAuditFlush(() -> processRequest(input, context));
+    }
+
+    private APIGatewayProxyResponseEvent processRequest(
+            APIGatewayProxyRequestEvent input, Context context) {
         return isWarming(input)
                 .orElseGet(
                         () -> {
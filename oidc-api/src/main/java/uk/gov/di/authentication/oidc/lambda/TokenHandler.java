@@ -5,7 +5,6 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.oauth2.sdk.ErrorObject;
 import com.nimbusds.oauth2.sdk.GrantType;
@@ -23,14 +22,14 @@ import uk.gov.di.authentication.shared.entity.ClientSession;
 import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.helpers.ClientSubjectHelper;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.services.AuthorisationCodeService;
 import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.DynamoClientService;
 import uk.gov.di.authentication.shared.services.DynamoService;
-import uk.gov.di.authentication.shared.services.KmsConnectionService;
 import uk.gov.di.authentication.shared.services.RedisConnectionService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.TokenService;
 import uk.gov.di.authentication.shared.services.TokenValidationService;
 
@@ -43,6 +42,7 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import static java.lang.String.format;
+import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
 import static uk.gov.di.authentication.shared.helpers.ConstructUriHelper.buildURI;
 import static uk.gov.di.authentication.shared.helpers.RequestBodyHelper.parseRequestBody;
@@ -52,6 +52,8 @@ public class TokenHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
     private static final Logger LOG = LogManager.getLogger(TokenHandler.class);
+    private static final ErrorObject INVALID_REFRESH_TOKEN =
+            new ErrorObject(OAuth2Error.INVALID_GRANT_CODE, "Invalid Refresh token");
 
     private final ClientService clientService;
     private final TokenService tokenService;
@@ -85,23 +87,21 @@ public class TokenHandler
 
     public TokenHandler(ConfigurationService configurationService) {
         this.configurationService = configurationService;
-        this.clientService =
-                new DynamoClientService(
-                        configurationService.getAwsRegion(),
-                        configurationService.getEnvironment(),
-                        configurationService.getDynamoEndpointUri());
-        this.tokenService =
-                new TokenService(
-                        configurationService,
-                        new RedisConnectionService(configurationService),
-                        new KmsConnectionService(configurationService));
-        this.dynamoService = new DynamoService(configurationService);
-        this.authorisationCodeService = new AuthorisationCodeService(configurationService);
-        this.clientSessionService = new ClientSessionService(configurationService);
-        this.tokenValidationService =
-                new TokenValidationService(
-                        configurationService, new KmsConnectionService(configurationService));
-        this.redisConnectionService = new RedisConnectionService(configurationService);
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(
+                services::getDynamoClientService,
+                services::getTokenService,
+                services::getDynamoService,
+                services::getAuthorisationCodeService,
+                services::getClientSessionService,
+                services::getTokenValidationService);
+        this.clientService = services.getDynamoClientService();
+        this.tokenService = services.getTokenService();
+        this.dynamoService = services.getDynamoService();
+        this.authorisationCodeService = services.getAuthorisationCodeService();
+        this.clientSessionService = services.getClientSessionService();
+        this.tokenValidationService = services.getTokenValidationService();
+        this.redisConnectionService = services.getRedisConnectionService();
     }
 
     public TokenHandler() {
@@ -122,12 +122,8 @@ public class TokenHandler
                                         "Invalid Token Request. ErrorCode: {}. ErrorDescription: {}",
                                         invalidRequestParamError.get().getCode(),
                                         invalidRequestParamError.get().getDescription());
-                                return generateApiGatewayProxyResponse(
-                                        400,
-                                        invalidRequestParamError
-                                                .get()
-                                                .toJSONObject()
-                                                .toJSONString());
+                                return generateApiGatewayProxyErrorResponse(
+                                        400, invalidRequestParamError.get());
                             }
 
                             Map<String, String> requestBody = parseRequestBody(input.getBody());
@@ -139,9 +135,8 @@ public class TokenHandler
                                 LOG.error(
                                         "Client not found in Client Registry with Client ID {}",
                                         clientID);
-                                return generateApiGatewayProxyResponse(
-                                        400,
-                                        OAuth2Error.INVALID_CLIENT.toJSONObject().toJSONString());
+                                return generateApiGatewayProxyErrorResponse(
+                                        400, OAuth2Error.INVALID_CLIENT);
                             }
                             String baseUrl =
                                     configurationService
@@ -166,12 +161,8 @@ public class TokenHandler
                             if (invalidPrivateKeyJwtError.isPresent()) {
                                 LOG.error(
                                         "Private Key JWT is not valid for Client ID: {}", clientID);
-                                return generateApiGatewayProxyResponse(
-                                        400,
-                                        invalidPrivateKeyJwtError
-                                                .get()
-                                                .toJSONObject()
-                                                .toJSONString());
+                                return generateApiGatewayProxyErrorResponse(
+                                        400, invalidPrivateKeyJwtError.get());
                             }
 
                             if (requestBody
@@ -191,9 +182,8 @@ public class TokenHandler
                                                 .orElseThrow();
                             } catch (NoSuchElementException e) {
                                 LOG.error("Could not retrieve client session ID from code", e);
-                                return generateApiGatewayProxyResponse(
-                                        400,
-                                        OAuth2Error.INVALID_GRANT.toJSONObject().toJSONString());
+                                return generateApiGatewayProxyErrorResponse(
+                                        400, OAuth2Error.INVALID_GRANT);
                             }
                             ClientSession clientSession =
                                     clientSessionService.getClientSession(
@@ -220,9 +210,8 @@ public class TokenHandler
                                         "Redirect URI for auth request ({}) does not match redirect URI for request body ({})",
                                         authRequest.getRedirectionURI(),
                                         requestBody.get("redirect_uri"));
-                                return generateApiGatewayProxyResponse(
-                                        400,
-                                        OAuth2Error.INVALID_GRANT.toJSONObject().toJSONString());
+                                return generateApiGatewayProxyErrorResponse(
+                                        400, OAuth2Error.INVALID_GRANT);
                             }
                             UserProfile userProfile =
                                     dynamoService.getUserProfileByEmail(
@@ -240,12 +229,11 @@ public class TokenHandler
                             OIDCTokenResponse tokenResponse =
                                     tokenService.generateTokenResponse(
                                             clientID,
-                                            new Subject(userProfile.getSubjectID()),
+                                            userProfile,
                                             authRequest.getScope(),
                                             additionalTokenClaims,
                                             publicSubject,
                                             vot,
-                                            userProfile.getClientConsent(),
                                             client.isInternalService());
 
                             clientSessionService.saveClientSession(
@@ -298,8 +286,7 @@ public class TokenHandler
         boolean refreshTokenSignatureValid =
                 tokenValidationService.validateRefreshTokenSignatureAndExpiry(currentRefreshToken);
         if (!refreshTokenSignatureValid) {
-            return generateApiGatewayProxyResponse(
-                    400, OAuth2Error.INVALID_GRANT.toJSONObject().toJSONString());
+            return generateApiGatewayProxyErrorResponse(400, OAuth2Error.INVALID_GRANT);
         }
         Subject publicSubject;
         List<String> scopes;
@@ -309,17 +296,12 @@ public class TokenHandler
             scopes = (List<String>) signedJwt.getJWTClaimsSet().getClaim("scope");
         } catch (java.text.ParseException e) {
             LOG.error("Unable to parse RefreshToken");
-            return generateApiGatewayProxyResponse(
-                    400,
-                    new ErrorObject(OAuth2Error.INVALID_GRANT_CODE, "Invalid Refresh token")
-                            .toJSONObject()
-                            .toJSONString());
+            return generateApiGatewayProxyErrorResponse(400, INVALID_REFRESH_TOKEN);
         }
         boolean areScopesValid =
                 tokenValidationService.validateRefreshTokenScopes(clientScopes, scopes);
         if (!areScopesValid) {
-            return generateApiGatewayProxyResponse(
-                    400, OAuth2Error.INVALID_SCOPE.toJSONObject().toJSONString());
+            return generateApiGatewayProxyErrorResponse(400, OAuth2Error.INVALID_SCOPE);
         }
         String clientId = requestBody.get("client_id");
         String redisKey = REFRESH_TOKEN_PREFIX + clientId + "." + publicSubject.getValue();
@@ -327,32 +309,22 @@ public class TokenHandler
                 Optional.ofNullable(redisConnectionService.getValue(redisKey));
         RefreshTokenStore tokenStore;
         try {
-            tokenStore = new ObjectMapper().readValue(refreshToken.get(), RefreshTokenStore.class);
+            tokenStore = JsonRegistry.readValue(refreshToken.get(), RefreshTokenStore.class);
         } catch (JsonProcessingException | NoSuchElementException | IllegalArgumentException e) {
             LOG.error("Refresh token not found with given key");
-            return generateApiGatewayProxyResponse(
-                    400,
-                    new ErrorObject(OAuth2Error.INVALID_GRANT_CODE, "Invalid Refresh token")
-                            .toJSONObject()
-                            .toJSONString());
+            return generateApiGatewayProxyErrorResponse(400, INVALID_REFRESH_TOKEN);
         }
         if (!tokenStore.getRefreshTokens().contains(currentRefreshToken.getValue())) {
             LOG.error("Refresh token store does not contain Refresh token in request");
-            return generateApiGatewayProxyResponse(
-                    400,
-                    new ErrorObject(OAuth2Error.INVALID_GRANT_CODE, "Invalid Refresh token")
-                            .toJSONObject()
-                            .toJSONString());
+            return generateApiGatewayProxyErrorResponse(400, INVALID_REFRESH_TOKEN);
         }
         if (tokenStore.getRefreshTokens().size() > 1) {
             LOG.info("Removing Refresh Token from refresh token store");
             try {
                 redisConnectionService.saveWithExpiry(
                         redisKey,
-                        new ObjectMapper()
-                                .writeValueAsString(
-                                        tokenStore.removeRefreshToken(
-                                                currentRefreshToken.getValue())),
+                        JsonRegistry.writeValueAsString(
+                                tokenStore.removeRefreshToken(currentRefreshToken.getValue())),
                         configurationService.getSessionExpiry());
             } catch (JsonProcessingException e) {
                 LOG.error("Unable to serialize refresh token store when updating");
@@ -5,32 +5,37 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.nimbusds.oauth2.sdk.OAuth2Error;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.oidc.entity.TrustMarkResponse;
 import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
 import uk.gov.di.authentication.shared.entity.LevelOfConfidence;
+import uk.gov.di.authentication.shared.helpers.CacheableDocument;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 
 import java.util.Arrays;
-import java.util.NoSuchElementException;
 
-import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
 
 public class TrustMarkHandler
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
-    private final ConfigurationService configurationService;
     private static final Logger LOG = LogManager.getLogger(TrustMarkHandler.class);
 
+    // The trust mark only changes on deployment, so clients and CDNs may cache it for an hour
+    // and then revalidate it against the ETag.
+    private static final String CACHE_CONTROL = "public, max-age=3600";
+
+    private final CacheableDocument trustMark;
+
     public TrustMarkHandler(ConfigurationService configurationService) {
-        this.configurationService = configurationService;
+        this.trustMark =
+                new CacheableDocument(renderTrustMark(configurationService), CACHE_CONTROL);
     }
 
     public TrustMarkHandler() {
-        this.configurationService = ConfigurationService.getInstance();
+        this(ConfigurationService.getInstance());
     }
 
     public APIGatewayProxyResponseEvent handleRequest(
@@ -38,26 +43,24 @@ public class TrustMarkHandler
         return isWarming(input)
                 .orElseGet(
                         () -> {
-                            try {
-                                LOG.info("TrustMark request received");
-                                return generateApiGatewayProxyResponse(
-                                        200, createTrustMarkResponse());
-                            } catch (JsonProcessingException | NoSuchElementException e) {
-                                LOG.error("Unable to generate TrustMark response", e);
-                                return generateApiGatewayProxyResponse(
-                                        400,
-                                        OAuth2Error.INVALID_REQUEST.toJSONObject().toJSONString());
-                            }
+                            LOG.info("TrustMark request received");
+                            return trustMark.toResponse(input);
                         });
     }
 
-    private TrustMarkResponse createTrustMarkResponse() {
-        return new TrustMarkResponse(
-                configurationService.getBaseURL().orElseThrow(),
-                configurationService.getBaseURL().orElseThrow(),
-                Arrays.asList(
-                        CredentialTrustLevel.LOW_LEVEL.getValue(),
-                        CredentialTrustLevel.MEDIUM_LEVEL.getValue()),
-                LevelOfConfidence.getAllLevelOfConfidenceValues());
+    private static String renderTrustMark(ConfigurationService configurationService) {
+        var trustMarkResponse =
+                new TrustMarkResponse(
+                        configurationService.getBaseURL().orElseThrow(),
+                        configurationService.getBaseURL().orElseThrow(),
+                        Arrays.asList(
+                                CredentialTrustLevel.LOW_LEVEL.getValue(),
+                                CredentialTrustLevel.MEDIUM_LEVEL.getValue()),
+                        LevelOfConfidence.getAllLevelOfConfidenceValues());
+        try {
+            return JsonRegistry.writeValueAsString(trustMarkResponse);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to generate TrustMark response", e);
+        }
     }
 }
@@ -11,11 +11,7 @@ import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.oidc.services.UserInfoService;
 import uk.gov.di.authentication.shared.exceptions.UserInfoValidationException;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.DynamoClientService;
-import uk.gov.di.authentication.shared.services.DynamoService;
-import uk.gov.di.authentication.shared.services.KmsConnectionService;
-import uk.gov.di.authentication.shared.services.RedisConnectionService;
-import uk.gov.di.authentication.shared.services.TokenValidationService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 
 import static com.nimbusds.oauth2.sdk.token.BearerTokenError.MISSING_TOKEN;
 import static uk.gov.di.authentication.shared.domain.RequestHeaders.AUTHORIZATION_HEADER;
@@ -43,20 +39,18 @@ public class UserInfoHandler
 
     public UserInfoHandler(ConfigurationService configurationService) {
         this.configurationService = configurationService;
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(
+                services::getRedisConnectionService,
+                services::getDynamoService,
+                services::getTokenValidationService,
+                services::getDynamoClientService);
         this.userInfoService =
                 new UserInfoService(
-                        new RedisConnectionService(configurationService),
-                        new DynamoService(
-                                configurationService.getAwsRegion(),
-                                configurationService.getEnvironment(),
-                                configurationService.getDynamoEndpointUri()),
-                        new TokenValidationService(
-                                configurationService,
-                                new KmsConnectionService(configurationService)),
-                        new DynamoClientService(
-                                configurationService.getAwsRegion(),
-                                configurationService.getEnvironment(),
-                                configurationService.getDynamoEndpointUri()));
+                        services.getRedisConnectionService(),
+                        services.getDynamoService(),
+                        services.getTokenValidationService(),
+                        services.getDynamoClientService());
     }
 
     @Override
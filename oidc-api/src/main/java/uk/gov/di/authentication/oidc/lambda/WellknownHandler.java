@@ -16,14 +16,12 @@ import com.nimbusds.openid.connect.sdk.op.OIDCProviderMetadata;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.entity.ValidScopes;
+import uk.gov.di.authentication.shared.helpers.CacheableDocument;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.List;
-import java.util.NoSuchElementException;
 
-import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyResponse;
 import static uk.gov.di.authentication.shared.helpers.ConstructUriHelper.buildURI;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
 
@@ -32,28 +30,21 @@ public class WellknownHandler
 
     private static final Logger LOG = LogManager.getLogger(WellknownHandler.class);
 
-    private final ConfigurationService configService;
-    private final String baseUrl;
-    private OIDCProviderMetadata providerMetadata;
+    // The document only changes on deployment, so clients and CDNs may cache it for an hour
+    // and then revalidate it against the ETag.
+    private static final String CACHE_CONTROL = "public, max-age=3600";
+
+    private final CacheableDocument providerMetadata;
 
     public WellknownHandler(ConfigurationService configService) {
-        this.configService = configService;
-        baseUrl = configService.getBaseURL().orElseThrow();
         providerMetadata =
-                new OIDCProviderMetadata(
-                        new Issuer(baseUrl),
-                        List.of(SubjectType.PUBLIC, SubjectType.PAIRWISE),
-                        buildURI(baseUrl, "/.well-known/jwks.json"));
+                new CacheableDocument(
+                        buildProviderMetadata(configService.getBaseURL().orElseThrow()).toString(),
+                        CACHE_CONTROL);
     }
 
     public WellknownHandler() {
-        this.configService = ConfigurationService.getInstance();
-        baseUrl = configService.getBaseURL().orElseThrow();
-        providerMetadata =
-                new OIDCProviderMetadata(
-                        new Issuer(configService.getBaseURL().get()),
-                        List.of(SubjectType.PUBLIC, SubjectType.PAIRWISE),
-                        buildURI(baseUrl, "/.well-known/jwks.json"));
+        this(ConfigurationService.getInstance());
     }
 
     @Override
@@ -62,61 +53,49 @@ public class WellknownHandler
         return isWarming(input)
                 .orElseGet(
                         () -> {
-                            try {
-                                LOG.info("Wellknown request received");
-                                providerMetadata.setTokenEndpointURI(buildURI(baseUrl, "/token"));
-                                providerMetadata.setUserInfoEndpointURI(
-                                        buildURI(baseUrl, "/userinfo"));
-                                providerMetadata.setAuthorizationEndpointURI(
-                                        buildURI(baseUrl, "/authorize"));
-                                providerMetadata.setRegistrationEndpointURI(
-                                        buildURI(baseUrl, "/connect/register"));
-                                providerMetadata.setTokenEndpointAuthMethods(
-                                        List.of(ClientAuthenticationMethod.PRIVATE_KEY_JWT));
-                                providerMetadata.setScopes(
-                                        new Scope(ValidScopes.getScopesForWellKnownHandler()));
-                                providerMetadata.setResponseTypes(
-                                        List.of(new ResponseType("code")));
-                                providerMetadata.setGrantTypes(
-                                        List.of(GrantType.AUTHORIZATION_CODE));
-                                providerMetadata.setClaimTypes(List.of(ClaimType.NORMAL));
-                                providerMetadata.setClaims(
-                                        List.of(
-                                                "sub",
-                                                "email",
-                                                "email_verified",
-                                                "phone_number",
-                                                "phone_number_verified"));
-                                providerMetadata.setIDTokenJWSAlgs(List.of(JWSAlgorithm.ES256));
-                                providerMetadata.setTokenEndpointJWSAlgs(
-                                        List.of(
-                                                JWSAlgorithm.RS256,
-                                                JWSAlgorithm.RS384,
-                                                JWSAlgorithm.RS512,
-                                                JWSAlgorithm.PS256,
-                                                JWSAlgorithm.PS384,
-                                                JWSAlgorithm.PS512,
-                                                JWSAlgorithm.ES256,
-                                                JWSAlgorithm.ES384,
-                                                JWSAlgorithm.ES512,
-                                                JWSAlgorithm.HS256,
-                                                JWSAlgorithm.HS384,
-                                                JWSAlgorithm.HS512));
-                                providerMetadata.setServiceDocsURI(
-                                        new URI(
-                                                "https://auth-tech-docs.london.cloudapps.digital/"));
-                                providerMetadata.setEndSessionEndpointURI(
-                                        buildURI(baseUrl, "/logout"));
-                                providerMetadata.setCustomParameter(
-                                        "trustmarks", buildURI(baseUrl, "/trustmark").toString());
-
-                                return generateApiGatewayProxyResponse(
-                                        200, providerMetadata.toString());
-                            } catch (URISyntaxException | NoSuchElementException e) {
-                                LOG.error("Exception encountered in WellKnownHandler", e);
-                                return generateApiGatewayProxyResponse(
-                                        500, "Service not configured");
-                            }
+                            LOG.info("Wellknown request received");
+                            return providerMetadata.toResponse(input);
                         });
     }
+
+    private static OIDCProviderMetadata buildProviderMetadata(String baseUrl) {
+        var providerMetadata =
+                new OIDCProviderMetadata(
+                        new Issuer(baseUrl),
+                        List.of(SubjectType.PUBLIC, SubjectType.PAIRWISE),
+                        buildURI(baseUrl, "/.well-known/jwks.json"));
+        providerMetadata.setTokenEndpointURI(buildURI(baseUrl, "/token"));
+        providerMetadata.setUserInfoEndpointURI(buildURI(baseUrl, "/userinfo"));
+        providerMetadata.setAuthorizationEndpointURI(buildURI(baseUrl, "/authorize"));
+        providerMetadata.setRegistrationEndpointURI(buildURI(baseUrl, "/connect/register"));
+        providerMetadata.setTokenEndpointAuthMethods(
+                List.of(ClientAuthenticationMethod.PRIVATE_KEY_JWT));
+        providerMetadata.setScopes(new Scope(ValidScopes.getScopesForWellKnownHandler()));
+        providerMetadata.setResponseTypes(List.of(new ResponseType("code")));
+        providerMetadata.setGrantTypes(List.of(GrantType.AUTHORIZATION_CODE));
+        providerMetadata.setClaimTypes(List.of(ClaimType.NORMAL));
+        providerMetadata.setClaims(
+                List.of("sub", "email", "email_verified", "phone_number", "phone_number_verified"));
+        providerMetadata.setIDTokenJWSAlgs(List.of(JWSAlgorithm.ES256));
+        providerMetadata.setTokenEndpointJWSAlgs(
+                List.of(
+                        JWSAlgorithm.RS256,
+                        JWSAlgorithm.RS384,
+                        JWSAlgorithm.RS512,
+                        JWSAlgorithm.PS256,
+                        JWSAlgorithm.PS384,
+                        JWSAlgorithm.PS512,
+                        JWSAlgorithm.ES256,
+                        JWSAlgorithm.ES384,
+                        JWSAlgorithm.ES512,
+                        JWSAlgorithm.HS256,
+                        JWSAlgorithm.HS384,
+                        JWSAlgorithm.HS512));
+        providerMetadata.setServiceDocsURI(
+                URI.create("https://auth-tech-docs.london.cloudapps.digital/"));
+        providerMetadata.setEndSessionEndpointURI(buildURI(baseUrl, "/logout"));
+        providerMetadata.setCustomParameter(
+                "trustmarks", buildURI(baseUrl, "/trustmark").toString());
+        return providerMetadata;
+    }
 }
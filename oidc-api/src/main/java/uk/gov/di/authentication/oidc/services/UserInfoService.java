@@ -1,7 +1,6 @@
 package uk.gov.di.authentication.oidc.services;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.jwt.util.DateUtils;
 import com.nimbusds.oauth2.sdk.OAuth2Error;
@@ -17,6 +16,7 @@ import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.entity.ValidScopes;
 import uk.gov.di.authentication.shared.exceptions.UserInfoValidationException;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.services.AuthenticationService;
 import uk.gov.di.authentication.shared.services.DynamoClientService;
 import uk.gov.di.authentication.shared.services.RedisConnectionService;
@@ -110,10 +110,7 @@ public class UserInfoService {
                         "Invalid Access Token", BearerTokenError.INVALID_TOKEN);
             }
             deleteAccessTokenStore(clientID, subject);
-            UserProfile userProfile =
-                    authenticationService.getUserProfileFromSubject(
-                            accessTokenStore.get().getInternalSubjectId());
-            return populateUserInfo(userProfile, subject, scopes);
+            return populateUserInfo(getUserProfile(accessTokenStore.get()), subject, scopes);
         } catch (ParseException e) {
             LOGGER.error("Unable to parse AccessToken to SignedJWT");
             throw new UserInfoValidationException(
@@ -138,12 +135,31 @@ public class UserInfoService {
         return userInfo;
     }
 
+    private UserProfile getUserProfile(AccessTokenStore accessTokenStore) {
+        // Claims captured at issuance may be up to one access token lifetime out of date
+        if (accessTokenStore.hasUserInfoClaims()) {
+            return new UserProfile()
+                    .setSubjectID(accessTokenStore.getInternalSubjectId())
+                    .setEmail(accessTokenStore.getEmail())
+                    .setEmailVerified(Boolean.TRUE.equals(accessTokenStore.getEmailVerified()))
+                    .setPhoneNumber(accessTokenStore.getPhoneNumber())
+                    .setPhoneNumberVerified(
+                            Boolean.TRUE.equals(accessTokenStore.getPhoneNumberVerified()))
+                    .setLegacySubjectID(accessTokenStore.getLegacySubjectId());
+        }
+        String internalSubjectId = accessTokenStore.getInternalSubjectId();
+        return authenticationService
+                .getEmailFromSubject(internalSubjectId)
+                .map(authenticationService::getUserProfileByEmail)
+                .orElseGet(
+                        () -> authenticationService.getUserProfileFromSubject(internalSubjectId));
+    }
+
     private Optional<AccessTokenStore> getAccessTokenStore(String clientId, String subjectId) {
         String result =
                 redisConnectionService.getValue(ACCESS_TOKEN_PREFIX + clientId + "." + subjectId);
         try {
-            return Optional.ofNullable(
-                    new ObjectMapper().readValue(result, AccessTokenStore.class));
+            return Optional.ofNullable(JsonRegistry.readValue(result, AccessTokenStore.class));
         } catch (JsonProcessingException | IllegalArgumentException e) {
             LOGGER.error("Error getting AccessToken from Redis. ClientID: {}", clientId);
             return Optional.empty();
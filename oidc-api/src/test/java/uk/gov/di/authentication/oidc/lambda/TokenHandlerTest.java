@@ -184,12 +184,11 @@ public class TokenHandlerTest {
         when(dynamoService.getUserProfileByEmail(eq(TEST_EMAIL))).thenReturn(userProfile);
         when(tokenService.generateTokenResponse(
                         CLIENT_ID,
-                        INTERNAL_SUBJECT,
+                        userProfile,
                         SCOPES,
                         Map.of("nonce", NONCE),
                         PUBLIC_SUBJECT,
                         vtr.retrieveVectorOfTrustForToken(),
-                        userProfile.getClientConsent(),
                         clientRegistry.isInternalService()))
                 .thenReturn(tokenResponse);
 
@@ -5,6 +5,7 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpHeaders;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.gov.di.authentication.oidc.entity.TrustMarkResponse;
@@ -13,9 +14,13 @@ import uk.gov.di.authentication.shared.entity.LevelOfConfidence;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static uk.gov.di.authentication.sharedtest.matchers.APIGatewayProxyResponseEventMatcher.hasStatus;
@@ -29,9 +34,9 @@ class TrustMarkHandlerTest {
 
     @BeforeEach
     public void setUp() {
-        handler = new TrustMarkHandler(configurationService);
         Optional<String> baseUrl = Optional.of(BASE_URL);
         when(configurationService.getBaseURL()).thenReturn(baseUrl);
+        handler = new TrustMarkHandler(configurationService);
     }
 
     @Test
@@ -58,4 +63,38 @@ class TrustMarkHandlerTest {
         assertEquals(response.getC(), trustMarkResponse.getC());
         assertEquals(response.getP(), trustMarkResponse.getP());
     }
+
+    @Test
+    public void shouldReturnCacheHeadersWithTheTrustMark() {
+        APIGatewayProxyResponseEvent result =
+                handler.handleRequest(new APIGatewayProxyRequestEvent(), context);
+
+        assertThat(
+                result.getHeaders(), hasEntry(HttpHeaders.CACHE_CONTROL, "public, max-age=3600"));
+        assertThat(result.getHeaders(), hasKey(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void shouldReturn304WhenTheTrustMarkHasNotChanged() {
+        String etag =
+                handler.handleRequest(new APIGatewayProxyRequestEvent(), context)
+                        .getHeaders()
+                        .get(HttpHeaders.ETAG);
+
+        APIGatewayProxyRequestEvent event =
+                new APIGatewayProxyRequestEvent().withHeaders(Map.of("If-None-Match", etag));
+        APIGatewayProxyResponseEvent result = handler.handleRequest(event, context);
+
+        assertThat(result, hasStatus(304));
+        assertThat(result.getBody(), equalTo(""));
+        assertThat(result.getHeaders(), hasEntry(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    public void shouldRenderTheTrustMarkOnlyOnce() {
+        handler.handleRequest(new APIGatewayProxyRequestEvent(), context);
+        handler.handleRequest(new APIGatewayProxyRequestEvent(), context);
+
+        verify(configurationService, times(2)).getBaseURL();
+    }
 }
@@ -7,15 +7,19 @@ import com.nimbusds.oauth2.sdk.GrantType;
 import com.nimbusds.oauth2.sdk.ParseException;
 import com.nimbusds.openid.connect.sdk.claims.ClaimType;
 import com.nimbusds.openid.connect.sdk.op.OIDCProviderMetadata;
+import org.apache.http.HttpHeaders;
 import org.junit.jupiter.api.Test;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -63,4 +67,35 @@ class WellknownHandlerTest {
                 () -> new WellknownHandler(configService),
                 "Expected to throw exception");
     }
+
+    @Test
+    public void shouldReturn304WhenTheDocumentHasNotChanged() {
+        when(configService.getBaseURL()).thenReturn(Optional.of("http://localhost:8080"));
+        handler = new WellknownHandler(configService);
+        APIGatewayProxyResponseEvent first =
+                handler.handleRequest(new APIGatewayProxyRequestEvent(), context);
+
+        APIGatewayProxyRequestEvent event =
+                new APIGatewayProxyRequestEvent()
+                        .withHeaders(
+                                Map.of("if-none-match", first.getHeaders().get(HttpHeaders.ETAG)));
+        APIGatewayProxyResponseEvent result = handler.handleRequest(event, context);
+
+        assertThat(first.getHeaders(), hasEntry(HttpHeaders.CACHE_CONTROL, "public, max-age=3600"));
+        assertThat(result, hasStatus(304));
+        assertThat(result.getBody(), equalTo(""));
+    }
+
+    @Test
+    public void shouldReturnTheDocumentWhenTheEtagDoesNotMatch() {
+        when(configService.getBaseURL()).thenReturn(Optional.of("http://localhost:8080"));
+        handler = new WellknownHandler(configService);
+
+        APIGatewayProxyRequestEvent event =
+                new APIGatewayProxyRequestEvent()
+                        .withHeaders(Map.of("If-None-Match", "\"stale\""));
+        APIGatewayProxyResponseEvent result = handler.handleRequest(event, context);
+
+        assertThat(result, hasStatus(200));
+    }
 }
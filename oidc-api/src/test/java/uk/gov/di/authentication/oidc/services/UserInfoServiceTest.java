@@ -40,6 +40,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class UserInfoServiceTest {
@@ -103,6 +104,28 @@ class UserInfoServiceTest {
                 .deleteValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT);
     }
 
+    @Test
+    public void shouldUseUserInfoClaimsFromAccessTokenStoreWithoutQueryingDynamo()
+            throws JsonProcessingException, UserInfoValidationException {
+        when(tokenValidationService.validateAccessTokenSignature(accessToken)).thenReturn(true);
+        when(clientService.getClient(CLIENT_ID))
+                .thenReturn(Optional.of(generateClientRegistry(SCOPES)));
+        when(redisConnectionService.getValue(ACCESS_TOKEN_PREFIX + CLIENT_ID + "." + SUBJECT))
+                .thenReturn(
+                        new ObjectMapper()
+                                .writeValueAsString(
+                                        new AccessTokenStore(
+                                                accessToken.getValue(), generateUserprofile())));
+
+        UserInfo userInfo =
+                userInfoService.processUserInfoRequest(accessToken.toAuthorizationHeader());
+        assertEquals(userInfo.getEmailAddress(), EMAIL);
+        assertEquals(userInfo.getEmailVerified(), true);
+        assertEquals(userInfo.getPhoneNumber(), PHONE_NUMBER);
+        assertEquals(userInfo.getPhoneNumberVerified(), true);
+        verifyNoInteractions(authenticationService);
+    }
+
     @Test
     public void shouldThrowExceptionWhenTokenSignatureIsInvalid() {
         when(tokenValidationService.validateAccessTokenSignature(accessToken)).thenReturn(false);
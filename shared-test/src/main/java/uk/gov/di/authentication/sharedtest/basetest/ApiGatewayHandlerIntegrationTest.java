@@ -51,6 +51,10 @@ public abstract class ApiGatewayHandlerIntegrationTest {
     protected static final SqsQueueExtension notificationsQueue =
             new SqsQueueExtension("notification-queue");
 
+    @RegisterExtension
+    protected static final SqsQueueExtension priorityNotificationsQueue =
+            new SqsQueueExtension("priority-notification-queue");
+
     @RegisterExtension
     protected static final SnsTopicExtension auditTopic = new SnsTopicExtension("local-events");
 
@@ -77,7 +81,11 @@ public abstract class ApiGatewayHandlerIntegrationTest {
 
     protected static final ConfigurationService TEST_CONFIGURATION_SERVICE =
             new IntegrationTestConfigurationService(
-                    auditTopic, notificationsQueue, auditSigningKey, tokenSigner);
+                    auditTopic,
+                    notificationsQueue,
+                    priorityNotificationsQueue,
+                    auditSigningKey,
+                    tokenSigner);
 
     protected RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> handler;
     protected final ObjectMapper objectMapper = ObjectMapperFactory.getInstance();
@@ -177,6 +185,7 @@ public abstract class ApiGatewayHandlerIntegrationTest {
     public static class IntegrationTestConfigurationService extends ConfigurationService {
 
         private final SqsQueueExtension notificationQueue;
+        private final SqsQueueExtension priorityNotificationQueue;
         private final KmsKeyExtension auditSigningKey;
         private final TokenSigningExtension tokenSigningKey;
         private final SnsTopicExtension auditEventTopic;
@@ -184,10 +193,12 @@ public abstract class ApiGatewayHandlerIntegrationTest {
         public IntegrationTestConfigurationService(
                 SnsTopicExtension auditEventTopic,
                 SqsQueueExtension notificationQueue,
+                SqsQueueExtension priorityNotificationQueue,
                 KmsKeyExtension auditSigningKey,
                 TokenSigningExtension tokenSigningKey) {
             this.auditEventTopic = auditEventTopic;
             this.notificationQueue = notificationQueue;
+            this.priorityNotificationQueue = priorityNotificationQueue;
             this.tokenSigningKey = tokenSigningKey;
             this.auditSigningKey = auditSigningKey;
         }
@@ -197,6 +208,11 @@ public abstract class ApiGatewayHandlerIntegrationTest {
             return notificationQueue.getQueueUrl();
         }
 
+        @Override
+        public String getPriorityEmailQueueUri() {
+            return priorityNotificationQueue.getQueueUrl();
+        }
+
         @Override
         public String getEventsSnsTopicArn() {
             return auditEventTopic.getTopicArn();
@@ -26,12 +26,16 @@ public class ParameterStoreExtension extends BaseAwsResourceExtension implements
                         .build();
     }
 
+    public AWSSimpleSystemsManagement getClient() {
+        return ssmClient;
+    }
+
     @Override
     public void beforeAll(ExtensionContext context) {
         parameters.forEach(this::createOrOverwriteParameter);
     }
 
-    private void createOrOverwriteParameter(String key, String value) {
+    public void createOrOverwriteParameter(String key, String value) {
         PutParameterRequest parameterRequest =
                 new PutParameterRequest()
                         .withName(key)
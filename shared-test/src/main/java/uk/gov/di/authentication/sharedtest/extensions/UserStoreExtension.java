@@ -26,6 +26,7 @@ public class UserStoreExtension extends DynamoExtension implements AfterEachCall
 
     public static final String USER_CREDENTIALS_TABLE = "local-user-credentials";
     public static final String USER_PROFILE_TABLE = "local-user-profile";
+    public static final String SUBJECT_LOOKUP_TABLE = "local-subject-lookup";
     public static final String EMAIL_FIELD = "Email";
     public static final String SUBJECT_ID_FIELD = "SubjectID";
     public static final String PUBLIC_SUBJECT_ID_FIELD = "PublicSubjectID";
@@ -80,6 +81,7 @@ public class UserStoreExtension extends DynamoExtension implements AfterEachCall
     public void afterEach(ExtensionContext context) throws Exception {
         clearDynamoTable(dynamoDB, USER_CREDENTIALS_TABLE, EMAIL_FIELD);
         clearDynamoTable(dynamoDB, USER_PROFILE_TABLE, EMAIL_FIELD);
+        clearDynamoTable(dynamoDB, SUBJECT_LOOKUP_TABLE, SUBJECT_ID_FIELD);
     }
 
     @Override
@@ -91,6 +93,20 @@ public class UserStoreExtension extends DynamoExtension implements AfterEachCall
         if (!tableExists(USER_CREDENTIALS_TABLE)) {
             createUserCredentialsTable(USER_CREDENTIALS_TABLE);
         }
+
+        if (!tableExists(SUBJECT_LOOKUP_TABLE)) {
+            createSubjectLookupTable(SUBJECT_LOOKUP_TABLE);
+        }
+    }
+
+    private void createSubjectLookupTable(String tableName) {
+        CreateTableRequest request =
+                new CreateTableRequest()
+                        .withTableName(tableName)
+                        .withKeySchema(new KeySchemaElement(SUBJECT_ID_FIELD, HASH))
+                        .withBillingMode(BillingMode.PAY_PER_REQUEST)
+                        .withAttributeDefinitions(new AttributeDefinition(SUBJECT_ID_FIELD, S));
+        dynamoDB.createTable(request);
     }
 
     private void createUserCredentialsTable(String tableName) {
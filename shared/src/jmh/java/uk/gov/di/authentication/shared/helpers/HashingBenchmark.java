@@ -0,0 +1,80 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import org.apache.commons.codec.binary.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call cost of the cached HMAC and digest helpers with the previous approach of
+ * looking up and initialising a new Mac or MessageDigest on every call.
+ *
+ * <p>Run with {@code ./gradlew :shared:jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HashingBenchmark {
+
+    private final String secret = "audit-hmac-secret-0123456789abcdef";
+    private final String email = "joe.bloggs@digital.cabinet-office.gov.uk";
+    private final String subjectId = "qu1aoBRwQhGAdHcsB8Jti5Hn0Ozx5W0JvS0kn2Dg7F0";
+    private final String sector = "https://rp.example.com";
+    private final byte[] salt = "random".getBytes(StandardCharsets.UTF_8);
+
+    @Benchmark
+    public String hmacSha256NewMacPerCall() throws Exception {
+        var hmac = Mac.getInstance("HmacSHA256");
+        hmac.init(new SecretKeySpec(secret.getBytes(), "HmacSHA256"));
+        return Hex.encodeHexString(hmac.doFinal(email.getBytes()));
+    }
+
+    @Benchmark
+    public String hmacSha256Cached() {
+        return Hex.encodeHexString(HmacHelper.hmacSha256(email, secret));
+    }
+
+    @Benchmark
+    public String pairwiseIdentifierNewDigestPerCall() throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        md.update(sector.getBytes(StandardCharsets.UTF_8));
+        md.update(subjectId.getBytes(StandardCharsets.UTF_8));
+        byte[] bytes = md.digest(salt);
+
+        StringBuilder sb = new StringBuilder();
+        for (byte aByte : bytes) {
+            sb.append(Integer.toString((aByte & 0xff) + 0x100, 16).substring(1));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String pairwiseIdentifierCached() {
+        return Hex.encodeHexString(
+                HashHelper.sha256(
+                        sector.getBytes(StandardCharsets.UTF_8),
+                        subjectId.getBytes(StandardCharsets.UTF_8),
+                        salt));
+    }
+
+    @Benchmark
+    public String hashSha256StringNewDigestPerCall() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return Hex.encodeHexString(digest.digest(email.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public String hashSha256StringCached() {
+        return HashHelper.hashSha256String(email);
+    }
+}
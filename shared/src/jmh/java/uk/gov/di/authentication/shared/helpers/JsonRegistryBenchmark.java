@@ -0,0 +1,64 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.di.authentication.shared.entity.ErrorResponse;
+import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building a new {@link ObjectMapper} for every response or Redis read, as the response
+ * helper and token services did, with the readers and writers held by {@link JsonRegistry}, with
+ * and without Blackbird.
+ *
+ * <p>Run with {@code ./gradlew :shared:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonRegistryBenchmark {
+
+    private static final String REFRESH_TOKEN_STORE =
+            "{\"refresh_tokens\":[\"token-1\",\"token-2\"],\"internal_subject_id\":\"subject\"}";
+
+    private ObjectReader blackbirdReader;
+
+    @Setup
+    public void setUp() {
+        blackbirdReader = ObjectMapperFactory.create(true).readerFor(RefreshTokenStore.class);
+    }
+
+    @Benchmark
+    public String errorResponseNewMapper() throws JsonProcessingException {
+        return new ObjectMapper().writeValueAsString(ErrorResponse.ERROR_1001);
+    }
+
+    @Benchmark
+    public String errorResponseRegistry() throws JsonProcessingException {
+        return JsonRegistry.writeValueAsString(ErrorResponse.ERROR_1001);
+    }
+
+    @Benchmark
+    public RefreshTokenStore refreshTokenStoreNewMapper() throws JsonProcessingException {
+        return new ObjectMapper().readValue(REFRESH_TOKEN_STORE, RefreshTokenStore.class);
+    }
+
+    @Benchmark
+    public RefreshTokenStore refreshTokenStoreRegistry() throws JsonProcessingException {
+        return JsonRegistry.readValue(REFRESH_TOKEN_STORE, RefreshTokenStore.class);
+    }
+
+    @Benchmark
+    public RefreshTokenStore refreshTokenStoreBlackbird() throws JsonProcessingException {
+        return blackbirdReader.readValue(REFRESH_TOKEN_STORE);
+    }
+}
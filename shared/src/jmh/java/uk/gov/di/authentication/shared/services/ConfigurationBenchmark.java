@@ -0,0 +1,66 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading configuration from the snapshot taken when {@link ConfigurationService} is
+ * constructed with the previous approach of reading and parsing the environment on every call.
+ *
+ * <p>Run with {@code ./gradlew :shared:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConfigurationBenchmark {
+
+    private ConfigurationService configurationService;
+
+    @Setup
+    public void setUp() {
+        configurationService = new ConfigurationService();
+    }
+
+    @Benchmark
+    public long sessionExpiryParsedPerCall() {
+        return Long.parseLong(System.getenv().getOrDefault("SESSION_EXPIRY", "3600"));
+    }
+
+    @Benchmark
+    public long sessionExpirySnapshot() {
+        return configurationService.getSessionExpiry();
+    }
+
+    @Benchmark
+    public URI skipLoginUriParsedPerCall() {
+        return URI.create(System.getenv().getOrDefault("SKIP_LOGIN_URI", "http://skip-login"));
+    }
+
+    @Benchmark
+    public URI skipLoginUriSnapshot() {
+        return configurationService.getSkipLoginURI();
+    }
+
+    @Benchmark
+    public boolean testClientsEnabledParsedPerCall() {
+        return System.getenv().getOrDefault("TEST_CLIENTS_ENABLED", "false").equals("true");
+    }
+
+    @Benchmark
+    public boolean testClientsEnabledSnapshot() {
+        return configurationService.isTestClientsEnabled();
+    }
+
+    @Benchmark
+    public ConfigurationService constructSnapshot() {
+        return new ConfigurationService();
+    }
+}
@@ -0,0 +1,93 @@
+package uk.gov.di.authentication.shared.state;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.di.authentication.shared.entity.SessionAction;
+import uk.gov.di.authentication.shared.entity.SessionState;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+import static uk.gov.di.authentication.shared.entity.SessionAction.ACCOUNT_LOCK_EXPIRED;
+import static uk.gov.di.authentication.shared.entity.SessionAction.USER_HAS_STARTED_A_NEW_JOURNEY_WITH_LOGIN_REQUIRED;
+import static uk.gov.di.authentication.shared.entity.SessionState.AUTHENTICATION_REQUIRED;
+import static uk.gov.di.authentication.shared.entity.SessionState.MFA_CODE_VERIFIED;
+
+/**
+ * Compares finding the next state in the user journey's compiled dispatch table with the previous
+ * approach of streaming over the state's transitions, and then over those allowed at any state, on
+ * every call. Transition logging is left out of both.
+ *
+ * <p>Run with {@code ./gradlew :shared:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StateMachineBenchmark {
+
+    private StateMachine<SessionState, SessionAction, UserContext> stateMachine;
+
+    @Setup
+    public void setUp() {
+        stateMachine =
+                StateMachine.userJourneyStateMachine(
+                        new ConfigurationService(Map.of("TERMS_CONDITIONS_VERSION", "1.0")));
+    }
+
+    @Benchmark
+    public SessionState stateTransitionStreamed() {
+        return streamed(AUTHENTICATION_REQUIRED, ACCOUNT_LOCK_EXPIRED);
+    }
+
+    @Benchmark
+    public SessionState stateTransitionCompiled() {
+        return stateMachine.nextState(
+                AUTHENTICATION_REQUIRED, ACCOUNT_LOCK_EXPIRED, Optional.empty());
+    }
+
+    @Benchmark
+    public SessionState anyStateTransitionStreamed() {
+        return streamed(MFA_CODE_VERIFIED, USER_HAS_STARTED_A_NEW_JOURNEY_WITH_LOGIN_REQUIRED);
+    }
+
+    @Benchmark
+    public SessionState anyStateTransitionCompiled() {
+        return stateMachine.nextState(
+                MFA_CODE_VERIFIED,
+                USER_HAS_STARTED_A_NEW_JOURNEY_WITH_LOGIN_REQUIRED,
+                Optional.empty());
+    }
+
+    private SessionState streamed(SessionState from, SessionAction action) {
+        Optional<UserContext> context = Optional.empty();
+        var states = stateMachine.getStates();
+        if (states.getOrDefault(from, emptyList()).stream()
+                        .filter(t -> t.getAction().equals(action))
+                        .count()
+                > 1) {
+            throw new StateMachine.NoTransitionContextProvidedException();
+        }
+        return states.getOrDefault(from, emptyList()).stream()
+                .filter(t -> t.getAction().equals(action) && t.getCondition().isMet(context))
+                .findFirst()
+                .orElseGet(
+                        () ->
+                                stateMachine.getAnyStateTransitions().stream()
+                                        .filter(
+                                                t ->
+                                                        t.getAction().equals(action)
+                                                                && t.getCondition().isMet(context))
+                                        .findFirst()
+                                        .orElseThrow(
+                                                StateMachine.InvalidStateTransitionException::new))
+                .getNextState();
+    }
+}
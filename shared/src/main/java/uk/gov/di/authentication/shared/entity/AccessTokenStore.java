@@ -1,7 +1,21 @@
 package uk.gov.di.authentication.shared.entity;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import static java.util.Objects.nonNull;
+
+/**
+ * What userinfo needs to answer for an access token, written to Redis when the token is issued.
+ *
+ * <p>The userinfo claims are a snapshot of the user profile at issuance, so an email or phone
+ * number changed afterwards is not reflected until the next token. The entry expires with the
+ * access token (ACCESS_TOKEN_EXPIRY, 180 seconds by default) and is deleted on its first use, which
+ * bounds both how stale the claims can be and how long the copy of the PII stays in Redis.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AccessTokenStore {
 
     @JsonProperty("token")
@@ -10,6 +24,22 @@ public class AccessTokenStore {
     @JsonProperty("internal_subject_id")
     private String internalSubjectId;
 
+    @JsonProperty("email")
+    private String email;
+
+    @JsonProperty("email_verified")
+    private Boolean emailVerified;
+
+    @JsonProperty("phone_number")
+    private String phoneNumber;
+
+    @JsonProperty("phone_number_verified")
+    private Boolean phoneNumberVerified;
+
+    @JsonProperty("legacy_subject_id")
+    private String legacySubjectId;
+
+    @JsonCreator
     public AccessTokenStore(
             @JsonProperty(required = true, value = "token") String token,
             @JsonProperty(required = true, value = "internal_subject_id")
@@ -18,6 +48,15 @@ public class AccessTokenStore {
         this.internalSubjectId = internalSubjectId;
     }
 
+    public AccessTokenStore(String token, UserProfile userProfile) {
+        this(token, userProfile.getSubjectID());
+        this.email = userProfile.getEmail();
+        this.emailVerified = userProfile.isEmailVerified();
+        this.phoneNumber = userProfile.getPhoneNumber();
+        this.phoneNumberVerified = userProfile.isPhoneNumberVerified();
+        this.legacySubjectId = userProfile.getLegacySubjectID();
+    }
+
     public String getToken() {
         return token;
     }
@@ -25,4 +64,29 @@ public class AccessTokenStore {
     public String getInternalSubjectId() {
         return internalSubjectId;
     }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Boolean getEmailVerified() {
+        return emailVerified;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public Boolean getPhoneNumberVerified() {
+        return phoneNumberVerified;
+    }
+
+    public String getLegacySubjectId() {
+        return legacySubjectId;
+    }
+
+    @JsonIgnore
+    public boolean hasUserInfoClaims() {
+        return nonNull(email);
+    }
 }
@@ -0,0 +1,64 @@
+package uk.gov.di.authentication.shared.entity;
+
+public class BulkWriteResult {
+
+    private final int written;
+    private final int skipped;
+    private final int failed;
+    private final int batches;
+    private final long durationMillis;
+
+    public BulkWriteResult(int written, int failed, int batches, long durationMillis) {
+        this(written, 0, failed, batches, durationMillis);
+    }
+
+    public BulkWriteResult(
+            int written, int skipped, int failed, int batches, long durationMillis) {
+        this.written = written;
+        this.skipped = skipped;
+        this.failed = failed;
+        this.batches = batches;
+        this.durationMillis = durationMillis;
+    }
+
+    public static BulkWriteResult empty() {
+        return new BulkWriteResult(0, 0, 0, 0, 0);
+    }
+
+    public int getWritten() {
+        return written;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public int getBatches() {
+        return batches;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getItemsPerSecond() {
+        return durationMillis == 0 ? written : written * 1000L / durationMillis;
+    }
+
+    public boolean hasFailures() {
+        return failed > 0;
+    }
+
+    public BulkWriteResult add(BulkWriteResult other) {
+        return new BulkWriteResult(
+                written + other.written,
+                skipped + other.skipped,
+                failed + other.failed,
+                batches + other.batches,
+                durationMillis + other.durationMillis);
+    }
+}
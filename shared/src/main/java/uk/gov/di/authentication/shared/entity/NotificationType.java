@@ -1,10 +1,25 @@
 package uk.gov.di.authentication.shared.entity;
 
 public enum NotificationType {
-    VERIFY_EMAIL,
-    VERIFY_PHONE_NUMBER,
-    MFA_SMS,
-    RESET_PASSWORD,
-    PASSWORD_RESET_CONFIRMATION,
-    ACCOUNT_CREATED_CONFIRMATION
+    VERIFY_EMAIL(true),
+    VERIFY_PHONE_NUMBER(true),
+    MFA_SMS(true),
+    RESET_PASSWORD(true),
+    PASSWORD_RESET_CONFIRMATION(false),
+    ACCOUNT_CREATED_CONFIRMATION(false);
+
+    private final boolean timeCritical;
+
+    NotificationType(boolean timeCritical) {
+        this.timeCritical = timeCritical;
+    }
+
+    /**
+     * Whether the user is waiting on this notification to continue their journey, such as a code
+     * or a reset link. These are sent on the priority queue so that they never wait behind
+     * confirmation emails.
+     */
+    public boolean isTimeCritical() {
+        return timeCritical;
+    }
 }
@@ -0,0 +1,61 @@
+package uk.gov.di.authentication.shared.entity;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAttribute;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBHashKey;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBTypeConvertedEnum;
+
+/**
+ * Maps a subject id to the email address of the account it belongs to. Internal and public subject
+ * ids share the table's key space, so every item records which kind of id it is keyed by and
+ * callers must only trust the kind they asked for.
+ */
+public class SubjectLookup {
+
+    public enum SubjectType {
+        INTERNAL,
+        PUBLIC
+    }
+
+    private String subjectID;
+    private SubjectType subjectType;
+    private String email;
+
+    public SubjectLookup() {}
+
+    public SubjectLookup(String subjectID, SubjectType subjectType, String email) {
+        this.subjectID = subjectID;
+        this.subjectType = subjectType;
+        this.email = email;
+    }
+
+    @DynamoDBHashKey(attributeName = "SubjectID")
+    public String getSubjectID() {
+        return subjectID;
+    }
+
+    public SubjectLookup setSubjectID(String subjectID) {
+        this.subjectID = subjectID;
+        return this;
+    }
+
+    @DynamoDBTypeConvertedEnum
+    @DynamoDBAttribute(attributeName = "SubjectType")
+    public SubjectType getSubjectType() {
+        return subjectType;
+    }
+
+    public SubjectLookup setSubjectType(SubjectType subjectType) {
+        this.subjectType = subjectType;
+        return this;
+    }
+
+    @DynamoDBAttribute(attributeName = "Email")
+    public String getEmail() {
+        return email;
+    }
+
+    public SubjectLookup setEmail(String email) {
+        this.email = email;
+        return this;
+    }
+}
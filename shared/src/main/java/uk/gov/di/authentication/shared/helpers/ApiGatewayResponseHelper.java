@@ -2,12 +2,15 @@ package uk.gov.di.authentication.shared.helpers;
 
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.oauth2.sdk.ErrorObject;
+import com.nimbusds.oauth2.sdk.OAuth2Error;
 import org.apache.http.HttpHeaders;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,23 +31,49 @@ public class ApiGatewayResponseHelper {
             "max-age=31536000; includeSubDomains";
     private static final String X_FRAME_OPTIONS_HEADER_VALUE = "DENY";
 
-    private static final Logger LOGGER = LogManager.getLogger(ApiGatewayResponseHelper.class);
+    private static final Map<String, String> SECURITY_HEADERS =
+            Map.ofEntries(
+                    Map.entry(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_HEADER_VALUE),
+                    Map.entry(HttpHeaders.PRAGMA, PRAGMA_HEADER_VALUE),
+                    Map.entry(XSS_PROTECTION_HEADER_NAME, XSS_PROTECTION_HEADER_VALUE),
+                    Map.entry(CONTENT_TYPE_OPTIONS_HEADER_NAME, CONTENT_TYPE_OPTIONS_HEADER_VALUE),
+                    Map.entry(
+                            CONTENT_SECURITY_POLICY_HEADER_NAME,
+                            CONTENT_SECURITY_POLICY_HEADER_VALUE),
+                    Map.entry(
+                            STRICT_TRANSPORT_SECURITY_HEADER_NAME,
+                            STRICT_TRANSPORT_SECURITY_HEADER_VALUE),
+                    Map.entry(X_FRAME_OPTIONS_HEADER_NAME, X_FRAME_OPTIONS_HEADER_VALUE));
+
+    private static final Map<ErrorResponse, String> ERROR_RESPONSE_BODIES = errorResponseBodies();
+
+    private static final Map<ErrorObject, String> ERROR_OBJECT_BODIES =
+            errorObjectBodies(
+                    OAuth2Error.ACCESS_DENIED,
+                    OAuth2Error.INVALID_CLIENT,
+                    OAuth2Error.INVALID_GRANT,
+                    OAuth2Error.INVALID_REQUEST,
+                    OAuth2Error.INVALID_SCOPE,
+                    OAuth2Error.SERVER_ERROR,
+                    OAuth2Error.UNAUTHORIZED_CLIENT,
+                    OAuth2Error.UNSUPPORTED_GRANT_TYPE);
 
     public static <T> APIGatewayProxyResponseEvent generateApiGatewayProxyResponse(
             int statusCode, T body) throws JsonProcessingException {
-        return generateApiGatewayProxyResponse(
-                statusCode, new ObjectMapper().writeValueAsString(body));
+        return generateApiGatewayProxyResponse(statusCode, JsonRegistry.writeValueAsString(body));
     }
 
     public static <T> APIGatewayProxyResponseEvent generateApiGatewayProxyErrorResponse(
             int statusCode, ErrorResponse errorResponse) {
-        try {
-            return generateApiGatewayProxyResponse(
-                    statusCode, new ObjectMapper().writeValueAsString(errorResponse));
-        } catch (JsonProcessingException e) {
-            LOGGER.warn("Unable to generateApiGatewayProxyErrorResponse: " + e);
-            return generateApiGatewayProxyResponse(500, "Internal server error");
-        }
+        return generateApiGatewayProxyResponse(
+                statusCode, ERROR_RESPONSE_BODIES.get(errorResponse));
+    }
+
+    public static APIGatewayProxyResponseEvent generateApiGatewayProxyErrorResponse(
+            int statusCode, ErrorObject errorObject) {
+        var body = ERROR_OBJECT_BODIES.get(errorObject);
+        return generateApiGatewayProxyResponse(
+                statusCode, body != null ? body : errorObject.toJSONObject().toJSONString());
     }
 
     public static APIGatewayProxyResponseEvent generateApiGatewayProxyResponse(
@@ -67,23 +96,40 @@ public class ApiGatewayResponseHelper {
             apiGatewayProxyResponseEvent.setMultiValueHeaders(multiValueHeaders);
         }
 
-        Map<String, String> securityHeaders =
-                Map.ofEntries(
-                        Map.entry(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_HEADER_VALUE),
-                        Map.entry(HttpHeaders.PRAGMA, PRAGMA_HEADER_VALUE),
-                        Map.entry(XSS_PROTECTION_HEADER_NAME, XSS_PROTECTION_HEADER_VALUE),
-                        Map.entry(
-                                CONTENT_TYPE_OPTIONS_HEADER_NAME,
-                                CONTENT_TYPE_OPTIONS_HEADER_VALUE),
-                        Map.entry(
-                                CONTENT_SECURITY_POLICY_HEADER_NAME,
-                                CONTENT_SECURITY_POLICY_HEADER_VALUE),
-                        Map.entry(
-                                STRICT_TRANSPORT_SECURITY_HEADER_NAME,
-                                STRICT_TRANSPORT_SECURITY_HEADER_VALUE),
-                        Map.entry(X_FRAME_OPTIONS_HEADER_NAME, X_FRAME_OPTIONS_HEADER_VALUE));
-        apiGatewayProxyResponseEvent.setHeaders(securityHeaders);
+        apiGatewayProxyResponseEvent.setHeaders(SECURITY_HEADERS);
 
         return apiGatewayProxyResponseEvent;
     }
+
+    /**
+     * The security headers for a response that clients and CDNs may cache, with {@code
+     * Cache-Control} replaced, no {@code Pragma} and the given {@code ETag}.
+     */
+    static Map<String, String> cacheableHeaders(String cacheControl, String etag) {
+        var headers = new HashMap<>(SECURITY_HEADERS);
+        headers.remove(HttpHeaders.PRAGMA);
+        headers.put(HttpHeaders.CACHE_CONTROL, cacheControl);
+        headers.put(HttpHeaders.ETAG, etag);
+        return Map.copyOf(headers);
+    }
+
+    private static Map<ErrorResponse, String> errorResponseBodies() {
+        var bodies = new EnumMap<ErrorResponse, String>(ErrorResponse.class);
+        for (ErrorResponse errorResponse : ErrorResponse.values()) {
+            try {
+                bodies.put(errorResponse, JsonRegistry.writeValueAsString(errorResponse));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unable to serialise " + errorResponse, e);
+            }
+        }
+        return Collections.unmodifiableMap(bodies);
+    }
+
+    private static Map<ErrorObject, String> errorObjectBodies(ErrorObject... errorObjects) {
+        var bodies = new IdentityHashMap<ErrorObject, String>();
+        for (ErrorObject errorObject : errorObjects) {
+            bodies.put(errorObject, errorObject.toJSONObject().toJSONString());
+        }
+        return Collections.unmodifiableMap(bodies);
+    }
 }
@@ -0,0 +1,62 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import org.apache.http.HttpHeaders;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static uk.gov.di.authentication.shared.helpers.RequestHeaderHelper.getHeaderValueFromHeaders;
+
+/**
+ * A JSON document that only changes when the service is deployed, such as the OpenID discovery
+ * document, rendered once with a strong {@code ETag} so that responses can be served without any
+ * per request work and revalidated by clients and CDNs with {@code If-None-Match}.
+ */
+public class CacheableDocument {
+
+    private final String body;
+    private final String etag;
+    private final Map<String, String> headers;
+
+    public CacheableDocument(String body, String cacheControl) {
+        this.body = body;
+        this.etag = "\"" + HashHelper.hashSha256String(body) + "\"";
+        this.headers = ApiGatewayResponseHelper.cacheableHeaders(cacheControl, etag);
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Returns a {@code 304 Not Modified} with no body if the request's {@code If-None-Match}
+     * matches this document, or the document itself otherwise.
+     */
+    public APIGatewayProxyResponseEvent toResponse(APIGatewayProxyRequestEvent request) {
+        var response =
+                isNotModified(request)
+                        ? ApiGatewayResponseHelper.generateApiGatewayProxyResponse(304, "")
+                        : ApiGatewayResponseHelper.generateApiGatewayProxyResponse(200, body);
+        response.setHeaders(headers);
+        return response;
+    }
+
+    private boolean isNotModified(APIGatewayProxyRequestEvent request) {
+        var ifNoneMatch =
+                getHeaderValueFromHeaders(request.getHeaders(), HttpHeaders.IF_NONE_MATCH, true);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        // If-None-Match uses the weak comparison, so a CDN's weakened W/"..." copy still matches
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+}
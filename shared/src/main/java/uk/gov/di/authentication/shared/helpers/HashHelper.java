@@ -8,14 +8,30 @@ import java.security.NoSuchAlgorithmException;
 
 public class HashHelper {
 
+    // MessageDigest is not thread safe, so each thread reuses its own instance rather than
+    // paying for a provider lookup on every call.
+    private static final ThreadLocal<MessageDigest> SHA_256 =
+            ThreadLocal.withInitial(() -> getDigest("SHA-256"));
+
     public static String hashSha256String(String value) {
+        return Hex.encodeHexString(sha256(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** Returns the SHA-256 digest of the concatenation of {@code parts}. */
+    public static byte[] sha256(byte[]... parts) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        for (byte[] part : parts) {
+            digest.update(part);
+        }
+        return digest.digest();
+    }
 
-        MessageDigest digest;
+    private static MessageDigest getDigest(String algorithm) {
         try {
-            digest = MessageDigest.getInstance("SHA-256");
+            return MessageDigest.getInstance(algorithm);
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException(e);
         }
-        return (Hex.encodeHexString(digest.digest(value.getBytes(StandardCharsets.UTF_8))));
     }
 }
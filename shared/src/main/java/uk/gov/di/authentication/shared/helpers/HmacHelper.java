@@ -0,0 +1,44 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class HmacHelper {
+
+    private static final String HMAC_SHA_256 = "HmacSHA256";
+    private static final int MAX_KEYS_PER_THREAD = 8;
+
+    // Mac is not thread safe, so each thread keeps a Mac initialised for every secret it has
+    // used. Secrets come from configuration, so there are only ever a handful.
+    private static final ThreadLocal<Map<String, Mac>> HMAC_SHA_256_BY_SECRET =
+            ThreadLocal.withInitial(HashMap::new);
+
+    public static byte[] hmacSha256(String input, String secret) {
+        Map<String, Mac> macs = HMAC_SHA_256_BY_SECRET.get();
+        Mac hmac = macs.get(secret);
+        if (hmac == null) {
+            if (macs.size() >= MAX_KEYS_PER_THREAD) {
+                macs.clear();
+            }
+            hmac = newHmacSha256(secret);
+            macs.put(secret, hmac);
+        }
+        return hmac.doFinal(input.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Mac newHmacSha256(String secret) {
+        try {
+            var hmac = Mac.getInstance(HMAC_SHA_256);
+            hmac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_SHA_256));
+            return hmac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import uk.gov.di.authentication.shared.entity.AccessTokenStore;
+import uk.gov.di.authentication.shared.entity.AuthCodeExchangeData;
+import uk.gov.di.authentication.shared.entity.BaseAPIResponse;
+import uk.gov.di.authentication.shared.entity.ClientSession;
+import uk.gov.di.authentication.shared.entity.ErrorResponse;
+import uk.gov.di.authentication.shared.entity.NotifyRequest;
+import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
+import uk.gov.di.authentication.shared.entity.Session;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Readers and writers for the types we read and write on every request, built from the shared
+ * {@link ObjectMapperFactory} mapper once per JVM so their serializers and deserializers are looked
+ * up once rather than on every call.
+ *
+ * <p>The response and Redis entity types in {@code shared} are primed when the class is loaded,
+ * and handlers prime their own request types with {@link #prime(Class[])} when they are created,
+ * so the work is done during initialisation rather than on the first request.
+ */
+public class JsonRegistry {
+
+    private static final List<Class<?>> SHARED_TYPES =
+            List.of(
+                    AccessTokenStore.class,
+                    AuthCodeExchangeData.class,
+                    BaseAPIResponse.class,
+                    ClientSession.class,
+                    ErrorResponse.class,
+                    NotifyRequest.class,
+                    RefreshTokenStore.class,
+                    Session.class);
+
+    private static final ConcurrentMap<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    static {
+        SHARED_TYPES.forEach(JsonRegistry::prime);
+    }
+
+    private JsonRegistry() {}
+
+    public static ObjectMapper getMapper() {
+        return ObjectMapperFactory.getInstance();
+    }
+
+    public static void prime(Class<?>... types) {
+        for (Class<?> type : types) {
+            readerFor(type);
+            writerFor(type);
+        }
+    }
+
+    public static ObjectReader readerFor(Class<?> type) {
+        return READERS.computeIfAbsent(type, t -> getMapper().readerFor(t));
+    }
+
+    public static ObjectWriter writerFor(Class<?> type) {
+        return WRITERS.computeIfAbsent(type, t -> getMapper().writerFor(t));
+    }
+
+    public static <T> T readValue(String content, Class<T> type) throws JsonProcessingException {
+        return readerFor(type).readValue(content);
+    }
+
+    public static String writeValueAsString(Object value) throws JsonProcessingException {
+        if (value == null) {
+            return getMapper().writeValueAsString(null);
+        }
+        return writerFor(value.getClass()).writeValueAsString(value);
+    }
+}
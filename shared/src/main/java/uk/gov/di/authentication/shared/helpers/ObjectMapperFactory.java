@@ -12,45 +12,56 @@ import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
 
 import java.io.IOException;
-import java.util.Objects;
 import java.util.Set;
 
 public class ObjectMapperFactory {
-    private static ObjectMapper objectMapper;
+
+    private static class InstanceHolder {
+        private static final ObjectMapper INSTANCE =
+                create(ConfigurationService.getInstance().isJacksonBlackbirdEnabled());
+    }
+
+    private static class ValidatorHolder {
+        private static final Validator INSTANCE =
+                Validation.buildDefaultValidatorFactory().getValidator();
+    }
 
     public static ObjectMapper getInstance() {
-        if (Objects.isNull(ObjectMapperFactory.objectMapper)) {
-            SimpleModule validationModule = new SimpleModule();
-            validationModule.setDeserializerModifier(
-                    new BeanDeserializerModifier() {
-                        @Override
-                        public JsonDeserializer<?> modifyDeserializer(
-                                DeserializationConfig config,
-                                BeanDescription beanDesc,
-                                JsonDeserializer<?> deserializer) {
-                            if (deserializer instanceof BeanDeserializer) {
-                                return new ValidatingBeanDeserializer(
-                                        (BeanDeserializer) deserializer);
-                            }
+        return InstanceHolder.INSTANCE;
+    }
 
-                            return deserializer;
+    static ObjectMapper create(boolean blackbirdEnabled) {
+        SimpleModule validationModule = new SimpleModule();
+        validationModule.setDeserializerModifier(
+                new BeanDeserializerModifier() {
+                    @Override
+                    public JsonDeserializer<?> modifyDeserializer(
+                            DeserializationConfig config,
+                            BeanDescription beanDesc,
+                            JsonDeserializer<?> deserializer) {
+                        if (deserializer instanceof BeanDeserializer) {
+                            return new ValidatingBeanDeserializer((BeanDeserializer) deserializer);
                         }
-                    });
-            ObjectMapperFactory.objectMapper =
-                    JsonMapper.builder()
-                            .addModule(new JavaTimeModule())
-                            .addModule(validationModule)
-                            .build();
+
+                        return deserializer;
+                    }
+                });
+        var builder =
+                JsonMapper.builder().addModule(new JavaTimeModule()).addModule(validationModule);
+        if (blackbirdEnabled) {
+            builder.addModule(new BlackbirdModule());
         }
-        return ObjectMapperFactory.objectMapper;
+        return builder.build();
     }
 
     public static class ValidatingBeanDeserializer extends BeanDeserializer {
@@ -59,7 +70,7 @@ public class ObjectMapperFactory {
 
         public ValidatingBeanDeserializer(BeanDeserializerBase src) {
             super(src);
-            validator = Validation.buildDefaultValidatorFactory().getValidator();
+            validator = ValidatorHolder.INSTANCE;
         }
 
         @Override
@@ -0,0 +1,88 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes the messages of an SQS batch concurrently, at most {@code concurrency} at a time, and
+ * joins their outcomes into a single partial batch response.
+ *
+ * <p>The pool is created once and reused by every invocation of a warm container. Each message is
+ * handled independently, so a handler must not share mutable state between messages; the failures
+ * it reports to the {@link SQSBatchFailureCollector} are returned to SQS, and an unexpected
+ * exception is reported as a retryable failure of that message alone. A concurrency of 1 handles
+ * messages in order on the calling thread.
+ */
+public class SQSBatchDispatcher {
+
+    private static final Logger LOG = LogManager.getLogger(SQSBatchDispatcher.class);
+
+    @FunctionalInterface
+    public interface MessageHandler {
+        void handle(SQSMessage message, SQSBatchFailureCollector failures);
+    }
+
+    private final int concurrency;
+    private final ExecutorService executor;
+
+    public SQSBatchDispatcher(int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+        if (this.concurrency == 1) {
+            this.executor = null;
+        } else {
+            var threadCount = new AtomicInteger();
+            this.executor =
+                    Executors.newFixedThreadPool(
+                            this.concurrency,
+                            runnable -> {
+                                var thread =
+                                        new Thread(
+                                                runnable,
+                                                "sqs-dispatcher-" + threadCount.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+        }
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public SQSBatchResponse dispatch(List<SQSMessage> messages, MessageHandler handler) {
+        var failures = new SQSBatchFailureCollector();
+        if (executor == null || messages.size() <= 1) {
+            messages.forEach(message -> handle(message, handler, failures));
+        } else {
+            CompletableFuture.allOf(
+                            messages.stream()
+                                    .map(message -> submit(message, handler, failures))
+                                    .toArray(CompletableFuture[]::new))
+                    .join();
+        }
+        return failures.toBatchResponse();
+    }
+
+    private CompletableFuture<Void> submit(
+            SQSMessage message, MessageHandler handler, SQSBatchFailureCollector failures) {
+        return CompletableFuture.runAsync(() -> handle(message, handler, failures), executor);
+    }
+
+    private static void handle(
+            SQSMessage message, MessageHandler handler, SQSBatchFailureCollector failures) {
+        try {
+            handler.handle(message, failures);
+        } catch (RuntimeException e) {
+            LOG.error("Unexpected error handling SQS message {}", message.getMessageId(), e);
+            failures.retryable(message, e.getClass().getSimpleName());
+        }
+    }
+}
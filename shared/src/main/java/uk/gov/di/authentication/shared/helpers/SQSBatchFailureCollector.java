@@ -0,0 +1,73 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse.BatchItemFailure;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ObjectMessage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Collects the messages in an SQS batch that could not be processed, so a handler can report them
+ * individually rather than failing the whole batch.
+ *
+ * <p>A poison message can never succeed, such as one that cannot be parsed or whose signature is
+ * invalid. A retryable message failed because of a downstream error and may succeed on redelivery.
+ * Both are reported back to SQS, which redelivers them until the queue's maxReceiveCount moves them
+ * to the DLQ with their body intact. Each failure is logged with its {@link FailureType}, reason
+ * and receive count, so messages found on the DLQ can be told apart from the logs.
+ *
+ * <p>The event source mapping must have {@code ReportBatchItemFailures} enabled, otherwise the
+ * response is ignored and the whole batch is treated as successful.
+ */
+public class SQSBatchFailureCollector {
+
+    private static final Logger LOG = LogManager.getLogger(SQSBatchFailureCollector.class);
+
+    public enum FailureType {
+        POISON,
+        RETRYABLE
+    }
+
+    private final List<BatchItemFailure> failures = new ArrayList<>();
+
+    public synchronized void poison(SQSMessage message, String reason) {
+        fail(message, FailureType.POISON, reason);
+    }
+
+    public synchronized void retryable(SQSMessage message, String reason) {
+        fail(message, FailureType.RETRYABLE, reason);
+    }
+
+    public synchronized void retryable(Collection<SQSMessage> messages, String reason) {
+        messages.forEach(message -> fail(message, FailureType.RETRYABLE, reason));
+    }
+
+    public synchronized SQSBatchResponse toBatchResponse() {
+        return new SQSBatchResponse(new ArrayList<>(failures));
+    }
+
+    private void fail(SQSMessage message, FailureType failureType, String reason) {
+        log(message, failureType, reason);
+        failures.add(new BatchItemFailure(message.getMessageId()));
+    }
+
+    private static void log(SQSMessage message, FailureType failureType, String reason) {
+        var properties = new LinkedHashMap<String, String>();
+        properties.put("sqs-message-id", message.getMessageId());
+        properties.put("failure-type", failureType.name());
+        properties.put("reason", reason);
+        properties.put(
+                "receive-count",
+                Optional.ofNullable(message.getAttributes())
+                        .map(attributes -> attributes.get("ApproximateReceiveCount"))
+                        .orElse("unknown"));
+        LOG.error(new ObjectMessage(properties));
+    }
+}
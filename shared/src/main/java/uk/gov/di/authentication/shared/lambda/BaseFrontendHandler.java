@@ -5,7 +5,6 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.ConstraintViolationException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -13,14 +12,14 @@ import uk.gov.di.authentication.shared.entity.BaseFrontendRequest;
 import uk.gov.di.authentication.shared.entity.ClientSession;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 import uk.gov.di.authentication.shared.entity.Session;
-import uk.gov.di.authentication.shared.helpers.ObjectMapperFactory;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.services.AuthenticationService;
 import uk.gov.di.authentication.shared.services.ClientService;
 import uk.gov.di.authentication.shared.services.ClientSessionService;
 import uk.gov.di.authentication.shared.services.ConfigurationService;
-import uk.gov.di.authentication.shared.services.DynamoClientService;
-import uk.gov.di.authentication.shared.services.DynamoService;
+import uk.gov.di.authentication.shared.services.ServiceRegistry;
 import uk.gov.di.authentication.shared.services.SessionService;
+import uk.gov.di.authentication.shared.services.SqsBatchingProducer;
 import uk.gov.di.authentication.shared.state.UserContext;
 
 import java.util.Locale;
@@ -29,6 +28,7 @@ import java.util.Optional;
 import static uk.gov.di.authentication.shared.helpers.ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse;
 import static uk.gov.di.authentication.shared.helpers.LogLineHelper.attachSessionIdToLogs;
 import static uk.gov.di.authentication.shared.helpers.WarmerHelper.isWarming;
+import static uk.gov.di.authentication.shared.services.AuditService.withAuditFlush;
 
 public abstract class BaseFrontendHandler<T>
         implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
@@ -41,7 +41,6 @@ public abstract class BaseFrontendHandler<T>
     protected final ClientSessionService clientSessionService;
     protected final ClientService clientService;
     protected final AuthenticationService authenticationService;
-    protected final ObjectMapper objectMapper = ObjectMapperFactory.getInstance();
 
     protected BaseFrontendHandler(
             Class<T> clazz,
@@ -51,6 +50,7 @@ public abstract class BaseFrontendHandler<T>
             ClientService clientService,
             AuthenticationService authenticationService) {
         this.clazz = clazz;
+        JsonRegistry.prime(clazz);
         this.configurationService = configurationService;
         this.sessionService = sessionService;
         this.clientSessionService = clientSessionService;
@@ -59,26 +59,40 @@ public abstract class BaseFrontendHandler<T>
     }
 
     protected BaseFrontendHandler(Class<T> clazz, ConfigurationService configurationService) {
-        this.clazz = clazz;
-        this.configurationService = configurationService;
-        this.sessionService = new SessionService(configurationService);
-        this.clientSessionService = new ClientSessionService(configurationService);
-        this.clientService =
-                new DynamoClientService(
-                        configurationService.getAwsRegion(),
-                        configurationService.getEnvironment(),
-                        configurationService.getDynamoEndpointUri());
-        this.authenticationService =
-                new DynamoService(
-                        configurationService.getAwsRegion(),
-                        configurationService.getEnvironment(),
-                        configurationService.getDynamoEndpointUri());
+        this(clazz, createServices(configurationService));
+    }
+
+    private BaseFrontendHandler(Class<T> clazz, ServiceRegistry services) {
+        this(
+                clazz,
+                services.getConfigurationService(),
+                services.getSessionService(),
+                services.getClientSessionService(),
+                services.getDynamoClientService(),
+                services.getDynamoService());
+    }
+
+    private static ServiceRegistry createServices(ConfigurationService configurationService) {
+        var services = ServiceRegistry.forConfiguration(configurationService);
+        services.createInParallel(
+                services::getSessionService,
+                services::getClientSessionService,
+                services::getDynamoClientService,
+                services::getDynamoService);
+        return services;
     }
 
     @Override
     public APIGatewayProxyResponseEvent handleRequest(
             APIGatewayProxyRequestEvent input, Context context) {
-        return isWarming(input).orElseGet(() -> validateAndHandleRequest(input, context));
+        try {
+            return withAuditFlush(
+                    () ->
+                            isWarming(input)
+                                    .orElseGet(() -> validateAndHandleRequest(input, context)));
+        } finally {
+            SqsBatchingProducer.flushAll();
+        }
     }
 
     public void onRequestReceived(Context context) {}
@@ -105,7 +119,7 @@ public abstract class BaseFrontendHandler<T>
         }
         final T request;
         try {
-            request = objectMapper.readValue(input.getBody(), clazz);
+            request = JsonRegistry.readValue(input.getBody(), clazz);
         } catch (JsonProcessingException | ConstraintViolationException e) {
             LOG.error("Request is missing parameters.");
             onRequestValidationError(context);
@@ -0,0 +1,220 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.audit.AuditPayload.AuditEvent;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Signs and publishes audit events on a background thread so that KMS and SNS calls are not made
+ * on the request thread.
+ *
+ * <p>Ordering: all publishers share a single worker thread, so events are signed and handed to
+ * SNS in the order they were submitted within a JVM. The SNS topic is a standard topic, so
+ * consumers must not rely on delivery order and should use the event timestamp instead.
+ *
+ * <p>Delivery: events are published at least once. An event is only removed from the buffer once
+ * SNS has accepted it; rejected entries are retried on the next flush and a flush that cannot
+ * empty the buffer throws, exactly as a failed synchronous publish did. Retries can therefore
+ * deliver the same event id more than once.
+ *
+ * <p>Flushing: a flush gives up after {@link #FLUSH_TIMEOUT}, shared by every publisher flushed
+ * together, so a slow KMS or SNS delays a response by at most that long. Events still buffered
+ * are published by a later flush, or lost if Lambda reclaims the container first; {@link
+ * #pendingEventIds()} names them so that the loss can be recorded.
+ *
+ * <p>Lambda freezes background threads between invocations, so handlers must call {@link
+ * #flushAll()} before returning.
+ */
+public class AuditEventPublisher {
+
+    private static final Logger LOG = LogManager.getLogger(AuditEventPublisher.class);
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+    static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(2);
+    private static final ExecutorService WORKER =
+            Executors.newSingleThreadExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "audit-publisher");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+    private static final Set<AuditEventPublisher> PUBLISHERS =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final SnsService snsService;
+    private final Function<AuditEvent, String> signer;
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    // Only accessed from the worker thread.
+    private final Deque<AuditEvent> unsigned = new ArrayDeque<>();
+    private final List<SignedEvent> signed = new ArrayList<>();
+
+    public AuditEventPublisher(SnsService snsService, Function<AuditEvent, String> signer) {
+        this.snsService = snsService;
+        this.signer = signer;
+        PUBLISHERS.add(this);
+    }
+
+    public static void flushAll() {
+        List<AuditEventPublisher> publishers;
+        synchronized (PUBLISHERS) {
+            publishers = new ArrayList<>(PUBLISHERS);
+        }
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT.toNanos();
+        RuntimeException failure = null;
+        for (AuditEventPublisher publisher : publishers) {
+            try {
+                publisher.flush(deadline);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /** The ids of events submitted to any publisher that SNS has not yet accepted. */
+    public static Set<String> pendingEventIds() {
+        List<AuditEventPublisher> publishers;
+        synchronized (PUBLISHERS) {
+            publishers = new ArrayList<>(PUBLISHERS);
+        }
+        Set<String> eventIds = new TreeSet<>();
+        publishers.forEach(publisher -> eventIds.addAll(publisher.pending));
+        return eventIds;
+    }
+
+    public void submit(AuditEvent event) {
+        pending.add(event.getEventId());
+        WORKER.execute(
+                () -> {
+                    unsigned.add(event);
+                    signPending();
+                    publish(false);
+                });
+    }
+
+    public void flush() {
+        flush(System.nanoTime() + FLUSH_TIMEOUT.toNanos());
+    }
+
+    private void flush(long deadline) {
+        Future<Integer> remaining = WORKER.submit(() -> drain(deadline));
+        int unpublished;
+        try {
+            unpublished =
+                    remaining.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while flushing audit events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new RuntimeException("Unable to flush audit events", e);
+        }
+        if (unpublished > 0) {
+            throw new RuntimeException(
+                    String.format("%d audit events could not be published", unpublished));
+        }
+    }
+
+    private int drain(long deadline) {
+        for (int attempt = 1; attempt <= MAX_FLUSH_ATTEMPTS; attempt++) {
+            signPending();
+            publish(true);
+            if (unsigned.isEmpty() && signed.isEmpty()) {
+                return 0;
+            }
+            LOG.warn(
+                    "Flush attempt {} left {} audit events unpublished",
+                    attempt,
+                    unsigned.size() + signed.size());
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+        return unsigned.size() + signed.size();
+    }
+
+    private void signPending() {
+        while (!unsigned.isEmpty()) {
+            try {
+                signed.add(new SignedEvent(unsigned.peek(), signer.apply(unsigned.peek())));
+                unsigned.remove();
+            } catch (RuntimeException e) {
+                LOG.error("Unable to sign audit event", e);
+                return;
+            }
+        }
+    }
+
+    private void publish(boolean includePartialBatch) {
+        while (signed.size() >= SnsService.MAX_BATCH_SIZE
+                || (includePartialBatch && !signed.isEmpty())) {
+            List<SignedEvent> batch =
+                    new ArrayList<>(
+                            signed.subList(0, Math.min(SnsService.MAX_BATCH_SIZE, signed.size())));
+            Set<String> rejected;
+            try {
+                rejected =
+                        new HashSet<>(
+                                snsService.publishAuditMessages(
+                                        batch.stream()
+                                                .map(SignedEvent::getMessage)
+                                                .collect(Collectors.toList())));
+            } catch (RuntimeException e) {
+                LOG.error("Unable to publish batch of {} audit events", batch.size(), e);
+                return;
+            }
+            signed.subList(0, batch.size()).clear();
+            batch.stream()
+                    .filter(event -> !rejected.contains(event.getMessage()))
+                    .forEach(event -> pending.remove(event.getEventId()));
+            if (!rejected.isEmpty()) {
+                signed.addAll(
+                        0,
+                        batch.stream()
+                                .filter(event -> rejected.contains(event.getMessage()))
+                                .collect(Collectors.toList()));
+                return;
+            }
+        }
+    }
+
+    private static class SignedEvent {
+        private final String eventId;
+        private final String message;
+
+        private SignedEvent(AuditEvent event, String message) {
+            this.eventId = event.getEventId();
+            this.message = message;
+        }
+
+        private String getEventId() {
+            return eventId;
+        }
+
+        private String getMessage() {
+            return message;
+        }
+    }
+}
@@ -3,6 +3,9 @@ package uk.gov.di.authentication.shared.services;
 import com.amazonaws.services.kms.model.SignRequest;
 import com.amazonaws.services.kms.model.SigningAlgorithmSpec;
 import com.google.protobuf.ByteString;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ObjectMessage;
 import uk.gov.di.audit.AuditPayload.AuditEvent;
 import uk.gov.di.audit.AuditPayload.SignedAuditEvent;
 import uk.gov.di.authentication.shared.domain.AuditableEvent;
@@ -11,19 +14,35 @@ import java.nio.ByteBuffer;
 import java.time.Clock;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-
+import java.util.function.Supplier;
+
+/**
+ * Builds audit events and hands them to an {@link AuditEventPublisher}, which signs them with KMS
+ * and publishes them to SNS on a background thread.
+ *
+ * <p>Lambda freezes that thread between invocations, so handlers wrap their work in {@link
+ * #withAuditFlush} to publish the invocation's events before the response is returned. This moves
+ * the KMS and SNS calls off the request path but not out of the invocation: a slow KMS or SNS
+ * still delays the response, by up to {@link AuditEventPublisher#FLUSH_TIMEOUT} (2 seconds). Events
+ * that miss that deadline are logged by id and published by a later invocation on the same
+ * container, and are lost if the container is recycled first.
+ */
 public class AuditService {
 
     @Deprecated // All audit arguments currently marked as unknown will need to be reviewed later.
     public static final String UNKNOWN = "";
 
+    private static final Logger LOG = LogManager.getLogger(AuditService.class);
+
     private final Clock clock;
-    private final SnsService snsService;
     private final KmsConnectionService kmsConnectionService;
     private final ConfigurationService configurationService;
+    private final AuditEventPublisher publisher;
 
     public AuditService(
             Clock clock,
@@ -31,20 +50,61 @@ public class AuditService {
             KmsConnectionService kmsConnectionService,
             ConfigurationService configurationService) {
         this.clock = clock;
-        this.snsService = snsService;
         this.kmsConnectionService = kmsConnectionService;
         this.configurationService = configurationService;
+        this.publisher = new AuditEventPublisher(snsService, this::signAndSerialise);
     }
 
     public AuditService(ConfigurationService configurationService) {
         this.configurationService = configurationService;
         this.clock = Clock.systemUTC();
-        this.snsService = new SnsService(configurationService);
         this.kmsConnectionService =
                 new KmsConnectionService(
                         configurationService.getLocalstackEndpointUri(),
                         configurationService.getAwsRegion(),
                         configurationService.getAuditSigningKeyAlias());
+        this.publisher =
+                new AuditEventPublisher(
+                        new SnsService(configurationService), this::signAndSerialise);
+    }
+
+    /**
+     * Runs a handler invocation and then publishes every audit event submitted in this JVM that
+     * SNS has not yet accepted, whether or not the handler completed normally.
+     */
+    public static <T> T withAuditFlush(Supplier<T> invocation) {
+        try {
+            return invocation.get();
+        } finally {
+            flushPendingEvents();
+        }
+    }
+
+    /**
+     * Runs after the response has been decided, so it never throws: events that cannot be
+     * published in time are logged by id, for the unpublished events metric, and stay buffered for
+     * the next flush.
+     */
+    static void flushPendingEvents() {
+        try {
+            AuditEventPublisher.flushAll();
+        } catch (RuntimeException e) {
+            var eventIds = AuditEventPublisher.pendingEventIds();
+            var metrics = new LinkedHashMap<String, Object>();
+            metrics.put("metric", "audit-events-unpublished");
+            metrics.put("count", eventIds.size());
+            metrics.put("event-ids", List.copyOf(eventIds));
+            LOG.error(new ObjectMessage(metrics), e);
+        }
+    }
+
+    public void flush() {
+        publisher.flush();
+    }
+
+    /** Opens the connection to KMS for the audit signing key. */
+    public void warmUp() {
+        kmsConnectionService.warmUp();
     }
 
     public void submitAuditEvent(
@@ -58,8 +118,8 @@ public class AuditService {
             String phoneNumber,
             String persistentSessionId,
             MetadataPair... metadataPairs) {
-        snsService.publishAuditMessage(
-                generateLogLine(
+        publisher.submit(
+                buildAuditEvent(
                         event,
                         requestId,
                         sessionId,
@@ -72,7 +132,7 @@ public class AuditService {
                         metadataPairs));
     }
 
-    String generateLogLine(
+    AuditEvent buildAuditEvent(
             AuditableEvent eventEnum,
             String requestId,
             String sessionId,
@@ -111,8 +171,10 @@ public class AuditService {
                                 auditEventBuilder.putExtensions(
                                         pair.getKey(), pair.getValue().toString()));
 
-        var auditEvent = auditEventBuilder.build();
+        return auditEventBuilder.build();
+    }
 
+    String signAndSerialise(AuditEvent auditEvent) {
         var signedEventBuilder =
                 SignedAuditEvent.newBuilder()
                         .setSignature(ByteString.copyFrom(signPayload(auditEvent.toByteArray())))
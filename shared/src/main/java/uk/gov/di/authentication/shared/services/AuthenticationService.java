@@ -1,6 +1,7 @@
 package uk.gov.di.authentication.shared.services;
 
 import com.nimbusds.oauth2.sdk.id.Subject;
+import uk.gov.di.authentication.shared.entity.BulkWriteResult;
 import uk.gov.di.authentication.shared.entity.ClientConsent;
 import uk.gov.di.authentication.shared.entity.TermsAndConditions;
 import uk.gov.di.authentication.shared.entity.UserCredentials;
@@ -35,6 +36,10 @@ public interface AuthenticationService {
 
     UserProfile getUserProfileFromPublicSubject(String subject);
 
+    Optional<String> getEmailFromSubject(String subject);
+
+    Optional<String> getEmailFromPublicSubject(String publicSubject);
+
     void updateTermsAndConditions(String email, String version);
 
     void updateEmail(String currentEmail, String newEmail);
@@ -51,5 +56,9 @@ public interface AuthenticationService {
 
     void migrateLegacyPassword(String email, String password);
 
-    void bulkAdd(List<UserCredentials> userCredentialsList, List<UserProfile> userProfileList);
+    BulkWriteResult bulkAdd(
+            List<UserCredentials> userCredentialsList, List<UserProfile> userProfileList);
+
+    BulkWriteResult bulkAddIfAbsent(
+            List<UserCredentials> userCredentialsList, List<UserProfile> userProfileList);
 }
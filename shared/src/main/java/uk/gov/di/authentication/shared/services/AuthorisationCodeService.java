@@ -1,12 +1,11 @@
 package uk.gov.di.authentication.shared.services;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.oauth2.sdk.AuthorizationCode;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.entity.AuthCodeExchangeData;
-import uk.gov.di.authentication.shared.helpers.ObjectMapperFactory;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 
 import java.util.Optional;
 
@@ -17,17 +16,22 @@ public class AuthorisationCodeService {
 
     private final RedisConnectionService redisConnectionService;
     private final long authorisationCodeExpiry;
-    private final ObjectMapper objectMapper;
 
     public AuthorisationCodeService(ConfigurationService configurationService) {
-        this.redisConnectionService =
+        this(
+                configurationService,
                 new RedisConnectionService(
                         configurationService.getRedisHost(),
                         configurationService.getRedisPort(),
                         configurationService.getUseRedisTLS(),
-                        configurationService.getRedisPassword());
+                        configurationService.getRedisPassword()));
+    }
+
+    public AuthorisationCodeService(
+            ConfigurationService configurationService,
+            RedisConnectionService redisConnectionService) {
+        this.redisConnectionService = redisConnectionService;
         this.authorisationCodeExpiry = configurationService.getAuthCodeExpiry();
-        this.objectMapper = ObjectMapperFactory.getInstance();
     }
 
     public AuthorizationCode generateAuthorisationCode(String clientSessionId, String email) {
@@ -35,7 +39,7 @@ public class AuthorisationCodeService {
         try {
             redisConnectionService.saveWithExpiry(
                     AUTH_CODE_PREFIX.concat(authorizationCode.getValue()),
-                    objectMapper.writeValueAsString(
+                    JsonRegistry.writeValueAsString(
                             new AuthCodeExchangeData()
                                     .setEmail(email)
                                     .setClientSessionId(clientSessionId)),
@@ -52,7 +56,7 @@ public class AuthorisationCodeService {
                 .map(
                         s -> {
                             try {
-                                return objectMapper.readValue(s, AuthCodeExchangeData.class);
+                                return JsonRegistry.readValue(s, AuthCodeExchangeData.class);
                             } catch (JsonProcessingException e) {
                                 LOG.error("Error deserialising auth code data from cache");
                                 throw new RuntimeException(e);
@@ -1,12 +1,11 @@
 package uk.gov.di.authentication.shared.services;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.entity.ClientSession;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
-import uk.gov.di.authentication.shared.helpers.ObjectMapperFactory;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 
 import java.util.Map;
 import java.util.Optional;
@@ -22,7 +21,6 @@ public class ClientSessionService {
 
     private final RedisConnectionService redisConnectionService;
     private final ConfigurationService configurationService;
-    private final ObjectMapper objectMapper;
 
     public ClientSessionService(ConfigurationService configurationService) {
         this.configurationService = configurationService;
@@ -32,7 +30,6 @@ public class ClientSessionService {
                         configurationService.getRedisPort(),
                         configurationService.getUseRedisTLS(),
                         configurationService.getRedisPassword());
-        objectMapper = ObjectMapperFactory.getInstance();
     }
 
     public ClientSessionService(
@@ -40,7 +37,6 @@ public class ClientSessionService {
             RedisConnectionService redisConnectionService) {
         this.configurationService = configurationService;
         this.redisConnectionService = redisConnectionService;
-        objectMapper = ObjectMapperFactory.getInstance();
     }
 
     public String generateClientSession(ClientSession clientSession) {
@@ -48,7 +44,7 @@ public class ClientSessionService {
         try {
             redisConnectionService.saveWithExpiry(
                     CLIENT_SESSION_PREFIX.concat(id),
-                    objectMapper.writeValueAsString(clientSession),
+                    JsonRegistry.writeValueAsString(clientSession),
                     configurationService.getSessionExpiry());
         } catch (JsonProcessingException e) {
             LOG.error("Error saving client session: {} to Redis", id);
@@ -62,7 +58,7 @@ public class ClientSessionService {
         try {
             String result =
                     redisConnectionService.getValue(CLIENT_SESSION_PREFIX.concat(clientSessionId));
-            return objectMapper.readValue(result, ClientSession.class);
+            return JsonRegistry.readValue(result, ClientSession.class);
         } catch (JsonProcessingException | IllegalArgumentException e) {
             LOG.error(
                     "Error getting client session from Redis with ClientSessionId: {}",
@@ -75,7 +71,7 @@ public class ClientSessionService {
         try {
             redisConnectionService.saveWithExpiry(
                     CLIENT_SESSION_PREFIX.concat(clientSessionId),
-                    objectMapper.writeValueAsString(clientSession),
+                    JsonRegistry.writeValueAsString(clientSession),
                     configurationService.getSessionExpiry());
         } catch (JsonProcessingException e) {
             LOG.error("Error saving client session: {} to Redis", clientSessionId);
@@ -3,9 +3,6 @@ package uk.gov.di.authentication.shared.services;
 import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement;
 import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagementClient;
-import com.amazonaws.services.simplesystemsmanagement.model.GetParameterRequest;
-import com.amazonaws.services.simplesystemsmanagement.model.GetParametersRequest;
-import com.amazonaws.services.simplesystemsmanagement.model.ParameterNotFoundException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.configuration.AuditPublisherConfiguration;
@@ -13,249 +10,477 @@ import uk.gov.di.authentication.shared.configuration.BaseLambdaConfiguration;
 
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import static java.text.MessageFormat.format;
 
+/**
+ * Typed snapshot of the lambda's environment.
+ *
+ * <p>Every environment variable is read and parsed once, when the service is constructed, into
+ * final fields, so getters do no parsing and an instance can be shared between threads. A value
+ * that cannot be parsed fails construction, listing every invalid variable, rather than failing
+ * the first request that needs it. Parameters held in SSM are fetched on first use and refreshed
+ * by a {@link ParameterStoreService}.
+ */
 public class ConfigurationService implements BaseLambdaConfiguration, AuditPublisherConfiguration {
 
     private static final Logger LOGGER = LogManager.getLogger(ConfigurationService.class);
-    private static ConfigurationService configurationService;
 
-    public static ConfigurationService getInstance() {
-        if (configurationService == null) {
-            configurationService = new ConfigurationService();
-        }
-        return configurationService;
+    private static class InstanceHolder {
+        private static final ConfigurationService INSTANCE = new ConfigurationService();
     }
 
+    public static ConfigurationService getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    private final long accessTokenExpiry;
+    private final String accountManagementUri;
+    private final String auditHmacSecret;
+    private final boolean auditDeduplicationEnabled;
+    private final long auditDeduplicationLease;
+    private final long auditDeduplicationTtl;
+    private final String auditSigningKeyAlias;
+    private final String auditStorageOutputFormat;
+    private final String auditStorageS3Bucket;
+    private final long authCodeExpiry;
+    private final String awsRegion;
+    private final Optional<String> baseUrl;
+    private final int bulkImportParallelism;
+    private final int bulkImportWriterCount;
+    private final long codeExpiry;
+    private final int codeMaxRetries;
+    private final String customerSupportLinkRoute;
+    private final Optional<URI> defaultLogoutUri;
+    private final String domainName;
+    private final Optional<String> dynamoEndpointUri;
+    private final String emailQueueUri;
+    private final String environment;
+    private final String eventsSnsTopicArn;
+    private final String frontendBaseUrl;
+    private final boolean headersCaseInsensitive;
+    private final long idTokenExpiry;
+    private final URI ipvAuthorisationCallbackUri;
+    private final String ipvAuthorisationClientId;
+    private final URI ipvAuthorisationUri;
+    private final boolean jacksonBlackbirdEnabled;
+    private final Optional<String> localstackEndpointUri;
+    private final Optional<URI> loginUri;
+    private final int maxPasswordRetries;
+    private final String migrationSubjectSaltParameterName;
+    private final String notificationLane;
+    private final String notifyApiKey;
+    private final Optional<String> notifyApiUrl;
+    private final int notifyMaxConcurrency;
+    private final Optional<String> notifyTestPhoneNumber;
+    private final String passwordPepperParameterName;
+    private final int persistentCookieMaxAge;
+    private final Optional<String> priorityEmailQueueUri;
+    private final String redisHostParameterName;
+    private final String redisPasswordParameterName;
+    private final String redisPortParameterName;
+    private final String redisTlsParameterName;
+    private final String resetPasswordRoute;
+    private final byte[] salt;
+    private final String sessionCookieAttributes;
+    private final int sessionCookieMaxAge;
+    private final long sessionExpiry;
+    private final URI skipLoginUri;
+    private final String smoketestBucketName;
+    private final Duration ssmParameterCacheTtl;
+    private final Optional<String> sqsEndpointUri;
+    private final boolean sqsFireAndFlushEnabled;
+    private final String termsAndConditionsVersion;
+    private final Optional<String> testClientVerifyEmailOtp;
+    private final Optional<String> testClientVerifyPhoneNumberOtp;
+    private final boolean testClientsEnabled;
+    private final String tokenSigningKeyAlias;
+    private final int warmupDelayMillis;
+
+    // Guarded by this.
     private AWSSimpleSystemsManagement ssmClient;
-    private Map<String, String> ssmRedisParameters;
-    private Optional<String> passwordPepper;
+    private ParameterStoreService redisParameters;
+    private ParameterStoreService pepperParameter;
+    private ParameterStoreService migrationSubjectSaltParameter;
+
+    public ConfigurationService() {
+        this(System.getenv());
+    }
+
+    public ConfigurationService(Map<String, String> variables) {
+        var env = new EnvironmentReader(variables);
+
+        accessTokenExpiry = env.parse("ACCESS_TOKEN_EXPIRY", "180", Long::parseLong);
+        accountManagementUri = env.get("ACCOUNT_MANAGEMENT_URI");
+        auditHmacSecret = env.get("AUDIT_HMAC_SECRET");
+        auditDeduplicationEnabled = env.flag("AUDIT_DEDUPLICATION_ENABLED");
+        auditDeduplicationLease = env.parse("AUDIT_DEDUPLICATION_LEASE", "60", Long::parseLong);
+        auditDeduplicationTtl = env.parse("AUDIT_DEDUPLICATION_TTL", "86400", Long::parseLong);
+        auditSigningKeyAlias = env.get("AUDIT_SIGNING_KEY_ALIAS");
+        auditStorageOutputFormat = env.get("AUDIT_STORAGE_OUTPUT_FORMAT", "JSON_LINES_GZIP");
+        auditStorageS3Bucket = env.get("AUDIT_STORAGE_S3_BUCKET");
+        authCodeExpiry = env.parse("AUTH_CODE_EXPIRY", "300", Long::parseLong);
+        awsRegion = env.get("AWS_REGION");
+        baseUrl = env.optional("BASE_URL");
+        bulkImportParallelism = env.parse("BULK_IMPORT_PARALLELISM", "8", Integer::parseInt);
+        bulkImportWriterCount = env.parse("BULK_IMPORT_WRITER_COUNT", "2", Integer::parseInt);
+        codeExpiry = env.parse("CODE_EXPIRY", "900", Long::parseLong);
+        codeMaxRetries = env.parse("CODE_MAX_RETRIES", "5", Integer::parseInt);
+        customerSupportLinkRoute = env.get("CUSTOMER_SUPPORT_LINK_ROUTE", "");
+        defaultLogoutUri = env.optionalUri("DEFAULT_LOGOUT_URI");
+        domainName = env.get("DOMAIN_NAME");
+        dynamoEndpointUri = env.optional("DYNAMO_ENDPOINT");
+        emailQueueUri = env.get("EMAIL_QUEUE_URL");
+        environment = env.get("ENVIRONMENT");
+        eventsSnsTopicArn = env.get("EVENTS_SNS_TOPIC_ARN");
+        frontendBaseUrl = env.get("FRONTEND_BASE_URL", "");
+        headersCaseInsensitive = env.flag("HEADERS_CASE_INSENSITIVE");
+        idTokenExpiry = env.parse("ID_TOKEN_EXPIRY", "120", Long::parseLong);
+        ipvAuthorisationCallbackUri =
+                env.parse("IPV_AUTHORISATION_CALLBACK_URI", "", URI::create);
+        ipvAuthorisationClientId = env.get("IPV_AUTHORISATION_CLIENT_ID", "");
+        ipvAuthorisationUri = env.parse("IPV_AUTHORISATION_URI", "", URI::create);
+        jacksonBlackbirdEnabled = env.flag("JACKSON_BLACKBIRD_ENABLED");
+        localstackEndpointUri = env.optional("LOCALSTACK_ENDPOINT");
+        loginUri = env.optionalUri("LOGIN_URI");
+        maxPasswordRetries = env.parse("PASSWORD_MAX_RETRIES", "5", Integer::parseInt);
+        notificationLane = env.get("NOTIFICATION_LANE", "standard");
+        notifyApiKey = env.get("NOTIFY_API_KEY");
+        notifyApiUrl = env.optional("NOTIFY_URL");
+        notifyMaxConcurrency = env.parse("NOTIFY_MAX_CONCURRENCY", "8", Integer::parseInt);
+        notifyTestPhoneNumber = env.optional("NOTIFY_TEST_PHONE_NUMBER");
+        persistentCookieMaxAge =
+                env.parse("PERSISTENT_COOKIE_MAX_AGE", "34190000", Integer::parseInt);
+        priorityEmailQueueUri = env.optional("PRIORITY_EMAIL_QUEUE_URL");
+        resetPasswordRoute = env.get("RESET_PASSWORD_ROUTE", "");
+        salt = env.get("SALT", "random").getBytes(StandardCharsets.UTF_8);
+        sessionCookieAttributes = env.get("SESSION_COOKIE_ATTRIBUTES", "Secure; HttpOnly;");
+        sessionCookieMaxAge = env.parse("SESSION_COOKIE_MAX_AGE", "3600", Integer::parseInt);
+        sessionExpiry = env.parse("SESSION_EXPIRY", "3600", Long::parseLong);
+        skipLoginUri = env.parse("SKIP_LOGIN_URI", "http://skip-login", URI::create);
+        smoketestBucketName = env.get("SMOKETEST_SMS_BUCKET_NAME");
+        sqsEndpointUri = env.optional("SQS_ENDPOINT");
+        ssmParameterCacheTtl =
+                Duration.ofSeconds(env.parse("SSM_PARAMETER_CACHE_TTL", "300", Long::parseLong));
+        sqsFireAndFlushEnabled = env.flag("SQS_FIRE_AND_FLUSH_ENABLED");
+        termsAndConditionsVersion = env.get("TERMS_CONDITIONS_VERSION");
+        testClientVerifyEmailOtp = env.optional("TEST_CLIENT_VERIFY_EMAIL_OTP");
+        testClientVerifyPhoneNumberOtp = env.optional("TEST_CLIENT_VERIFY_PHONE_NUMBER_OTP");
+        testClientsEnabled = env.flag("TEST_CLIENTS_ENABLED");
+        tokenSigningKeyAlias = env.get("TOKEN_SIGNING_KEY_ALIAS");
+        warmupDelayMillis = env.parse("WARMER_DELAY", "75", Integer::parseInt);
+
+        var redisKey = env.get("REDIS_KEY");
+        migrationSubjectSaltParameterName = format("{0}-migration-subject-salt", environment);
+        passwordPepperParameterName = format("{0}-password-pepper", environment);
+        redisHostParameterName = format("{0}-{1}-redis-master-host", environment, redisKey);
+        redisPasswordParameterName = format("{0}-{1}-redis-password", environment, redisKey);
+        redisPortParameterName = format("{0}-{1}-redis-port", environment, redisKey);
+        redisTlsParameterName = format("{0}-{1}-redis-tls", environment, redisKey);
+
+        env.validate();
+    }
 
     // Please keep the method names in alphabetical order so we can find stuff more easily.
     public long getAccessTokenExpiry() {
-        return Long.parseLong(System.getenv().getOrDefault("ACCESS_TOKEN_EXPIRY", "180"));
+        return accessTokenExpiry;
     }
 
     public String getAccountManagementURI() {
-        return System.getenv("ACCOUNT_MANAGEMENT_URI");
+        return accountManagementUri;
     }
 
     public long getAuthCodeExpiry() {
-        return Long.parseLong(System.getenv().getOrDefault("AUTH_CODE_EXPIRY", "300"));
+        return authCodeExpiry;
+    }
+
+    @Override
+    public String getAwsRegion() {
+        return awsRegion;
     }
 
     public Optional<String> getBaseURL() {
-        return Optional.ofNullable(System.getenv("BASE_URL"));
+        return baseUrl;
+    }
+
+    public int getBulkImportParallelism() {
+        return bulkImportParallelism;
+    }
+
+    public int getBulkImportWriterCount() {
+        return bulkImportWriterCount;
     }
 
     public long getCodeExpiry() {
-        return Long.parseLong(System.getenv().getOrDefault("CODE_EXPIRY", "900"));
+        return codeExpiry;
     }
 
     public int getCodeMaxRetries() {
-        return Integer.parseInt(System.getenv().getOrDefault("CODE_MAX_RETRIES", "5"));
+        return codeMaxRetries;
     }
 
     public String getCustomerSupportLinkRoute() {
-        return System.getenv().getOrDefault("CUSTOMER_SUPPORT_LINK_ROUTE", "");
+        return customerSupportLinkRoute;
     }
 
     public int getMaxPasswordRetries() {
-        return Integer.parseInt(System.getenv().getOrDefault("PASSWORD_MAX_RETRIES", "5"));
+        return maxPasswordRetries;
     }
 
     public URI getDefaultLogoutURI() {
-        return URI.create(System.getenv("DEFAULT_LOGOUT_URI"));
+        return defaultLogoutUri.orElseThrow(() -> notSet("DEFAULT_LOGOUT_URI"));
     }
 
     public String getDomainName() {
-        return System.getenv("DOMAIN_NAME");
+        return domainName;
     }
 
     public Optional<String> getDynamoEndpointUri() {
-        return Optional.ofNullable(System.getenv("DYNAMO_ENDPOINT"));
+        return dynamoEndpointUri;
     }
 
     public String getEmailQueueUri() {
-        return System.getenv("EMAIL_QUEUE_URL");
+        return emailQueueUri;
+    }
+
+    @Override
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public String getPriorityEmailQueueUri() {
+        return priorityEmailQueueUri.orElseGet(this::getEmailQueueUri);
     }
 
     public String getFrontendBaseUrl() {
-        return System.getenv().getOrDefault("FRONTEND_BASE_URL", "");
+        return frontendBaseUrl;
     }
 
     public boolean getHeadersCaseInsensitive() {
-        return System.getenv().getOrDefault("HEADERS_CASE_INSENSITIVE", "false").equals("true");
+        return headersCaseInsensitive;
     }
 
     public long getIDTokenExpiry() {
-        return Long.parseLong(System.getenv().getOrDefault("ID_TOKEN_EXPIRY", "120"));
+        return idTokenExpiry;
     }
 
     public URI getIPVAuthorisationURI() {
-        return URI.create(System.getenv().getOrDefault("IPV_AUTHORISATION_URI", ""));
+        return ipvAuthorisationUri;
     }
 
     public URI getIPVAuthorisationCallbackURI() {
-        return URI.create(System.getenv().getOrDefault("IPV_AUTHORISATION_CALLBACK_URI", ""));
+        return ipvAuthorisationCallbackUri;
     }
 
     public String getIPVAuthorisationClientId() {
-        return System.getenv().getOrDefault("IPV_AUTHORISATION_CLIENT_ID", "");
+        return ipvAuthorisationClientId;
+    }
+
+    public boolean isJacksonBlackbirdEnabled() {
+        return jacksonBlackbirdEnabled;
+    }
+
+    @Override
+    public Optional<String> getLocalstackEndpointUri() {
+        return localstackEndpointUri;
     }
 
     public URI getLoginURI() {
-        return URI.create(System.getenv("LOGIN_URI"));
+        return loginUri.orElseThrow(() -> notSet("LOGIN_URI"));
+    }
+
+    public Optional<byte[]> getMigrationSubjectSalt() {
+        return getMigrationSubjectSaltParameter()
+                .get(migrationSubjectSaltParameterName)
+                .map(salt -> salt.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getNotificationLane() {
+        return notificationLane;
     }
 
     public String getNotifyApiKey() {
-        return System.getenv("NOTIFY_API_KEY");
+        return notifyApiKey;
     }
 
     public Optional<String> getNotifyApiUrl() {
-        return Optional.ofNullable(System.getenv("NOTIFY_URL"));
+        return notifyApiUrl;
     }
 
     public Optional<String> getNotifyTestPhoneNumber() {
-        return Optional.ofNullable(System.getenv("NOTIFY_TEST_PHONE_NUMBER"));
+        return notifyTestPhoneNumber;
+    }
+
+    public int getNotifyMaxConcurrency() {
+        return notifyMaxConcurrency;
     }
 
     public Optional<String> getPasswordPepper() {
-        if (passwordPepper == null) {
-            try {
-                var request =
-                        new GetParameterRequest()
-                                .withWithDecryption(true)
-                                .withName(format("{0}-password-pepper", getEnvironment()));
-                passwordPepper =
-                        Optional.of(getSsmClient().getParameter(request).getParameter().getValue());
-            } catch (ParameterNotFoundException e) {
-                passwordPepper = Optional.empty();
-            }
-        }
-        return passwordPepper;
+        return getPepperParameter().get(passwordPepperParameterName);
     }
 
     public String getRedisHost() {
-        return getSsmRedisParameters()
-                .get(format("{0}-{1}-redis-master-host", getEnvironment(), getRedisKey()));
+        return getRedisParameters().getString(redisHostParameterName);
     }
 
     public Optional<String> getRedisPassword() {
-        return Optional.ofNullable(
-                getSsmRedisParameters()
-                        .get(format("{0}-{1}-redis-password", getEnvironment(), getRedisKey())));
+        return getRedisParameters().get(redisPasswordParameterName);
     }
 
     public int getRedisPort() {
-        return Integer.parseInt(
-                getSsmRedisParameters()
-                        .get(format("{0}-{1}-redis-port", getEnvironment(), getRedisKey())));
+        return getRedisParameters().getInt(redisPortParameterName);
     }
 
     public boolean getUseRedisTLS() {
-        return Boolean.parseBoolean(
-                getSsmRedisParameters()
-                        .get(format("{0}-{1}-redis-tls", getEnvironment(), getRedisKey())));
+        return getRedisParameters().getBoolean(redisTlsParameterName);
     }
 
     public String getResetPasswordRoute() {
-        return System.getenv().getOrDefault("RESET_PASSWORD_ROUTE", "");
+        return resetPasswordRoute;
     }
 
     public String getSessionCookieAttributes() {
-        return Optional.ofNullable(System.getenv("SESSION_COOKIE_ATTRIBUTES"))
-                .orElse("Secure; HttpOnly;");
+        return sessionCookieAttributes;
     }
 
     public int getSessionCookieMaxAge() {
-        return Integer.parseInt(System.getenv().getOrDefault("SESSION_COOKIE_MAX_AGE", "3600"));
+        return sessionCookieMaxAge;
     }
 
     public int getPersistentCookieMaxAge() {
-        return Integer.parseInt(
-                System.getenv().getOrDefault("PERSISTENT_COOKIE_MAX_AGE", "34190000"));
+        return persistentCookieMaxAge;
     }
 
     public long getSessionExpiry() {
-        return Long.parseLong(System.getenv().getOrDefault("SESSION_EXPIRY", "3600"));
+        return sessionExpiry;
     }
 
     public String getSmoketestBucketName() {
-        return System.getenv("SMOKETEST_SMS_BUCKET_NAME");
+        return smoketestBucketName;
     }
 
     public URI getSkipLoginURI() {
-        return URI.create(System.getenv().getOrDefault("SKIP_LOGIN_URI", "http://skip-login"));
+        return skipLoginUri;
+    }
+
+    public boolean isSqsFireAndFlushEnabled() {
+        return sqsFireAndFlushEnabled;
     }
 
     public Optional<String> getSqsEndpointUri() {
-        return Optional.ofNullable(System.getenv("SQS_ENDPOINT"));
+        return sqsEndpointUri;
+    }
+
+    public Duration getSsmParameterCacheTtl() {
+        return ssmParameterCacheTtl;
     }
 
     public String getTermsAndConditionsVersion() {
-        return System.getenv("TERMS_CONDITIONS_VERSION");
+        return termsAndConditionsVersion;
     }
 
     public Optional<String> getTestClientVerifyEmailOTP() {
-        return Optional.ofNullable(System.getenv("TEST_CLIENT_VERIFY_EMAIL_OTP"));
+        return testClientVerifyEmailOtp;
     }
 
     public Optional<String> getTestClientVerifyPhoneNumberOTP() {
-        return Optional.ofNullable(System.getenv("TEST_CLIENT_VERIFY_PHONE_NUMBER_OTP"));
+        return testClientVerifyPhoneNumberOtp;
     }
 
     public boolean isTestClientsEnabled() {
-        return System.getenv().getOrDefault("TEST_CLIENTS_ENABLED", "false").equals("true");
+        return testClientsEnabled;
     }
 
     public String getTokenSigningKeyAlias() {
-        return System.getenv("TOKEN_SIGNING_KEY_ALIAS");
+        return tokenSigningKeyAlias;
     }
 
     public String getAuditStorageS3Bucket() {
-        return System.getenv("AUDIT_STORAGE_S3_BUCKET");
+        return auditStorageS3Bucket;
+    }
+
+    public String getAuditStorageOutputFormat() {
+        return auditStorageOutputFormat;
+    }
+
+    public boolean isAuditDeduplicationEnabled() {
+        return auditDeduplicationEnabled;
+    }
+
+    public long getAuditDeduplicationLease() {
+        return auditDeduplicationLease;
+    }
+
+    public long getAuditDeduplicationTtl() {
+        return auditDeduplicationTtl;
+    }
+
+    @Override
+    public String getAuditSigningKeyAlias() {
+        return auditSigningKeyAlias;
+    }
+
+    @Override
+    public String getEventsSnsTopicArn() {
+        return eventsSnsTopicArn;
     }
 
     public int getWarmupDelayMillis() {
-        return Integer.parseInt(System.getenv().getOrDefault("WARMER_DELAY", "75"));
+        return warmupDelayMillis;
     }
 
     public byte[] getSalt() {
-        return System.getenv().getOrDefault("SALT", "random").getBytes(StandardCharsets.UTF_8);
+        return salt.clone();
     }
 
     public String getAuditHmacSecret() {
-        return System.getenv("AUDIT_HMAC_SECRET");
-    }
-
-    private Map<String, String> getSsmRedisParameters() {
-        if (ssmRedisParameters == null) {
-            var getParametersRequest =
-                    new GetParametersRequest()
-                            .withNames(
-                                    format(
-                                            "{0}-{1}-redis-master-host",
-                                            getEnvironment(), getRedisKey()),
-                                    format(
-                                            "{0}-{1}-redis-password",
-                                            getEnvironment(), getRedisKey()),
-                                    format("{0}-{1}-redis-port", getEnvironment(), getRedisKey()),
-                                    format("{0}-{1}-redis-tls", getEnvironment(), getRedisKey()))
-                            .withWithDecryption(true);
-            var result = getSsmClient().getParameters(getParametersRequest);
-            ssmRedisParameters =
-                    result.getParameters().stream()
-                            .collect(Collectors.toMap(p -> p.getName(), p -> p.getValue()));
+        return auditHmacSecret;
+    }
+
+    private synchronized ParameterStoreService getRedisParameters() {
+        if (redisParameters == null) {
+            redisParameters =
+                    new ParameterStoreService(
+                            getSsmClient(),
+                            List.of(
+                                    redisHostParameterName,
+                                    redisPasswordParameterName,
+                                    redisPortParameterName,
+                                    redisTlsParameterName),
+                            getSsmParameterCacheTtl());
         }
-        return ssmRedisParameters;
+        return redisParameters;
     }
 
-    private AWSSimpleSystemsManagement getSsmClient() {
+    private synchronized ParameterStoreService getPepperParameter() {
+        if (pepperParameter == null) {
+            pepperParameter =
+                    new ParameterStoreService(
+                            getSsmClient(),
+                            List.of(passwordPepperParameterName),
+                            getSsmParameterCacheTtl());
+        }
+        return pepperParameter;
+    }
+
+    private synchronized ParameterStoreService getMigrationSubjectSaltParameter() {
+        if (migrationSubjectSaltParameter == null) {
+            migrationSubjectSaltParameter =
+                    new ParameterStoreService(
+                            getSsmClient(),
+                            List.of(migrationSubjectSaltParameterName),
+                            getSsmParameterCacheTtl());
+        }
+        return migrationSubjectSaltParameter;
+    }
+
+    private synchronized AWSSimpleSystemsManagement getSsmClient() {
         if (ssmClient == null) {
             if (getLocalstackEndpointUri().isPresent()) {
                 LOGGER.info(
@@ -276,7 +501,70 @@ public class ConfigurationService implements BaseLambdaConfiguration, AuditPubli
         return ssmClient;
     }
 
-    private String getRedisKey() {
-        return System.getenv("REDIS_KEY");
+    private static IllegalStateException notSet(String name) {
+        return new IllegalStateException(name + " is not set");
+    }
+
+    private static class EnvironmentReader {
+
+        private final Map<String, String> variables;
+        private final List<String> invalid = new ArrayList<>();
+
+        private EnvironmentReader(Map<String, String> variables) {
+            this.variables = variables;
+        }
+
+        private String get(String name) {
+            return variables.get(name);
+        }
+
+        private String get(String name, String defaultValue) {
+            return variables.getOrDefault(name, defaultValue);
+        }
+
+        private Optional<String> optional(String name) {
+            return Optional.ofNullable(variables.get(name));
+        }
+
+        private <T> T parse(String name, String defaultValue, Function<String, T> parser) {
+            var value = get(name, defaultValue);
+            try {
+                return parser.apply(value);
+            } catch (IllegalArgumentException e) {
+                invalid.add(name + "=" + value);
+                return parser.apply(defaultValue);
+            }
+        }
+
+        private Optional<URI> optionalUri(String name) {
+            var value = get(name);
+            if (value == null) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(URI.create(value));
+            } catch (IllegalArgumentException e) {
+                invalid.add(name + "=" + value);
+                return Optional.empty();
+            }
+        }
+
+        private boolean flag(String name) {
+            var value = get(name, "false");
+            if (value.equalsIgnoreCase("true")) {
+                return true;
+            }
+            if (!value.equalsIgnoreCase("false")) {
+                invalid.add(name + "=" + value);
+            }
+            return false;
+        }
+
+        private void validate() {
+            if (!invalid.isEmpty()) {
+                throw new IllegalStateException(
+                        "Invalid configuration: " + String.join(", ", invalid));
+            }
+        }
     }
 }
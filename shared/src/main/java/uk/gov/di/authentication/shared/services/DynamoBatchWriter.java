@@ -0,0 +1,282 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.InternalServerErrorException;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.RequestLimitExceededException;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.entity.BulkWriteResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class DynamoBatchWriter {
+
+    private static final Logger LOG = LogManager.getLogger(DynamoBatchWriter.class);
+
+    public static final int MAX_BATCH_SIZE = 25;
+    public static final int DEFAULT_PARALLELISM = 8;
+    public static final int DEFAULT_MAX_RETRIES = 8;
+    public static final long DEFAULT_BASE_BACKOFF_MILLIS = 50;
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+
+    private final AmazonDynamoDB dynamoDB;
+    private final int maxRetries;
+    private final long baseBackoffMillis;
+    private final ExecutorService executor;
+
+    public DynamoBatchWriter(AmazonDynamoDB dynamoDB, int parallelism) {
+        this(dynamoDB, parallelism, DEFAULT_MAX_RETRIES, DEFAULT_BASE_BACKOFF_MILLIS);
+    }
+
+    public DynamoBatchWriter(
+            AmazonDynamoDB dynamoDB, int parallelism, int maxRetries, long baseBackoffMillis) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.dynamoDB = dynamoDB;
+        this.maxRetries = maxRetries;
+        this.baseBackoffMillis = baseBackoffMillis;
+        var pool =
+                new ThreadPoolExecutor(
+                        parallelism,
+                        parallelism,
+                        IDLE_THREAD_TIMEOUT_SECONDS,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "dynamo-batch-writer");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    public BulkWriteResult putAll(Map<String, List<Map<String, AttributeValue>>> itemsByTable) {
+        List<Map<String, List<WriteRequest>>> batches = new ArrayList<>();
+        itemsByTable.forEach(
+                (tableName, items) -> {
+                    for (int i = 0; i < items.size(); i += MAX_BATCH_SIZE) {
+                        batches.add(
+                                Map.of(
+                                        tableName,
+                                        items.subList(i, Math.min(i + MAX_BATCH_SIZE, items.size()))
+                                                .stream()
+                                                .map(
+                                                        item ->
+                                                                new WriteRequest(
+                                                                        new PutRequest(item)))
+                                                .collect(Collectors.toList())));
+                    }
+                });
+
+        long start = System.nanoTime();
+        List<Map<String, List<WriteRequest>>> failedBatches = new ArrayList<>();
+        if (!batches.isEmpty()) {
+            List<CompletableFuture<Map<String, List<WriteRequest>>>> futures =
+                    batches.stream()
+                            .map(
+                                    batch ->
+                                            CompletableFuture.supplyAsync(
+                                                    () -> writeWithRetries(batch), executor))
+                            .collect(Collectors.toList());
+            awaitAll(futures);
+            futures.stream()
+                    .map(CompletableFuture::join)
+                    .filter(unprocessed -> !unprocessed.isEmpty())
+                    .forEach(failedBatches::add);
+        }
+
+        int submitted = itemsByTable.values().stream().mapToInt(List::size).sum();
+        int failed = failedBatches.stream().mapToInt(DynamoBatchWriter::countItems).sum();
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        BulkWriteResult result =
+                new BulkWriteResult(submitted - failed, failed, batches.size(), durationMillis);
+        LOG.info(
+                "Wrote {} items in {} batches in {}ms ({} items/s), {} items failed",
+                result.getWritten(),
+                result.getBatches(),
+                result.getDurationMillis(),
+                result.getItemsPerSecond(),
+                result.getFailed());
+        return result;
+    }
+
+    public BulkWriteResult putAllIfAbsent(
+            Map<String, List<Map<String, AttributeValue>>> itemsByTable,
+            Map<String, String> hashKeyByTable) {
+        List<PutItemRequest> requests = new ArrayList<>();
+        itemsByTable.forEach(
+                (tableName, items) ->
+                        items.forEach(
+                                item ->
+                                        requests.add(
+                                                new PutItemRequest(tableName, item)
+                                                        .withConditionExpression(
+                                                                "attribute_not_exists(#key)")
+                                                        .withExpressionAttributeNames(
+                                                                Map.of(
+                                                                        "#key",
+                                                                        hashKeyByTable.get(
+                                                                                tableName))))));
+
+        long start = System.nanoTime();
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        if (!requests.isEmpty()) {
+            awaitAll(
+                    requests.stream()
+                            .map(
+                                    request ->
+                                            CompletableFuture.runAsync(
+                                                    () ->
+                                                            putIfAbsent(
+                                                                    request,
+                                                                    written,
+                                                                    skipped,
+                                                                    failed),
+                                                    executor))
+                            .collect(Collectors.toList()));
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        BulkWriteResult result =
+                new BulkWriteResult(
+                        written.get(),
+                        skipped.get(),
+                        failed.get(),
+                        requests.size(),
+                        durationMillis);
+        LOG.info(
+                "Conditionally wrote {} items in {}ms, {} already existed, {} items failed",
+                result.getWritten(),
+                result.getDurationMillis(),
+                result.getSkipped(),
+                result.getFailed());
+        return result;
+    }
+
+    private void putIfAbsent(
+            PutItemRequest request,
+            AtomicInteger written,
+            AtomicInteger skipped,
+            AtomicInteger failed) {
+        for (int attempt = 0; ; attempt++) {
+            if (attempt > 0) {
+                backoff(attempt);
+            }
+            try {
+                dynamoDB.putItem(request);
+                written.incrementAndGet();
+                return;
+            } catch (ConditionalCheckFailedException e) {
+                skipped.incrementAndGet();
+                return;
+            } catch (RuntimeException e) {
+                if (!isRetryable(e) || attempt >= maxRetries) {
+                    LOG.warn(
+                            "Conditional PutItem failed after {} attempts: {}",
+                            attempt + 1,
+                            e.getMessage());
+                    failed.incrementAndGet();
+                    return;
+                }
+                LOG.warn("Conditional PutItem attempt {} failed: {}", attempt + 1, e.getMessage());
+            }
+        }
+    }
+
+    private static boolean isRetryable(RuntimeException e) {
+        if (e instanceof ProvisionedThroughputExceededException
+                || e instanceof RequestLimitExceededException
+                || e instanceof InternalServerErrorException) {
+            return true;
+        }
+        if (e instanceof AmazonServiceException) {
+            return ((AmazonServiceException) e).getStatusCode() >= 500;
+        }
+        return e instanceof AmazonClientException;
+    }
+
+    private Map<String, List<WriteRequest>> writeWithRetries(
+            Map<String, List<WriteRequest>> batch) {
+        Map<String, List<WriteRequest>> pending = batch;
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            if (attempt > 0) {
+                backoff(attempt);
+            }
+            try {
+                pending =
+                        dynamoDB.batchWriteItem(new BatchWriteItemRequest(pending))
+                                .getUnprocessedItems();
+            } catch (RuntimeException e) {
+                LOG.warn(
+                        "BatchWriteItem attempt {} failed: {}", attempt + 1, e.getMessage());
+            }
+            if (pending == null || pending.isEmpty()) {
+                return Map.of();
+            }
+        }
+        LOG.error(
+                "Giving up on {} unprocessed items after {} retries",
+                countItems(pending),
+                maxRetries);
+        return pending;
+    }
+
+    /**
+     * Waits for every write to finish. If the caller or a worker is interrupted the writer is shut
+     * down, interrupting the remaining workers rather than leaving them running.
+     */
+    private void awaitAll(List<? extends CompletableFuture<?>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while writing to DynamoDB", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void backoff(int attempt) {
+        long cap = Math.min(MAX_BACKOFF_MILLIS, baseBackoffMillis * (1L << Math.min(attempt, 20)));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while backing off", e);
+        }
+    }
+
+    private static int countItems(Map<String, List<WriteRequest>> requests) {
+        return requests.values().stream().mapToInt(List::size).sum();
+    }
+}
@@ -5,22 +5,27 @@ import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.nimbusds.oauth2.sdk.id.ClientID;
 import uk.gov.di.authentication.shared.entity.ClientRegistry;
 import uk.gov.di.authentication.shared.entity.UpdateClientConfigRequest;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class DynamoClientService implements ClientService {
 
     private static final String CLIENT_REGISTRY_TABLE = "client-registry";
+    private static final String CLIENT_ID_FIELD = "ClientID";
     private final DynamoDBMapper clientRegistryMapper;
     private final AmazonDynamoDB dynamoDB;
+    private final String tableName;
 
     public DynamoClientService(String region, String environment, Optional<String> dynamoEndpoint) {
-        String tableName = environment + "-" + CLIENT_REGISTRY_TABLE;
+        this.tableName = environment + "-" + CLIENT_REGISTRY_TABLE;
         dynamoDB =
                 dynamoEndpoint
                         .map(
@@ -40,12 +45,16 @@ public class DynamoClientService implements ClientService {
                         .build();
 
         this.clientRegistryMapper = new DynamoDBMapper(dynamoDB, clientRegistryConfig);
-        warmUp(tableName);
     }
 
     @Override
     public boolean isValidClient(String clientId) {
-        return clientRegistryMapper.load(ClientRegistry.class, clientId) != null;
+        GetItemRequest request =
+                new GetItemRequest()
+                        .withTableName(tableName)
+                        .withKey(Map.of(CLIENT_ID_FIELD, new AttributeValue(clientId)))
+                        .withProjectionExpression(CLIENT_ID_FIELD);
+        return dynamoDB.getItem(request).getItem() != null;
     }
 
     @Override
@@ -102,7 +111,8 @@ public class DynamoClientService implements ClientService {
         return new ClientID(IdGenerator.generate());
     }
 
-    private void warmUp(String tableName) {
+    /** Opens the connection to DynamoDB by describing the client registry table. */
+    public void warmUp() {
         dynamoDB.describeTable(tableName);
     }
 }
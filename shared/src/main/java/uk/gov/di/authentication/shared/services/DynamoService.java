@@ -8,8 +8,12 @@ import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.nimbusds.oauth2.sdk.id.Subject;
+import uk.gov.di.authentication.shared.entity.BulkWriteResult;
 import uk.gov.di.authentication.shared.entity.ClientConsent;
+import uk.gov.di.authentication.shared.entity.SubjectLookup;
+import uk.gov.di.authentication.shared.entity.SubjectLookup.SubjectType;
 import uk.gov.di.authentication.shared.entity.TermsAndConditions;
 import uk.gov.di.authentication.shared.entity.UserCredentials;
 import uk.gov.di.authentication.shared.entity.UserProfile;
@@ -19,11 +23,13 @@ import uk.gov.di.authentication.shared.helpers.PhoneNumberHelper;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static java.util.Objects.nonNull;
@@ -32,18 +38,36 @@ public class DynamoService implements AuthenticationService {
 
     private final DynamoDBMapper userCredentialsMapper;
     private final DynamoDBMapper userProfileMapper;
+    private final DynamoDBMapper subjectLookupMapper;
     private static final String USER_CREDENTIALS_TABLE = "user-credentials";
     private static final String USER_PROFILE_TABLE = "user-profile";
+    private static final String SUBJECT_LOOKUP_TABLE = "subject-lookup";
+    private static final String EMAIL_FIELD = "Email";
+    private static final String SUBJECT_ID_FIELD = "SubjectID";
+    private static final String PHONE_NUMBER_FIELD = "PhoneNumber";
     private final AmazonDynamoDB dynamoDB;
+    private final String userProfileTableName;
+    private final String userCredentialsTableName;
+    private final String subjectLookupTableName;
+    private final DynamoBatchWriter batchWriter;
 
     public DynamoService(ConfigurationService configurationService) {
         this(
                 configurationService.getAwsRegion(),
                 configurationService.getEnvironment(),
-                configurationService.getDynamoEndpointUri());
+                configurationService.getDynamoEndpointUri(),
+                configurationService.getBulkImportParallelism());
     }
 
     public DynamoService(String region, String environment, Optional<String> dynamoEndpoint) {
+        this(region, environment, dynamoEndpoint, DynamoBatchWriter.DEFAULT_PARALLELISM);
+    }
+
+    public DynamoService(
+            String region,
+            String environment,
+            Optional<String> dynamoEndpoint,
+            int bulkImportParallelism) {
         dynamoDB =
                 dynamoEndpoint
                         .map(
@@ -54,6 +78,7 @@ public class DynamoService implements AuthenticationService {
                                                                 t, region)))
                         .orElse(AmazonDynamoDBClientBuilder.standard().withRegion(region))
                         .build();
+        this.userProfileTableName = environment + "-" + USER_PROFILE_TABLE;
 
         DynamoDBMapperConfig userCredentialsConfig =
                 new DynamoDBMapperConfig.Builder()
@@ -65,16 +90,25 @@ public class DynamoService implements AuthenticationService {
                 new DynamoDBMapperConfig.Builder()
                         .withTableNameOverride(
                                 DynamoDBMapperConfig.TableNameOverride.withTableNameReplacement(
-                                        environment + "-" + USER_PROFILE_TABLE))
+                                        userProfileTableName))
+                        .build();
+        DynamoDBMapperConfig subjectLookupConfig =
+                new DynamoDBMapperConfig.Builder()
+                        .withTableNameOverride(
+                                DynamoDBMapperConfig.TableNameOverride.withTableNameReplacement(
+                                        environment + "-" + SUBJECT_LOOKUP_TABLE))
                         .build();
         this.userCredentialsMapper = new DynamoDBMapper(dynamoDB, userCredentialsConfig);
         this.userProfileMapper = new DynamoDBMapper(dynamoDB, userProfileConfig);
-        warmUp(environment + "-" + USER_PROFILE_TABLE);
+        this.subjectLookupMapper = new DynamoDBMapper(dynamoDB, subjectLookupConfig);
+        this.userCredentialsTableName = environment + "-" + USER_CREDENTIALS_TABLE;
+        this.subjectLookupTableName = environment + "-" + SUBJECT_LOOKUP_TABLE;
+        this.batchWriter = new DynamoBatchWriter(dynamoDB, bulkImportParallelism);
     }
 
     @Override
     public boolean userExists(String email) {
-        return userProfileMapper.load(UserProfile.class, email.toLowerCase(Locale.ROOT)) != null;
+        return getUserProfileAttributes(email, EMAIL_FIELD).isPresent();
     }
 
     @Override
@@ -102,6 +136,7 @@ public class DynamoService implements AuthenticationService {
                         .setLegacySubjectID(null);
         userCredentialsMapper.save(userCredentials);
         userProfileMapper.save(userProfile);
+        saveSubjectLookups(userProfile);
     }
 
     @Override
@@ -113,10 +148,12 @@ public class DynamoService implements AuthenticationService {
 
     @Override
     public Subject getSubjectFromEmail(String email) {
-        return new Subject(
-                userProfileMapper
-                        .load(UserProfile.class, email.toLowerCase(Locale.ROOT))
-                        .getSubjectID());
+        return getUserProfileAttributes(email, SUBJECT_ID_FIELD)
+                .map(item -> item.get(SUBJECT_ID_FIELD))
+                .map(AttributeValue::getS)
+                .map(Subject::new)
+                .orElseThrow(
+                        () -> new RuntimeException("No user profile found for email address"));
     }
 
     @Override
@@ -154,10 +191,9 @@ public class DynamoService implements AuthenticationService {
 
     @Override
     public void updateEmail(String currentEmail, String newEmail) {
-        userProfileMapper.save(
-                userProfileMapper
-                        .load(UserProfile.class, currentEmail)
-                        .setEmail(newEmail.toLowerCase(Locale.ROOT)));
+        UserProfile userProfile = userProfileMapper.load(UserProfile.class, currentEmail);
+        userProfileMapper.save(userProfile.setEmail(newEmail.toLowerCase(Locale.ROOT)));
+        saveSubjectLookups(userProfile);
         userProfileMapper.delete(
                 userProfileMapper.load(UserProfile.class, currentEmail.toLowerCase(Locale.ROOT)));
         userCredentialsMapper.save(
@@ -180,8 +216,10 @@ public class DynamoService implements AuthenticationService {
 
     @Override
     public void removeAccount(String email) {
-        userProfileMapper.delete(
-                userProfileMapper.load(UserProfile.class, email.toLowerCase(Locale.ROOT)));
+        UserProfile userProfile =
+                userProfileMapper.load(UserProfile.class, email.toLowerCase(Locale.ROOT));
+        toSubjectLookups(userProfile).forEach(subjectLookupMapper::delete);
+        userProfileMapper.delete(userProfile);
         userCredentialsMapper.delete(
                 userCredentialsMapper.load(UserCredentials.class, email.toLowerCase(Locale.ROOT)));
     }
@@ -230,10 +268,42 @@ public class DynamoService implements AuthenticationService {
     }
 
     @Override
-    public void bulkAdd(
+    public BulkWriteResult bulkAdd(
+            List<UserCredentials> userCredentialsList, List<UserProfile> userProfileList) {
+        return batchWriter.putAll(toBulkItems(userCredentialsList, userProfileList));
+    }
+
+    @Override
+    public BulkWriteResult bulkAddIfAbsent(
+            List<UserCredentials> userCredentialsList, List<UserProfile> userProfileList) {
+        return batchWriter.putAllIfAbsent(
+                toBulkItems(userCredentialsList, userProfileList),
+                Map.of(
+                        userCredentialsTableName, EMAIL_FIELD,
+                        userProfileTableName, EMAIL_FIELD,
+                        subjectLookupTableName, SUBJECT_ID_FIELD));
+    }
+
+    private Map<String, List<Map<String, AttributeValue>>> toBulkItems(
             List<UserCredentials> userCredentialsList, List<UserProfile> userProfileList) {
-        userCredentialsMapper.batchSave(userCredentialsList);
-        userProfileMapper.batchSave(userProfileList);
+        var userCredentialsModel = userCredentialsMapper.getTableModel(UserCredentials.class);
+        var userProfileModel = userProfileMapper.getTableModel(UserProfile.class);
+        var subjectLookupModel = subjectLookupMapper.getTableModel(SubjectLookup.class);
+
+        return Map.of(
+                userCredentialsTableName,
+                userCredentialsList.stream()
+                        .map(userCredentialsModel::convert)
+                        .collect(Collectors.toList()),
+                userProfileTableName,
+                userProfileList.stream()
+                        .map(userProfileModel::convert)
+                        .collect(Collectors.toList()),
+                subjectLookupTableName,
+                userProfileList.stream()
+                        .flatMap(userProfile -> toSubjectLookups(userProfile).stream())
+                        .map(subjectLookupModel::convert)
+                        .collect(Collectors.toList()));
     }
 
     @Override
@@ -254,10 +324,9 @@ public class DynamoService implements AuthenticationService {
 
     @Override
     public Optional<String> getPhoneNumber(String email) {
-        return Optional.ofNullable(
-                userProfileMapper
-                        .load(UserProfile.class, email.toLowerCase(Locale.ROOT))
-                        .getPhoneNumber());
+        return getUserProfileAttributes(email, PHONE_NUMBER_FIELD)
+                .map(item -> item.get(PHONE_NUMBER_FIELD))
+                .map(AttributeValue::getS);
     }
 
     @Override
@@ -290,6 +359,58 @@ public class DynamoService implements AuthenticationService {
         return getUserProfile(queryExpression);
     }
 
+    @Override
+    public Optional<String> getEmailFromSubject(String subject) {
+        return getEmailFromSubjectLookup(subject, SubjectType.INTERNAL);
+    }
+
+    @Override
+    public Optional<String> getEmailFromPublicSubject(String publicSubject) {
+        return getEmailFromSubjectLookup(publicSubject, SubjectType.PUBLIC);
+    }
+
+    private Optional<String> getEmailFromSubjectLookup(String subject, SubjectType subjectType) {
+        return Optional.ofNullable(subjectLookupMapper.load(SubjectLookup.class, subject))
+                .filter(subjectLookup -> subjectLookup.getSubjectType() == subjectType)
+                .map(SubjectLookup::getEmail);
+    }
+
+    private void saveSubjectLookups(UserProfile userProfile) {
+        toSubjectLookups(userProfile).forEach(subjectLookupMapper::save);
+    }
+
+    private List<SubjectLookup> toSubjectLookups(UserProfile userProfile) {
+        List<SubjectLookup> subjectLookups = new ArrayList<>();
+        if (nonNull(userProfile.getSubjectID())) {
+            subjectLookups.add(
+                    new SubjectLookup(
+                            userProfile.getSubjectID(),
+                            SubjectType.INTERNAL,
+                            userProfile.getEmail()));
+        }
+        if (nonNull(userProfile.getPublicSubjectID())) {
+            subjectLookups.add(
+                    new SubjectLookup(
+                            userProfile.getPublicSubjectID(),
+                            SubjectType.PUBLIC,
+                            userProfile.getEmail()));
+        }
+        return subjectLookups;
+    }
+
+    private Optional<Map<String, AttributeValue>> getUserProfileAttributes(
+            String email, String... attributeNames) {
+        GetItemRequest request =
+                new GetItemRequest()
+                        .withTableName(userProfileTableName)
+                        .withKey(
+                                Map.of(
+                                        EMAIL_FIELD,
+                                        new AttributeValue(email.toLowerCase(Locale.ROOT))))
+                        .withProjectionExpression(String.join(",", attributeNames));
+        return Optional.ofNullable(dynamoDB.getItem(request).getItem());
+    }
+
     private UserProfile getUserProfile(DynamoDBQueryExpression<UserProfile> queryExpression) {
         QueryResultPage<UserProfile> scanPage =
                 userProfileMapper.queryPage(UserProfile.class, queryExpression);
@@ -323,7 +444,8 @@ public class DynamoService implements AuthenticationService {
         return Argon2MatcherHelper.matchRawStringWithEncoded(password, hashedPassword);
     }
 
-    private void warmUp(String tableName) {
-        dynamoDB.describeTable(tableName);
+    /** Opens the connection to DynamoDB by describing the user profile table. */
+    public void warmUp() {
+        dynamoDB.describeTable(userProfileTableName);
     }
 }
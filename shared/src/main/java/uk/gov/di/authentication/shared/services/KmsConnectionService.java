@@ -18,6 +18,7 @@ import java.util.Optional;
 public class KmsConnectionService {
 
     private final AWSKMS kmsClient;
+    private final String keyId;
     private static final Logger LOGGER = LogManager.getLogger(KmsConnectionService.class);
 
     public KmsConnectionService(ConfigurationService configurationService) {
@@ -29,6 +30,7 @@ public class KmsConnectionService {
 
     public KmsConnectionService(
             Optional<String> localstackEndpointUri, String awsRegion, String tokenSigningKeyId) {
+        this.keyId = tokenSigningKeyId;
         if (localstackEndpointUri.isPresent()) {
             LOGGER.info("Localstack endpoint URI is present: " + localstackEndpointUri.get());
             this.kmsClient =
@@ -40,7 +42,6 @@ public class KmsConnectionService {
         } else {
             this.kmsClient = AWSKMSClientBuilder.standard().withRegion(awsRegion).build();
         }
-        warmUp(tokenSigningKeyId);
     }
 
     public GetPublicKeyResult getPublicKey(GetPublicKeyRequest getPublicKeyRequest) {
@@ -65,13 +66,10 @@ public class KmsConnectionService {
         return kmsClient.sign(signRequest);
     }
 
-    private void warmUp(String keyId) {
+    /** Opens the connection to KMS by fetching the public key this service was created for. */
+    public void warmUp() {
         GetPublicKeyRequest request = new GetPublicKeyRequest();
         request.setKeyId(keyId);
-        try {
-            kmsClient.getPublicKey(request);
-        } catch (Exception e) {
-            LOGGER.info("Unable to retrieve Public Key whilst warming up");
-        }
+        kmsClient.getPublicKey(request);
     }
 }
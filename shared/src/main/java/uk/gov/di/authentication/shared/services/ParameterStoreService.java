@@ -0,0 +1,151 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caches a declared set of SSM parameters, fetching them together with as few {@code
+ * GetParameters} calls as SSM allows.
+ *
+ * <p>Every parameter is loaded on the first read. Once the values are older than the TTL the next
+ * read returns them as they are and starts a refresh in the background, so a rotated secret is
+ * picked up without a redeploy and without a request waiting on SSM. A failed refresh keeps the
+ * previous values and is retried after {@link #RETRY_DELAY}. A declared parameter that does not
+ * exist reads as empty.
+ */
+public class ParameterStoreService {
+
+    private static final Logger LOG = LogManager.getLogger(ParameterStoreService.class);
+    static final int MAX_NAMES_PER_REQUEST = 10;
+    static final Duration RETRY_DELAY = Duration.ofSeconds(10);
+    private static final Executor REFRESHER =
+            Executors.newSingleThreadExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "parameter-store-refresh");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private final AWSSimpleSystemsManagement ssmClient;
+    private final List<String> names;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Executor refresher;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    public ParameterStoreService(
+            AWSSimpleSystemsManagement ssmClient, List<String> names, Duration ttl) {
+        this(ssmClient, names, ttl, Clock.systemUTC(), REFRESHER);
+    }
+
+    public ParameterStoreService(
+            AWSSimpleSystemsManagement ssmClient,
+            List<String> names,
+            Duration ttl,
+            Clock clock,
+            Executor refresher) {
+        this.ssmClient = ssmClient;
+        this.names = List.copyOf(names);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.refresher = refresher;
+    }
+
+    public Optional<String> get(String name) {
+        return Optional.ofNullable(current().values.get(name));
+    }
+
+    public String getString(String name) {
+        return get(name).orElseThrow(() -> new ParameterNotLoadedException(name));
+    }
+
+    public int getInt(String name) {
+        return Integer.parseInt(getString(name));
+    }
+
+    public boolean getBoolean(String name) {
+        return Boolean.parseBoolean(getString(name));
+    }
+
+    private Snapshot current() {
+        var loaded = snapshot;
+        if (loaded == null) {
+            loaded = loadIfAbsent();
+        }
+        if (!clock.instant().isBefore(loaded.refreshAfter)
+                && refreshing.compareAndSet(false, true)) {
+            refresher.execute(this::refresh);
+        }
+        return loaded;
+    }
+
+    private synchronized Snapshot loadIfAbsent() {
+        if (snapshot == null) {
+            snapshot = new Snapshot(fetch(), clock.instant().plus(ttl));
+        }
+        return snapshot;
+    }
+
+    private void refresh() {
+        try {
+            snapshot = new Snapshot(fetch(), clock.instant().plus(ttl));
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to refresh SSM parameters, keeping previous values", e);
+            snapshot = new Snapshot(snapshot.values, clock.instant().plus(RETRY_DELAY));
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private Map<String, String> fetch() {
+        var values = new HashMap<String, String>();
+        for (int i = 0; i < names.size(); i += MAX_NAMES_PER_REQUEST) {
+            var request =
+                    new GetParametersRequest()
+                            .withNames(
+                                    names.subList(
+                                            i, Math.min(i + MAX_NAMES_PER_REQUEST, names.size())))
+                            .withWithDecryption(true);
+            var result = ssmClient.getParameters(request);
+            for (Parameter parameter : result.getParameters()) {
+                values.put(parameter.getName(), parameter.getValue());
+            }
+            if (!result.getInvalidParameters().isEmpty()) {
+                LOG.warn("SSM parameters not found: {}", result.getInvalidParameters());
+            }
+        }
+        return Map.copyOf(values);
+    }
+
+    private static class Snapshot {
+        private final Map<String, String> values;
+        private final Instant refreshAfter;
+
+        private Snapshot(Map<String, String> values, Instant refreshAfter) {
+            this.values = values;
+            this.refreshAfter = refreshAfter;
+        }
+    }
+
+    public static class ParameterNotLoadedException extends RuntimeException {
+        public ParameterNotLoadedException(String name) {
+            super("SSM parameter " + name + " is not available");
+        }
+    }
+}
@@ -26,7 +26,6 @@ public class RedisConnectionService implements AutoCloseable {
         this.pool =
                 ConnectionPoolSupport.createGenericObjectPool(
                         client::connect, new GenericObjectPoolConfig());
-        warmUp();
     }
 
     public RedisConnectionService(ConfigurationService configurationService) {
@@ -82,11 +81,12 @@ public class RedisConnectionService implements AutoCloseable {
         }
     }
 
-    private void warmUp() {
+    /** Opens the first pooled connection so the first request does not pay for the handshake. */
+    public void warmUp() {
         try (StatefulRedisConnection<String, String> connection = pool.borrowObject()) {
             connection.sync().clientGetname();
         } catch (Exception e) {
-
+            throw new IllegalStateException("Unable to connect to Redis", e);
         }
     }
 
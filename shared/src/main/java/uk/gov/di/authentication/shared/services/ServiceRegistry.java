@@ -0,0 +1,251 @@
+package uk.gov.di.authentication.shared.services;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.CompletableFuture.runAsync;
+
+/**
+ * The clients and services the Lambda handlers use, each created the first time it is asked for
+ * and then shared for the life of the JVM. Handlers built from the same {@link
+ * ConfigurationService} therefore share one Redis pool, one KMS client per key and one DynamoDB
+ * client per table group, instead of every service opening its own.
+ *
+ * <p>Handlers ask for everything they need with {@link #createInParallel(Supplier[])} during
+ * initialisation, which then warms up the clients that were created with a {@link
+ * WarmUpOrchestrator}, so a cold start pays for the slowest client rather than the sum of all of
+ * them.
+ */
+public class ServiceRegistry {
+
+    private static final Map<ConfigurationService, ServiceRegistry> REGISTRIES =
+            new ConcurrentHashMap<>();
+
+    private final ConfigurationService configurationService;
+    private final Set<String> warmedUp = ConcurrentHashMap.newKeySet();
+
+    private final Lazy<RedisConnectionService> redisConnectionService;
+    private final Lazy<KmsConnectionService> kmsConnectionService;
+    private final Lazy<DynamoService> dynamoService;
+    private final Lazy<DynamoClientService> dynamoClientService;
+
+    private final Lazy<AuditService> auditService;
+    private final Lazy<AuthorisationCodeService> authorisationCodeService;
+    private final Lazy<AuthorizationService> authorizationService;
+    private final Lazy<ClientSessionService> clientSessionService;
+    private final Lazy<CodeStorageService> codeStorageService;
+    private final Lazy<SessionService> sessionService;
+    private final Lazy<TokenService> tokenService;
+    private final Lazy<TokenValidationService> tokenValidationService;
+
+    private ServiceRegistry(ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+        this.redisConnectionService =
+                new Lazy<>(() -> new RedisConnectionService(configurationService));
+        this.kmsConnectionService =
+                new Lazy<>(() -> new KmsConnectionService(configurationService));
+        this.dynamoService = new Lazy<>(() -> new DynamoService(configurationService));
+        this.dynamoClientService =
+                new Lazy<>(
+                        () ->
+                                new DynamoClientService(
+                                        configurationService.getAwsRegion(),
+                                        configurationService.getEnvironment(),
+                                        configurationService.getDynamoEndpointUri()));
+        this.auditService = new Lazy<>(() -> new AuditService(configurationService));
+        this.authorisationCodeService =
+                new Lazy<>(
+                        () ->
+                                new AuthorisationCodeService(
+                                        configurationService, getRedisConnectionService()));
+        this.authorizationService =
+                new Lazy<>(
+                        () ->
+                                new AuthorizationService(
+                                        getDynamoClientService(), getDynamoService()));
+        this.clientSessionService =
+                new Lazy<>(
+                        () ->
+                                new ClientSessionService(
+                                        configurationService, getRedisConnectionService()));
+        this.codeStorageService =
+                new Lazy<>(() -> new CodeStorageService(getRedisConnectionService()));
+        this.sessionService =
+                new Lazy<>(
+                        () ->
+                                new SessionService(
+                                        configurationService, getRedisConnectionService()));
+        this.tokenService =
+                new Lazy<>(
+                        () ->
+                                new TokenService(
+                                        configurationService,
+                                        getRedisConnectionService(),
+                                        getKmsConnectionService()));
+        this.tokenValidationService =
+                new Lazy<>(
+                        () ->
+                                new TokenValidationService(
+                                        configurationService, getKmsConnectionService()));
+    }
+
+    public static ServiceRegistry getInstance() {
+        return forConfiguration(ConfigurationService.getInstance());
+    }
+
+    public static ServiceRegistry forConfiguration(ConfigurationService configurationService) {
+        return REGISTRIES.computeIfAbsent(configurationService, ServiceRegistry::new);
+    }
+
+    /**
+     * Creates each of {@code services} on its own thread and waits for all of them, then warms up
+     * the clients they use. Services that depend on one another wait for the shared client rather
+     * than creating a second one.
+     */
+    public void createInParallel(Supplier<?>... services) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, services.length));
+        try {
+            CompletableFuture.allOf(
+                            Arrays.stream(services)
+                                    .map(service -> runAsync(service::get, executor))
+                                    .toArray(CompletableFuture[]::new))
+                    .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+        warmUp();
+    }
+
+    /**
+     * Warms up, at the same time, each client that has been created but not yet warmed up, along
+     * with the JSON and JWT code paths the first time it is called. Failures are logged rather than
+     * thrown, and a client that failed is not retried.
+     */
+    public Map<String, WarmUpOrchestrator.Timing> warmUp() {
+        var orchestrator = new WarmUpOrchestrator();
+        addPrimer(orchestrator, "redis", redisConnectionService, RedisConnectionService::warmUp);
+        addPrimer(orchestrator, "kms", kmsConnectionService, KmsConnectionService::warmUp);
+        addPrimer(orchestrator, "kms-audit", auditService, AuditService::warmUp);
+        addPrimer(orchestrator, "dynamodb-user-profile", dynamoService, DynamoService::warmUp);
+        addPrimer(
+                orchestrator,
+                "dynamodb-client-registry",
+                dynamoClientService,
+                DynamoClientService::warmUp);
+        if (warmedUp.add("code-paths")) {
+            orchestrator.withCodePathPrimers();
+        }
+        return orchestrator.run();
+    }
+
+    private <T> void addPrimer(
+            WarmUpOrchestrator orchestrator,
+            String dependency,
+            Lazy<T> client,
+            Consumer<T> primer) {
+        client.ifCreated(
+                value -> {
+                    if (warmedUp.add(dependency)) {
+                        orchestrator.add(dependency, () -> primer.accept(value));
+                    }
+                });
+    }
+
+    public ConfigurationService getConfigurationService() {
+        return configurationService;
+    }
+
+    public AuditService getAuditService() {
+        return auditService.get();
+    }
+
+    public AuthorisationCodeService getAuthorisationCodeService() {
+        return authorisationCodeService.get();
+    }
+
+    public AuthorizationService getAuthorizationService() {
+        return authorizationService.get();
+    }
+
+    public ClientSessionService getClientSessionService() {
+        return clientSessionService.get();
+    }
+
+    public CodeStorageService getCodeStorageService() {
+        return codeStorageService.get();
+    }
+
+    public DynamoClientService getDynamoClientService() {
+        return dynamoClientService.get();
+    }
+
+    public DynamoService getDynamoService() {
+        return dynamoService.get();
+    }
+
+    public KmsConnectionService getKmsConnectionService() {
+        return kmsConnectionService.get();
+    }
+
+    public RedisConnectionService getRedisConnectionService() {
+        return redisConnectionService.get();
+    }
+
+    public SessionService getSessionService() {
+        return sessionService.get();
+    }
+
+    public TokenService getTokenService() {
+        return tokenService.get();
+    }
+
+    public TokenValidationService getTokenValidationService() {
+        return tokenValidationService.get();
+    }
+
+    /** Creates its value on the first call and returns the same value after that. */
+    static final class Lazy<T> implements Supplier<T> {
+
+        private final Supplier<T> factory;
+        private volatile T value;
+
+        Lazy(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public T get() {
+            T result = value;
+            if (result == null) {
+                synchronized (this) {
+                    result = value;
+                    if (result == null) {
+                        result = factory.get();
+                        value = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        void ifCreated(Consumer<T> action) {
+            T result = value;
+            if (result != null) {
+                action.accept(result);
+            }
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package uk.gov.di.authentication.shared.services;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.entity.Session;
 import uk.gov.di.authentication.shared.helpers.CookieHelper;
 import uk.gov.di.authentication.shared.helpers.IdGenerator;
-import uk.gov.di.authentication.shared.helpers.ObjectMapperFactory;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 
 import java.util.Map;
 import java.util.Optional;
@@ -19,8 +18,6 @@ public class SessionService {
 
     private static final Logger LOGGER = LogManager.getLogger(SessionService.class);
 
-    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.getInstance();
-
     private final ConfigurationService configurationService;
     private final RedisConnectionService redisConnectionService;
 
@@ -49,7 +46,7 @@ public class SessionService {
         try {
             redisConnectionService.saveWithExpiry(
                     session.getSessionId(),
-                    OBJECT_MAPPER.writeValueAsString(session),
+                    JsonRegistry.writeValueAsString(session),
                     configurationService.getSessionExpiry());
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -106,7 +103,7 @@ public class SessionService {
         try {
             if (redisConnectionService.keyExists(sessionId)) {
                 return Optional.of(
-                        OBJECT_MAPPER.readValue(
+                        JsonRegistry.readValue(
                                 redisConnectionService.getValue(sessionId), Session.class));
             } else {
                 return Optional.empty();
@@ -3,12 +3,21 @@ package uk.gov.di.authentication.shared.services;
 import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.sns.AmazonSNS;
 import com.amazonaws.services.sns.AmazonSNSClientBuilder;
+import com.amazonaws.services.sns.model.PublishBatchRequest;
+import com.amazonaws.services.sns.model.PublishBatchRequestEntry;
+import com.amazonaws.services.sns.model.PublishBatchResult;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.configuration.AuditPublisherConfiguration;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 public class SnsService {
 
+    public static final int MAX_BATCH_SIZE = 10;
+
     private final String topicArn;
     private final AmazonSNS snsClient;
     private static final Logger LOGGER = LogManager.getLogger(SnsService.class);
@@ -33,4 +42,40 @@ public class SnsService {
     public void publishAuditMessage(String message) {
         snsClient.publish(topicArn, message);
     }
+
+    /**
+     * Publishes up to {@link #MAX_BATCH_SIZE} messages in a single PublishBatch call and returns
+     * the messages SNS did not accept, in their original order.
+     */
+    public List<String> publishAuditMessages(List<String> messages) {
+        if (messages.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "Cannot publish more than " + MAX_BATCH_SIZE + " messages in one batch");
+        }
+        List<PublishBatchRequestEntry> entries = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            entries.add(
+                    new PublishBatchRequestEntry()
+                            .withId(String.valueOf(i))
+                            .withMessage(messages.get(i)));
+        }
+        PublishBatchResult result =
+                snsClient.publishBatch(
+                        new PublishBatchRequest()
+                                .withTopicArn(topicArn)
+                                .withPublishBatchRequestEntries(entries));
+
+        List<String> failed = new ArrayList<>();
+        result.getFailed().stream()
+                .sorted(Comparator.comparingInt(entry -> Integer.parseInt(entry.getId())))
+                .forEach(
+                        entry -> {
+                            LOGGER.warn(
+                                    "SNS rejected audit message: {} {}",
+                                    entry.getCode(),
+                                    entry.getMessage());
+                            failed.add(messages.get(Integer.parseInt(entry.getId())));
+                        });
+        return failed;
+    }
 }
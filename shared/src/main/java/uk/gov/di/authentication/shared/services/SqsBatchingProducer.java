@@ -0,0 +1,307 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+/**
+ * Sends messages to an SQS queue without blocking the caller, coalescing messages sent within a
+ * short linger window into a single {@code SendMessageBatch} call.
+ *
+ * <p>A batch is sent as soon as it holds ten messages or 256 KiB, or once the linger window has
+ * passed since its first message. The linger defaults to zero, so a caller that waits for its
+ * message is never delayed; callers that send several messages without waiting for each one can
+ * pass {@link #BATCHING_LINGER} to have them coalesced.
+ *
+ * <p>Entries SQS rejects as its own fault, and batches that fail outright, are resent together
+ * after a full-jitter exponential backoff; entries rejected as the sender's fault are not. A
+ * message that cannot be sent fails its future and is passed to the error callback, which never
+ * sees successful sends.
+ *
+ * <p>Lambda freezes background threads between invocations, so anything still pending when a
+ * handler returns would wait for the next invocation. Handlers must call {@link #flushAll()}
+ * before returning.
+ */
+public class SqsBatchingProducer {
+
+    private static final Logger LOG = LogManager.getLogger(SqsBatchingProducer.class);
+    static final int MAX_BATCH_ENTRIES = 10;
+    static final int MAX_BATCH_BYTES = 256 * 1024;
+    public static final Duration BATCHING_LINGER = Duration.ofMillis(10);
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final Duration DEFAULT_RETRY_BASE_DELAY = Duration.ofMillis(25);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(1);
+    private static final long FLUSH_TIMEOUT_SECONDS = 10;
+    private static final ScheduledExecutorService SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "sqs-producer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+    private static final Map<String, SqsAsyncClient> CLIENTS = new ConcurrentHashMap<>();
+    private static final Set<SqsBatchingProducer> PRODUCERS =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final SqsAsyncClient client;
+    private final String queueUrl;
+    private final Duration linger;
+    private final int maxAttempts;
+    private final Duration retryBaseDelay;
+    private final BiConsumer<String, Throwable> onError;
+    private final Set<CompletableFuture<Void>> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Guarded by this.
+    private List<PendingMessage> pending = new ArrayList<>();
+    private int pendingBytes;
+    private ScheduledFuture<?> scheduledSend;
+
+    public SqsBatchingProducer(String region, String queueUrl, Optional<String> sqsEndpoint) {
+        this(region, queueUrl, sqsEndpoint, Duration.ZERO);
+    }
+
+    public SqsBatchingProducer(
+            String region, String queueUrl, Optional<String> sqsEndpoint, Duration linger) {
+        this(
+                asyncClient(region, sqsEndpoint),
+                queueUrl,
+                linger,
+                DEFAULT_MAX_ATTEMPTS,
+                DEFAULT_RETRY_BASE_DELAY,
+                (body, cause) ->
+                        LOG.error("Unable to send message to SQS queue {}", queueUrl, cause));
+    }
+
+    public SqsBatchingProducer(
+            SqsAsyncClient client,
+            String queueUrl,
+            Duration linger,
+            int maxAttempts,
+            Duration retryBaseDelay,
+            BiConsumer<String, Throwable> onError) {
+        this.client = client;
+        this.queueUrl = queueUrl;
+        this.linger = linger;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBaseDelay = retryBaseDelay;
+        this.onError = onError;
+        PRODUCERS.add(this);
+    }
+
+    /**
+     * Waits for every message sent through any producer in this JVM to be accepted or given up
+     * on. Failures have already been reported to each producer's error callback, so this does not
+     * throw.
+     */
+    public static void flushAll() {
+        List<SqsBatchingProducer> producers;
+        synchronized (PRODUCERS) {
+            producers = new ArrayList<>(PRODUCERS);
+        }
+        producers.forEach(SqsBatchingProducer::flush);
+    }
+
+    /**
+     * Queues a message to be sent in the next batch.
+     *
+     * @return a future that completes once SQS has accepted the message, or completes
+     *     exceptionally once it has been given up on
+     */
+    public CompletableFuture<Void> send(String body) {
+        var message = new PendingMessage(body);
+        inFlight.add(message.sent);
+        message.sent.whenComplete((result, error) -> inFlight.remove(message.sent));
+        enqueue(message);
+        return message.sent;
+    }
+
+    /** Sends anything still lingering and waits for every outstanding message to complete. */
+    public void flush() {
+        sendBatch(drainPending());
+        var outstanding = inFlight.toArray(new CompletableFuture<?>[0]);
+        try {
+            CompletableFuture.allOf(outstanding)
+                    .exceptionally(error -> null)
+                    .get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            LOG.warn("{} SQS messages still unsent after flush", inFlight.size());
+        } catch (ExecutionException e) {
+            LOG.error("Unexpected error flushing SQS messages", e);
+        }
+    }
+
+    private void enqueue(PendingMessage message) {
+        List<PendingMessage> full = List.of();
+        List<PendingMessage> ready = List.of();
+        synchronized (this) {
+            if (!pending.isEmpty() && pendingBytes + message.bytes > MAX_BATCH_BYTES) {
+                full = drainPending();
+            }
+            pending.add(message);
+            pendingBytes += message.bytes;
+            if (pending.size() >= MAX_BATCH_ENTRIES || linger.isZero()) {
+                ready = drainPending();
+            } else if (scheduledSend == null) {
+                scheduledSend =
+                        SCHEDULER.schedule(
+                                () -> sendBatch(drainPending()),
+                                linger.toMillis(),
+                                TimeUnit.MILLISECONDS);
+            }
+        }
+        sendBatch(full);
+        sendBatch(ready);
+    }
+
+    private synchronized List<PendingMessage> drainPending() {
+        if (scheduledSend != null) {
+            scheduledSend.cancel(false);
+            scheduledSend = null;
+        }
+        var batch = pending;
+        pending = new ArrayList<>();
+        pendingBytes = 0;
+        return batch;
+    }
+
+    private void sendBatch(List<PendingMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        var entries = new ArrayList<SendMessageBatchRequestEntry>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            entries.add(
+                    SendMessageBatchRequestEntry.builder()
+                            .id(String.valueOf(i))
+                            .messageBody(batch.get(i).body)
+                            .build());
+        }
+        var request = SendMessageBatchRequest.builder().queueUrl(queueUrl).entries(entries).build();
+        CompletableFuture<SendMessageBatchResponse> response;
+        try {
+            response = client.sendMessageBatch(request);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((result, error) -> onBatchSent(batch, result, error));
+    }
+
+    private void onBatchSent(
+            List<PendingMessage> batch, SendMessageBatchResponse response, Throwable error) {
+        var retries = new ArrayList<PendingMessage>();
+        if (error != null) {
+            var cause = error instanceof CompletionException ? error.getCause() : error;
+            LOG.warn("Unable to send batch of {} messages to SQS", batch.size(), cause);
+            batch.forEach(message -> retryOrFail(message, cause, retries));
+        } else {
+            response.successful()
+                    .forEach(entry -> batch.get(Integer.parseInt(entry.id())).sent.complete(null));
+            for (BatchResultErrorEntry failure : response.failed()) {
+                var message = batch.get(Integer.parseInt(failure.id()));
+                var cause =
+                        SdkClientException.create(
+                                String.format(
+                                        "SQS rejected message: %s %s",
+                                        failure.code(), failure.message()));
+                if (Boolean.TRUE.equals(failure.senderFault())) {
+                    fail(message, cause);
+                } else {
+                    retryOrFail(message, cause, retries);
+                }
+            }
+        }
+        if (!retries.isEmpty()) {
+            long delay = retryDelayMillis(retries.get(0).attempt);
+            retries.forEach(message -> message.attempt++);
+            SCHEDULER.schedule(() -> sendBatch(retries), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void retryOrFail(
+            PendingMessage message, Throwable cause, List<PendingMessage> retries) {
+        if (message.attempt >= maxAttempts) {
+            fail(message, cause);
+        } else {
+            retries.add(message);
+        }
+    }
+
+    private long retryDelayMillis(int attempt) {
+        long ceiling =
+                Math.min(
+                        MAX_RETRY_DELAY.toMillis(),
+                        retryBaseDelay.toMillis() << Math.min(attempt - 1, 16));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void fail(PendingMessage message, Throwable cause) {
+        try {
+            onError.accept(message.body, cause);
+        } catch (RuntimeException e) {
+            LOG.error("SQS error callback failed", e);
+        }
+        message.sent.completeExceptionally(cause);
+    }
+
+    private static SqsAsyncClient asyncClient(String region, Optional<String> sqsEndpoint) {
+        return CLIENTS.computeIfAbsent(
+                region + "|" + sqsEndpoint.orElse(""),
+                key -> {
+                    SqsAsyncClientBuilder builder =
+                            SqsAsyncClient.builder().region(Region.of(region));
+                    if (sqsEndpoint.isPresent()) {
+                        builder.endpointOverride(URI.create(sqsEndpoint.get()))
+                                .credentialsProvider(
+                                        StaticCredentialsProvider.create(
+                                                AwsBasicCredentials.create(
+                                                        "FAKEACCESSKEY", "FAKESECRETKEY")));
+                    }
+                    return builder.build();
+                });
+    }
+
+    private static class PendingMessage {
+        private final String body;
+        private final int bytes;
+        private final CompletableFuture<Void> sent = new CompletableFuture<>();
+        private int attempt = 1;
+
+        private PendingMessage(String body) {
+            this.body = body;
+            this.bytes = body.getBytes(StandardCharsets.UTF_8).length;
+        }
+    }
+}
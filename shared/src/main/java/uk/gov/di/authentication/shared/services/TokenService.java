@@ -4,7 +4,6 @@ import com.amazonaws.services.kms.model.SignRequest;
 import com.amazonaws.services.kms.model.SignResult;
 import com.amazonaws.services.kms.model.SigningAlgorithmSpec;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
@@ -41,7 +40,9 @@ import org.apache.logging.log4j.Logger;
 import uk.gov.di.authentication.shared.entity.AccessTokenStore;
 import uk.gov.di.authentication.shared.entity.ClientConsent;
 import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
+import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.entity.ValidScopes;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
 import uk.gov.di.authentication.shared.helpers.RequestBodyHelper;
 
 import java.net.URI;
@@ -62,6 +63,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static uk.gov.di.authentication.shared.helpers.ConstructUriHelper.buildURI;
@@ -89,22 +91,27 @@ public class TokenService {
 
     public OIDCTokenResponse generateTokenResponse(
             String clientID,
-            Subject internalSubject,
+            UserProfile userProfile,
             Scope authRequestScopes,
             Map<String, Object> additionalTokenClaims,
             Subject publicSubject,
             String vot,
-            List<ClientConsent> clientConsents,
             boolean isInternalService) {
+        Subject internalSubject = new Subject(userProfile.getSubjectID());
         List<String> scopesForToken;
         if (isInternalService) {
             scopesForToken = authRequestScopes.toStringList();
         } else {
-            scopesForToken = calculateScopesForToken(clientConsents, clientID, authRequestScopes);
+            scopesForToken =
+                    calculateScopesForToken(
+                            userProfile.getClientConsent(), clientID, authRequestScopes);
         }
         AccessToken accessToken =
                 generateAndStoreAccessToken(
-                        clientID, internalSubject, scopesForToken, publicSubject);
+                        clientID,
+                        scopesForToken,
+                        publicSubject,
+                        token -> new AccessTokenStore(token, userProfile));
         AccessTokenHash accessTokenHash =
                 AccessTokenHash.compute(accessToken, TOKEN_ALGORITHM, null);
         SignedJWT idToken =
@@ -123,7 +130,11 @@ public class TokenService {
     public OIDCTokenResponse generateRefreshTokenResponse(
             String clientID, Subject internalSubject, List<String> scopes, Subject publicSubject) {
         AccessToken accessToken =
-                generateAndStoreAccessToken(clientID, internalSubject, scopes, publicSubject);
+                generateAndStoreAccessToken(
+                        clientID,
+                        scopes,
+                        publicSubject,
+                        token -> new AccessTokenStore(token, internalSubject.getValue()));
         RefreshToken refreshToken =
                 generateAndStoreRefreshToken(clientID, internalSubject, scopes, publicSubject);
         return new OIDCTokenResponse(new OIDCTokens(accessToken, refreshToken));
@@ -267,7 +278,10 @@ public class TokenService {
     }
 
     private AccessToken generateAndStoreAccessToken(
-            String clientId, Subject internalSubject, List<String> scopes, Subject publicSubject) {
+            String clientId,
+            List<String> scopes,
+            Subject publicSubject,
+            Function<String, AccessTokenStore> accessTokenStoreFactory) {
         LOGGER.info("Generating AccessToken for ClientId: {}", clientId);
         LocalDateTime localDateTime =
                 LocalDateTime.now().plusSeconds(configService.getAccessTokenExpiry());
@@ -290,10 +304,8 @@ public class TokenService {
         try {
             redisConnectionService.saveWithExpiry(
                     ACCESS_TOKEN_PREFIX + clientId + "." + publicSubject.getValue(),
-                    new ObjectMapper()
-                            .writeValueAsString(
-                                    new AccessTokenStore(
-                                            accessToken.getValue(), internalSubject.getValue())),
+                    JsonRegistry.writeValueAsString(
+                            accessTokenStoreFactory.apply(accessToken.getValue())),
                     configService.getAccessTokenExpiry());
         } catch (JsonProcessingException e) {
             LOGGER.error("Unable to save access token to Redis");
@@ -328,20 +340,17 @@ public class TokenService {
             String serializedTokenStore;
             if (existingRefreshTokenStore.isPresent()) {
                 RefreshTokenStore refreshTokenStore =
-                        new ObjectMapper()
-                                .readValue(
-                                        existingRefreshTokenStore.get(), RefreshTokenStore.class);
+                        JsonRegistry.readValue(
+                                existingRefreshTokenStore.get(), RefreshTokenStore.class);
                 serializedTokenStore =
-                        new ObjectMapper()
-                                .writeValueAsString(
-                                        refreshTokenStore.addRefreshToken(refreshToken.getValue()));
+                        JsonRegistry.writeValueAsString(
+                                refreshTokenStore.addRefreshToken(refreshToken.getValue()));
             } else {
                 serializedTokenStore =
-                        new ObjectMapper()
-                                .writeValueAsString(
-                                        new RefreshTokenStore(
-                                                List.of(refreshToken.getValue()),
-                                                internalSubject.getValue()));
+                        JsonRegistry.writeValueAsString(
+                                new RefreshTokenStore(
+                                        List.of(refreshToken.getValue()),
+                                        internalSubject.getValue()));
             }
             redisConnectionService.saveWithExpiry(
                     redisKey, serializedTokenStore, configService.getSessionExpiry());
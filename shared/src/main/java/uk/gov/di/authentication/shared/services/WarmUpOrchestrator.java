@@ -0,0 +1,179 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import uk.gov.di.authentication.shared.entity.Session;
+import uk.gov.di.authentication.shared.helpers.JsonRegistry;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+/**
+ * Primes the external dependencies and JIT-heavy code paths a handler needs while the Lambda is
+ * initialising, all at the same time, so that a cold start costs the slowest dependency rather
+ * than the sum of all of them.
+ *
+ * <p>Warming up is only an optimisation: a primer that fails or is still running when the timeout
+ * expires is logged and left behind on a daemon thread, and the handler starts regardless.
+ */
+public class WarmUpOrchestrator {
+
+    private static final Logger LOG = LogManager.getLogger(WarmUpOrchestrator.class);
+
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final Executor PRIMERS =
+            Executors.newCachedThreadPool(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "warm-up");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    public enum Outcome {
+        WARMED,
+        FAILED,
+        TIMED_OUT
+    }
+
+    private final Map<String, Runnable> primers = new LinkedHashMap<>();
+    private final Duration timeout;
+    private final Executor executor;
+
+    public WarmUpOrchestrator() {
+        this(DEFAULT_TIMEOUT, PRIMERS);
+    }
+
+    WarmUpOrchestrator(Duration timeout, Executor executor) {
+        this.timeout = timeout;
+        this.executor = executor;
+    }
+
+    public WarmUpOrchestrator add(String dependency, Runnable primer) {
+        primers.put(dependency, primer);
+        return this;
+    }
+
+    /** Adds primers for the Jackson and nimbus code paths used on every request. */
+    public WarmUpOrchestrator withCodePathPrimers() {
+        return add("jackson", WarmUpOrchestrator::primeJson)
+                .add("nimbus-es256", WarmUpOrchestrator::primeJwtVerification);
+    }
+
+    /**
+     * Runs every primer at once and waits for them up to the timeout, returning how long each took
+     * and whether it finished. Never throws.
+     */
+    public Map<String, Timing> run() {
+        if (primers.isEmpty()) {
+            return Map.of();
+        }
+        var started = System.nanoTime();
+        var futures = new LinkedHashMap<String, CompletableFuture<Timing>>();
+        primers.forEach(
+                (dependency, primer) ->
+                        futures.put(
+                                dependency, supplyAsync(() -> time(dependency, primer), executor)));
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOG.warn("Warm-up did not finish within {} ms", timeout.toMillis());
+        } catch (ExecutionException e) {
+            LOG.warn("Warm-up failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        var timedOut = new Timing(Outcome.TIMED_OUT, Duration.ofNanos(System.nanoTime() - started));
+        var timings = new LinkedHashMap<String, Timing>();
+        futures.forEach(
+                (dependency, future) -> {
+                    var timing = future.getNow(timedOut);
+                    timings.put(dependency, timing);
+                    LOG.info(
+                            "Warm-up of {} {} in {} ms",
+                            dependency,
+                            timing.getOutcome(),
+                            timing.getDuration().toMillis());
+                });
+        return Collections.unmodifiableMap(timings);
+    }
+
+    private static Timing time(String dependency, Runnable primer) {
+        var started = System.nanoTime();
+        try {
+            primer.run();
+            return new Timing(Outcome.WARMED, Duration.ofNanos(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to warm up {}: {}", dependency, e.getMessage());
+            return new Timing(Outcome.FAILED, Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+
+    static void primeJson() {
+        try {
+            var session = new Session("warm-up").addClientSession("warm-up");
+            JsonRegistry.readValue(JsonRegistry.writeValueAsString(session), Session.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to prime JSON serialisation", e);
+        }
+    }
+
+    static void primeJwtVerification() {
+        try {
+            var key = new ECKeyGenerator(Curve.P_256).generate();
+            var jwt =
+                    new SignedJWT(
+                            new JWSHeader(JWSAlgorithm.ES256),
+                            new JWTClaimsSet.Builder().subject("warm-up").build());
+            jwt.sign(new ECDSASigner(key));
+            var parsed = SignedJWT.parse(jwt.serialize());
+            parsed.getJWTClaimsSet();
+            parsed.verify(new ECDSAVerifier(key.toECPublicKey()));
+        } catch (JOSEException | ParseException e) {
+            throw new IllegalStateException("Unable to prime JWT verification", e);
+        }
+    }
+
+    /** How long a dependency took to warm up, and whether it did. */
+    public static final class Timing {
+
+        private final Outcome outcome;
+        private final Duration duration;
+
+        Timing(Outcome outcome, Duration duration) {
+            this.outcome = outcome;
+            this.duration = duration;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+    }
+}
@@ -9,15 +9,20 @@ import uk.gov.di.authentication.shared.services.ConfigurationService;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static java.util.Collections.emptyList;
+import static java.text.MessageFormat.format;
 import static uk.gov.di.authentication.shared.entity.SessionAction.ACCOUNT_LOCK_EXPIRED;
 import static uk.gov.di.authentication.shared.entity.SessionAction.SYSTEM_HAS_ISSUED_AUTHORIZATION_CODE;
 import static uk.gov.di.authentication.shared.entity.SessionAction.SYSTEM_HAS_SENT_EMAIL_VERIFICATION_CODE;
@@ -92,10 +97,21 @@ import static uk.gov.di.authentication.shared.state.conditions.PhoneNumberUnveri
 import static uk.gov.di.authentication.shared.state.conditions.RequestedLevelOfTrustEquals.requestedLevelOfTrustIsMedium;
 import static uk.gov.di.authentication.shared.state.conditions.TermsAndConditionsVersionNotAccepted.userHasNotAcceptedTermsAndConditionsVersion;
 
+/**
+ * Moves a session between states in response to actions.
+ *
+ * <p>The transitions are compiled when the machine is constructed into a dispatch table holding,
+ * for every state and action, the candidate transitions in the order they are tried: the state's
+ * own transitions followed by those allowed at any state. A transition is therefore found without
+ * searching or allocating, and a transition hidden behind an unconditional one for the same action
+ * is rejected when the machine is built rather than silently never taken.
+ */
 public class StateMachine<T, A, C> {
 
     private final Map<T, List<Transition<T, A, C>>> states;
     private final List<Transition<T, A, C>> anyStateTransitions;
+    private final Map<T, Map<A, Candidates<T, A, C>>> dispatchTable;
+    private final Map<A, Candidates<T, A, C>> anyStateDispatch;
 
     private static final Logger LOGGER = LogManager.getLogger(StateMachine.class);
 
@@ -108,54 +124,58 @@ public class StateMachine<T, A, C> {
             List<Transition<T, A, C>> anyStateTransitions) {
         this.states = Collections.unmodifiableMap(states);
         this.anyStateTransitions = anyStateTransitions;
+        checkReachable(anyStateTransitions);
+        this.anyStateDispatch = compile(List.of(), anyStateTransitions);
+        this.dispatchTable = newDispatchMap(states.keySet());
+        states.forEach(
+                (state, transitions) ->
+                        dispatchTable.put(state, compile(transitions, anyStateTransitions)));
+    }
+
+    Map<T, List<Transition<T, A, C>>> getStates() {
+        return states;
+    }
+
+    List<Transition<T, A, C>> getAnyStateTransitions() {
+        return anyStateTransitions;
     }
 
     private T transition(T from, A action, Optional<C> context) {
-        if (context.isEmpty()
-                && states.getOrDefault(from, emptyList()).stream()
-                                .filter(t -> t.getAction().equals(action))
-                                .count()
-                        > 1) {
-            throw handleNoTransitionContext(from, action);
-        }
-        var sessionId =
-                context.filter(c -> c instanceof UserContext)
-                        .map(UserContext.class::cast)
-                        .map(UserContext::getSession)
-                        .map(Session::getSessionId)
-                        .orElse(null);
-        T to =
-                states.getOrDefault(from, emptyList()).stream()
-                        .filter(
-                                t ->
-                                        t.getAction().equals(action)
-                                                && t.getCondition().isMet(context))
-                        .findFirst()
-                        .orElseGet(
-                                () ->
-                                        anyStateTransitions.stream()
-                                                .filter(
-                                                        t ->
-                                                                t.getAction().equals(action)
-                                                                        && t.getCondition()
-                                                                                .isMet(context))
-                                                .findFirst()
-                                                .orElseThrow(
-                                                        () ->
-                                                                handleBadStateTransition(
-                                                                        from, action, sessionId)))
-                        .getNextState();
+        T to = nextState(from, action, context);
 
         LOGGER.info(
                 "Session transitioned from {} to {} on action {} for sessionId {}",
                 from,
                 to,
                 action,
-                sessionId);
+                sessionIdOf(context));
 
         return to;
     }
 
+    T nextState(T from, A action, Optional<C> context) {
+        var candidates = dispatchTable.getOrDefault(from, anyStateDispatch).get(action);
+        if (context.isEmpty() && candidates != null && candidates.contextRequired) {
+            throw handleNoTransitionContext(from, action);
+        }
+        if (candidates != null) {
+            for (Transition<T, A, C> candidate : candidates.transitions) {
+                if (candidate.getCondition().isMet(context)) {
+                    return candidate.getNextState();
+                }
+            }
+        }
+        throw handleBadStateTransition(from, action, sessionIdOf(context));
+    }
+
+    private static <C> String sessionIdOf(Optional<C> context) {
+        return context.filter(c -> c instanceof UserContext)
+                .map(UserContext.class::cast)
+                .map(UserContext::getSession)
+                .map(Session::getSessionId)
+                .orElse(null);
+    }
+
     public T transition(T from, A action, C context) {
         return transition(from, action, Optional.of(context));
     }
@@ -169,8 +189,14 @@ public class StateMachine<T, A, C> {
         return Transition.<SessionState, SessionAction, UserContext>builder().on(action);
     }
 
+    private static class UserJourneyHolder {
+        private static final StateMachine<SessionState, SessionAction, UserContext> INSTANCE =
+                userJourneyStateMachine(ConfigurationService.getInstance());
+    }
+
+    /** Returns the user journey state machine, which is built once per JVM. */
     public static StateMachine<SessionState, SessionAction, UserContext> userJourneyStateMachine() {
-        return userJourneyStateMachine(ConfigurationService.getInstance());
+        return UserJourneyHolder.INSTANCE;
     }
 
     public static StateMachine<SessionState, SessionAction, UserContext> userJourneyStateMachine(
@@ -524,6 +550,68 @@ public class StateMachine<T, A, C> {
                 .build();
     }
 
+    private static <T, A, C> Map<A, Candidates<T, A, C>> compile(
+            List<Transition<T, A, C>> stateTransitions,
+            List<Transition<T, A, C>> anyStateTransitions) {
+        checkReachable(stateTransitions);
+        var actions = new LinkedHashSet<A>();
+        stateTransitions.forEach(t -> actions.add(t.getAction()));
+        anyStateTransitions.forEach(t -> actions.add(t.getAction()));
+
+        Map<A, Candidates<T, A, C>> byAction = newDispatchMap(actions);
+        for (A action : actions) {
+            var ownTransitions = matching(stateTransitions, action);
+            var transitions = new ArrayList<>(ownTransitions);
+            transitions.addAll(matching(anyStateTransitions, action));
+            byAction.put(action, new Candidates<>(transitions, ownTransitions.size() > 1));
+        }
+        return byAction;
+    }
+
+    private static <T, A, C> List<Transition<T, A, C>> matching(
+            List<Transition<T, A, C>> transitions, A action) {
+        return transitions.stream()
+                .filter(t -> t.getAction().equals(action))
+                .collect(Collectors.toList());
+    }
+
+    private static <T, A, C> void checkReachable(List<Transition<T, A, C>> transitions) {
+        var unconditional = new HashSet<A>();
+        for (Transition<T, A, C> transition : transitions) {
+            if (unconditional.contains(transition.getAction())) {
+                throw new IllegalStateException(
+                        format(
+                                "Transition on {0} to {1} follows an unconditional transition on"
+                                        + " the same action and can never be taken",
+                                transition.getAction(),
+                                transition.getNextState()));
+            }
+            if (transition.getCondition() instanceof Default) {
+                unconditional.add(transition.getAction());
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Map<K, V> newDispatchMap(Collection<K> keys) {
+        var first = keys.stream().filter(Objects::nonNull).findFirst();
+        if (first.isPresent() && first.get() instanceof Enum) {
+            return new EnumMap(((Enum<?>) first.get()).getDeclaringClass());
+        }
+        return new HashMap<>();
+    }
+
+    private static class Candidates<T, A, C> {
+        private final Transition<T, A, C>[] transitions;
+        private final boolean contextRequired;
+
+        @SuppressWarnings("unchecked")
+        private Candidates(List<Transition<T, A, C>> transitions, boolean contextRequired) {
+            this.transitions = transitions.toArray(new Transition[0]);
+            this.contextRequired = contextRequired;
+        }
+    }
+
     public static class InvalidStateTransitionException extends RuntimeException {}
 
     public static class NoTransitionContextProvidedException extends RuntimeException {}
@@ -0,0 +1,335 @@
+package uk.gov.di.authentication.shared.state;
+
+import uk.gov.di.authentication.shared.entity.SessionState;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+import uk.gov.di.authentication.shared.state.conditions.AggregateCondition;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static java.text.MessageFormat.format;
+
+/**
+ * Walks the transition table of a {@link StateMachine} to find defects that would otherwise only
+ * show up as {@link StateMachine.InvalidStateTransitionException}s in production, and renders the
+ * machine as DOT or Mermaid.
+ *
+ * <p>Every transition is assumed to be takeable, since conditions depend on the user and client.
+ * Conditions are compared by the conditions they are made of, so a transition is shadowed when an
+ * earlier transition on the same action needs no more to be met than it does.
+ *
+ * <p>Run with {@code ./gradlew :shared:userJourneyDiagrams} to write the user journey diagrams.
+ */
+public class StateMachineAnalyser<T, A, C> {
+
+    private static final String ANY_STATE = "ANY_STATE";
+
+    private final Map<T, List<Transition<T, A, C>>> states;
+    private final List<Transition<T, A, C>> anyStateTransitions;
+    private final T initialState;
+    private final Set<T> allStates;
+
+    public StateMachineAnalyser(StateMachine<T, A, C> stateMachine, T initialState) {
+        this.states = stateMachine.getStates();
+        this.anyStateTransitions = stateMachine.getAnyStateTransitions();
+        this.initialState = initialState;
+        this.allStates = new LinkedHashSet<>();
+        if (initialState instanceof Enum) {
+            for (Object state : ((Enum<?>) initialState).getDeclaringClass().getEnumConstants()) {
+                allStates.add(cast(state));
+            }
+        }
+        allStates.add(initialState);
+        allStates.addAll(states.keySet());
+        states.values().forEach(transitions -> allStates.addAll(targets(transitions)));
+        allStates.addAll(targets(anyStateTransitions));
+    }
+
+    /** States that no sequence of transitions leads to from the initial state. */
+    public Set<T> unreachableStates() {
+        var unreachable = new LinkedHashSet<>(allStates);
+        unreachable.removeAll(reachableStates());
+        return unreachable;
+    }
+
+    /** Reachable states that have no transitions of their own, so only a restart leaves them. */
+    public Set<T> deadEndStates() {
+        return reachableStates().stream()
+                .filter(state -> states.getOrDefault(state, List.of()).isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Groups of two or more states that can lead back to one another through their own
+     * transitions, ignoring those allowed at any state.
+     */
+    public List<Set<T>> cycles() {
+        return new StronglyConnectedComponents().find().stream()
+                .filter(component -> component.size() > 1)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reachable states from which no sequence of the states' own transitions leads to the goal, so
+     * a user in one of them can only finish by starting a new journey.
+     */
+    public Set<T> statesThatCannotReach(T goal) {
+        var canReach = new LinkedHashSet<T>();
+        canReach.add(goal);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (T state : allStates) {
+                if (!canReach.contains(state)
+                        && targets(states.get(state)).stream().anyMatch(canReach::contains)) {
+                    changed = canReach.add(state);
+                }
+            }
+        }
+        var cannotReach = reachableStates();
+        cannotReach.removeAll(canReach);
+        return cannotReach;
+    }
+
+    /**
+     * Transitions that can never be taken because an earlier transition on the same action needs
+     * no more to be met, including those that follow an unconditional transition.
+     */
+    public List<String> shadowedTransitions() {
+        var shadowed = new ArrayList<String>();
+        states.forEach((state, transitions) -> shadowed.addAll(shadowed(state, transitions)));
+        shadowed.addAll(shadowed(ANY_STATE, anyStateTransitions));
+        return shadowed;
+    }
+
+    /**
+     * Actions each state accepts only under conditions, with no unconditional transition of its
+     * own or at any state to fall back on, so the action fails when none of the conditions is met.
+     */
+    public Map<T, Set<A>> conditionalOnlyActions() {
+        var conditionalOnly = new LinkedHashMap<T, Set<A>>();
+        for (T state : allStates) {
+            var candidates = new ArrayList<>(states.getOrDefault(state, List.of()));
+            candidates.addAll(anyStateTransitions);
+            var actions = new LinkedHashSet<A>();
+            candidates.forEach(t -> actions.add(t.getAction()));
+            candidates.stream()
+                    .filter(t -> t.getCondition() instanceof Default)
+                    .forEach(t -> actions.remove(t.getAction()));
+            if (!actions.isEmpty()) {
+                conditionalOnly.put(state, actions);
+            }
+        }
+        return conditionalOnly;
+    }
+
+    public String toDot() {
+        var dot = new StringBuilder("digraph StateMachine {\n");
+        dot.append("    rankdir=LR;\n");
+        dot.append(format("    {0} [shape=doublecircle];\n", initialState));
+        states.forEach(
+                (state, transitions) ->
+                        transitions.forEach(
+                                t ->
+                                        dot.append(
+                                                format(
+                                                        "    {0} -> {1} [label=\"{2}\"];\n",
+                                                        state,
+                                                        t.getNextState(),
+                                                        label(t)))));
+        if (!anyStateTransitions.isEmpty()) {
+            dot.append(format("    {0} [shape=point];\n", ANY_STATE));
+            anyStateTransitions.forEach(
+                    t ->
+                            dot.append(
+                                    format(
+                                            "    {0} -> {1} [label=\"{2}\", style=dashed];\n",
+                                            ANY_STATE,
+                                            t.getNextState(),
+                                            label(t))));
+        }
+        return dot.append("}\n").toString();
+    }
+
+    public String toMermaid() {
+        var mermaid = new StringBuilder("stateDiagram-v2\n");
+        mermaid.append(format("    [*] --> {0}\n", initialState));
+        states.forEach(
+                (state, transitions) ->
+                        transitions.forEach(
+                                t ->
+                                        mermaid.append(
+                                                format(
+                                                        "    {0} --> {1} : {2}\n",
+                                                        state,
+                                                        t.getNextState(),
+                                                        label(t)))));
+        anyStateTransitions.forEach(
+                t ->
+                        mermaid.append(
+                                format(
+                                        "    {0} --> {1} : {2}\n",
+                                        ANY_STATE,
+                                        t.getNextState(),
+                                        label(t))));
+        return mermaid.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        var directory = Path.of(args.length > 0 ? args[0] : ".");
+        var analyser =
+                new StateMachineAnalyser<>(
+                        StateMachine.userJourneyStateMachine(
+                                new ConfigurationService(
+                                        Map.of("TERMS_CONDITIONS_VERSION", "1.0"))),
+                        SessionState.NEW);
+        Files.createDirectories(directory);
+        Files.writeString(
+                directory.resolve("user-journey.dot"),
+                analyser.toDot(),
+                StandardCharsets.UTF_8);
+        Files.writeString(
+                directory.resolve("user-journey.mmd"),
+                analyser.toMermaid(),
+                StandardCharsets.UTF_8);
+    }
+
+    private Set<T> reachableStates() {
+        var reachable = new LinkedHashSet<T>();
+        var queue = new ArrayDeque<T>();
+        reachable.add(initialState);
+        queue.add(initialState);
+        while (!queue.isEmpty()) {
+            var state = queue.remove();
+            var next = new ArrayList<>(targets(states.get(state)));
+            next.addAll(targets(anyStateTransitions));
+            for (T target : next) {
+                if (reachable.add(target)) {
+                    queue.add(target);
+                }
+            }
+        }
+        return reachable;
+    }
+
+    private List<String> shadowed(Object state, List<Transition<T, A, C>> transitions) {
+        var shadowed = new ArrayList<String>();
+        for (int i = 0; i < transitions.size(); i++) {
+            var later = transitions.get(i);
+            var laterConditions = atoms(later.getCondition());
+            for (int j = 0; j < i; j++) {
+                var earlier = transitions.get(j);
+                if (earlier.getAction().equals(later.getAction())
+                        && laterConditions.containsAll(atoms(earlier.getCondition()))) {
+                    shadowed.add(
+                            format(
+                                    "{0} on {1}: transition to {2} is shadowed by transition"
+                                            + " to {3}",
+                                    state,
+                                    later.getAction(),
+                                    describe(later),
+                                    describe(earlier)));
+                    break;
+                }
+            }
+        }
+        return shadowed;
+    }
+
+    private String label(Transition<T, A, C> transition) {
+        var conditions = atoms(transition.getCondition());
+        return conditions.isEmpty()
+                ? String.valueOf(transition.getAction())
+                : format("{0} [{1}]", transition.getAction(), String.join(" and ", conditions));
+    }
+
+    private String describe(Transition<T, A, C> transition) {
+        var conditions = atoms(transition.getCondition());
+        return conditions.isEmpty()
+                ? String.valueOf(transition.getNextState())
+                : format(
+                        "{0} [{1}]",
+                        transition.getNextState(), String.join(" and ", conditions));
+    }
+
+    private static Set<String> atoms(Condition<?> condition) {
+        var atoms = new TreeSet<String>();
+        if (condition instanceof AggregateCondition) {
+            ((AggregateCondition<?>) condition)
+                    .getConditions()
+                    .forEach(c -> atoms.addAll(atoms(c)));
+        } else if (!(condition instanceof Default)) {
+            var name = condition.getClass().getSimpleName();
+            atoms.add(name.isEmpty() ? condition.toString() : decapitalise(name));
+        }
+        return atoms;
+    }
+
+    private static String decapitalise(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private List<T> targets(Collection<Transition<T, A, C>> transitions) {
+        if (transitions == null) {
+            return List.of();
+        }
+        return transitions.stream().map(Transition::getNextState).collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private T cast(Object state) {
+        return (T) state;
+    }
+
+    /** Tarjan's algorithm over the states' own transitions. */
+    private class StronglyConnectedComponents {
+        private final Map<T, Integer> index = new HashMap<>();
+        private final Map<T, Integer> lowLink = new HashMap<>();
+        private final ArrayDeque<T> stack = new ArrayDeque<>();
+        private final Set<T> onStack = new LinkedHashSet<>();
+        private final List<Set<T>> components = new ArrayList<>();
+
+        private List<Set<T>> find() {
+            allStates.stream().filter(s -> !index.containsKey(s)).forEach(this::visit);
+            return components;
+        }
+
+        private void visit(T state) {
+            index.put(state, index.size());
+            lowLink.put(state, index.get(state));
+            stack.push(state);
+            onStack.add(state);
+            for (T target : targets(states.get(state))) {
+                if (!index.containsKey(target)) {
+                    visit(target);
+                    lowLink.put(state, Math.min(lowLink.get(state), lowLink.get(target)));
+                } else if (onStack.contains(target)) {
+                    lowLink.put(state, Math.min(lowLink.get(state), index.get(target)));
+                }
+            }
+            if (lowLink.get(state).equals(index.get(state))) {
+                var component = new LinkedHashSet<T>();
+                T member;
+                do {
+                    member = stack.pop();
+                    onStack.remove(member);
+                    component.add(member);
+                } while (!member.equals(state));
+                components.add(component);
+            }
+        }
+    }
+}
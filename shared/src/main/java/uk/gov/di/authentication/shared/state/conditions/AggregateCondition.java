@@ -14,6 +14,10 @@ public class AggregateCondition<T> implements Condition<T> {
         this.conditions = Arrays.asList(conditions);
     }
 
+    public List<Condition<T>> getConditions() {
+        return conditions;
+    }
+
     @Override
     public boolean isMet(Optional<T> context) {
         return conditions.stream().allMatch(c -> c.isMet(context));
@@ -1,11 +1,17 @@
 package uk.gov.di.authentication.shared.helpers;
 
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.oauth2.sdk.ErrorObject;
+import com.nimbusds.oauth2.sdk.OAuth2Error;
 import org.apache.http.HttpHeaders;
 import org.junit.jupiter.api.Test;
 import uk.gov.di.authentication.shared.entity.ErrorResponse;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.collection.IsMapContaining.hasEntry;
 
 public class ApiGatewayResponseHelperTest {
@@ -61,4 +67,49 @@ public class ApiGatewayResponseHelperTest {
                 hasEntry("Strict-Transport-Security", "max-age=31536000; includeSubDomains"));
         assertThat(result.getHeaders(), hasEntry("X-Frame-Options", "DENY"));
     }
+
+    @Test
+    void shouldReturnThePreRenderedBodyForAnErrorResponse() throws JsonProcessingException {
+        APIGatewayProxyResponseEvent result =
+                ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse(
+                        400, ErrorResponse.ERROR_1000);
+
+        assertThat(result.getStatusCode(), equalTo(400));
+        assertThat(
+                result.getBody(),
+                equalTo(new ObjectMapper().writeValueAsString(ErrorResponse.ERROR_1000)));
+    }
+
+    @Test
+    void shouldReturnThePreRenderedBodyForAStandardErrorObject() {
+        APIGatewayProxyResponseEvent result =
+                ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse(
+                        400, OAuth2Error.INVALID_CLIENT);
+
+        assertThat(result.getStatusCode(), equalTo(400));
+        assertThat(
+                result.getBody(),
+                equalTo(OAuth2Error.INVALID_CLIENT.toJSONObject().toJSONString()));
+    }
+
+    @Test
+    void shouldRenderErrorObjectsWithTheSameCodeButADifferentDescription() {
+        var errorObject = new ErrorObject(OAuth2Error.INVALID_GRANT_CODE, "Invalid Refresh token");
+
+        APIGatewayProxyResponseEvent result =
+                ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse(400, errorObject);
+
+        assertThat(result.getBody(), equalTo(errorObject.toJSONObject().toJSONString()));
+    }
+
+    @Test
+    void shouldShareTheSecurityHeadersBetweenResponses() {
+        APIGatewayProxyResponseEvent first =
+                ApiGatewayResponseHelper.generateEmptySuccessApiGatewayResponse();
+        APIGatewayProxyResponseEvent second =
+                ApiGatewayResponseHelper.generateApiGatewayProxyErrorResponse(
+                        400, ErrorResponse.ERROR_1001);
+
+        assertThat(first.getHeaders(), sameInstance(second.getHeaders()));
+    }
 }
@@ -0,0 +1,71 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import org.apache.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+
+class CacheableDocumentTest {
+
+    private static final String BODY = "{\"issuer\":\"https://example.com\"}";
+
+    private final CacheableDocument document = new CacheableDocument(BODY, "public, max-age=3600");
+
+    @Test
+    void shouldUseAStrongEtagOfTheBody() {
+        assertThat(document.getEtag(), equalTo("\"" + HashHelper.hashSha256String(BODY) + "\""));
+    }
+
+    @Test
+    void shouldReturnTheDocumentWithCacheHeaders() {
+        APIGatewayProxyResponseEvent result =
+                document.toResponse(new APIGatewayProxyRequestEvent());
+
+        assertThat(result.getStatusCode(), equalTo(200));
+        assertThat(result.getBody(), equalTo(BODY));
+        assertThat(result.getHeaders(), hasEntry(HttpHeaders.ETAG, document.getEtag()));
+        assertThat(
+                result.getHeaders(), hasEntry(HttpHeaders.CACHE_CONTROL, "public, max-age=3600"));
+        assertThat(result.getHeaders(), not(hasKey(HttpHeaders.PRAGMA)));
+        assertThat(result.getHeaders(), hasEntry("X-Content-Type-Options", "nosniff"));
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenTheEtagMatches() {
+        APIGatewayProxyResponseEvent result =
+                document.toResponse(withIfNoneMatch(document.getEtag()));
+
+        assertThat(result.getStatusCode(), equalTo(304));
+        assertThat(result.getBody(), equalTo(""));
+        assertThat(result.getHeaders(), hasEntry(HttpHeaders.ETAG, document.getEtag()));
+    }
+
+    @Test
+    void shouldMatchAnyEtagInTheListIncludingWeakOnes() {
+        assertThat(
+                document.toResponse(withIfNoneMatch("\"other\", W/" + document.getEtag()))
+                        .getStatusCode(),
+                equalTo(304));
+        assertThat(document.toResponse(withIfNoneMatch("*")).getStatusCode(), equalTo(304));
+    }
+
+    @Test
+    void shouldReturnTheDocumentWhenTheEtagDoesNotMatch() {
+        APIGatewayProxyResponseEvent result = document.toResponse(withIfNoneMatch("\"other\""));
+
+        assertThat(result.getStatusCode(), equalTo(200));
+        assertThat(result.getBody(), equalTo(BODY));
+    }
+
+    private static APIGatewayProxyRequestEvent withIfNoneMatch(String value) {
+        return new APIGatewayProxyRequestEvent().withHeaders(Map.of("If-None-Match", value));
+    }
+}
@@ -0,0 +1,31 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class HashHelperTest {
+
+    @Test
+    void shouldHashStringToHexEncodedSha256() {
+        assertThat(
+                HashHelper.hashSha256String("abc"),
+                equalTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"));
+    }
+
+    @Test
+    void shouldHashTheConcatenationOfAllParts() {
+        var parts =
+                HashHelper.sha256(
+                        "a".getBytes(StandardCharsets.UTF_8),
+                        "bc".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(
+                Hex.encodeHexString(parts),
+                equalTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"));
+    }
+}
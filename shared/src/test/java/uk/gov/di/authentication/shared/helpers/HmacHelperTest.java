@@ -0,0 +1,30 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import org.apache.commons.codec.binary.Hex;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class HmacHelperTest {
+
+    @Test
+    void shouldProduceTheRfc4231TestVector() {
+        var hmac = HmacHelper.hmacSha256("what do ya want for nothing?", "Jefe");
+
+        assertThat(
+                Hex.encodeHexString(hmac),
+                equalTo("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843"));
+    }
+
+    @Test
+    void shouldKeepResultsForDifferentSecretsIndependent() {
+        var first = Hex.encodeHexString(HmacHelper.hmacSha256("input", "secret-one"));
+        var second = Hex.encodeHexString(HmacHelper.hmacSha256("input", "secret-two"));
+
+        assertThat(first.equals(second), equalTo(false));
+        assertThat(
+                Hex.encodeHexString(HmacHelper.hmacSha256("input", "secret-one")),
+                equalTo(first));
+    }
+}
@@ -0,0 +1,80 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.constraints.NotNull;
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.entity.ErrorResponse;
+import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonRegistryTest {
+
+    private static final String REFRESH_TOKEN_STORE =
+            "{\"refresh_tokens\":[\"token-1\",\"token-2\"],\"internal_subject_id\":\"subject\"}";
+
+    public static class ValidatedRequest {
+        @NotNull
+        @JsonProperty("email")
+        private String email;
+    }
+
+    @Test
+    void shouldBuildReadersAndWritersOncePerType() {
+        assertThat(
+                JsonRegistry.readerFor(RefreshTokenStore.class),
+                sameInstance(JsonRegistry.readerFor(RefreshTokenStore.class)));
+        assertThat(
+                JsonRegistry.writerFor(RefreshTokenStore.class),
+                sameInstance(JsonRegistry.writerFor(RefreshTokenStore.class)));
+    }
+
+    @Test
+    void shouldWriteTheSameJsonAsAPlainObjectMapper() throws JsonProcessingException {
+        var store = new RefreshTokenStore(List.of("token-1", "token-2"), "subject");
+
+        assertThat(
+                JsonRegistry.writeValueAsString(ErrorResponse.ERROR_1001),
+                equalTo(new ObjectMapper().writeValueAsString(ErrorResponse.ERROR_1001)));
+        assertThat(
+                JsonRegistry.writeValueAsString(store),
+                equalTo(new ObjectMapper().writeValueAsString(store)));
+    }
+
+    @Test
+    void shouldReadRedisEntities() throws JsonProcessingException {
+        var store = JsonRegistry.readValue(REFRESH_TOKEN_STORE, RefreshTokenStore.class);
+
+        assertThat(store.getRefreshTokens(), contains("token-1", "token-2"));
+        assertThat(store.getInternalSubjectId(), equalTo("subject"));
+    }
+
+    @Test
+    void shouldValidateValuesAsTheyAreRead() {
+        JsonRegistry.prime(ValidatedRequest.class);
+
+        assertThrows(
+                ConstraintViolationException.class,
+                () -> JsonRegistry.readValue("{}", ValidatedRequest.class));
+    }
+
+    @Test
+    void shouldReadAndWriteTheSameWithBlackbirdEnabled() throws JsonProcessingException {
+        var blackbird = ObjectMapperFactory.create(true);
+
+        var store = blackbird.readValue(REFRESH_TOKEN_STORE, RefreshTokenStore.class);
+
+        assertThat(
+                blackbird.writeValueAsString(store),
+                equalTo(JsonRegistry.writeValueAsString(store)));
+    }
+}
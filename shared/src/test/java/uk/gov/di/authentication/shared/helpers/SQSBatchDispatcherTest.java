@@ -0,0 +1,124 @@
+package uk.gov.di.authentication.shared.helpers;
+
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse.BatchItemFailure;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent.SQSMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+class SQSBatchDispatcherTest {
+
+    @Test
+    void shouldHandleEveryMessageAndReportEveryFailure() {
+        var dispatcher = new SQSBatchDispatcher(4);
+
+        var response =
+                dispatcher.dispatch(
+                        messages(10),
+                        (message, failures) -> {
+                            if (message.getMessageId().equals("message-3")) {
+                                failures.poison(message, "poison");
+                            }
+                            if (message.getMessageId().equals("message-7")) {
+                                throw new IllegalStateException("unexpected");
+                            }
+                        });
+
+        assertThat(failedMessageIds(response), containsInAnyOrder("message-3", "message-7"));
+    }
+
+    @Test
+    void shouldNeverRunMoreThanTheConcurrencyLimitAtOnce() {
+        var dispatcher = new SQSBatchDispatcher(3);
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+
+        var response =
+                dispatcher.dispatch(
+                        messages(12),
+                        (message, failures) -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            sleep(20);
+                            running.decrementAndGet();
+                        });
+
+        assertThat(failedMessageIds(response), empty());
+        assertThat(maxRunning.get(), lessThanOrEqualTo(3));
+    }
+
+    @Test
+    void shouldHandleMessagesConcurrently() {
+        var dispatcher = new SQSBatchDispatcher(4);
+        var allStarted = new CountDownLatch(4);
+
+        var response =
+                dispatcher.dispatch(
+                        messages(4),
+                        (message, failures) -> {
+                            allStarted.countDown();
+                            try {
+                                if (!allStarted.await(5, TimeUnit.SECONDS)) {
+                                    failures.retryable(message, "messages ran sequentially");
+                                }
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+
+        assertThat(failedMessageIds(response), empty());
+    }
+
+    @Test
+    void shouldHandleMessagesInOrderOnCallingThreadWithConcurrencyOfOne() {
+        var dispatcher = new SQSBatchDispatcher(0);
+        var callingThread = Thread.currentThread();
+        var handled = new StringBuilder();
+
+        dispatcher.dispatch(
+                messages(3),
+                (message, failures) -> {
+                    assertThat(Thread.currentThread(), equalTo(callingThread));
+                    handled.append(message.getMessageId()).append(';');
+                });
+
+        assertThat(dispatcher.getConcurrency(), equalTo(1));
+        assertThat(handled.toString(), equalTo("message-0;message-1;message-2;"));
+    }
+
+    private static List<SQSMessage> messages(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(
+                        i -> {
+                            var message = new SQSMessage();
+                            message.setMessageId("message-" + i);
+                            return message;
+                        })
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> failedMessageIds(SQSBatchResponse response) {
+        return response.getBatchItemFailures().stream()
+                .map(BatchItemFailure::getItemIdentifier)
+                .collect(Collectors.toList());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
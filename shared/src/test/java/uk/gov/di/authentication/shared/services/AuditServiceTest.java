@@ -3,26 +3,43 @@ package uk.gov.di.authentication.shared.services;
 import com.amazonaws.services.kms.model.SignRequest;
 import com.amazonaws.services.kms.model.SignResult;
 import com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.message.ObjectMessage;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.MockitoAnnotations;
+import uk.gov.di.audit.AuditPayload.AuditEvent;
 import uk.gov.di.audit.AuditPayload.SignedAuditEvent;
 import uk.gov.di.authentication.shared.domain.AuditableEvent;
+import uk.gov.di.authentication.sharedtest.logging.CaptureLoggingExtension;
 
 import java.nio.ByteBuffer;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.di.authentication.shared.services.AuditService.MetadataPair.pair;
@@ -45,10 +62,13 @@ class AuditServiceTest {
     private static final Clock FIXED_CLOCK =
             Clock.fixed(Instant.parse(FIXED_TIMESTAMP), ZoneId.of("UTC"));
 
+    @RegisterExtension
+    public final CaptureLoggingExtension logging = new CaptureLoggingExtension(AuditService.class);
+
     private final SnsService snsService = mock(SnsService.class);
     private final KmsConnectionService kmsConnectionService = mock(KmsConnectionService.class);
 
-    @Captor private ArgumentCaptor<String> messageCaptor;
+    @Captor private ArgumentCaptor<List<String>> messageCaptor;
 
     enum TestEvents implements AuditableEvent {
         TEST_EVENT_ONE
@@ -85,9 +105,10 @@ class AuditServiceTest {
                 "ip-address",
                 "phone-number",
                 "persistent-session-id");
+        auditService.flush();
 
-        verify(snsService).publishAuditMessage(messageCaptor.capture());
-        var serialisedAuditMessage = messageCaptor.getValue();
+        verify(snsService).publishAuditMessages(messageCaptor.capture());
+        var serialisedAuditMessage = messageCaptor.getValue().get(0);
 
         assertThat(serialisedAuditMessage, hasTimestamp(FIXED_TIMESTAMP));
         assertThat(serialisedAuditMessage, hasEventName(TEST_EVENT_ONE.toString()));
@@ -122,12 +143,14 @@ class AuditServiceTest {
                 "ip-address",
                 "persistent-session-id",
                 "phone-number");
+        auditService.flush();
 
         verify(kmsConnectionService).sign(signingRequestCaptor.capture());
-        verify(snsService).publishAuditMessage(messageCaptor.capture());
+        verify(snsService).publishAuditMessages(messageCaptor.capture());
 
         SignedAuditEvent event =
-                SignedAuditEvent.parseFrom(Base64.getDecoder().decode(messageCaptor.getValue()));
+                SignedAuditEvent.parseFrom(
+                        Base64.getDecoder().decode(messageCaptor.getValue().get(0)));
 
         assertThat(
                 event.getPayload().toByteArray(),
@@ -156,13 +179,213 @@ class AuditServiceTest {
                 "persistent-session-id",
                 pair("key", "value"),
                 pair("key2", "value2"));
+        auditService.flush();
 
-        verify(snsService).publishAuditMessage(messageCaptor.capture());
-        var serialisedAuditMessage = messageCaptor.getValue();
+        verify(snsService).publishAuditMessages(messageCaptor.capture());
+        var serialisedAuditMessage = messageCaptor.getValue().get(0);
 
         assertThat(serialisedAuditMessage, hasTimestamp(FIXED_TIMESTAMP));
         assertThat(serialisedAuditMessage, hasEventName(TEST_EVENT_ONE.toString()));
         assertThat(serialisedAuditMessage, hasMetadataPair(pair("key", "value")));
         assertThat(serialisedAuditMessage, hasMetadataPair(pair("key2", "value2")));
     }
+
+    @Test
+    void shouldNotSignOrPublishOnTheCallingThread() throws InterruptedException {
+        var signingStarted = new CountDownLatch(1);
+        var releaseSigning = new CountDownLatch(1);
+        when(kmsConnectionService.sign(any(SignRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            signingStarted.countDown();
+                            releaseSigning.await();
+                            return new SignResult()
+                                    .withSignature(ByteBuffer.wrap("signature".getBytes()));
+                        });
+        var auditService = createAuditService();
+
+        submitAuditEvent(auditService, "request-id");
+
+        assertThat(signingStarted.await(5, TimeUnit.SECONDS), is(true));
+        verifyNoInteractions(snsService);
+        releaseSigning.countDown();
+        auditService.flush();
+
+        verify(snsService).publishAuditMessages(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().size(), is(1));
+    }
+
+    @Test
+    void shouldPublishEventsInSubmissionOrderInBatchesOfTen() {
+        var auditService = createAuditService();
+
+        for (int i = 0; i < 25; i++) {
+            submitAuditEvent(auditService, "request-" + i);
+        }
+        auditService.flush();
+
+        verify(snsService, times(3)).publishAuditMessages(messageCaptor.capture());
+        var batches = messageCaptor.getAllValues();
+        assertThat(batches.get(0).size(), is(10));
+        assertThat(batches.get(1).size(), is(10));
+        assertThat(batches.get(2).size(), is(5));
+        var messages = batches.stream().flatMap(List::stream).collect(Collectors.toList());
+        for (int i = 0; i < 25; i++) {
+            assertThat(messages.get(i), hasRequestId("request-" + i));
+        }
+    }
+
+    @Test
+    void shouldRetryMessagesRejectedBySnsWhenFlushing() {
+        var auditService = createAuditService();
+        when(snsService.publishAuditMessages(any()))
+                .thenAnswer(invocation -> List.of(invocation.<List<String>>getArgument(0).get(1)))
+                .thenReturn(List.of());
+
+        submitAuditEvent(auditService, "request-0");
+        submitAuditEvent(auditService, "request-1");
+        auditService.flush();
+
+        verify(snsService, times(2)).publishAuditMessages(messageCaptor.capture());
+        var retried = messageCaptor.getAllValues().get(1);
+        assertThat(retried.size(), is(1));
+        assertThat(retried.get(0), hasRequestId("request-1"));
+    }
+
+    @Test
+    void shouldThrowWhenEventsCannotBePublished() {
+        var auditService = createAuditService();
+        when(snsService.publishAuditMessages(any())).thenThrow(new RuntimeException("SNS down"));
+
+        submitAuditEvent(auditService, "request-id");
+
+        assertThrows(RuntimeException.class, auditService::flush);
+        verify(snsService, atLeastOnce()).publishAuditMessages(any());
+
+        reset(snsService);
+        auditService.flush();
+        verify(snsService).publishAuditMessages(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().get(0), hasRequestId("request-id"));
+    }
+
+    @Test
+    void shouldPublishTheInvocationsEventsBeforeReturningItsResponse() {
+        var auditService = createAuditService();
+
+        var response =
+                AuditService.withAuditFlush(
+                        () -> {
+                            submitAuditEvent(auditService, "request-id");
+                            return "response";
+                        });
+
+        assertThat(response, is("response"));
+        verify(snsService).publishAuditMessages(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().get(0), hasRequestId("request-id"));
+    }
+
+    @Test
+    void shouldPublishTheInvocationsEventsWhenItThrows() {
+        var auditService = createAuditService();
+
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        AuditService.withAuditFlush(
+                                () -> {
+                                    submitAuditEvent(auditService, "request-id");
+                                    throw new IllegalStateException("handler failed");
+                                }));
+
+        verify(snsService).publishAuditMessages(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().get(0), hasRequestId("request-id"));
+    }
+
+    @Test
+    void shouldRecordEventsThatCannotBePublishedBeforeTheHandlerReturns() throws Exception {
+        var auditService = createAuditService();
+        when(snsService.publishAuditMessages(any())).thenThrow(new RuntimeException("SNS down"));
+
+        var response =
+                assertDoesNotThrow(
+                        () ->
+                                AuditService.withAuditFlush(
+                                        () -> {
+                                            submitAuditEvent(auditService, "request-id");
+                                            return "response";
+                                        }));
+        verify(snsService, atLeastOnce()).publishAuditMessages(any());
+
+        reset(snsService);
+        auditService.flush();
+        verify(snsService).publishAuditMessages(messageCaptor.capture());
+        assertThat(response, is("response"));
+        assertThat(messageCaptor.getValue().get(0), hasRequestId("request-id"));
+        assertUnpublishedEventsLogged(eventId(messageCaptor.getValue().get(0)));
+    }
+
+    @Test
+    void shouldDelayTheResponseByNoMoreThanTheFlushTimeoutWhenSnsIsSlow() throws Exception {
+        var releaseSns = new CountDownLatch(1);
+        var auditService = createAuditService();
+        when(snsService.publishAuditMessages(any()))
+                .thenAnswer(
+                        invocation -> {
+                            releaseSns.await(30, TimeUnit.SECONDS);
+                            return List.of();
+                        });
+
+        var started = System.nanoTime();
+        try {
+            AuditService.withAuditFlush(
+                    () -> {
+                        submitAuditEvent(auditService, "request-id");
+                        return "response";
+                    });
+        } finally {
+            releaseSns.countDown();
+        }
+        var elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(
+                elapsed.compareTo(AuditEventPublisher.FLUSH_TIMEOUT.plusSeconds(1)) < 0, is(true));
+        auditService.flush();
+        verify(snsService, atLeastOnce()).publishAuditMessages(messageCaptor.capture());
+        assertUnpublishedEventsLogged(eventId(messageCaptor.getAllValues().get(0).get(0)));
+    }
+
+    private void assertUnpublishedEventsLogged(String eventId) {
+        var logged =
+                logging.events().stream()
+                        .map(LogEvent::getMessage)
+                        .filter(ObjectMessage.class::isInstance)
+                        .map(message -> (Map<?, ?>) ((ObjectMessage) message).getParameter())
+                        .filter(metric -> "audit-events-unpublished".equals(metric.get("metric")))
+                        .findFirst()
+                        .orElseThrow();
+        assertThat(((List<?>) logged.get("event-ids")).contains(eventId), is(true));
+    }
+
+    private static String eventId(String message) throws InvalidProtocolBufferException {
+        var signedEvent = SignedAuditEvent.parseFrom(Base64.getDecoder().decode(message));
+        return AuditEvent.parseFrom(signedEvent.getPayload()).getEventId();
+    }
+
+    private AuditService createAuditService() {
+        return new AuditService(
+                FIXED_CLOCK, snsService, kmsConnectionService, mock(ConfigurationService.class));
+    }
+
+    private void submitAuditEvent(AuditService auditService, String requestId) {
+        auditService.submitAuditEvent(
+                TEST_EVENT_ONE,
+                requestId,
+                "session-id",
+                "client-id",
+                "subject-id",
+                "email",
+                "ip-address",
+                "phone-number",
+                "persistent-session-id");
+    }
 }
@@ -2,7 +2,15 @@ package uk.gov.di.authentication.shared.services;
 
 import org.junit.jupiter.api.Test;
 
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ConfigurationServiceTest {
 
@@ -17,4 +25,83 @@ class ConfigurationServiceTest {
         ConfigurationService configurationService = new ConfigurationService();
         assertEquals("Secure; HttpOnly;", configurationService.getSessionCookieAttributes());
     }
+
+    @Test
+    void shouldParseEnvironmentIntoTypedValues() {
+        var configurationService =
+                new ConfigurationService(
+                        Map.of(
+                                "SESSION_EXPIRY",
+                                "7200",
+                                "CODE_MAX_RETRIES",
+                                "3",
+                                "LOGIN_URI",
+                                "https://signin.example.com",
+                                "TEST_CLIENTS_ENABLED",
+                                "TRUE",
+                                "SQS_ENDPOINT",
+                                "http://localhost:45678"));
+
+        assertThat(configurationService.getSessionExpiry(), equalTo(7200L));
+        assertThat(configurationService.getCodeMaxRetries(), equalTo(3));
+        assertThat(
+                configurationService.getLoginURI(),
+                equalTo(URI.create("https://signin.example.com")));
+        assertThat(configurationService.isTestClientsEnabled(), equalTo(true));
+        assertThat(
+                configurationService.getSqsEndpointUri(),
+                equalTo(Optional.of("http://localhost:45678")));
+    }
+
+    @Test
+    void shouldUseDefaultsWhenEnvironmentIsEmpty() {
+        var configurationService = new ConfigurationService(Map.of());
+
+        assertThat(configurationService.getAccessTokenExpiry(), equalTo(180L));
+        assertThat(configurationService.getWarmupDelayMillis(), equalTo(75));
+        assertThat(configurationService.isAuditDeduplicationEnabled(), equalTo(false));
+        assertThat(configurationService.getBaseURL(), equalTo(Optional.empty()));
+        assertThat(
+                configurationService.getSkipLoginURI(), equalTo(URI.create("http://skip-login")));
+    }
+
+    @Test
+    void shouldFailFastListingEveryInvalidValue() {
+        var exception =
+                assertThrows(
+                        IllegalStateException.class,
+                        () ->
+                                new ConfigurationService(
+                                        Map.of(
+                                                "SESSION_EXPIRY",
+                                                "an hour",
+                                                "DEFAULT_LOGOUT_URI",
+                                                "https://bad uri",
+                                                "AUDIT_DEDUPLICATION_ENABLED",
+                                                "yes")));
+
+        assertThat(exception.getMessage(), containsString("SESSION_EXPIRY=an hour"));
+        assertThat(exception.getMessage(), containsString("DEFAULT_LOGOUT_URI=https://bad uri"));
+        assertThat(exception.getMessage(), containsString("AUDIT_DEDUPLICATION_ENABLED=yes"));
+    }
+
+    @Test
+    void shouldThrowWhenRequiredUriIsNotSet() {
+        var configurationService = new ConfigurationService(Map.of());
+
+        var exception =
+                assertThrows(IllegalStateException.class, configurationService::getLoginURI);
+
+        assertThat(exception.getMessage(), equalTo("LOGIN_URI is not set"));
+    }
+
+    @Test
+    void shouldFallBackToEmailQueueWhenPriorityQueueIsNotSet() {
+        var configurationService =
+                new ConfigurationService(Map.of("EMAIL_QUEUE_URL", "http://localhost/email"));
+
+        assertThat(
+                configurationService.getPriorityEmailQueueUri(),
+                equalTo("http://localhost/email"));
+    }
 }
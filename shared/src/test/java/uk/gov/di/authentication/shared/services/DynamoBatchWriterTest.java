@@ -0,0 +1,197 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AmazonDynamoDBException;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import uk.gov.di.authentication.shared.entity.BulkWriteResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DynamoBatchWriterTest {
+
+    private static final String TABLE_NAME = "local-user-profile";
+
+    private final AmazonDynamoDB dynamoDB = mock(AmazonDynamoDB.class);
+    private final DynamoBatchWriter batchWriter = new DynamoBatchWriter(dynamoDB, 4, 3, 1);
+
+    @Test
+    void shouldSplitItemsIntoBatchesOfTwentyFive() {
+        when(dynamoDB.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(new BatchWriteItemResult().withUnprocessedItems(Map.of()));
+
+        BulkWriteResult result = batchWriter.putAll(Map.of(TABLE_NAME, generateItems(60)));
+
+        ArgumentCaptor<BatchWriteItemRequest> requests =
+                ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(dynamoDB, times(3)).batchWriteItem(requests.capture());
+        assertThat(
+                requests.getAllValues().stream()
+                        .map(r -> r.getRequestItems().get(TABLE_NAME).size())
+                        .collect(Collectors.toList()),
+                everyItem(lessThanOrEqualTo(DynamoBatchWriter.MAX_BATCH_SIZE)));
+        assertThat(result.getWritten(), equalTo(60));
+        assertThat(result.getFailed(), equalTo(0));
+        assertThat(result.getBatches(), equalTo(3));
+    }
+
+    @Test
+    void shouldRetryUnprocessedItems() {
+        Map<String, List<WriteRequest>> unprocessed =
+                Map.of(TABLE_NAME, List.of(new WriteRequest(new PutRequest(generateItem(0)))));
+        when(dynamoDB.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(new BatchWriteItemResult().withUnprocessedItems(unprocessed))
+                .thenReturn(new BatchWriteItemResult().withUnprocessedItems(Map.of()));
+
+        BulkWriteResult result = batchWriter.putAll(Map.of(TABLE_NAME, generateItems(10)));
+
+        verify(dynamoDB, times(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+        assertThat(result.getWritten(), equalTo(10));
+        assertThat(result.getFailed(), equalTo(0));
+    }
+
+    @Test
+    void shouldReportItemsStillUnprocessedAfterMaxRetries() {
+        Map<String, List<WriteRequest>> unprocessed =
+                Map.of(
+                        TABLE_NAME,
+                        List.of(
+                                new WriteRequest(new PutRequest(generateItem(0))),
+                                new WriteRequest(new PutRequest(generateItem(1)))));
+        when(dynamoDB.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(new BatchWriteItemResult().withUnprocessedItems(unprocessed));
+
+        BulkWriteResult result = batchWriter.putAll(Map.of(TABLE_NAME, generateItems(10)));
+
+        verify(dynamoDB, times(4)).batchWriteItem(any(BatchWriteItemRequest.class));
+        assertThat(result.getWritten(), equalTo(8));
+        assertThat(result.getFailed(), equalTo(2));
+    }
+
+    @Test
+    void shouldInterruptWorkersWhenTheCallerIsInterrupted() throws InterruptedException {
+        var workerStarted = new CountDownLatch(1);
+        var workerInterrupted = new CountDownLatch(1);
+        when(dynamoDB.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            workerStarted.countDown();
+                            try {
+                                new CountDownLatch(1).await();
+                            } catch (InterruptedException e) {
+                                workerInterrupted.countDown();
+                            }
+                            return new BatchWriteItemResult().withUnprocessedItems(Map.of());
+                        });
+        var caller =
+                new Thread(
+                        () -> {
+                            try {
+                                batchWriter.putAll(Map.of(TABLE_NAME, generateItems(1)));
+                            } catch (RuntimeException expected) {
+                            }
+                        });
+
+        caller.start();
+        assertThat(workerStarted.await(5, TimeUnit.SECONDS), equalTo(true));
+        caller.interrupt();
+
+        assertThat(workerInterrupted.await(5, TimeUnit.SECONDS), equalTo(true));
+        caller.join(5000);
+    }
+
+    @Test
+    void shouldCountExistingItemsAsSkippedWhenWritingIfAbsent() {
+        when(dynamoDB.putItem(any(PutItemRequest.class)))
+                .thenThrow(new ConditionalCheckFailedException("exists"))
+                .thenReturn(new PutItemResult());
+
+        BulkWriteResult result =
+                batchWriter.putAllIfAbsent(
+                        Map.of(TABLE_NAME, generateItems(3)), Map.of(TABLE_NAME, "Email"));
+
+        ArgumentCaptor<PutItemRequest> requests = ArgumentCaptor.forClass(PutItemRequest.class);
+        verify(dynamoDB, times(3)).putItem(requests.capture());
+        assertThat(
+                requests.getAllValues().stream()
+                        .map(PutItemRequest::getConditionExpression)
+                        .collect(Collectors.toList()),
+                everyItem(equalTo("attribute_not_exists(#key)")));
+        assertThat(result.getWritten(), equalTo(2));
+        assertThat(result.getSkipped(), equalTo(1));
+        assertThat(result.getFailed(), equalTo(0));
+    }
+
+    @Test
+    void shouldRetryThrottledConditionalPuts() {
+        when(dynamoDB.putItem(any(PutItemRequest.class)))
+                .thenThrow(new ProvisionedThroughputExceededException("throttled"))
+                .thenReturn(new PutItemResult());
+
+        BulkWriteResult result =
+                batchWriter.putAllIfAbsent(
+                        Map.of(TABLE_NAME, generateItems(1)), Map.of(TABLE_NAME, "Email"));
+
+        verify(dynamoDB, times(2)).putItem(any(PutItemRequest.class));
+        assertThat(result.getWritten(), equalTo(1));
+        assertThat(result.getFailed(), equalTo(0));
+    }
+
+    @Test
+    void shouldFailConditionalPutsStillThrottledAfterMaxRetries() {
+        when(dynamoDB.putItem(any(PutItemRequest.class)))
+                .thenThrow(new ProvisionedThroughputExceededException("throttled"));
+
+        BulkWriteResult result =
+                batchWriter.putAllIfAbsent(
+                        Map.of(TABLE_NAME, generateItems(1)), Map.of(TABLE_NAME, "Email"));
+
+        verify(dynamoDB, times(4)).putItem(any(PutItemRequest.class));
+        assertThat(result.getFailed(), equalTo(1));
+    }
+
+    @Test
+    void shouldNotRetryConditionalPutsRejectedAsInvalid() {
+        when(dynamoDB.putItem(any(PutItemRequest.class)))
+                .thenThrow(new AmazonDynamoDBException("ValidationException"));
+
+        BulkWriteResult result =
+                batchWriter.putAllIfAbsent(
+                        Map.of(TABLE_NAME, generateItems(1)), Map.of(TABLE_NAME, "Email"));
+
+        verify(dynamoDB, times(1)).putItem(any(PutItemRequest.class));
+        assertThat(result.getFailed(), equalTo(1));
+    }
+
+    private List<Map<String, AttributeValue>> generateItems(int count) {
+        return IntStream.range(0, count).mapToObj(this::generateItem).collect(Collectors.toList());
+    }
+
+    private Map<String, AttributeValue> generateItem(int i) {
+        return Map.of("Email", new AttributeValue(String.format("hello+%d@gov.uk", i)));
+    }
+}
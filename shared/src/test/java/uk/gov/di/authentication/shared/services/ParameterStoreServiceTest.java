@@ -0,0 +1,145 @@
+package uk.gov.di.authentication.shared.services;
+
+import com.amazonaws.services.simplesystemsmanagement.AWSSimpleSystemsManagement;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersRequest;
+import com.amazonaws.services.simplesystemsmanagement.model.GetParametersResult;
+import com.amazonaws.services.simplesystemsmanagement.model.Parameter;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParameterStoreServiceTest {
+
+    private static final Instant NOW = Instant.parse("2021-12-01T10:00:00Z");
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final AWSSimpleSystemsManagement ssmClient = mock(AWSSimpleSystemsManagement.class);
+    private final Clock clock = mock(Clock.class);
+
+    @Test
+    void shouldFetchEveryDeclaredParameterInOneCallOnFirstRead() {
+        when(clock.instant()).thenReturn(NOW);
+        when(ssmClient.getParameters(any(GetParametersRequest.class)))
+                .thenReturn(result(List.of("host", "port", "tls"), "localhost", "6379", "true"));
+        var parameters = parameterStore(List.of("host", "port", "tls"));
+
+        assertThat(parameters.getString("host"), equalTo("localhost"));
+        assertThat(parameters.getInt("port"), equalTo(6379));
+        assertThat(parameters.getBoolean("tls"), equalTo(true));
+
+        var captor = ArgumentCaptor.forClass(GetParametersRequest.class);
+        verify(ssmClient, times(1)).getParameters(captor.capture());
+        assertThat(captor.getValue().getNames(), contains("host", "port", "tls"));
+        assertThat(captor.getValue().getWithDecryption(), equalTo(true));
+    }
+
+    @Test
+    void shouldSplitDeclaredParametersIntoRequestsSsmAccepts() {
+        when(clock.instant()).thenReturn(NOW);
+        when(ssmClient.getParameters(any(GetParametersRequest.class)))
+                .thenReturn(new GetParametersResult());
+        var names =
+                IntStream.range(0, 12)
+                        .mapToObj(i -> "parameter-" + i)
+                        .collect(Collectors.toList());
+
+        parameterStore(names).get("parameter-0");
+
+        var captor = ArgumentCaptor.forClass(GetParametersRequest.class);
+        verify(ssmClient, times(2)).getParameters(captor.capture());
+        assertThat(captor.getAllValues().get(0).getNames(), hasSize(10));
+        assertThat(captor.getAllValues().get(1).getNames(), hasSize(2));
+    }
+
+    @Test
+    void shouldReadMissingParameterAsEmpty() {
+        when(clock.instant()).thenReturn(NOW);
+        when(ssmClient.getParameters(any(GetParametersRequest.class)))
+                .thenReturn(new GetParametersResult().withInvalidParameters("pepper"));
+        var parameters = parameterStore(List.of("pepper"));
+
+        assertThat(parameters.get("pepper"), equalTo(Optional.empty()));
+        assertThrows(
+                ParameterStoreService.ParameterNotLoadedException.class,
+                () -> parameters.getString("pepper"));
+    }
+
+    @Test
+    void shouldServeCachedValuesUntilTtlHasPassed() {
+        when(clock.instant()).thenReturn(NOW, NOW.plus(TTL).minusSeconds(1));
+        when(ssmClient.getParameters(any(GetParametersRequest.class)))
+                .thenReturn(result(List.of("pepper"), "original"));
+        var parameters = parameterStore(List.of("pepper"));
+
+        parameters.get("pepper");
+        parameters.get("pepper");
+
+        verify(ssmClient, times(1)).getParameters(any(GetParametersRequest.class));
+    }
+
+    @Test
+    void shouldRefreshOnceTtlHasPassed() {
+        when(clock.instant()).thenReturn(NOW);
+        when(ssmClient.getParameters(any(GetParametersRequest.class)))
+                .thenReturn(result(List.of("pepper"), "original"))
+                .thenReturn(result(List.of("pepper"), "rotated"));
+        var parameters = parameterStore(List.of("pepper"));
+        assertThat(parameters.getString("pepper"), equalTo("original"));
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL));
+        parameters.get("pepper");
+
+        assertThat(parameters.getString("pepper"), equalTo("rotated"));
+    }
+
+    @Test
+    void shouldKeepPreviousValuesWhenRefreshFails() {
+        when(clock.instant()).thenReturn(NOW);
+        when(ssmClient.getParameters(any(GetParametersRequest.class)))
+                .thenReturn(result(List.of("pepper"), "original"))
+                .thenThrow(new IllegalStateException("throttled"));
+        var parameters = parameterStore(List.of("pepper"));
+        parameters.get("pepper");
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL));
+        parameters.get("pepper");
+        parameters.get("pepper");
+
+        assertThat(parameters.getString("pepper"), equalTo("original"));
+        verify(ssmClient, times(2)).getParameters(any(GetParametersRequest.class));
+    }
+
+    private ParameterStoreService parameterStore(List<String> names) {
+        return new ParameterStoreService(ssmClient, names, TTL, clock, Runnable::run);
+    }
+
+    private static GetParametersResult result(List<String> names, String... values) {
+        return new GetParametersResult()
+                .withParameters(
+                        IntStream.range(0, names.size())
+                                .mapToObj(
+                                        i ->
+                                                new Parameter()
+                                                        .withName(names.get(i))
+                                                        .withValue(values[i]))
+                                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,114 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServiceRegistryTest {
+
+    private final ConfigurationService configurationService =
+            new ConfigurationService(Map.of("ENVIRONMENT", "test"));
+
+    @Test
+    void shouldReturnTheSameRegistryForTheSameConfiguration() {
+        var otherConfiguration = new ConfigurationService(Map.of("ENVIRONMENT", "other"));
+
+        assertThat(
+                ServiceRegistry.forConfiguration(configurationService),
+                sameInstance(ServiceRegistry.forConfiguration(configurationService)));
+        assertThat(
+                ServiceRegistry.forConfiguration(configurationService),
+                not(sameInstance(ServiceRegistry.forConfiguration(otherConfiguration))));
+    }
+
+    @Test
+    void shouldCreateEachServiceOnceWhenRequestedConcurrently() {
+        var created = new AtomicInteger();
+        var service = new ServiceRegistry.Lazy<>(created::incrementAndGet);
+        var services = ServiceRegistry.forConfiguration(configurationService);
+
+        services.createInParallel(service, service, service, service);
+
+        assertThat(service.get(), equalTo(1));
+        assertThat(created.get(), equalTo(1));
+    }
+
+    @Test
+    void shouldRetryAServiceThatFailedToBeCreated() {
+        var attempts = new AtomicInteger();
+        var service =
+                new ServiceRegistry.Lazy<>(
+                        () -> {
+                            if (attempts.incrementAndGet() == 1) {
+                                throw new IllegalStateException("Redis unavailable");
+                            }
+                            return attempts.get();
+                        });
+
+        assertThrows(IllegalStateException.class, service::get);
+        assertThat(service.get(), equalTo(2));
+    }
+
+    @Test
+    void shouldCreateServicesAtTheSameTime() {
+        var bothStarted = new CountDownLatch(2);
+        var overlapped = new AtomicInteger();
+        var services = ServiceRegistry.forConfiguration(configurationService);
+
+        services.createInParallel(
+                () -> awaitOther(bothStarted, overlapped),
+                () -> awaitOther(bothStarted, overlapped));
+
+        assertThat(overlapped.get(), equalTo(2));
+    }
+
+    @Test
+    void shouldRethrowTheFailureOfAServiceCreatedInParallel() {
+        var services = ServiceRegistry.forConfiguration(configurationService);
+
+        var exception =
+                assertThrows(
+                        IllegalStateException.class,
+                        () ->
+                                services.createInParallel(
+                                        () -> "created",
+                                        () -> {
+                                            throw new IllegalStateException("KMS unavailable");
+                                        }));
+
+        assertThat(exception.getMessage(), equalTo("KMS unavailable"));
+    }
+
+    @Test
+    void shouldOnlyWarmUpTheCodePathsOnce() {
+        var services =
+                ServiceRegistry.forConfiguration(
+                        new ConfigurationService(Map.of("ENVIRONMENT", "warm-up")));
+
+        assertThat(services.warmUp().keySet(), contains("jackson", "nimbus-es256"));
+        assertThat(services.warmUp().keySet(), empty());
+    }
+
+    private static int awaitOther(CountDownLatch bothStarted, AtomicInteger overlapped) {
+        bothStarted.countDown();
+        try {
+            if (bothStarted.await(5, TimeUnit.SECONDS)) {
+                return overlapped.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return overlapped.get();
+    }
+}
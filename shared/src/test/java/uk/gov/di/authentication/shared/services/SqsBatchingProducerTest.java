@@ -0,0 +1,187 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SqsBatchingProducerTest {
+
+    private static final String QUEUE_URL = "http://localhost/queue";
+    private static final Duration NO_LINGER_TIMEOUT = Duration.ofMinutes(1);
+
+    private final SqsAsyncClient client = mock(SqsAsyncClient.class);
+    private final List<String> errors = new ArrayList<>();
+
+    @Test
+    void shouldCoalesceMessagesSentWithinLingerWindowIntoOneBatch() {
+        acceptAll();
+        var producer = producer(NO_LINGER_TIMEOUT, 3);
+
+        var sent = List.of(producer.send("one"), producer.send("two"), producer.send("three"));
+        producer.flush();
+
+        assertThat(messageBodies(sentBatches(1).get(0)), contains("one", "two", "three"));
+        sent.forEach(future -> assertThat(future.isDone(), equalTo(true)));
+        assertThat(errors, empty());
+    }
+
+    @Test
+    void shouldSendFullBatchWithoutWaitingForLinger() {
+        acceptAll();
+        var producer = producer(NO_LINGER_TIMEOUT, 3);
+
+        IntStream.range(0, 12).forEach(i -> producer.send("message-" + i));
+
+        assertThat(sentBatches(1).get(0).entries(), hasSize(10));
+
+        producer.flush();
+
+        assertThat(sentBatches(2).get(1).entries(), hasSize(2));
+    }
+
+    @Test
+    void shouldSendBatchOnceLingerWindowHasPassed() {
+        acceptAll();
+        var producer = producer(Duration.ofMillis(10), 3);
+
+        var sent = producer.send("one");
+
+        await().atMost(Duration.ofSeconds(5)).until(sent::isDone);
+        assertThat(messageBodies(sentBatches(1).get(0)), contains("one"));
+    }
+
+    @Test
+    void shouldSendEachMessageImmediatelyWithoutLinger() {
+        acceptAll();
+        var producer = producer(Duration.ZERO, 3);
+
+        var sent = producer.send("one");
+
+        assertThat(sent.isDone(), equalTo(true));
+        assertThat(messageBodies(sentBatches(1).get(0)), contains("one"));
+    }
+
+    @Test
+    void shouldRetryEntriesSqsFailedToAccept() {
+        when(client.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(completedFuture(failed("0", false)))
+                .thenAnswer(invocation -> completedFuture(accepted(invocation.getArgument(0))));
+        var producer = producer(NO_LINGER_TIMEOUT, 3);
+
+        var sent = producer.send("one");
+        producer.flush();
+
+        assertThat(sent.isCompletedExceptionally(), equalTo(false));
+        assertThat(messageBodies(sentBatches(2).get(1)), contains("one"));
+        assertThat(errors, empty());
+    }
+
+    @Test
+    void shouldNotRetryEntriesRejectedAsSenderFault() {
+        when(client.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(completedFuture(failed("0", true)));
+        var producer = producer(NO_LINGER_TIMEOUT, 3);
+
+        var sent = producer.send("one");
+        producer.flush();
+
+        assertThat(sent.isCompletedExceptionally(), equalTo(true));
+        verify(client, times(1)).sendMessageBatch(any(SendMessageBatchRequest.class));
+        assertThat(errors, contains("one"));
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        when(client.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(SdkClientException.create("down")));
+        var producer = producer(NO_LINGER_TIMEOUT, 3);
+
+        var sent = producer.send("one");
+        producer.flush();
+
+        assertThat(sent.isCompletedExceptionally(), equalTo(true));
+        verify(client, times(3)).sendMessageBatch(any(SendMessageBatchRequest.class));
+        assertThat(errors, contains("one"));
+    }
+
+    private SqsBatchingProducer producer(Duration linger, int maxAttempts) {
+        return new SqsBatchingProducer(
+                client,
+                QUEUE_URL,
+                linger,
+                maxAttempts,
+                Duration.ofMillis(1),
+                (body, cause) -> errors.add(body));
+    }
+
+    private void acceptAll() {
+        when(client.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenAnswer(invocation -> completedFuture(accepted(invocation.getArgument(0))));
+    }
+
+    private List<SendMessageBatchRequest> sentBatches(int expected) {
+        var captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(client, times(expected)).sendMessageBatch(captor.capture());
+        captor.getAllValues()
+                .forEach(request -> assertThat(request.queueUrl(), equalTo(QUEUE_URL)));
+        return captor.getAllValues();
+    }
+
+    private static List<String> messageBodies(SendMessageBatchRequest request) {
+        return request.entries().stream()
+                .map(SendMessageBatchRequestEntry::messageBody)
+                .collect(Collectors.toList());
+    }
+
+    private static SendMessageBatchResponse accepted(SendMessageBatchRequest request) {
+        return SendMessageBatchResponse.builder()
+                .successful(
+                        request.entries().stream()
+                                .map(
+                                        entry ->
+                                                SendMessageBatchResultEntry.builder()
+                                                        .id(entry.id())
+                                                        .messageId("message-" + entry.id())
+                                                        .build())
+                                .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static SendMessageBatchResponse failed(String id, boolean senderFault) {
+        return SendMessageBatchResponse.builder()
+                .failed(
+                        BatchResultErrorEntry.builder()
+                                .id(id)
+                                .code("InternalError")
+                                .message("failed")
+                                .senderFault(senderFault)
+                                .build())
+                .build();
+    }
+}
@@ -35,6 +35,7 @@ import uk.gov.di.authentication.shared.entity.AccessTokenStore;
 import uk.gov.di.authentication.shared.entity.ClientConsent;
 import uk.gov.di.authentication.shared.entity.CredentialTrustLevel;
 import uk.gov.di.authentication.shared.entity.RefreshTokenStore;
+import uk.gov.di.authentication.shared.entity.UserProfile;
 import uk.gov.di.authentication.shared.entity.ValidScopes;
 import uk.gov.di.authentication.shared.helpers.TokenGeneratorHelper;
 
@@ -87,6 +88,8 @@ public class TokenServiceTest {
                     OIDCScopeValue.OFFLINE_ACCESS);
     private Nonce nonce;
     private static final String CLIENT_ID = "client-id";
+    private static final String EMAIL = "joe.bloggs@digital.cabinet-office.gov.uk";
+    private static final String PHONE_NUMBER = "+447700900000";
     private static final String AUTH_CODE = new AuthorizationCode().toString();
     private static final String REDIRECT_URI = "http://localhost/redirect";
     private static final String TOKEN_URI = "http://localhost/token";
@@ -119,16 +122,11 @@ public class TokenServiceTest {
         OIDCTokenResponse tokenResponse =
                 tokenService.generateTokenResponse(
                         CLIENT_ID,
-                        INTERNAL_SUBJECT,
+                        generateUserProfile(claimsForListOfScopes),
                         SCOPES_OFFLINE_ACCESS,
                         additionalTokenClaims,
                         PUBLIC_SUBJECT,
                         VOT,
-                        Collections.singletonList(
-                                new ClientConsent(
-                                        CLIENT_ID,
-                                        claimsForListOfScopes,
-                                        LocalDateTime.now(ZoneId.of("UTC")).toString())),
                         false);
 
         assertSuccessfullTokenResponse(tokenResponse);
@@ -160,16 +158,11 @@ public class TokenServiceTest {
         OIDCTokenResponse tokenResponse =
                 tokenService.generateTokenResponse(
                         CLIENT_ID,
-                        INTERNAL_SUBJECT,
+                        generateUserProfile(claimsForListOfScopes),
                         SCOPES,
                         additionalTokenClaims,
                         PUBLIC_SUBJECT,
                         VOT,
-                        Collections.singletonList(
-                                new ClientConsent(
-                                        CLIENT_ID,
-                                        claimsForListOfScopes,
-                                        LocalDateTime.now(ZoneId.of("UTC")).toString())),
                         false);
 
         assertSuccessfullTokenResponse(tokenResponse);
@@ -427,6 +420,22 @@ public class TokenServiceTest {
         when(kmsConnectionService.sign(any(SignRequest.class))).thenReturn(accessTokenResult);
     }
 
+    private UserProfile generateUserProfile(Set<String> claimsForListOfScopes) {
+        return new UserProfile()
+                .setEmail(EMAIL)
+                .setEmailVerified(true)
+                .setPhoneNumber(PHONE_NUMBER)
+                .setPhoneNumberVerified(true)
+                .setSubjectID(INTERNAL_SUBJECT.getValue())
+                .setPublicSubjectID(PUBLIC_SUBJECT.getValue())
+                .setClientConsent(
+                        List.of(
+                                new ClientConsent(
+                                        CLIENT_ID,
+                                        claimsForListOfScopes,
+                                        LocalDateTime.now(ZoneId.of("UTC")).toString())));
+    }
+
     private KeyPair generateRsaKeyPair() {
         KeyPairGenerator kpg;
         try {
@@ -445,7 +454,7 @@ public class TokenServiceTest {
         AccessTokenStore accessTokenStore =
                 new AccessTokenStore(
                         tokenResponse.getOIDCTokens().getAccessToken().getValue(),
-                        INTERNAL_SUBJECT.getValue());
+                        generateUserProfile(Set.of()));
         verify(redisConnectionService)
                 .saveWithExpiry(
                         accessTokenKey,
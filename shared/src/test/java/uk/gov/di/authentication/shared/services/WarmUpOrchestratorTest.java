@@ -0,0 +1,102 @@
+package uk.gov.di.authentication.shared.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.services.WarmUpOrchestrator.Outcome;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+class WarmUpOrchestratorTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRunEveryPrimerAtTheSameTime() {
+        var bothStarted = new CountDownLatch(2);
+
+        var timings =
+                new WarmUpOrchestrator(Duration.ofSeconds(5), executor)
+                        .add("redis", () -> awaitOther(bothStarted))
+                        .add("kms", () -> awaitOther(bothStarted))
+                        .run();
+
+        assertThat(timings.keySet(), contains("redis", "kms"));
+        assertThat(timings.get("redis").getOutcome(), equalTo(Outcome.WARMED));
+        assertThat(timings.get("kms").getOutcome(), equalTo(Outcome.WARMED));
+    }
+
+    @Test
+    void shouldRecordAFailedPrimerWithoutThrowing() {
+        var timings =
+                new WarmUpOrchestrator(Duration.ofSeconds(5), executor)
+                        .add(
+                                "dynamodb-user-profile",
+                                () -> {
+                                    throw new IllegalStateException("Table not found");
+                                })
+                        .add("redis", () -> {})
+                        .run();
+
+        assertThat(timings.get("dynamodb-user-profile").getOutcome(), equalTo(Outcome.FAILED));
+        assertThat(timings.get("redis").getOutcome(), equalTo(Outcome.WARMED));
+    }
+
+    @Test
+    void shouldStopWaitingForAPrimerAfterTheTimeout() {
+        var timings =
+                new WarmUpOrchestrator(Duration.ofMillis(50), executor)
+                        .add("kms", this::awaitRelease)
+                        .add("redis", () -> {})
+                        .run();
+
+        assertThat(timings.get("kms").getOutcome(), equalTo(Outcome.TIMED_OUT));
+        assertThat(timings.get("kms").getDuration(), lessThan(Duration.ofSeconds(5)));
+        assertThat(timings.get("redis").getOutcome(), equalTo(Outcome.WARMED));
+    }
+
+    @Test
+    void shouldPrimeTheJsonAndJwtCodePaths() {
+        var timings =
+                new WarmUpOrchestrator(Duration.ofSeconds(30), executor)
+                        .withCodePathPrimers()
+                        .run();
+
+        assertThat(timings.get("jackson").getOutcome(), equalTo(Outcome.WARMED));
+        assertThat(timings.get("nimbus-es256").getOutcome(), equalTo(Outcome.WARMED));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitOther(CountDownLatch bothStarted) {
+        bothStarted.countDown();
+        try {
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Primers ran one after the other");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package uk.gov.di.authentication.shared.state;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.entity.SessionState;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Map.entry;
+import static java.util.Map.ofEntries;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uk.gov.di.authentication.shared.state.StateMachineAnalyserTest.Action.FINISH;
+import static uk.gov.di.authentication.shared.state.StateMachineAnalyserTest.Action.GO_BACK;
+import static uk.gov.di.authentication.shared.state.StateMachineAnalyserTest.Action.MOVE_ON;
+import static uk.gov.di.authentication.shared.state.StateMachineAnalyserTest.Action.RESTART;
+import static uk.gov.di.authentication.shared.state.StateMachineAnalyserTest.State.CHECKING;
+import static uk.gov.di.authentication.shared.state.StateMachineAnalyserTest.State.DONE;
+import static uk.gov.di.authentication.shared.state.StateMachineAnalyserTest.State.NEW;
+import static uk.gov.di.authentication.shared.state.StateMachineAnalyserTest.State.ORPHANED;
+import static uk.gov.di.authentication.shared.state.StateMachineAnalyserTest.State.STUCK;
+import static uk.gov.di.authentication.shared.state.StateMachineAnalyserTest.State.WAITING;
+import static uk.gov.di.authentication.shared.state.conditions.AggregateCondition.and;
+
+class StateMachineAnalyserTest {
+
+    enum State {
+        NEW,
+        CHECKING,
+        WAITING,
+        STUCK,
+        DONE,
+        ORPHANED
+    }
+
+    enum Action {
+        MOVE_ON,
+        GO_BACK,
+        FINISH,
+        RESTART
+    }
+
+    private static class Verified implements Condition<Boolean> {
+        @Override
+        public boolean isMet(Optional<Boolean> context) {
+            return context.orElse(false);
+        }
+    }
+
+    private static class Trusted implements Condition<Boolean> {
+        @Override
+        public boolean isMet(Optional<Boolean> context) {
+            return context.orElse(false);
+        }
+    }
+
+    private final StateMachineAnalyser<State, Action, Boolean> analyser =
+            new StateMachineAnalyser<>(
+                    new StateMachine<>(
+                            ofEntries(
+                                    entry(NEW, List.of(new Transition<>(MOVE_ON, CHECKING))),
+                                    entry(
+                                            CHECKING,
+                                            List.of(
+                                                    new Transition<>(
+                                                            FINISH, DONE, new Verified()),
+                                                    new Transition<>(
+                                                            FINISH,
+                                                            STUCK,
+                                                            and(new Verified(), new Trusted())),
+                                                    new Transition<>(MOVE_ON, WAITING))),
+                                    entry(WAITING, List.of(new Transition<>(GO_BACK, CHECKING))),
+                                    entry(
+                                            DONE,
+                                            List.of(
+                                                    new Transition<>(
+                                                            FINISH, DONE, new Trusted())))),
+                            List.of(new Transition<>(RESTART, NEW))),
+                    NEW);
+
+    @Test
+    void findsStatesThatCannotBeReachedFromTheInitialState() {
+        assertThat(analyser.unreachableStates(), contains(ORPHANED));
+    }
+
+    @Test
+    void findsReachableStatesWithNoTransitionsOfTheirOwn() {
+        assertThat(analyser.deadEndStates(), contains(STUCK));
+    }
+
+    @Test
+    void findsStatesThatCannotReachTheGoal() {
+        assertThat(analyser.statesThatCannotReach(DONE), contains(STUCK));
+    }
+
+    @Test
+    void findsCyclesThroughStatesOwnTransitions() {
+        assertThat(analyser.cycles(), contains(Set.of(CHECKING, WAITING)));
+    }
+
+    @Test
+    void findsTransitionsShadowedByALessSpecificEarlierTransition() {
+        assertThat(
+                analyser.shadowedTransitions(),
+                contains(
+                        "CHECKING on FINISH: transition to STUCK [trusted and verified]"
+                                + " is shadowed by transition to DONE [verified]"));
+    }
+
+    @Test
+    void findsActionsWithNoUnconditionalFallback() {
+        assertThat(analyser.conditionalOnlyActions().get(CHECKING), contains(FINISH));
+        assertThat(analyser.conditionalOnlyActions().get(DONE), contains(FINISH));
+        assertThat(analyser.conditionalOnlyActions().containsKey(NEW), equalTo(false));
+    }
+
+    @Test
+    void exportsDotWithAnyStateTransitionsDashed() {
+        var dot = analyser.toDot();
+
+        assertThat(dot, containsString("NEW -> CHECKING [label=\"MOVE_ON\"];"));
+        assertThat(dot, containsString("CHECKING -> DONE [label=\"FINISH [verified]\"];"));
+        assertThat(dot, containsString("ANY_STATE -> NEW [label=\"RESTART\", style=dashed];"));
+    }
+
+    @Test
+    void exportsMermaidStateDiagram() {
+        var mermaid = analyser.toMermaid();
+
+        assertThat(mermaid, containsString("[*] --> NEW"));
+        assertThat(mermaid, containsString("CHECKING --> DONE : FINISH [verified]"));
+        assertThat(mermaid, containsString("ANY_STATE --> NEW : RESTART"));
+    }
+
+    @Test
+    void userJourneyShouldHaveNoNewDefects() {
+        var configurationService = mock(ConfigurationService.class);
+        when(configurationService.getTermsAndConditionsVersion()).thenReturn("1.0");
+        var journey =
+                new StateMachineAnalyser<>(
+                        StateMachine.userJourneyStateMachine(configurationService),
+                        SessionState.NEW);
+
+        // IPV_REQUIRED is only ever returned to the frontend, never entered through the journey
+        assertThat(journey.unreachableStates(), containsInAnyOrder(SessionState.IPV_REQUIRED));
+        assertThat(journey.deadEndStates(), empty());
+        assertThat(journey.statesThatCannotReach(SessionState.AUTHENTICATED), empty());
+        assertThat(journey.shadowedTransitions(), empty());
+        assertThat(journey.conditionalOnlyActions(), equalTo(Map.of()));
+    }
+}
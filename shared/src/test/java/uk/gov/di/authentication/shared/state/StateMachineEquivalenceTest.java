@@ -0,0 +1,173 @@
+package uk.gov.di.authentication.shared.state;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.di.authentication.shared.entity.SessionAction;
+import uk.gov.di.authentication.shared.entity.SessionState;
+import uk.gov.di.authentication.shared.services.ConfigurationService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the compiled user journey against the sequential search it replaced, for every state,
+ * every action and every combination of outcomes of the conditions that could decide the result.
+ *
+ * <p>Each condition of the journey is replaced by one that is met when the context contains it, so
+ * a context is simply the set of conditions that hold.
+ */
+class StateMachineEquivalenceTest {
+
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+
+    @Test
+    void compiledUserJourneyShouldMatchSequentialSearch() {
+        when(configurationService.getTermsAndConditionsVersion()).thenReturn("1.0");
+        var journey = StateMachine.userJourneyStateMachine(configurationService);
+
+        Map<SessionState, List<Transition<SessionState, SessionAction, MetConditions>>> states =
+                new HashMap<>();
+        journey.getStates()
+                .forEach((state, transitions) -> states.put(state, scripted(transitions)));
+        var anyState = scripted(journey.getAnyStateTransitions());
+        var compiled = new StateMachine<>(states, anyState);
+
+        int compared = 0;
+        for (SessionState state : SessionState.values()) {
+            for (SessionAction action : SessionAction.values()) {
+                var conditions =
+                        deciding(states.getOrDefault(state, emptyList()), anyState, action);
+                assertSameOutcome(compiled, states, anyState, state, action, Optional.empty());
+                for (MetConditions met : subsetsOf(conditions)) {
+                    assertSameOutcome(compiled, states, anyState, state, action, Optional.of(met));
+                    compared++;
+                }
+            }
+        }
+
+        assertThat(
+                compared > SessionState.values().length * SessionAction.values().length,
+                equalTo(true));
+    }
+
+    private static void assertSameOutcome(
+            StateMachine<SessionState, SessionAction, MetConditions> compiled,
+            Map<SessionState, List<Transition<SessionState, SessionAction, MetConditions>>> states,
+            List<Transition<SessionState, SessionAction, MetConditions>> anyState,
+            SessionState from,
+            SessionAction action,
+            Optional<MetConditions> context) {
+        assertThat(
+                from + " on " + action + " with " + context,
+                outcome(() -> compiled.nextState(from, action, context)),
+                equalTo(
+                        outcome(
+                                () ->
+                                        sequentialSearch(
+                                                states, anyState, from, action, context))));
+    }
+
+    private static SessionState sequentialSearch(
+            Map<SessionState, List<Transition<SessionState, SessionAction, MetConditions>>> states,
+            List<Transition<SessionState, SessionAction, MetConditions>> anyState,
+            SessionState from,
+            SessionAction action,
+            Optional<MetConditions> context) {
+        if (context.isEmpty()
+                && states.getOrDefault(from, emptyList()).stream()
+                                .filter(t -> t.getAction().equals(action))
+                                .count()
+                        > 1) {
+            throw new StateMachine.NoTransitionContextProvidedException();
+        }
+        return states.getOrDefault(from, emptyList()).stream()
+                .filter(t -> t.getAction().equals(action) && t.getCondition().isMet(context))
+                .findFirst()
+                .or(
+                        () ->
+                                anyState.stream()
+                                        .filter(
+                                                t ->
+                                                        t.getAction().equals(action)
+                                                                && t.getCondition().isMet(context))
+                                        .findFirst())
+                .orElseThrow(StateMachine.InvalidStateTransitionException::new)
+                .getNextState();
+    }
+
+    private static String outcome(Supplier<SessionState> transition) {
+        try {
+            return transition.get().name();
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName();
+        }
+    }
+
+    private static List<Transition<SessionState, SessionAction, MetConditions>> scripted(
+            List<Transition<SessionState, SessionAction, UserContext>> transitions) {
+        return transitions.stream()
+                .map(
+                        t ->
+                                (Transition<SessionState, SessionAction, MetConditions>)
+                                        new ScriptedTransition(
+                                                t.getAction(), t.getNextState(), t.getCondition()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Condition<UserContext>> deciding(
+            List<Transition<SessionState, SessionAction, MetConditions>> stateTransitions,
+            List<Transition<SessionState, SessionAction, MetConditions>> anyState,
+            SessionAction action) {
+        return Stream.concat(stateTransitions.stream(), anyState.stream())
+                .filter(t -> t.getAction().equals(action))
+                .map(t -> ((ScriptedTransition) t).original)
+                .filter(condition -> !(condition instanceof Default))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static List<MetConditions> subsetsOf(List<Condition<UserContext>> conditions) {
+        var subsets = new ArrayList<MetConditions>();
+        for (int mask = 0; mask < 1 << conditions.size(); mask++) {
+            var subset = new MetConditions();
+            for (int i = 0; i < conditions.size(); i++) {
+                if ((mask & 1 << i) != 0) {
+                    subset.add(conditions.get(i));
+                }
+            }
+            subsets.add(subset);
+        }
+        return subsets;
+    }
+
+    private static class MetConditions extends HashSet<Condition<UserContext>> {}
+
+    private static class ScriptedTransition
+            extends Transition<SessionState, SessionAction, MetConditions> {
+
+        private final Condition<UserContext> original;
+
+        private ScriptedTransition(
+                SessionAction action, SessionState nextState, Condition<UserContext> original) {
+            super(
+                    action,
+                    nextState,
+                    original instanceof Default
+                            ? new Default<>()
+                            : context -> context.map(met -> met.contains(original)).orElse(false));
+            this.original = original;
+        }
+    }
+}
@@ -159,6 +159,17 @@ public class StateMachineTest {
                 () -> builtMachine.transition(STATE_3, ACTION_COMMON_TO_SOME_STATES, true));
     }
 
+    @Test
+    void builderRejectsTransitionHiddenBehindAnUnconditionalTransition() {
+        assertThrows(
+                IllegalStateException.class,
+                () ->
+                        StateMachine.<State, Action, Boolean>builder()
+                                .when(STATE_1)
+                                .allow(on(MOVE_TO_2).then(STATE_2), on(MOVE_TO_2).then(STATE_3))
+                                .build());
+    }
+
     private static Transition.Builder<State, Action, Boolean> on(Action action) {
         return Transition.<State, Action, Boolean>builder().on(action);
     }